@@ -0,0 +1,61 @@
+#!/bin/bash
+
+# Executa a suíte E2E particionada em N JVMs em paralelo e consolida os relatórios
+# Uso: ./scripts/run-shards.sh [N] [argumentos extras do Maven]
+#   ./scripts/run-shards.sh 4
+#   ./scripts/run-shards.sh 4 -Djourney.shard.strategy=duration -Dcucumber.filter.tags="@e2e and @smoke"
+#
+# Sharding exige captura tap (filas exclusivas por JVM): cada shard em modo poll seria mais um
+# consumidor competindo com os serviços pelas mesmas filas. O script força -Drabbitmq.capture-mode=tap.
+#
+# Em vários agentes de CI: cada agente executa apenas o seu shard
+#   mvn test -Djourney.shard=<i>/<N> -Drabbitmq.capture-mode=tap -Dallure.results.directory=allure-results/shard-<i>
+# e um passo final reúne target/cucumber-reports/shard-* e allure-results/shard-* e roda o
+# ShardReportMerger (mesmo comando do final deste script).
+
+set -u
+
+SHARDS="${1:-4}"
+shift || true
+EXTRA_ARGS=("$@")
+
+if ! [[ "$SHARDS" =~ ^[1-9][0-9]*$ ]]; then
+    echo "❌ Número de shards inválido: ${SHARDS}"
+    exit 2
+fi
+
+echo "🔨 Compilando uma única vez antes de iniciar os shards..."
+mvn -B -q test-compile "${EXTRA_ARGS[@]}" || exit 1
+
+rm -rf target/cucumber-reports/shard-* allure-results/shard-*
+mkdir -p target/cucumber-reports
+
+echo "🧩 Iniciando ${SHARDS} shards..."
+PIDS=()
+for ((i = 0; i < SHARDS; i++)); do
+    mvn -B -o surefire:test \
+        -Djourney.shard="${i}/${SHARDS}" \
+        -Dallure.results.directory="allure-results/shard-${i}" \
+        -Dsurefire.reportNameSuffix="shard-${i}" \
+        "${EXTRA_ARGS[@]}" \
+        -Drabbitmq.capture-mode=tap > "target/shard-${i}.log" 2>&1 &
+    PIDS+=($!)
+    echo "   - shard ${i}/${SHARDS} (pid $!, log: target/shard-${i}.log)"
+done
+
+FAILED=0
+for ((i = 0; i < SHARDS; i++)); do
+    if wait "${PIDS[$i]}"; then
+        echo "✅ Shard ${i} concluído"
+    else
+        echo "❌ Shard ${i} falhou (ver target/shard-${i}.log)"
+        FAILED=1
+    fi
+done
+
+echo "📊 Consolidando relatórios..."
+mvn -B -q -o org.codehaus.mojo:exec-maven-plugin:3.6.4:java \
+    -Dexec.mainClass=com.nulote.journey.runners.ShardReportMerger \
+    -Dexec.classpathScope=test || FAILED=1
+
+exit $FAILED
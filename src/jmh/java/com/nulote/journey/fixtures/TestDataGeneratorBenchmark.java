@@ -0,0 +1,77 @@
+package com.nulote.journey.fixtures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark dos dígitos verificadores do {@link TestDataGenerator}.
+ *
+ * Mede os formatadores diretamente (base -> documento), sem o espaço de unicidade por execução:
+ * os generateUnique* esgotam a capacidade do bloco em poucos segundos de benchmark.
+ * Bases fixas (semente constante) para que execuções em commits diferentes sejam comparáveis.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TestDataGeneratorBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private long[] bases;
+    private String[] cpfs;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        bases = new long[SAMPLES];
+        cpfs = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            bases[i] = random.nextLong(100_000_000L, 1_000_000_000L);
+            cpfs[i] = TestDataGenerator.formatCpf(bases[i]);
+        }
+    }
+
+    private int next() {
+        index = (index + 1) & (SAMPLES - 1);
+        return index;
+    }
+
+    @Benchmark
+    public String cpf() {
+        return TestDataGenerator.formatCpf(bases[next()]);
+    }
+
+    @Benchmark
+    public String cnpj() {
+        return TestDataGenerator.formatCnpj(bases[next()] * 1000L + 1L);
+    }
+
+    @Benchmark
+    public String cuit() {
+        return TestDataGenerator.formatCuit(bases[next()] * 10L);
+    }
+
+    @Benchmark
+    public String rut() {
+        return TestDataGenerator.formatRut(bases[next()] / 10L);
+    }
+
+    @Benchmark
+    public String nit() {
+        return TestDataGenerator.formatNit(bases[next()] * 10L);
+    }
+
+    @Benchmark
+    public boolean isValidCpf() {
+        return TestDataGenerator.isValidCpf(cpfs[next()]);
+    }
+}
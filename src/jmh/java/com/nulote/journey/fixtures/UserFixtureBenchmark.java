@@ -0,0 +1,56 @@
+package com.nulote.journey.fixtures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark da montagem das requisições de cadastro e OTP no {@link UserFixture}.
+ *
+ * Logs em INFO habilitados com appender descartável (src/jmh/resources/logback-jmh.xml):
+ * o custo de montar as mensagens entra na medição, a escrita no console não.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserFixtureBenchmark {
+
+    private UserFixture userFixture;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> userData = new HashMap<>();
+        userData.put("nome", "Usuario Benchmark");
+        userData.put("email", "benchmark@example.com");
+        userData.put("telefone", "+5511999990000");
+        userData.put("documentNumber", "52998224725");
+        userData.put("documentType", "cpf");
+        userData.put("userUuid", "00000000-0000-0000-0000-000000000001");
+        userFixture = new UserFixture();
+        userFixture.setUserData(userData);
+        userFixture.setCreatedUserUuid("00000000-0000-0000-0000-000000000001");
+    }
+
+    @Benchmark
+    public Map<String, Object> buildCreateUserRequest() {
+        return userFixture.buildCreateUserRequest();
+    }
+
+    @Benchmark
+    public Map<String, Object> buildOtpRequestRegistration() {
+        return userFixture.buildOtpRequest("EMAIL", "REGISTRATION");
+    }
+
+    @Benchmark
+    public Map<String, Object> buildOtpRequestPasswordRecovery() {
+        return userFixture.buildOtpRequest("WHATSAPP", "PASSWORD_RECOVERY");
+    }
+}
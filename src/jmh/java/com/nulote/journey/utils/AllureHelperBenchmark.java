@@ -0,0 +1,103 @@
+package com.nulote.journey.utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark do {@link AllureHelper#attachHttpResponse} com uma resposta RestAssured montada em memória.
+ *
+ * O lifecycle do Allure usa um writer que apenas consome os anexos: mede a extração de status,
+ * headers e body e o registro dos anexos, sem gravar arquivos em allure-results a cada invocação.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AllureHelperBenchmark {
+
+    private static final String BODY = "{"
+        + "\"uuid\":\"00000000-0000-0000-0000-000000000001\",\"name\":\"Usuario Benchmark\","
+        + "\"email\":\"benchmark@example.com\",\"phone\":\"+5511999990000\","
+        + "\"documentNumber\":\"52998224725\",\"documentType\":\"CPF\","
+        + "\"role\":\"INDIVIDUAL\",\"relationship\":\"B2C\",\"status\":\"ACTIVE\"}";
+
+    private Response response;
+    private TestResult testCase;
+
+    @Setup
+    public void setUp() {
+        response = new ResponseBuilder()
+            .setStatusCode(201)
+            .setContentType("application/json")
+            .setHeaders(new Headers(
+                new Header("Content-Type", "application/json"),
+                new Header("X-Correlation-Id", "c0ffee00-0000-0000-0000-000000000001"),
+                new Header("X-RateLimit-Remaining", "99")))
+            .setBody(BODY)
+            .build();
+
+        AllureLifecycle lifecycle = new AllureLifecycle(new DiscardingResultsWriter());
+        Allure.setLifecycle(lifecycle);
+        testCase = new TestResult().setUuid(UUID.randomUUID().toString()).setName("benchmark");
+        lifecycle.scheduleTestCase(testCase);
+        lifecycle.startTestCase(testCase.getUuid());
+    }
+
+    @TearDown
+    public void tearDown() {
+        Allure.getLifecycle().stopTestCase(testCase.getUuid());
+        Allure.getLifecycle().writeTestCase(testCase.getUuid());
+    }
+
+    @Benchmark
+    public void attachHttpResponse() {
+        AllureHelper.attachHttpResponse(response, "benchmark");
+        // Sem limpar, a lista de anexos do caso de teste cresceria a cada invocação
+        testCase.getAttachments().clear();
+    }
+
+    /**
+     * Writer que descarta resultados e anexos (lendo o conteúdo, como o writer de arquivos faria).
+     */
+    static final class DiscardingResultsWriter implements AllureResultsWriter {
+
+        @Override
+        public void write(TestResult testResult) {
+            // descartado
+        }
+
+        @Override
+        public void write(TestResultContainer testResultContainer) {
+            // descartado
+        }
+
+        @Override
+        public void write(String source, InputStream attachment) {
+            try (InputStream in = attachment) {
+                in.transferTo(OutputStream.nullOutputStream());
+            } catch (IOException ignored) {
+                // descartado
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.nulote.journey.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark do parsing de mensagens RabbitMQ ({@link RabbitMQHelper#parseEvent}).
+ *
+ * Dois caminhos: corpo no envelope Event (parse direto) e corpo com o payload puro, que falha
+ * no envelope e cai no fallback para Map - o custo da exceção entra na medição.
+ * Não abre conexões: o init() do helper só conecta no modo de captura tap.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RabbitMQHelperBenchmark {
+
+    private static final String ENVELOPE_BODY = "{"
+        + "\"type\":\"auth.otp-sent\","
+        + "\"timestamp\":\"2025-01-01T10:00:00Z\","
+        + "\"messageId\":\"7f1c2a7e-3f4b-4a53-9a57-3d1e8c1b2a10\","
+        + "\"payload\":{\"otpId\":\"0b9f3c1e-5f3a-4d2b-8a61-2c4e5f6a7b8c\",\"channel\":\"EMAIL\","
+        + "\"purpose\":\"REGISTRATION\",\"email\":\"benchmark@example.com\",\"otpCode\":\"123456\"}}";
+
+    private static final String PAYLOAD_BODY = "{"
+        + "\"otpId\":\"0b9f3c1e-5f3a-4d2b-8a61-2c4e5f6a7b8c\",\"channel\":\"EMAIL\","
+        + "\"purpose\":\"REGISTRATION\",\"email\":\"benchmark@example.com\",\"otpCode\":\"123456\"}";
+
+    private static final Map<String, Object> HEADERS = Map.of(
+        "eventType", "auth.otp-sent",
+        "correlationId", "c0ffee00-0000-0000-0000-000000000001");
+
+    private RabbitMQHelper rabbitMQHelper;
+
+    @Setup
+    public void setUp() {
+        rabbitMQHelper = new RabbitMQHelper();
+        rabbitMQHelper.init();
+    }
+
+    @Benchmark
+    public RabbitMQHelper.Event parseEnvelope() throws IOException {
+        return rabbitMQHelper.parseEvent("auth.otp-sent", ENVELOPE_BODY, HEADERS);
+    }
+
+    @Benchmark
+    public RabbitMQHelper.Event parsePayloadFallback() throws IOException {
+        return rabbitMQHelper.parseEvent("auth.otp-sent", PAYLOAD_BODY, HEADERS);
+    }
+}
@@ -3,6 +3,9 @@ package com.nulote.journey.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Configuração centralizada para testes E2E.
  * Carrega propriedades do application.yml com prefixo "e2e".
@@ -20,6 +23,15 @@ public class E2EConfiguration {
     private SimulateProvider simulateProvider = new SimulateProvider();
     private RateLimitRetry rateLimitRetry = new RateLimitRetry();
     private HttpClient httpClient = new HttpClient();
+    private TokenCache tokenCache = new TokenCache();
+    private UserPool userPool = new UserPool();
+    private DataCache dataCache = new DataCache();
+    private DocumentPrefetch documentPrefetch = new DocumentPrefetch();
+    private ServiceConcurrency serviceConcurrency = new ServiceConcurrency();
+    
+    // País definido pelo cenário em execução (steps multi-country): vale só para a thread do cenário,
+    // para que cenários paralelos não troquem o país uns dos outros
+    private final ThreadLocal<String> scenarioCountryCode = new ThreadLocal<>();
     
     public String getEnvironment() {
         return environment;
@@ -29,14 +41,35 @@ public class E2EConfiguration {
         this.environment = environment;
     }
     
+    /**
+     * País padrão: o país do cenário em execução na thread atual, se definido, ou e2e.default-country-code.
+     */
     public String getDefaultCountryCode() {
-        return defaultCountryCode;
+        String scenario = scenarioCountryCode.get();
+        return scenario != null ? scenario : defaultCountryCode;
     }
     
     public void setDefaultCountryCode(String defaultCountryCode) {
         this.defaultCountryCode = defaultCountryCode;
     }
     
+    /**
+     * Define o país apenas para o cenário em execução na thread atual.
+     * Removido ao final do cenário ({@link #clearScenarioCountryCode()}).
+     * 
+     * @param countryCode Código do país em uppercase (ex: "BR", "AR", "CL")
+     */
+    public void setScenarioCountryCode(String countryCode) {
+        scenarioCountryCode.set(countryCode);
+    }
+    
+    /**
+     * Remove o país do cenário da thread atual (volta a valer e2e.default-country-code).
+     */
+    public void clearScenarioCountryCode() {
+        scenarioCountryCode.remove();
+    }
+    
     /**
      * Retorna o código do país em lowercase para uso no header HTTP.
      * Conforme RFC 6648 e playbook, headers devem ser lowercase.
@@ -44,7 +77,8 @@ public class E2EConfiguration {
      * @return Código do país em lowercase (ex: "br", "ar", "cl")
      */
     public String getCountryCodeHeader() {
-        return defaultCountryCode != null ? defaultCountryCode.toLowerCase() : "br";
+        String countryCode = getDefaultCountryCode();
+        return countryCode != null ? countryCode.toLowerCase() : "br";
     }
     
     public Services getServices() {
@@ -103,6 +137,46 @@ public class E2EConfiguration {
         this.httpClient = httpClient;
     }
     
+    public TokenCache getTokenCache() {
+        return tokenCache;
+    }
+    
+    public void setTokenCache(TokenCache tokenCache) {
+        this.tokenCache = tokenCache;
+    }
+    
+    public UserPool getUserPool() {
+        return userPool;
+    }
+    
+    public void setUserPool(UserPool userPool) {
+        this.userPool = userPool;
+    }
+    
+    public DataCache getDataCache() {
+        return dataCache;
+    }
+    
+    public void setDataCache(DataCache dataCache) {
+        this.dataCache = dataCache;
+    }
+    
+    public DocumentPrefetch getDocumentPrefetch() {
+        return documentPrefetch;
+    }
+    
+    public void setDocumentPrefetch(DocumentPrefetch documentPrefetch) {
+        this.documentPrefetch = documentPrefetch;
+    }
+    
+    public ServiceConcurrency getServiceConcurrency() {
+        return serviceConcurrency;
+    }
+    
+    public void setServiceConcurrency(ServiceConcurrency serviceConcurrency) {
+        this.serviceConcurrency = serviceConcurrency;
+    }
+    
     /**
      * Determina se o header simulate-provider deve ser adicionado nas requisições.
      * 
@@ -210,6 +284,9 @@ public class E2EConfiguration {
         private Integer maxAttempts;
         private Long initialDelayMs;
         private Boolean enabled;
+        private Boolean pacerEnabled;
+        private Double requestsPerSecond;
+        private Integer burst;
         
         public Integer getMaxAttempts() {
             return maxAttempts != null ? maxAttempts : 3; // Default: 3 tentativas
@@ -234,6 +311,30 @@ public class E2EConfiguration {
         public void setEnabled(Boolean enabled) {
             this.enabled = enabled;
         }
+        
+        public Boolean getPacerEnabled() {
+            return pacerEnabled != null ? pacerEnabled : true; // Default: habilitado
+        }
+        
+        public void setPacerEnabled(Boolean pacerEnabled) {
+            this.pacerEnabled = pacerEnabled;
+        }
+        
+        public Double getRequestsPerSecond() {
+            return requestsPerSecond != null ? requestsPerSecond : 10.0; // Default: 10 req/s por endpoint e país
+        }
+        
+        public void setRequestsPerSecond(Double requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+        }
+        
+        public Integer getBurst() {
+            return burst != null ? burst : 5; // Default: rajada de 5 requisições
+        }
+        
+        public void setBurst(Integer burst) {
+            this.burst = burst;
+        }
     }
     
     public static class HttpClient {
@@ -242,6 +343,7 @@ public class E2EConfiguration {
         private Integer connectionTimeoutMs;
         private Integer socketTimeoutMs;
         private Long connectionTtlMs;
+        private Long idleTimeoutMs;
         
         public Integer getMaxConnectionsPerRoute() {
             return maxConnectionsPerRoute != null ? maxConnectionsPerRoute : 20; // Default: 20
@@ -282,6 +384,221 @@ public class E2EConfiguration {
         public void setConnectionTtlMs(Long connectionTtlMs) {
             this.connectionTtlMs = connectionTtlMs;
         }
+        
+        public Long getIdleTimeoutMs() {
+            return idleTimeoutMs != null ? idleTimeoutMs : 30000L; // Default: 30s
+        }
+        
+        public void setIdleTimeoutMs(Long idleTimeoutMs) {
+            this.idleTimeoutMs = idleTimeoutMs;
+        }
+    }
+    
+    public static class TokenCache {
+        private Boolean enabled;
+        private Integer refreshMarginSeconds;
+        private Integer defaultTtlSeconds;
+        
+        public Boolean getEnabled() {
+            return enabled != null ? enabled : true; // Default: habilitado
+        }
+        
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public Integer getRefreshMarginSeconds() {
+            return refreshMarginSeconds != null ? refreshMarginSeconds : 60; // Default: renovar 60s antes de expirar
+        }
+        
+        public void setRefreshMarginSeconds(Integer refreshMarginSeconds) {
+            this.refreshMarginSeconds = refreshMarginSeconds;
+        }
+        
+        public Integer getDefaultTtlSeconds() {
+            return defaultTtlSeconds != null ? defaultTtlSeconds : 300; // Default: 5min quando a resposta não informa expiração
+        }
+        
+        public void setDefaultTtlSeconds(Integer defaultTtlSeconds) {
+            this.defaultTtlSeconds = defaultTtlSeconds;
+        }
+    }
+    
+    public static class UserPool {
+        private Boolean enabled;
+        private Integer sizePerKey;
+        private Integer provisionThreads;
+        private Long failureBackoffMs;
+        private Boolean returnOnSuccess;
+        
+        public Boolean getEnabled() {
+            return enabled != null ? enabled : true; // Default: habilitado
+        }
+        
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public Integer getSizePerKey() {
+            return sizePerKey != null ? sizePerKey : 3; // Default: 3 usuários prontos por país + tipo de documento
+        }
+        
+        public void setSizePerKey(Integer sizePerKey) {
+            this.sizePerKey = sizePerKey;
+        }
+        
+        public Integer getProvisionThreads() {
+            return provisionThreads != null ? provisionThreads : 2; // Default: 2 provisionamentos simultâneos
+        }
+        
+        public void setProvisionThreads(Integer provisionThreads) {
+            this.provisionThreads = provisionThreads;
+        }
+        
+        public Long getFailureBackoffMs() {
+            return failureBackoffMs != null ? failureBackoffMs : 30000L; // Default: 30s sem reabastecer após falha
+        }
+        
+        public void setFailureBackoffMs(Long failureBackoffMs) {
+            this.failureBackoffMs = failureBackoffMs;
+        }
+        
+        public Boolean getReturnOnSuccess() {
+            return returnOnSuccess != null ? returnOnSuccess : false; // Default: usuário consumido ao final do cenário
+        }
+        
+        public void setReturnOnSuccess(Boolean returnOnSuccess) {
+            this.returnOnSuccess = returnOnSuccess;
+        }
+    }
+    
+    public static class DataCache {
+        private Integer usersTtlSeconds;
+        private Integer usersMaxSize;
+        private Integer documentsTtlSeconds;
+        private Integer documentsMaxSize;
+        private Integer tokensMaxSize;
+        private Boolean persistent;
+        private String persistentPath;
+        private Integer persistentTtlHours;
+        
+        public Integer getUsersTtlSeconds() {
+            return usersTtlSeconds != null ? usersTtlSeconds : 3600; // Default: 1h
+        }
+        
+        public void setUsersTtlSeconds(Integer usersTtlSeconds) {
+            this.usersTtlSeconds = usersTtlSeconds;
+        }
+        
+        public Integer getUsersMaxSize() {
+            return usersMaxSize != null ? usersMaxSize : 10000; // Default: 10000 usuários
+        }
+        
+        public void setUsersMaxSize(Integer usersMaxSize) {
+            this.usersMaxSize = usersMaxSize;
+        }
+        
+        public Integer getDocumentsTtlSeconds() {
+            return documentsTtlSeconds != null ? documentsTtlSeconds : 1800; // Default: 30min
+        }
+        
+        public void setDocumentsTtlSeconds(Integer documentsTtlSeconds) {
+            this.documentsTtlSeconds = documentsTtlSeconds;
+        }
+        
+        public Integer getDocumentsMaxSize() {
+            return documentsMaxSize != null ? documentsMaxSize : 5000; // Default: 5000 documentos
+        }
+        
+        public void setDocumentsMaxSize(Integer documentsMaxSize) {
+            this.documentsMaxSize = documentsMaxSize;
+        }
+        
+        public Integer getTokensMaxSize() {
+            return tokensMaxSize != null ? tokensMaxSize : 5000; // Default: 5000 tokens (TTL = expiração do token)
+        }
+        
+        public void setTokensMaxSize(Integer tokensMaxSize) {
+            this.tokensMaxSize = tokensMaxSize;
+        }
+        
+        public Boolean getPersistent() {
+            return persistent != null ? persistent : false; // Default: cache apenas em memória
+        }
+        
+        public void setPersistent(Boolean persistent) {
+            this.persistent = persistent;
+        }
+        
+        public String getPersistentPath() {
+            return persistentPath != null ? persistentPath : "target/e2e-data-cache.log"; // Default: removido por mvn clean
+        }
+        
+        public void setPersistentPath(String persistentPath) {
+            this.persistentPath = persistentPath;
+        }
+        
+        public Integer getPersistentTtlHours() {
+            return persistentTtlHours != null ? persistentTtlHours : 24; // Default: usuários reaproveitados por até 24h
+        }
+        
+        public void setPersistentTtlHours(Integer persistentTtlHours) {
+            this.persistentTtlHours = persistentTtlHours;
+        }
+    }
+    
+    public static class DocumentPrefetch {
+        private Boolean enabled;
+        private Integer ringSize;
+        
+        public Boolean getEnabled() {
+            return enabled != null ? enabled : false; // Default: geração direta (suite funcional)
+        }
+        
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public Integer getRingSize() {
+            return ringSize != null ? ringSize : 1024; // Default: 1024 valores prontos por tipo
+        }
+        
+        public void setRingSize(Integer ringSize) {
+            this.ringSize = ringSize;
+        }
+    }
+    
+    public static class ServiceConcurrency {
+        private Boolean enabled;
+        private Integer maxInFlight;
+        private Map<String, Integer> perService = new HashMap<>();
+        
+        public Boolean getEnabled() {
+            return enabled != null ? enabled : true;
+        }
+        
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public Integer getMaxInFlight() {
+            return maxInFlight != null ? maxInFlight : 20; // Default: igual a http-client.max-connections-per-route
+        }
+        
+        public void setMaxInFlight(Integer maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+        
+        /**
+         * Limite específico por serviço (chaves: identity, auth, auth-relay, profile,
+         * transactional-messaging, delivery-tracker, audit-compliance); ausente = max-in-flight.
+         */
+        public Map<String, Integer> getPerService() {
+            return perService;
+        }
+        
+        public void setPerService(Map<String, Integer> perService) {
+            this.perService = perService;
+        }
     }
 }
-
@@ -0,0 +1,160 @@
+package com.nulote.journey.clients;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nulote.journey.config.E2EConfiguration;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Camada HTTP não bloqueante para os clientes de serviço (métodos *Async).
+ *
+ * Usa o HttpClient do JDK (HTTP/2 quando o servidor suportar, com fallback para HTTP/1.1)
+ * e executa os callbacks em virtual threads: uma jornada aguardando respostas não ocupa
+ * uma thread de plataforma, e chamadas independentes dentro de um step podem ser emitidas
+ * em paralelo (ex: CompletableFuture.allOf(credenciais, perfil)).
+ *
+ * As respostas são convertidas para io.restassured.response.Response, então os steps
+ * usam o mesmo jsonPath()/getStatusCode() das versões síncronas.
+ */
+@Component
+public class AsyncHttpClient {
+
+    @Autowired
+    private E2EConfiguration config;
+
+    @Autowired
+    private ServiceConcurrencyLimiter concurrencyLimiter;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ExecutorService executor;
+    private HttpClient httpClient;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(config.getHttpClient().getConnectionTimeoutMs()))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .executor(executor)
+            .build();
+    }
+
+    /**
+     * Headers obrigatórios de correlação e governança (mesmos dos clientes síncronos).
+     *
+     * @param requestTraceId request-trace-id da execução
+     * @return Mapa mutável para o cliente acrescentar headers específicos
+     */
+    public Map<String, String> requiredHeaders(String requestTraceId) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("request-trace-id", requestTraceId);
+        headers.put("request-caller", "e2e-tests");
+        headers.put("request-origin", "direct");
+        headers.put("country-code", config.getCountryCodeHeader()); // Multi-country: header lowercase conforme RFC 6648
+        return headers;
+    }
+
+    public CompletableFuture<Response> get(String baseUrl, String path, Map<String, String> headers) {
+        return send("GET", baseUrl + path, headers, null);
+    }
+
+    public CompletableFuture<Response> post(String baseUrl, String path, Map<String, String> headers, Object body) {
+        return send("POST", baseUrl + path, headers, body);
+    }
+
+    public CompletableFuture<Response> put(String baseUrl, String path, Map<String, String> headers, Object body) {
+        return send("PUT", baseUrl + path, headers, body);
+    }
+
+    /**
+     * Codifica um valor para uso em path ou query string.
+     */
+    public static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private CompletableFuture<Response> send(String method, String url, Map<String, String> headers, Object body) {
+        HttpRequest.BodyPublisher publisher;
+        try {
+            publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(serialize(body), StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofMillis(config.getHttpClient().getSocketTimeoutMs()))
+            .method(method, publisher);
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        headers.forEach((name, value) -> {
+            if (value != null) {
+                builder.header(name, value);
+            }
+        });
+
+        // Vaga do serviço obtida aqui (bloqueia quem emite) e liberada quando a resposta chega
+        String service = concurrencyLimiter.acquire(url);
+        long start = System.nanoTime();
+        return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+            .whenComplete((response, error) -> {
+                concurrencyLimiter.release(service);
+                concurrencyLimiter.record(service, method, url, response != null ? response.statusCode() : -1,
+                    System.nanoTime() - start);
+            })
+            .thenApply(AsyncHttpClient::toResponse);
+    }
+
+    private String serialize(Object body) throws JsonProcessingException {
+        return body instanceof String text ? text : objectMapper.writeValueAsString(body);
+    }
+
+    private static Response toResponse(HttpResponse<String> httpResponse) {
+        List<Header> headerList = new ArrayList<>();
+        httpResponse.headers().map().forEach((name, values) ->
+            values.forEach(value -> headerList.add(new Header(name, value))));
+        String contentType = httpResponse.headers().firstValue("Content-Type").orElse("application/json");
+        String protocol = httpResponse.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+
+        return new ResponseBuilder()
+            .setStatusCode(httpResponse.statusCode())
+            .setStatusLine(protocol + " " + httpResponse.statusCode())
+            .setHeaders(new Headers(headerList))
+            .setContentType(contentType)
+            .setBody(httpResponse.body())
+            .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -2,13 +2,14 @@ package com.nulote.journey.clients;
 
 import com.nulote.journey.config.E2EConfiguration;
 import com.nulote.journey.fixtures.ExecutionContext;
-import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Cliente HTTP para comunicação com o Audit Compliance Service (VS-Customer-Communications).
  */
@@ -18,6 +19,12 @@ public class AuditComplianceServiceClient {
     @Autowired
     private E2EConfiguration config;
     
+    @Autowired
+    private HttpConnectionPool httpConnectionPool;
+    
+    @Autowired
+    private AsyncHttpClient asyncHttpClient;
+    
     private String getBaseUrl() {
         // Por padrão, usar porta padrão (a definir conforme implementação)
         return config.getServices().getAuditComplianceUrl() != null 
@@ -47,7 +54,7 @@ public class AuditComplianceServiceClient {
      * @return Resposta HTTP
      */
     public Response getAuditLog(String auditId) {
-        RequestSpecification spec = RestAssured.given()
+        RequestSpecification spec = httpConnectionPool.given()
             .baseUri(getBaseUrl())
             .contentType(ContentType.JSON)
             .header("request-trace-id", getRequestTraceId());
@@ -67,7 +74,7 @@ public class AuditComplianceServiceClient {
      * @return Resposta HTTP
      */
     public Response getAuditLogsByUser(String userId) {
-        RequestSpecification spec = RestAssured.given()
+        RequestSpecification spec = httpConnectionPool.given()
             .baseUri(getBaseUrl())
             .contentType(ContentType.JSON)
             .header("request-trace-id", getRequestTraceId());
@@ -87,7 +94,7 @@ public class AuditComplianceServiceClient {
      * @return Resposta HTTP
      */
     public Response getAuditLogsByMessage(String messageId) {
-        RequestSpecification spec = RestAssured.given()
+        RequestSpecification spec = httpConnectionPool.given()
             .baseUri(getBaseUrl())
             .contentType(ContentType.JSON)
             .header("request-trace-id", getRequestTraceId());
@@ -106,7 +113,7 @@ public class AuditComplianceServiceClient {
      * @return Resposta HTTP
      */
     public Response healthCheck() {
-        RequestSpecification spec = RestAssured.given()
+        RequestSpecification spec = httpConnectionPool.given()
             .baseUri(getBaseUrl());
         
         return spec.when()
@@ -115,4 +122,21 @@ public class AuditComplianceServiceClient {
             .extract()
             .response();
     }
+    
+    // ========== Versões assíncronas (AsyncHttpClient: java.net.http + virtual threads) ==========
+    
+    public CompletableFuture<Response> getAuditLogAsync(String auditId) {
+        return asyncHttpClient.get(getBaseUrl(), "/api/v1/audit/" + AsyncHttpClient.encode(auditId),
+            asyncHttpClient.requiredHeaders(getRequestTraceId()));
+    }
+    
+    public CompletableFuture<Response> getAuditLogsByUserAsync(String userId) {
+        return asyncHttpClient.get(getBaseUrl(), "/api/v1/audit/user/" + AsyncHttpClient.encode(userId),
+            asyncHttpClient.requiredHeaders(getRequestTraceId()));
+    }
+    
+    public CompletableFuture<Response> getAuditLogsByMessageAsync(String messageId) {
+        return asyncHttpClient.get(getBaseUrl(), "/api/v1/audit/message/" + AsyncHttpClient.encode(messageId),
+            asyncHttpClient.requiredHeaders(getRequestTraceId()));
+    }
 }
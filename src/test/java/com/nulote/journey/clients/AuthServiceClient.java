@@ -2,14 +2,15 @@ package com.nulote.journey.clients;
 
 import com.nulote.journey.config.E2EConfiguration;
 import com.nulote.journey.fixtures.ExecutionContext;
-import io.restassured.RestAssured;
-import io.restassured.http.ContentType;
+import com.nulote.journey.fixtures.TestDataCache;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Cliente HTTP para comunicação com o Auth Service.
@@ -20,6 +21,21 @@ public class AuthServiceClient {
     @Autowired
     private E2EConfiguration config;
     
+    @Autowired
+    private RequestTemplates requestTemplates;
+    
+    @Autowired
+    private AsyncHttpClient asyncHttpClient;
+    
+    @Autowired
+    private RateLimitPacer rateLimitPacer;
+    
+    @Autowired
+    private TestDataCache testDataCache;
+    
+    /** Bucket do pacer para o endpoint de solicitação de OTP (rate limiting por email/IP no auth-service). */
+    private static final String OTP_REQUEST_ENDPOINT = "auth.otp.request";
+    
     private String getBaseUrl() {
         return config.getServices().getAuthUrl();
     }
@@ -57,51 +73,8 @@ public class AuthServiceClient {
                               env.equalsIgnoreCase("dev"));
     }
     
-    /**
-     * Adiciona os headers obrigatórios de correlação e governança.
-     * Inclui o header country-code para suporte multi-country (conforme refatoração).
-     * 
-     * @param spec RequestSpecification do RestAssured
-     * @return RequestSpecification com headers adicionados
-     */
-    private RequestSpecification addRequiredHeaders(RequestSpecification spec) {
-        String countryCode = config.getCountryCodeHeader();
-        spec = spec.header("request-caller", "e2e-tests")
-                   .header("request-origin", "direct")
-                   .header("country-code", countryCode); // Multi-country: header lowercase conforme RFC 6648
-        
-        // Logging para debug (apenas em nível debug para não poluir logs)
-        var logger = org.slf4j.LoggerFactory.getLogger(AuthServiceClient.class);
-        logger.debug("🌍 [MULTI-COUNTRY] Header 'country-code: {}' adicionado à requisição", countryCode);
-        
-        return spec;
-    }
-    
-    /**
-     * Adiciona o header simulate-provider se a simulação estiver habilitada.
-     * 
-     * @param spec RequestSpecification do RestAssured
-     * @return RequestSpecification com header adicionado (se necessário)
-     */
-    private RequestSpecification addSimulateProviderHeader(RequestSpecification spec) {
-        var logger = org.slf4j.LoggerFactory.getLogger(AuthServiceClient.class);
-        if (config.shouldSimulateProvider()) {
-            spec = spec.header("simulate-provider", "true");
-            logger.info("✅ [SIMULATE-PROVIDER] Header 'simulate-provider: true' adicionado à requisição (ambiente: {})", 
-                config.getEnvironment());
-        } else {
-            logger.warn("⚠️ [SIMULATE-PROVIDER] Header 'simulate-provider' NÃO adicionado (ambiente: {}, shouldSimulate: {})", 
-                config.getEnvironment(), config.shouldSimulateProvider());
-        }
-        return spec;
-    }
-    
     public Response login(Object request) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, false);
         return spec.body(request)
             .when()
             .post("/api/v1/auth/login")
@@ -131,13 +104,10 @@ public class AuthServiceClient {
      * @return Resposta HTTP
      */
     private Response requestOtpSimple(Object request) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId());
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, true);
         
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec);
+        // Espaçar a requisição pelo pacer compartilhado (evita 429 com threads paralelas)
+        rateLimitPacer.acquire(OTP_REQUEST_ENDPOINT);
         
         // Log detalhado do request para debug
         var logger = org.slf4j.LoggerFactory.getLogger(AuthServiceClient.class);
@@ -186,17 +156,29 @@ public class AuthServiceClient {
                 request != null ? request.getClass().getName() : "null");
         }
         
-        return spec.body(request)
+        long sentAtNanos = System.nanoTime();
+        Response response = spec.body(request)
             .when()
             .post("/api/v1/auth/otp/request")
             .then()
             .extract()
             .response();
+        if (response.getStatusCode() == 429) {
+            rateLimitPacer.onRateLimited(OTP_REQUEST_ENDPOINT, sentAtNanos,
+                isLocalOrTestEnvironment() ? 0 : extractRetryDelayMs(response), config.getRateLimitRetry().getInitialDelayMs());
+        } else {
+            rateLimitPacer.onSuccess(OTP_REQUEST_ENDPOINT);
+        }
+        return response;
     }
     
     /**
      * Solicita OTP com retry automático para rate limiting (429).
      * 
+     * Cada tentativa passa pelo {@link RateLimitPacer}: o delay de um 429 (backoff, retryPolicy ou
+     * Retry-After) pausa o bucket compartilhado, então as demais threads também aguardam em vez de
+     * receberem seus próprios 429.
+     * 
      * @param request Dados da requisição OTP
      * @param maxRetries Número máximo de tentativas
      * @param initialDelayMs Delay inicial em milissegundos (backoff exponencial)
@@ -210,13 +192,17 @@ public class AuthServiceClient {
         while (attempt < maxRetries) {
             attempt++;
             
-            RequestSpecification spec = RestAssured.given()
-                .baseUri(getBaseUrl())
-                .contentType(ContentType.JSON)
-                .header("request-trace-id", getRequestTraceId());
+            RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, true);
             
-            spec = addRequiredHeaders(spec);
-            spec = addSimulateProviderHeader(spec);
+            // Aguardar vaga no pacer (inclui a pausa aprendida de um 429 anterior, desta ou de outra thread)
+            long pacedMs = rateLimitPacer.acquire(OTP_REQUEST_ENDPOINT);
+            if (Thread.currentThread().isInterrupted() && response != null) {
+                logger.error("❌ [TROUBLESHOOTING] Delay interrompido durante retry de rate limiting");
+                return response; // Retornar resposta atual
+            }
+            if (pacedMs > 0) {
+                logger.debug("⏱️ [RATE-LIMIT] Requisição OTP espaçada pelo pacer: {}ms (tentativa {})", pacedMs, attempt);
+            }
             
             // Log detalhado do request para debug (apenas na primeira tentativa)
             if (attempt == 1) {
@@ -266,6 +252,7 @@ public class AuthServiceClient {
                 }
             }
             
+            long sentAtNanos = System.nanoTime();
             response = spec.body(request)
                 .when()
                 .post("/api/v1/auth/otp/request")
@@ -277,105 +264,26 @@ public class AuthServiceClient {
             
             // Se não for rate limiting (429), retornar imediatamente
             if (statusCode != 429) {
+                rateLimitPacer.onSuccess(OTP_REQUEST_ENDPOINT);
                 if (attempt > 1) {
                     logger.info("✅ [TROUBLESHOOTING] Requisição OTP bem-sucedida após {} tentativa(s)", attempt);
                 }
                 return response;
             }
             
-            // Rate limiting (429) detectado
+            // Rate limiting (429) detectado: a penalidade é calculada pelo coordenador compartilhado do
+            // endpoint (jitter decorrelacionado sobre a janela atual, sem backoff recalculado do zero por thread)
+            long serverHintMs = isLocalOrTestEnvironment() ? 0 : extractRetryDelayMs(response);
+            if (isLocalOrTestEnvironment()) {
+                logger.info("🔄 [TROUBLESHOOTING] Rate limiting (429) detectado em ambiente local/teste. " +
+                    "Ignorando delay da API (configurado para PROD, 5 req/hora); em local o rate limit é 100 req/hora.");
+            }
+            long penaltyMs = rateLimitPacer.onRateLimited(OTP_REQUEST_ENDPOINT, sentAtNanos, serverHintMs, initialDelayMs);
+            
             if (attempt < maxRetries) {
-                long delayMs = initialDelayMs * (long) Math.pow(2, attempt - 1); // Backoff exponencial padrão
-                
-                // Determinar se estamos em ambiente local/teste (rate limit mais permissivo)
-                boolean isLocalOrTestEnvironment = isLocalOrTestEnvironment();
-                
-                // Em ambiente local/teste, usar backoff exponencial padrão (não usar delay da API)
-                // A API retorna delay de PROD (10 minutos), mas em local temos rate limit mais alto (100 req/hora)
-                if (isLocalOrTestEnvironment) {
-                    logger.info("🔄 [TROUBLESHOOTING] Rate limiting (429) detectado em ambiente local/teste. " +
-                        "Usando backoff exponencial padrão ({}ms) ao invés do delay da API (configurado para PROD).", delayMs);
-                    logger.info("🔄 [TROUBLESHOOTING] Em ambiente local, o rate limit é mais permissivo (100 req/hora). " +
-                        "O delay da API (PT10M) é para PROD (5 req/hora) e não se aplica aqui.");
-                } else {
-                    // Em ambiente PROD/SIT/UAT, tentar usar delay da API se disponível
-                    try {
-                        String responseBody = response.getBody() != null ? response.getBody().asString() : null;
-                        if (responseBody != null && responseBody.contains("retryPolicy")) {
-                            // Tentar extrair initialDelay ou maxDelay do retryPolicy
-                            String initialDelayStr = response.jsonPath().getString("retryPolicy.initialDelay");
-                            String maxDelayStr = response.jsonPath().getString("retryPolicy.maxDelay");
-                            
-                            // Preferir maxDelay se disponível, senão usar initialDelay
-                            String delayStr = maxDelayStr != null ? maxDelayStr : initialDelayStr;
-                            
-                            if (delayStr != null && !delayStr.isEmpty()) {
-                                try {
-                                    // Parsear formato ISO 8601 (ex: PT10M = 10 minutos, PT5S = 5 segundos)
-                                    java.time.Duration duration = java.time.Duration.parse(delayStr);
-                                    long durationMs = duration.toMillis();
-                                    
-                                    // Limitar delay máximo a 5 minutos para testes (evitar esperar 10 minutos)
-                                    long maxDelayForTests = 5 * 60 * 1000; // 5 minutos
-                                    if (durationMs > maxDelayForTests) {
-                                        logger.warn("⚠️ [TROUBLESHOOTING] Delay sugerido pela API ({}) é muito longo para testes. Limitando a {}ms (5 minutos)", 
-                                            delayStr, maxDelayForTests);
-                                        delayMs = maxDelayForTests;
-                                    } else {
-                                        delayMs = durationMs;
-                                    }
-                                    
-                                    logger.info("🔄 [TROUBLESHOOTING] Rate limiting (429) detectado. Usando delay sugerido pela API: {} ({}ms)", 
-                                        delayStr, delayMs);
-                                } catch (Exception e) {
-                                    logger.debug("Não foi possível parsear delay da API ({}). Usando backoff exponencial: {}ms", 
-                                        delayStr, delayMs);
-                                }
-                            }
-                        }
-                    } catch (Exception e) {
-                        logger.debug("Erro ao extrair delay da resposta: {}. Usando backoff exponencial: {}ms", 
-                            e.getMessage(), delayMs);
-                    }
-                    
-                    // Tentar extrair Retry-After do header se disponível (sobrescreve delay da API se menor)
-                    String retryAfterHeader = response.getHeader("Retry-After");
-                    if (retryAfterHeader != null && !retryAfterHeader.isEmpty()) {
-                        try {
-                            int retryAfterSeconds = Integer.parseInt(retryAfterHeader);
-                            long retryAfterMs = retryAfterSeconds * 1000L;
-                            
-                            // Usar o menor entre Retry-After e delay da API (mas limitar a 5 minutos)
-                            long maxDelayForTests = 5 * 60 * 1000; // 5 minutos
-                            if (retryAfterMs < delayMs && retryAfterMs <= maxDelayForTests) {
-                                delayMs = retryAfterMs;
-                                logger.info("🔄 [TROUBLESHOOTING] Usando Retry-After header: {}s (menor que delay da API)", retryAfterSeconds);
-                            }
-                        } catch (NumberFormatException e) {
-                            logger.debug("Retry-After header inválido: {}. Mantendo delay calculado: {}ms", 
-                                retryAfterHeader, delayMs);
-                        }
-                    }
-                    
-                    // Se delay for muito longo (> 5 minutos), logar aviso e usar máximo de 5 minutos
-                    long maxDelayForTests = 5 * 60 * 1000; // 5 minutos
-                    if (delayMs > maxDelayForTests) {
-                        logger.warn("⚠️ [TROUBLESHOOTING] Delay calculado ({}ms) é muito longo para testes. Limitando a {}ms (5 minutos)", 
-                            delayMs, maxDelayForTests);
-                        delayMs = maxDelayForTests;
-                    }
-                }
-                
+                // A espera acontece no acquire da próxima tentativa (janela de penalidade compartilhada por todas as threads)
                 logger.info("🔄 [TROUBLESHOOTING] Tentativa {}/{} falhou com rate limiting (429). Aguardando {}ms ({}s) antes de retry...", 
-                    attempt, maxRetries, delayMs, delayMs / 1000);
-                
-                try {
-                    Thread.sleep(delayMs);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    logger.error("❌ [TROUBLESHOOTING] Delay interrompido durante retry de rate limiting");
-                    return response; // Retornar resposta atual
-                }
+                    attempt, maxRetries, penaltyMs, penaltyMs / 1000);
             } else {
                 logger.error("❌ [TROUBLESHOOTING] Rate limiting (429) persistiu após {} tentativas. Retornando última resposta.", maxRetries);
                 logger.error("❌ [TROUBLESHOOTING] O rate limit pode exigir aguardar mais tempo (ex: 10 minutos).");
@@ -389,6 +297,49 @@ public class AuthServiceClient {
         return response; // Retornar última resposta (429 ou outra)
     }
     
+    /**
+     * Extrai o delay sugerido pela API em uma resposta 429 (ambientes PROD/SIT/UAT).
+     * Usa retryPolicy.maxDelay (ou initialDelay) em ISO 8601 e o header Retry-After quando menor.
+     * 
+     * @param response Resposta 429
+     * @return Delay sugerido em milissegundos, ou 0 se a resposta não indicar
+     */
+    private long extractRetryDelayMs(Response response) {
+        var logger = org.slf4j.LoggerFactory.getLogger(AuthServiceClient.class);
+        long delayMs = 0;
+        try {
+            String responseBody = response.getBody() != null ? response.getBody().asString() : null;
+            if (responseBody != null && responseBody.contains("retryPolicy")) {
+                // Preferir maxDelay se disponível, senão usar initialDelay
+                String maxDelayStr = response.jsonPath().getString("retryPolicy.maxDelay");
+                String delayStr = maxDelayStr != null ? maxDelayStr : response.jsonPath().getString("retryPolicy.initialDelay");
+                if (delayStr != null && !delayStr.isEmpty()) {
+                    // Formato ISO 8601 (ex: PT10M = 10 minutos, PT5S = 5 segundos)
+                    delayMs = java.time.Duration.parse(delayStr).toMillis();
+                    logger.info("🔄 [TROUBLESHOOTING] Rate limiting (429) detectado. Delay sugerido pela API: {} ({}ms)", 
+                        delayStr, delayMs);
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Não foi possível extrair delay da resposta: {}", e.getMessage());
+        }
+        
+        // Retry-After (segundos) sobrescreve o delay da API se menor
+        String retryAfterHeader = response.getHeader("Retry-After");
+        if (retryAfterHeader != null && !retryAfterHeader.isEmpty()) {
+            try {
+                long retryAfterMs = Integer.parseInt(retryAfterHeader) * 1000L;
+                if (delayMs == 0 || retryAfterMs < delayMs) {
+                    delayMs = retryAfterMs;
+                    logger.info("🔄 [TROUBLESHOOTING] Usando Retry-After header: {}s", retryAfterHeader);
+                }
+            } catch (NumberFormatException e) {
+                logger.debug("Retry-After header inválido: {}", retryAfterHeader);
+            }
+        }
+        return delayMs;
+    }
+    
     /**
      * Solicita OTP sem simulação (envio real ao provider)
      * 
@@ -396,11 +347,7 @@ public class AuthServiceClient {
      * @return Resposta HTTP
      */
     public Response requestOtpWithoutSimulation(Object request) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, false);
         // NÃO adicionar simulate-provider header
         
         return spec.body(request)
@@ -412,11 +359,7 @@ public class AuthServiceClient {
     }
     
     public Response validateOtp(Object request) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, false);
         return spec.body(request)
             .when()
             .post("/api/v1/auth/otp/validate")
@@ -434,10 +377,7 @@ public class AuthServiceClient {
      * @return Resposta HTTP (200 se usuário existe, 404 se não existe)
      */
     public Response getCredentialsByUserUuid(String userUuid) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), false, false);
         return spec.pathParam("uuid", userUuid)
             .when()
             .get("/api/v1/auth/users/{uuid}")
@@ -447,12 +387,8 @@ public class AuthServiceClient {
     }
     
     public Response validateToken(String token) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId())
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, false)
             .header("Authorization", "Bearer " + token);
-        spec = addRequiredHeaders(spec);
         return spec.when()
             .post("/api/v1/auth/token/validate")
             .then()
@@ -461,11 +397,7 @@ public class AuthServiceClient {
     }
     
     public Response refreshToken(Object request) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, false);
         return spec.body(request)
             .when()
             .post("/api/v1/auth/token/refresh")
@@ -475,10 +407,9 @@ public class AuthServiceClient {
     }
     
     public Response logout(String token) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId());
+        // Token revogado: não pode mais ser servido pelo cache de tokens
+        testDataCache.invalidateToken(token);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, false);
         
         // Adicionar header Authorization apenas se token não for null
         if (token != null) {
@@ -486,7 +417,6 @@ public class AuthServiceClient {
         }
         // Se token for null, não adicionar header Authorization (para testar cenário de erro)
         
-        spec = addRequiredHeaders(spec);
         return spec.when()
             .post("/api/v1/auth/logout")
             .then()
@@ -495,12 +425,10 @@ public class AuthServiceClient {
     }
     
     public Response changePassword(Object request, String token) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId())
+        // Troca de senha pode revogar a sessão atual: remover o token do cache de tokens
+        testDataCache.invalidateToken(token);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, false)
             .header("Authorization", "Bearer " + token);
-        spec = addRequiredHeaders(spec);
         return spec.body(request)
             .when()
             .post("/api/v1/auth/password/change")
@@ -510,12 +438,9 @@ public class AuthServiceClient {
     }
     
     public Response revokeAllTokens(String userUuid, String token) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId())
+        testDataCache.invalidateToken(token);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, false)
             .header("Authorization", "Bearer " + token);
-        spec = addRequiredHeaders(spec);
         return spec.pathParam("userUuid", userUuid)
             .when()
             .post("/api/v1/auth/tokens/revoke-all/{userUuid}")
@@ -525,12 +450,7 @@ public class AuthServiceClient {
     }
     
     public Response recoverPassword(Object request) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec); // Adicionar simulate-provider para garantir que código de teste seja salvo
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, true);
         return spec.body(request)
             .when()
             .post("/api/v1/auth/password/recover")
@@ -540,12 +460,7 @@ public class AuthServiceClient {
     }
     
     public Response resetPassword(Object request) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec); // Adicionar simulate-provider para evitar envio real ao provider
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, true);
         return spec.body(request)
             .when()
             .post("/api/v1/auth/password/reset")
@@ -565,11 +480,7 @@ public class AuthServiceClient {
      * @return Resposta HTTP
      */
     public Response updateUser(String uuid, Object request) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, false);
         return spec.pathParam("uuid", uuid)
             .body(request)
             .when()
@@ -587,11 +498,7 @@ public class AuthServiceClient {
      * @return Resposta HTTP contendo o código OTP
      */
     public Response getTestOtpCode(String otpId) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec); // Requerido para acessar o endpoint de teste
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), false, true);
         return spec.pathParam("otpId", otpId)
             .when()
             .get("/api/v1/auth/otp/{otpId}/test-code")
@@ -608,11 +515,7 @@ public class AuthServiceClient {
      * @return Resposta HTTP (302 redirect para provider)
      */
     public Response initiateSocialLogin(String provider, String redirectUri) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec); // Para simular provider em testes
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), false, true);
         return spec.queryParam("provider", provider)
             .queryParam("redirect_uri", redirectUri)
             .when()
@@ -651,11 +554,7 @@ public class AuthServiceClient {
      * @return Resposta HTTP (302 redirect com JWT ou estado pendente)
      */
     public Response processOAuth2Callback(String code, String state, String redirectUri, String email) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec); // ✅ Para simular provider em testes - permite processar callback diretamente
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), false, true);
         
         // ✅ Com simulate-provider=true, o endpoint /api/oauth2/callback processa diretamente
         // sem depender do Spring Security OAuth2 já ter processado o callback
@@ -685,10 +584,8 @@ public class AuthServiceClient {
      * @return Resposta HTTP após seguir o redirect
      */
     public Response followRedirect(String location) {
-        RequestSpecification spec = RestAssured.given()
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec);
+        // Sem base URI no template: location pode ser absoluta
+        RequestSpecification spec = requestTemplates.given(null, false, true);
         
         // Se location é relativa, usar baseUrl
         if (location.startsWith("/")) {
@@ -713,11 +610,7 @@ public class AuthServiceClient {
      * @return Resposta HTTP (302 redirect com erro)
      */
     public Response processOAuth2CallbackWithError(String error, String errorDescription, String state, String redirectUri) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), false, true);
         return spec.queryParam("error", error)
             .queryParam("error_description", errorDescription != null ? errorDescription : "")
             .queryParam("state", state)
@@ -738,12 +631,7 @@ public class AuthServiceClient {
      * @return Resposta HTTP
      */
     public Response verifyAccountLinking(String pendingLinkId, String otpCode) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, true);
         
         Map<String, String> request = new java.util.HashMap<>();
         request.put("pendingLinkId", pendingLinkId);
@@ -765,12 +653,7 @@ public class AuthServiceClient {
      * @return Resposta HTTP
      */
     public Response verifySocialLoginOtp(String pendingOtpId, String otpCode) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, true);
         
         Map<String, String> request = new java.util.HashMap<>();
         request.put("pendingOtpId", pendingOtpId);
@@ -798,11 +681,7 @@ public class AuthServiceClient {
      * @return Resposta HTTP (302 redirect para provider)
      */
     public Response initiateSocialLoginViaRelay(String provider, String redirectUri) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getRelayBaseUrl())
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec);
+        RequestSpecification spec = requestTemplates.given(getRelayBaseUrl(), false, true);
         return spec.queryParam("provider", provider)
             .queryParam("redirect_uri", redirectUri)
             .when()
@@ -822,11 +701,7 @@ public class AuthServiceClient {
      * @return Resposta HTTP (302 redirect com JWT ou estado pendente)
      */
     public Response processOAuth2CallbackViaRelay(String code, String state, String redirectUri) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getRelayBaseUrl())
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec);
+        RequestSpecification spec = requestTemplates.given(getRelayBaseUrl(), false, true);
         return spec.queryParam("code", code)
             .queryParam("state", state)
             .queryParam("redirect_uri", redirectUri)
@@ -846,12 +721,7 @@ public class AuthServiceClient {
      * @return Resposta HTTP
      */
     public Response verifySocialLoginOtpViaRelay(String pendingOtpId, String otpCode) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getRelayBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec);
+        RequestSpecification spec = requestTemplates.given(getRelayBaseUrl(), true, true);
         
         Map<String, String> request = new java.util.HashMap<>();
         request.put("pendingOtpId", pendingOtpId);
@@ -873,12 +743,7 @@ public class AuthServiceClient {
      * @return Resposta HTTP
      */
     public Response completeAccountLinkingViaRelay(String pendingLinkId, String otpCode) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getRelayBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec);
+        RequestSpecification spec = requestTemplates.given(getRelayBaseUrl(), true, true);
         
         Map<String, String> request = new java.util.HashMap<>();
         request.put("pendingLinkId", pendingLinkId);
@@ -891,5 +756,79 @@ public class AuthServiceClient {
             .extract()
             .response();
     }
+    
+    // ========== Versões assíncronas (AsyncHttpClient: java.net.http + virtual threads) ==========
+    
+    private Map<String, String> asyncHeaders(boolean simulateProvider) {
+        Map<String, String> headers = asyncHttpClient.requiredHeaders(getRequestTraceId());
+        if (simulateProvider && config.shouldSimulateProvider()) {
+            headers.put("simulate-provider", "true");
+        }
+        return headers;
+    }
+    
+    public CompletableFuture<Response> loginAsync(Object request) {
+        return asyncHttpClient.post(getBaseUrl(), "/api/v1/auth/login", asyncHeaders(false), request);
+    }
+    
+    /**
+     * Versão assíncrona de {@link #requestOtp(Object)}, com o mesmo pacer e retry para rate limiting (429)
+     * quando habilitado. A espera do pacer e o intervalo entre tentativas não bloqueiam thread (delayedExecutor).
+     */
+    public CompletableFuture<Response> requestOtpAsync(Object request) {
+        var retry = config.getRateLimitRetry();
+        int maxAttempts = retry.getEnabled() ? retry.getMaxAttempts() : 1;
+        return requestOtpAsync(request, 1, maxAttempts, retry.getInitialDelayMs());
+    }
+    
+    private CompletableFuture<Response> requestOtpAsync(Object request, int attempt, int maxAttempts, long initialDelayMs) {
+        long pacedMs = rateLimitPacer.reserve(OTP_REQUEST_ENDPOINT);
+        CompletableFuture<Void> slot = pacedMs > 0
+            ? CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(pacedMs, TimeUnit.MILLISECONDS))
+            : CompletableFuture.completedFuture(null);
+        long[] sentAtNanos = new long[1];
+        return slot
+            .thenCompose(ignored -> {
+                sentAtNanos[0] = System.nanoTime();
+                return asyncHttpClient.post(getBaseUrl(), "/api/v1/auth/otp/request", asyncHeaders(true), request);
+            })
+            .thenCompose(response -> {
+                if (response.getStatusCode() != 429) {
+                    rateLimitPacer.onSuccess(OTP_REQUEST_ENDPOINT);
+                    return CompletableFuture.completedFuture(response);
+                }
+                // A espera da próxima tentativa vem do reserve (janela de penalidade compartilhada por todas as chamadas)
+                long delayMs = rateLimitPacer.onRateLimited(OTP_REQUEST_ENDPOINT, sentAtNanos[0],
+                    isLocalOrTestEnvironment() ? 0 : extractRetryDelayMs(response), initialDelayMs);
+                if (attempt >= maxAttempts) {
+                    return CompletableFuture.completedFuture(response);
+                }
+                var logger = org.slf4j.LoggerFactory.getLogger(AuthServiceClient.class);
+                logger.info("🔄 [TROUBLESHOOTING] Tentativa {}/{} (async) falhou com rate limiting (429). Nova tentativa em {}ms", 
+                    attempt, maxAttempts, delayMs);
+                return requestOtpAsync(request, attempt + 1, maxAttempts, initialDelayMs);
+            });
+    }
+    
+    public CompletableFuture<Response> validateOtpAsync(Object request) {
+        return asyncHttpClient.post(getBaseUrl(), "/api/v1/auth/otp/validate", asyncHeaders(false), request);
+    }
+    
+    public CompletableFuture<Response> getCredentialsByUserUuidAsync(String userUuid) {
+        return asyncHttpClient.get(getBaseUrl(), "/api/v1/auth/users/" + AsyncHttpClient.encode(userUuid), asyncHeaders(false));
+    }
+    
+    public CompletableFuture<Response> validateTokenAsync(String token) {
+        Map<String, String> headers = asyncHeaders(false);
+        headers.put("Authorization", "Bearer " + token);
+        return asyncHttpClient.post(getBaseUrl(), "/api/v1/auth/token/validate", headers, null);
+    }
+    
+    public CompletableFuture<Response> refreshTokenAsync(Object request) {
+        return asyncHttpClient.post(getBaseUrl(), "/api/v1/auth/token/refresh", asyncHeaders(false), request);
+    }
+    
+    public CompletableFuture<Response> getTestOtpCodeAsync(String otpId) {
+        return asyncHttpClient.get(getBaseUrl(), "/api/v1/auth/otp/" + AsyncHttpClient.encode(otpId) + "/test-code", asyncHeaders(true));
+    }
 }
-
@@ -0,0 +1,229 @@
+package com.nulote.journey.clients;
+
+import com.nulote.journey.config.E2EConfiguration;
+import com.nulote.journey.fixtures.TestDataCache;
+import com.nulote.journey.fixtures.TestDataCache.CachedToken;
+import io.restassured.response.Response;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cache de tokens de sessão (JWT + refresh token) para steps que só precisam de "um usuário autenticado".
+ *
+ * Os tokens ficam no {@link TestDataCache} por usuário e escopo, com a expiração extraída da resposta
+ * de login (expiresAt, expiresIn ou claim exp do JWT). Leitura:
+ * - Token válido fora da margem de renovação: retornado sem chamada HTTP e sem lock
+ * - Token na margem de renovação (e2e.token-cache.refresh-margin-seconds): uma thread renova via
+ *   {@link AuthServiceClient#refreshToken(Object)}; as demais continuam usando o token atual
+ * - Token ausente, expirado ou refresh rejeitado: uma única thread faz o login, as demais aguardam o resultado
+ *
+ * Steps que validam o próprio login (status, eventos, rate limiting) continuam chamando o login diretamente.
+ * Os tokens vivem só em memória: em uma nova execução o primeiro uso faz login de novo.
+ */
+@Component
+public class AuthTokenCache {
+
+    /** Escopo dos tokens obtidos por login com usuário e senha */
+    public static final String SCOPE_PASSWORD_LOGIN = "password-login";
+
+    private static final Pattern JWT_EXP = Pattern.compile("\"exp\"\\s*:\\s*(\\d+)");
+
+    @Autowired
+    private E2EConfiguration config;
+
+    @Autowired
+    private TestDataCache testDataCache;
+
+    @Autowired
+    private AuthServiceClient authClient;
+
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Retorna um access token válido para o usuário e escopo, renovando ou fazendo login quando necessário.
+     *
+     * @param userKey Identificador do usuário (email/username)
+     * @param scope Escopo do token (ex: {@link #SCOPE_PASSWORD_LOGIN})
+     * @param login Login a executar em caso de miss (deve retornar a resposta do login)
+     * @return Access token, ou null se o login não retornou token
+     */
+    public String getAccessToken(String userKey, String scope, Supplier<Response> login) {
+        var logger = org.slf4j.LoggerFactory.getLogger(AuthTokenCache.class);
+        if (!config.getTokenCache().getEnabled() || userKey == null) {
+            CachedToken token = parse(login.get());
+            return token != null ? token.getAccessToken() : null;
+        }
+
+        Duration margin = Duration.ofSeconds(config.getTokenCache().getRefreshMarginSeconds());
+        CachedToken cached = testDataCache.getCachedToken(userKey, scope);
+        if (cached != null && !cached.needsRefresh(Instant.now(), margin)) {
+            logger.debug("✅ [CACHE] Token reutilizado para {} ({}), expira em {}", userKey, scope, cached.getExpiresAt());
+            return cached.getAccessToken();
+        }
+
+        ReentrantLock lock = locks.computeIfAbsent(userKey + '|' + scope, k -> new ReentrantLock());
+        if (cached != null) {
+            // Ainda válido, mas perto de expirar: só uma thread renova, as demais seguem com o token atual
+            if (!lock.tryLock()) {
+                return cached.getAccessToken();
+            }
+        } else {
+            lock.lock();
+        }
+        try {
+            // Outra thread pode ter renovado/logado enquanto aguardávamos o lock
+            CachedToken current = testDataCache.getCachedToken(userKey, scope);
+            if (current != null && !current.needsRefresh(Instant.now(), margin)) {
+                return current.getAccessToken();
+            }
+
+            if (current != null && current.getRefreshToken() != null) {
+                CachedToken refreshed = refresh(current);
+                if (refreshed != null) {
+                    testDataCache.cacheToken(userKey, scope, refreshed);
+                    logger.debug("🔄 [CACHE] Token renovado via refresh token para {} ({}), expira em {}",
+                        userKey, scope, refreshed.getExpiresAt());
+                    return refreshed.getAccessToken();
+                }
+            }
+
+            CachedToken fresh = parse(login.get());
+            if (fresh == null) {
+                testDataCache.invalidateTokens(userKey);
+                return null;
+            }
+            testDataCache.cacheToken(userKey, scope, fresh);
+            logger.debug("✅ [CACHE] Token obtido via login para {} ({}), expira em {}", userKey, scope, fresh.getExpiresAt());
+            return fresh.getAccessToken();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Armazena o token de uma resposta de login feita fora do cache (ex: step que valida o próprio login).
+     *
+     * @param userKey Identificador do usuário (email/username)
+     * @param scope Escopo do token
+     * @param loginResponse Resposta do login
+     */
+    public void store(String userKey, String scope, Response loginResponse) {
+        if (!config.getTokenCache().getEnabled() || userKey == null) {
+            return;
+        }
+        CachedToken token = parse(loginResponse);
+        if (token != null) {
+            testDataCache.cacheToken(userKey, scope, token);
+        }
+    }
+
+    /**
+     * Remove os tokens do usuário (troca de senha, revogação de todos os tokens).
+     */
+    public void invalidateUser(String userKey) {
+        testDataCache.invalidateTokens(userKey);
+    }
+
+    /**
+     * Remove o token correspondente (logout, revogação de um token).
+     */
+    public void invalidateToken(String token) {
+        testDataCache.invalidateToken(token);
+    }
+
+    private CachedToken refresh(CachedToken current) {
+        try {
+            Response response = authClient.refreshToken(Map.of("refreshToken", current.getRefreshToken()));
+            CachedToken refreshed = parse(response);
+            if (refreshed != null && refreshed.getRefreshToken() == null) {
+                // Alguns fluxos não rotacionam o refresh token: manter o atual
+                refreshed = new CachedToken(refreshed.getAccessToken(), current.getRefreshToken(), refreshed.getExpiresAt());
+            }
+            return refreshed;
+        } catch (Exception e) {
+            var logger = org.slf4j.LoggerFactory.getLogger(AuthTokenCache.class);
+            logger.debug("Não foi possível renovar token via refresh token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Extrai access token, refresh token e expiração de uma resposta de login/refresh (200).
+     *
+     * @return Token, ou null se a resposta não for 200 ou não contiver token
+     */
+    private CachedToken parse(Response response) {
+        if (response == null || response.getStatusCode() != 200) {
+            return null;
+        }
+        try {
+            String accessToken = response.jsonPath().getString("token");
+            if (accessToken == null) {
+                accessToken = response.jsonPath().getString("accessToken");
+            }
+            if (accessToken == null || accessToken.isEmpty()) {
+                return null;
+            }
+            String refreshToken = response.jsonPath().getString("refreshToken");
+            return new CachedToken(accessToken, refreshToken, resolveExpiry(response, accessToken));
+        } catch (Exception e) {
+            var logger = org.slf4j.LoggerFactory.getLogger(AuthTokenCache.class);
+            logger.debug("Não foi possível extrair token da resposta: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Expiração do token: expiresAt (ISO 8601, com ou sem offset), expiresIn (segundos),
+     * claim exp do JWT ou, na falta de todos, e2e.token-cache.default-ttl-seconds.
+     */
+    private Instant resolveExpiry(Response response, String accessToken) {
+        String expiresAt = response.jsonPath().getString("expiresAt");
+        if (expiresAt != null && !expiresAt.isEmpty()) {
+            try {
+                return OffsetDateTime.parse(expiresAt).toInstant();
+            } catch (Exception ignored) {
+                // Sem offset: mesmo formato validado em "o novo token deve ter data de expiração futura"
+            }
+            try {
+                return LocalDateTime.parse(expiresAt).atZone(ZoneId.systemDefault()).toInstant();
+            } catch (Exception ignored) {
+                // Formato desconhecido: tentar os demais campos
+            }
+        }
+
+        String expiresIn = response.jsonPath().getString("expiresIn");
+        if (expiresIn != null && expiresIn.matches("\\d+")) {
+            return Instant.now().plusSeconds(Long.parseLong(expiresIn));
+        }
+
+        String[] parts = accessToken.split("\\.");
+        if (parts.length >= 2) {
+            try {
+                String claims = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+                Matcher matcher = JWT_EXP.matcher(claims);
+                if (matcher.find()) {
+                    return Instant.ofEpochSecond(Long.parseLong(matcher.group(1)));
+                }
+            } catch (IllegalArgumentException ignored) {
+                // Token não é um JWT decodificável
+            }
+        }
+
+        return Instant.now().plusSeconds(config.getTokenCache().getDefaultTtlSeconds());
+    }
+}
@@ -0,0 +1,107 @@
+package com.nulote.journey.clients;
+
+import com.nulote.journey.utils.LatencyHistogram;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latência e erros por endpoint (serviço + método + caminho), para o modo carga (LoadTestRunner).
+ *
+ * Registro estático porque o runner de carga fica fora do contexto Spring; desabilitado por padrão
+ * (o custo fora do modo carga é uma leitura de campo volatile por requisição). Alimentado pelo
+ * {@link ServiceConcurrencyLimiter}, por onde passam as requisições síncronas e assíncronas.
+ *
+ * Segmentos variáveis do caminho (UUIDs, números, e-mails, tokens) viram {id}: todas as chamadas a
+ * /api/v1/users/&lt;uuid&gt; caem no mesmo endpoint.
+ */
+public final class EndpointMetrics {
+
+    private static final Map<String, Stats> BY_ENDPOINT = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+
+    private EndpointMetrics() {
+    }
+
+    /**
+     * Liga ou desliga o registro (descarta o que foi registrado até aqui).
+     */
+    public static void setEnabled(boolean value) {
+        BY_ENDPOINT.clear();
+        enabled = value;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param status Status HTTP, ou -1 quando não houve resposta (timeout, conexão recusada)
+     */
+    static void record(String service, String method, String url, int status, long nanos) {
+        Stats stats = BY_ENDPOINT.computeIfAbsent(endpoint(service, method, url), endpoint -> new Stats());
+        stats.latency.recordNanos(nanos);
+        if (status < 0 || status >= 500) {
+            stats.errors.increment();
+        } else if (status == 429) {
+            stats.throttled.increment();
+        }
+    }
+
+    /**
+     * Estatísticas por endpoint, em ordem alfabética.
+     */
+    public static Map<String, Stats> snapshot() {
+        return new TreeMap<>(BY_ENDPOINT);
+    }
+
+    static String endpoint(String service, String method, String url) {
+        String path;
+        try {
+            path = URI.create(url).getRawPath();
+        } catch (IllegalArgumentException e) {
+            path = url;
+        }
+        if (path == null || path.isEmpty()) {
+            path = "/";
+        }
+        StringBuilder normalized = new StringBuilder();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                normalized.append('/').append(isVariable(segment) ? "{id}" : segment);
+            }
+        }
+        return service + " " + method + " " + (normalized.length() == 0 ? "/" : normalized);
+    }
+
+    private static boolean isVariable(String segment) {
+        boolean digits = segment.chars().allMatch(Character::isDigit);
+        boolean hasDigit = segment.chars().anyMatch(Character::isDigit);
+        // Versões (v1) e nomes curtos ficam; identificadores, e-mails e tokens viram {id}
+        return digits || segment.contains("@") || segment.contains("%") || (hasDigit && segment.length() >= 8);
+    }
+
+    /**
+     * Latência e erros de um endpoint: erros = 5xx ou sem resposta; 429 contado à parte.
+     */
+    public static final class Stats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getThrottled() {
+            return throttled.sum();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.nulote.journey.clients;
+
+import com.nulote.journey.config.E2EConfiguration;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool de conexões HTTP compartilhado por todos os clientes de serviço.
+ *
+ * Aplica as configurações de e2e.http-client (antes apenas logadas):
+ * - Limite de conexões por rota (serviço) e total
+ * - TTL das conexões e eviction periódica de conexões idle/expiradas
+ * - Timeouts de conexão e de leitura
+ *
+ * Os clientes usam {@link #given()} em vez de RestAssured.given(): todas as requisições
+ * compartilham o mesmo connection manager, então threads paralelas reutilizam sockets
+ * do pool em vez de abrir novas conexões a cada chamada (o RestAssured padrão cria um
+ * connection manager novo por requisição).
+ *
+ * Nota: RestAssured 5.x exige um AbstractHttpClient (API legada do HttpClient 4),
+ * por isso o pool usa PoolingClientConnectionManager/DefaultHttpClient.
+ */
+@Component
+@SuppressWarnings("deprecation")
+public class HttpConnectionPool {
+
+    @Autowired
+    private E2EConfiguration config;
+
+    @Autowired
+    private ServiceConcurrencyLimiter concurrencyLimiter;
+
+    private PoolingClientConnectionManager connectionManager;
+    private RestAssuredConfig restAssuredConfig;
+    private ScheduledExecutorService evictor;
+
+    @PostConstruct
+    public void init() {
+        E2EConfiguration.HttpClient httpConfig = config.getHttpClient();
+
+        connectionManager = new PoolingClientConnectionManager(
+            SchemeRegistryFactory.createDefault(), httpConfig.getConnectionTtlMs(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(httpConfig.getMaxTotalConnections());
+        connectionManager.setDefaultMaxPerRoute(httpConfig.getMaxConnectionsPerRoute());
+
+        restAssuredConfig = RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+            .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, httpConfig.getConnectionTimeoutMs())
+            .setParam(CoreConnectionPNames.SO_TIMEOUT, httpConfig.getSocketTimeoutMs())
+            .httpClientFactory(this::newHttpClient));
+
+        // Eviction: conexões expiradas (TTL) e idle além do limite são fechadas em background
+        long idleTimeoutMs = httpConfig.getIdleTimeoutMs();
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "e2e-http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long evictionIntervalMs = Math.max(1000, idleTimeoutMs / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdleConnections, evictionIntervalMs, evictionIntervalMs, TimeUnit.MILLISECONDS);
+
+        var logger = org.slf4j.LoggerFactory.getLogger(HttpConnectionPool.class);
+        logger.info("✅ [PERFORMANCE] Pool HTTP compartilhado: {} por rota, {} no total, TTL {}ms, idle {}ms, timeouts {}ms/{}ms",
+            httpConfig.getMaxConnectionsPerRoute(), httpConfig.getMaxTotalConnections(), httpConfig.getConnectionTtlMs(),
+            idleTimeoutMs, httpConfig.getConnectionTimeoutMs(), httpConfig.getSocketTimeoutMs());
+    }
+
+    /**
+     * Cria o HttpClient de uma requisição sobre o connection manager compartilhado.
+     * O cliente é leve (os sockets ficam no pool); cada requisição tem seus próprios parâmetros
+     * porque o RestAssured os altera por requisição (ex: redirects().follow(false)).
+     */
+    private DefaultHttpClient newHttpClient() {
+        E2EConfiguration.HttpClient httpConfig = config.getHttpClient();
+        HttpParams params = new BasicHttpParams();
+        HttpConnectionParams.setConnectionTimeout(params, httpConfig.getConnectionTimeoutMs());
+        HttpConnectionParams.setSoTimeout(params, httpConfig.getSocketTimeoutMs());
+        return new DefaultHttpClient(connectionManager, params);
+    }
+
+    /**
+     * Inicia uma requisição RestAssured usando o pool compartilhado e o limite de requisições
+     * simultâneas do serviço de destino ({@link ServiceConcurrencyLimiter}).
+     *
+     * @return RequestSpecification configurada com o HttpClient do pool
+     */
+    public RequestSpecification given() {
+        return RestAssured.given().config(restAssuredConfig).filter(concurrencyLimiter.getFilter());
+    }
+
+    /**
+     * Configuração RestAssured com o HttpClient do pool (para specs montadas fora dos clientes).
+     */
+    public RestAssuredConfig getRestAssuredConfig() {
+        return restAssuredConfig;
+    }
+
+    /**
+     * Fecha conexões expiradas (TTL) e idle além de e2e.http-client.idle-timeout-ms.
+     */
+    public void evictIdleConnections() {
+        try {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(config.getHttpClient().getIdleTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            var logger = org.slf4j.LoggerFactory.getLogger(HttpConnectionPool.class);
+            logger.debug("Erro durante eviction de conexões HTTP: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Estatísticas do pool: conexões em uso (leased), requisições aguardando conexão (pending),
+     * conexões idle disponíveis (available) e limite total (max).
+     */
+    public PoolStats getStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * Loga as estatísticas do pool.
+     */
+    public void logStats() {
+        PoolStats stats = getStats();
+        var logger = org.slf4j.LoggerFactory.getLogger(HttpConnectionPool.class);
+        logger.info("📊 [PERFORMANCE] Pool HTTP: leased={}, pending={}, available={}, max={}",
+            stats.getLeased(), stats.getPending(), stats.getAvailable(), stats.getMax());
+    }
+
+    @PreDestroy
+    public void close() {
+        if (connectionManager != null) {
+            logStats();
+        }
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        if (connectionManager != null) {
+            connectionManager.shutdown();
+        }
+    }
+}
@@ -2,13 +2,14 @@ package com.nulote.journey.clients;
 
 import com.nulote.journey.config.E2EConfiguration;
 import com.nulote.journey.fixtures.ExecutionContext;
-import io.restassured.RestAssured;
-import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Cliente HTTP para comunicação com o Identity Service.
  */
@@ -18,6 +19,12 @@ public class IdentityServiceClient {
     @Autowired
     private E2EConfiguration config;
     
+    @Autowired
+    private RequestTemplates requestTemplates;
+    
+    @Autowired
+    private AsyncHttpClient asyncHttpClient;
+    
     @Autowired(required = false)
     private com.nulote.journey.fixtures.UserFixture userFixture;
     
@@ -30,28 +37,15 @@ public class IdentityServiceClient {
     }
     
     /**
-     * Adiciona os headers obrigatórios de correlação e governança.
-     * Inclui o header country-code para suporte multi-country (conforme refatoração).
-     * 
-     * Conforme playbook 006.00 - HTTP-HEADERS-CORRELATION.md:
-     * - request-caller: Header obrigatório validado pelo CorrelationFilter
-     * - request-origin: Header obrigatório validado pelo CorrelationFilter
-     * - country-code: Header para suporte multi-country (lowercase conforme RFC 6648)
-     * 
-     * @param spec RequestSpecification do RestAssured
-     * @return RequestSpecification com headers adicionados
+     * JWT do cenário em execução na thread atual.
+     * Fora de um cenário (ex: provisionamento do UserPool em background) o UserFixture, com escopo
+     * de cenário, não está disponível: retorna null e a requisição segue sem autenticação.
      */
-    private RequestSpecification addRequiredHeaders(RequestSpecification spec) {
-        String countryCode = config.getCountryCodeHeader();
-        spec = spec.header("request-caller", "e2e-tests")
-                   .header("request-origin", "direct")
-                   .header("country-code", countryCode); // Multi-country: header lowercase conforme RFC 6648
-        
-        // Logging para debug (apenas em nível debug para não poluir logs)
-        var logger = org.slf4j.LoggerFactory.getLogger(IdentityServiceClient.class);
-        logger.debug("🌍 [MULTI-COUNTRY] Header 'country-code: {}' adicionado à requisição", countryCode);
-        
-        return spec;
+    private String scenarioJwtToken() {
+        if (userFixture == null || ExecutionContext.getScenarioId() == null) {
+            return null;
+        }
+        return userFixture.getJwtToken();
     }
     
     /**
@@ -62,7 +56,7 @@ public class IdentityServiceClient {
      */
     private RequestSpecification addAuthHeader(RequestSpecification spec) {
         if (userFixture != null) {
-            String jwtToken = userFixture.getJwtToken();
+            String jwtToken = scenarioJwtToken();
             if (jwtToken != null && !jwtToken.trim().isEmpty()) {
                 spec = spec.header("Authorization", "Bearer " + jwtToken);
                 var logger = org.slf4j.LoggerFactory.getLogger(IdentityServiceClient.class);
@@ -75,26 +69,6 @@ public class IdentityServiceClient {
         return spec;
     }
     
-    /**
-     * Adiciona o header simulate-provider se a simulação estiver habilitada.
-     * 
-     * @param spec RequestSpecification do RestAssured
-     * @return RequestSpecification com header adicionado (se necessário)
-     */
-    private RequestSpecification addSimulateProviderHeader(RequestSpecification spec) {
-        if (config.shouldSimulateProvider()) {
-            spec = spec.header("simulate-provider", "true");
-            var logger = org.slf4j.LoggerFactory.getLogger(IdentityServiceClient.class);
-            logger.debug("✅ [SIMULATE-PROVIDER] Header 'simulate-provider: true' adicionado à requisição (ambiente: {})", 
-                config.getEnvironment());
-        } else {
-            var logger = org.slf4j.LoggerFactory.getLogger(IdentityServiceClient.class);
-            logger.debug("⚠️ [SIMULATE-PROVIDER] Header 'simulate-provider' NÃO adicionado (ambiente: {}, shouldSimulate: {})", 
-                config.getEnvironment(), config.shouldSimulateProvider());
-        }
-        return spec;
-    }
-    
     /**
      * Cria usuário. Se sessionToken estiver disponível, será usado automaticamente.
      * 
@@ -111,13 +85,7 @@ public class IdentityServiceClient {
         // Caso contrário, criar sem sessionToken (para compatibilidade com testes antigos)
         // NOTA: A API agora exige registration-token, então isso provavelmente falhará
         // Mas mantemos para não quebrar código existente que não usa OTP
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId());
-        
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, true);
         
         return spec.body(request)
             .when()
@@ -156,15 +124,9 @@ public class IdentityServiceClient {
             sessionToken.length() > 8 ? sessionToken.substring(0, 8) : sessionToken,
             sessionToken.length());
         
-        // Construir todos os headers explicitamente - IMPORTANTE: adicionar registration-token ANTES de addRequiredHeaders
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("registration-token", sessionToken)  // Adicionar PRIMEIRO
-            .header("request-trace-id", getRequestTraceId());
-        
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec);
+        // Template do serviço (headers de correlação, country-code, simulate-provider) + registration-token
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, true)
+            .header("registration-token", sessionToken);
         
         // Verificar se o header ainda está presente (debug)
         logger.debug("Request URL: {}/api/v1/identity/users", getBaseUrl());
@@ -202,10 +164,7 @@ public class IdentityServiceClient {
     }
     
     public Response getUserByUuid(String uuid) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), false, false);
         spec = addAuthHeader(spec); // Adicionar autenticação JWT se disponível
         return spec.when()
             .get("/api/v1/identity/users/{uuid}", uuid)
@@ -215,10 +174,7 @@ public class IdentityServiceClient {
     }
     
     public Response findUserByEmail(String email) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), false, false);
         return spec.queryParam("email", email)
             .when()
             .get("/api/v1/identity/users/search")
@@ -231,16 +187,12 @@ public class IdentityServiceClient {
         var logger = org.slf4j.LoggerFactory.getLogger(IdentityServiceClient.class);
         logger.info("🔄 [UPDATE] Preparando atualização de usuário: uuid={}, request={}", uuid, request);
         
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, false);
         spec = addAuthHeader(spec); // Adicionar autenticação JWT se disponível
         
         // Verificar se JWT foi adicionado
         if (userFixture != null) {
-            String jwtToken = userFixture.getJwtToken();
+            String jwtToken = scenarioJwtToken();
             if (jwtToken != null && !jwtToken.trim().isEmpty()) {
                 logger.info("✅ [UPDATE] JWT disponível para autenticação (length: {})", jwtToken.length());
             } else {
@@ -272,10 +224,7 @@ public class IdentityServiceClient {
     }
     
     public Response deactivateUser(String uuid) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), false, false);
         spec = addAuthHeader(spec); // Adicionar autenticação JWT se disponível
         return spec.when()
             .delete("/api/v1/identity/users/{uuid}", uuid)
@@ -285,10 +234,7 @@ public class IdentityServiceClient {
     }
     
     public Response reactivateUser(String uuid) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), false, false);
         return spec.when()
             .post("/api/v1/identity/users/{uuid}/reactivate", uuid)
             .then()
@@ -306,13 +252,7 @@ public class IdentityServiceClient {
         var logger = org.slf4j.LoggerFactory.getLogger(IdentityServiceClient.class);
         logger.info("Creating legal entity...");
         
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .contentType(ContentType.JSON)
-            .header("request-trace-id", getRequestTraceId());
-        
-        spec = addRequiredHeaders(spec);
-        spec = addSimulateProviderHeader(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), true, true);
         
         // Log do request body para debug
         try {
@@ -353,15 +293,50 @@ public class IdentityServiceClient {
      * @return Resposta HTTP
      */
     public Response getLegalEntityByUuid(String uuid) {
-        RequestSpecification spec = RestAssured.given()
-            .baseUri(getBaseUrl())
-            .header("request-trace-id", getRequestTraceId());
-        spec = addRequiredHeaders(spec);
+        RequestSpecification spec = requestTemplates.given(getBaseUrl(), false, false);
         return spec.when()
             .get("/api/v1/identity/legal-entities/{uuid}", uuid)
             .then()
             .extract()
             .response();
     }
+    
+    // ========== Versões assíncronas (AsyncHttpClient: java.net.http + virtual threads) ==========
+    
+    private Map<String, String> asyncHeaders() {
+        Map<String, String> headers = asyncHttpClient.requiredHeaders(getRequestTraceId());
+        if (config.shouldSimulateProvider()) {
+            headers.put("simulate-provider", "true");
+        }
+        return headers;
+    }
+    
+    /**
+     * Versão assíncrona de {@link #createUser(Object, String)}.
+     */
+    public CompletableFuture<Response> createUserAsync(Object request, String sessionToken) {
+        Map<String, String> headers = asyncHeaders();
+        if (sessionToken != null && !sessionToken.trim().isEmpty()) {
+            headers.put("registration-token", sessionToken);
+        }
+        return asyncHttpClient.post(getBaseUrl(), "/api/v1/identity/users", headers, request);
+    }
+    
+    public CompletableFuture<Response> createUserAsync(Object request) {
+        return createUserAsync(request, null);
+    }
+    
+    public CompletableFuture<Response> getUserByUuidAsync(String uuid) {
+        Map<String, String> headers = asyncHttpClient.requiredHeaders(getRequestTraceId());
+        String jwtToken = scenarioJwtToken();
+        if (jwtToken != null && !jwtToken.trim().isEmpty()) {
+            headers.put("Authorization", "Bearer " + jwtToken);
+        }
+        return asyncHttpClient.get(getBaseUrl(), "/api/v1/identity/users/" + AsyncHttpClient.encode(uuid), headers);
+    }
+    
+    public CompletableFuture<Response> findUserByEmailAsync(String email) {
+        return asyncHttpClient.get(getBaseUrl(), "/api/v1/identity/users/search?email=" + AsyncHttpClient.encode(email),
+            asyncHttpClient.requiredHeaders(getRequestTraceId()));
+    }
 }
-
@@ -2,11 +2,12 @@ package com.nulote.journey.clients;
 
 import com.nulote.journey.config.E2EConfiguration;
 import com.nulote.journey.fixtures.ExecutionContext;
-import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Cliente HTTP para comunicação com o Profile Service.
  */
@@ -16,6 +17,12 @@ public class ProfileServiceClient {
     @Autowired
     private E2EConfiguration config;
     
+    @Autowired
+    private HttpConnectionPool httpConnectionPool;
+    
+    @Autowired
+    private AsyncHttpClient asyncHttpClient;
+    
     private String getBaseUrl() {
         return config.getServices().getProfileUrl();
     }
@@ -39,7 +46,7 @@ public class ProfileServiceClient {
     }
     
     public Response getProfileByUserUuid(String userUuid) {
-        io.restassured.specification.RequestSpecification spec = RestAssured.given()
+        io.restassured.specification.RequestSpecification spec = httpConnectionPool.given()
             .baseUri(getBaseUrl())
             .header("request-trace-id", getRequestTraceId());
         spec = addRequiredHeaders(spec);
@@ -81,7 +88,7 @@ public class ProfileServiceClient {
         // Se após todas as tentativas o perfil ainda não existe, retornar 404
         if (profileResponse == null || profileResponse.getStatusCode() != 200) {
             return profileResponse != null ? profileResponse : 
-                RestAssured.given()
+                httpConnectionPool.given()
                     .baseUri(getBaseUrl())
                     .when()
                     .get("/api/v1/profile/user/" + userUuid)
@@ -98,7 +105,7 @@ public class ProfileServiceClient {
         
         if (profileUuid == null) {
             // Se não conseguiu extrair UUID, retornar erro
-            return RestAssured.given()
+            return httpConnectionPool.given()
                 .baseUri(getBaseUrl())
                 .when()
                 .get("/api/v1/profile/user/" + userUuid)
@@ -108,7 +115,7 @@ public class ProfileServiceClient {
                 .response();
         }
         
-        io.restassured.specification.RequestSpecification spec = RestAssured.given()
+        io.restassured.specification.RequestSpecification spec = httpConnectionPool.given()
             .baseUri(getBaseUrl())
             .contentType(io.restassured.http.ContentType.JSON)
             .header("request-trace-id", getRequestTraceId());
@@ -130,7 +137,7 @@ public class ProfileServiceClient {
      * @return Resposta HTTP
      */
     public Response createProfile(String userUuid, Object request) {
-        io.restassured.specification.RequestSpecification spec = RestAssured.given()
+        io.restassured.specification.RequestSpecification spec = httpConnectionPool.given()
             .baseUri(getBaseUrl())
             .contentType(io.restassured.http.ContentType.JSON)
             .header("request-trace-id", getRequestTraceId());
@@ -142,5 +149,11 @@ public class ProfileServiceClient {
             .extract()
             .response();
     }
+    
+    // ========== Versões assíncronas (AsyncHttpClient: java.net.http + virtual threads) ==========
+    
+    public CompletableFuture<Response> getProfileByUserUuidAsync(String userUuid) {
+        return asyncHttpClient.get(getBaseUrl(), "/api/v1/profile/user/" + AsyncHttpClient.encode(userUuid),
+            asyncHttpClient.requiredHeaders(getRequestTraceId()));
+    }
 }
-
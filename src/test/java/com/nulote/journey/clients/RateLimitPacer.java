@@ -0,0 +1,285 @@
+package com.nulote.journey.clients;
+
+import com.nulote.journey.config.E2EConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pacer (token bucket) e coordenador de backoff compartilhados para endpoints com rate limiting.
+ *
+ * Um bucket por endpoint e país (country-code), compartilhado por todas as threads do runner:
+ * em vez de cada thread disparar, receber 429 e dormir seu próprio backoff, as requisições são
+ * espaçadas antes do envio para ficar abaixo do limite.
+ *
+ * Dimensionamento (e2e.rate-limit-retry):
+ * - requests-per-second / burst: taxa máxima e rajada inicial do bucket
+ * - initial-delay-ms: base do backoff após um 429 e piso da taxa (1 requisição por intervalo)
+ *
+ * Backoff coordenado: um 429 abre uma janela de penalidade única para o endpoint, com jitter
+ * decorrelacionado (min(teto, aleatório(base, penalidade anterior * 3))) ou o delay indicado pelo
+ * servidor (Retry-After / retryPolicy). 429 de requisições enviadas antes da janela atual não a
+ * estendem (threads em lockstep não multiplicam a penalidade). Ao final da janela as requisições
+ * pendentes são liberadas uma a uma, na ordem de reserva, espaçadas pela taxa (reduzida pela
+ * metade a cada 429 e recuperada gradualmente com respostas bem-sucedidas).
+ *
+ * O tempo perdido com rate limiting (espera em janelas de penalidade + requisições rejeitadas)
+ * é contabilizado por bucket e logado ao final da execução, junto com a fração da duração total.
+ */
+@Component
+public class RateLimitPacer {
+
+    /** Teto de uma janela de penalidade (o delay da API em PROD chega a 10 minutos) */
+    private static final long MAX_PENALTY_MS = 5 * 60 * 1000;
+
+    @Autowired
+    private E2EConfiguration config;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final long runStartNanos = System.nanoTime();
+
+    /**
+     * Reserva uma vaga no bucket e aguarda até o horário reservado.
+     *
+     * @param endpoint Identificador do endpoint (ex: "auth.otp.request")
+     * @return Tempo aguardado em milissegundos
+     */
+    public long acquire(String endpoint) {
+        long waitMs = reserve(endpoint);
+        if (waitMs > 0) {
+            try {
+                Thread.sleep(waitMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return waitMs;
+    }
+
+    /**
+     * Reserva uma vaga no bucket sem bloquear (para chamadas assíncronas).
+     *
+     * @param endpoint Identificador do endpoint
+     * @return Atraso em milissegundos até o horário reservado (0 = enviar imediatamente)
+     */
+    public long reserve(String endpoint) {
+        return TimeUnit.NANOSECONDS.toMillis(bucket(endpoint).reserve(System.nanoTime(), isEnabled()));
+    }
+
+    /**
+     * Registra resposta bem-sucedida (não 429): recupera a taxa gradualmente e reinicia o backoff.
+     */
+    public void onSuccess(String endpoint) {
+        bucket(endpoint).onSuccess();
+    }
+
+    /**
+     * Registra um 429 e calcula a janela de penalidade compartilhada do endpoint.
+     *
+     * @param endpoint Identificador do endpoint
+     * @param sentAtNanos System.nanoTime() do envio da requisição rejeitada
+     * @param serverHintMs Delay indicado pelo servidor (Retry-After / retryPolicy), ou 0 se ausente
+     * @param baseDelayMs Base do backoff (e2e.rate-limit-retry.initial-delay-ms)
+     * @return Tempo em milissegundos até o fim da janela de penalidade (espera da próxima tentativa)
+     */
+    public long onRateLimited(String endpoint, long sentAtNanos, long serverHintMs, long baseDelayMs) {
+        Bucket bucket = bucket(endpoint);
+        long nowNanos = System.nanoTime();
+        long penaltyNanos = bucket.onRateLimited(nowNanos, sentAtNanos,
+            TimeUnit.MILLISECONDS.toNanos(Math.min(MAX_PENALTY_MS, serverHintMs)),
+            TimeUnit.MILLISECONDS.toNanos(Math.max(1L, baseDelayMs)),
+            TimeUnit.MILLISECONDS.toNanos(MAX_PENALTY_MS));
+        long penaltyMs = TimeUnit.NANOSECONDS.toMillis(penaltyNanos);
+
+        var logger = org.slf4j.LoggerFactory.getLogger(RateLimitPacer.class);
+        logger.info("🔄 [RATE-LIMIT] 429 em {}: janela de penalidade de {}ms, taxa {} req/s",
+            key(endpoint), penaltyMs, String.format("%.2f", bucket.getRatePerSecond()));
+        return penaltyMs;
+    }
+
+    /**
+     * Indica se o espaçamento preventivo (token bucket) está habilitado (e2e.rate-limit-retry.pacer-enabled).
+     * Desabilitado, apenas a janela de penalidade compartilhada após um 429 é aplicada.
+     */
+    public boolean isEnabled() {
+        return config.getRateLimitRetry().getPacerEnabled();
+    }
+
+    /**
+     * Tempo total perdido com rate limiting na execução (todas as threads e buckets):
+     * espera em janelas de penalidade + duração das requisições rejeitadas com 429.
+     */
+    public long getTimeLostMs() {
+        return TimeUnit.NANOSECONDS.toMillis(buckets.values().stream().mapToLong(Bucket::timeLostNanos).sum());
+    }
+
+    /**
+     * Loga o resumo de cada bucket e o tempo perdido com rate limiting em relação à duração da execução.
+     */
+    public void logStats() {
+        if (buckets.isEmpty()) {
+            return;
+        }
+        var logger = org.slf4j.LoggerFactory.getLogger(RateLimitPacer.class);
+        buckets.forEach((key, bucket) -> logger.info("📊 [RATE-LIMIT] {}: {}", key, bucket.summary()));
+
+        long runMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - runStartNanos));
+        long timeLostMs = getTimeLostMs();
+        logger.info("📊 [RATE-LIMIT] Tempo perdido com rate limiting: {}ms (somado entre threads) em {}ms de execução ({}%)",
+            timeLostMs, runMs, String.format("%.1f", timeLostMs * 100.0 / runMs));
+    }
+
+    @PreDestroy
+    public void close() {
+        logStats();
+    }
+
+    private Bucket bucket(String endpoint) {
+        return buckets.computeIfAbsent(key(endpoint), k -> {
+            E2EConfiguration.RateLimitRetry settings = config.getRateLimitRetry();
+            double maxRate = settings.getRequestsPerSecond();
+            double minRate = Math.min(maxRate, 1000.0 / Math.max(1L, settings.getInitialDelayMs()));
+            return new Bucket(maxRate, minRate, settings.getBurst(), System.nanoTime());
+        });
+    }
+
+    private String key(String endpoint) {
+        return endpoint + '|' + config.getCountryCodeHeader();
+    }
+
+    /**
+     * Token bucket com reserva: cada chamada consome um token (o saldo pode ficar negativo) e recebe
+     * o horário em que sua vaga fica disponível, então threads concorrentes são espaçadas pela taxa
+     * em vez de acordarem juntas.
+     */
+    static final class Bucket {
+        private final double maxRate;
+        private final double minRate;
+        private final double capacity;
+
+        private double ratePerNano;
+        private double tokens;
+        private long lastRefillNanos;
+
+        // Janela de penalidade compartilhada (backoff coordenado)
+        private long penaltyStartNanos;
+        private long penaltyUntilNanos;
+        private long lastPenaltyNanos;
+
+        private long acquired;
+        private long delayed;
+        private long pacingWaitNanos;
+        private long penaltyWaitNanos;
+        private long rejectedNanos;
+        private long rateLimited;
+        private long staleRateLimited;
+
+        Bucket(double maxRatePerSecond, double minRatePerSecond, int burst, long nowNanos) {
+            this.maxRate = maxRatePerSecond;
+            this.minRate = minRatePerSecond;
+            this.capacity = Math.max(1, burst);
+            this.ratePerNano = maxRatePerSecond / 1e9;
+            this.tokens = capacity;
+            this.lastRefillNanos = nowNanos;
+            this.penaltyStartNanos = nowNanos;
+            this.penaltyUntilNanos = nowNanos;
+        }
+
+        synchronized long reserve(long nowNanos, boolean pacing) {
+            if (!pacing) {
+                // Sem espaçamento preventivo: apenas a janela de penalidade aberta por um 429
+                long waitNanos = Math.max(0, penaltyUntilNanos - nowNanos);
+                acquired++;
+                if (waitNanos > 0) {
+                    delayed++;
+                    penaltyWaitNanos += waitNanos;
+                }
+                return waitNanos;
+            }
+            refill(nowNanos);
+            tokens -= 1;
+            long availableAt = Math.max(nowNanos, lastRefillNanos);
+            if (tokens < 0) {
+                availableAt += (long) (-tokens / ratePerNano);
+            }
+            long waitNanos = availableAt - nowNanos;
+            acquired++;
+            if (waitNanos > 0) {
+                delayed++;
+                long inPenalty = Math.max(0, Math.min(availableAt, penaltyUntilNanos) - nowNanos);
+                penaltyWaitNanos += inPenalty;
+                pacingWaitNanos += waitNanos - inPenalty;
+            }
+            return waitNanos;
+        }
+
+        synchronized void onSuccess() {
+            lastPenaltyNanos = 0;
+            double rate = ratePerNano * 1e9;
+            if (rate < maxRate) {
+                ratePerNano = Math.min(maxRate, rate + maxRate / 20) / 1e9;
+            }
+        }
+
+        synchronized long onRateLimited(long nowNanos, long sentAtNanos, long hintNanos, long baseNanos, long capNanos) {
+            rateLimited++;
+            rejectedNanos += Math.max(0, nowNanos - sentAtNanos);
+
+            // 429 de requisição enviada antes da janela atual: a penalidade já foi aplicada
+            if (sentAtNanos < penaltyStartNanos && penaltyUntilNanos > nowNanos) {
+                staleRateLimited++;
+                return penaltyUntilNanos - nowNanos;
+            }
+
+            long penaltyNanos;
+            if (hintNanos > 0) {
+                // Delay do servidor + jitter para não liberar todos os clientes no mesmo instante
+                penaltyNanos = hintNanos + ThreadLocalRandom.current().nextLong(baseNanos / 2 + 1);
+            } else {
+                // Jitter decorrelacionado: aleatório entre a base e 3x a penalidade anterior
+                long upper = Math.max(baseNanos + 1, lastPenaltyNanos * 3);
+                penaltyNanos = ThreadLocalRandom.current().nextLong(baseNanos, upper);
+            }
+            penaltyNanos = Math.min(capNanos, penaltyNanos);
+            lastPenaltyNanos = penaltyNanos;
+
+            ratePerNano = Math.max(minRate, ratePerNano * 1e9 / 2) / 1e9;
+            // A reposição recomeça ao final da janela com um único token: as requisições
+            // pendentes saem uma a uma, na ordem de reserva, espaçadas pela nova taxa
+            penaltyStartNanos = nowNanos;
+            penaltyUntilNanos = Math.max(penaltyUntilNanos, nowNanos + penaltyNanos);
+            if (penaltyUntilNanos > lastRefillNanos) {
+                lastRefillNanos = penaltyUntilNanos;
+                tokens = 1;
+            }
+            return penaltyUntilNanos - nowNanos;
+        }
+
+        synchronized long timeLostNanos() {
+            return penaltyWaitNanos + rejectedNanos;
+        }
+
+        synchronized String summary() {
+            return String.format("%d requisições, %d espaçadas (%dms de espaçamento preventivo, %dms em janelas de penalidade), "
+                    + "%d respostas 429 (%d dentro de janela já aberta, %dms em requisições rejeitadas), taxa atual %.2f req/s",
+                acquired, delayed, TimeUnit.NANOSECONDS.toMillis(pacingWaitNanos), TimeUnit.NANOSECONDS.toMillis(penaltyWaitNanos),
+                rateLimited, staleRateLimited, TimeUnit.NANOSECONDS.toMillis(rejectedNanos), ratePerNano * 1e9);
+        }
+
+        synchronized double getRatePerSecond() {
+            return ratePerNano * 1e9;
+        }
+
+        private void refill(long nowNanos) {
+            if (nowNanos > lastRefillNanos) {
+                tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * ratePerNano);
+                lastRefillNanos = nowNanos;
+            }
+        }
+    }
+}
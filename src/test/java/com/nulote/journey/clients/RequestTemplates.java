@@ -0,0 +1,75 @@
+package com.nulote.journey.clients;
+
+import com.nulote.journey.config.E2EConfiguration;
+import com.nulote.journey.fixtures.ExecutionContext;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Templates imutáveis de RequestSpecification por serviço e país.
+ *
+ * Cada template é montado uma única vez a partir do E2EConfiguration com base URI,
+ * content type, request-trace-id, headers de correlação/governança, country-code e a
+ * decisão de simulate-provider já resolvida. Por requisição, o cliente apenas mescla o
+ * template em uma spec nova do pool ({@link #given}), sem reaplicar header a header.
+ *
+ * A chave inclui o país: quando um cenário troca o país padrão (MultiCountrySteps),
+ * o próximo given() usa (ou monta) o template do novo país.
+ */
+@Component
+public class RequestTemplates {
+
+    @Autowired
+    private E2EConfiguration config;
+
+    @Autowired
+    private HttpConnectionPool httpConnectionPool;
+
+    private final Map<String, RequestSpecification> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Inicia uma requisição a partir do template do serviço para o país atual.
+     *
+     * @param baseUrl URL base do serviço
+     * @param json true para requisições com corpo JSON (Content-Type: application/json)
+     * @param simulateProvider true se a requisição deve levar simulate-provider (quando habilitado no ambiente)
+     * @return Nova RequestSpecification com o template aplicado (pode ser alterada livremente)
+     */
+    public RequestSpecification given(String baseUrl, boolean json, boolean simulateProvider) {
+        String countryCode = config.getCountryCodeHeader();
+        boolean simulate = simulateProvider && config.shouldSimulateProvider();
+        String key = baseUrl + '|' + countryCode + '|' + json + '|' + simulate;
+        RequestSpecification template = templates.computeIfAbsent(key,
+            k -> build(baseUrl, countryCode, json, simulate));
+        return httpConnectionPool.given().spec(template);
+    }
+
+    private RequestSpecification build(String baseUrl, String countryCode, boolean json, boolean simulate) {
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+            .setConfig(httpConnectionPool.getRestAssuredConfig())
+            .addHeader("request-trace-id", ExecutionContext.getExecutionId())
+            .addHeader("request-caller", "e2e-tests")
+            .addHeader("request-origin", "direct")
+            .addHeader("country-code", countryCode); // Multi-country: header lowercase conforme RFC 6648
+        if (baseUrl != null) {
+            builder.setBaseUri(baseUrl);
+        }
+        if (json) {
+            builder.setContentType(ContentType.JSON);
+        }
+        if (simulate) {
+            builder.addHeader("simulate-provider", "true");
+        }
+
+        var logger = org.slf4j.LoggerFactory.getLogger(RequestTemplates.class);
+        logger.debug("🌍 [MULTI-COUNTRY] Template de requisição criado: {} (country-code: {}, json: {}, simulate-provider: {}, ambiente: {})",
+            baseUrl, countryCode, json, simulate, config.getEnvironment());
+        return builder.build();
+    }
+}
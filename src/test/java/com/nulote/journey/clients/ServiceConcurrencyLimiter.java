@@ -0,0 +1,188 @@
+package com.nulote.journey.clients;
+
+import com.nulote.journey.config.E2EConfiguration;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limite de requisições simultâneas por serviço (e2e.service-concurrency), compartilhado por todas
+ * as threads do runner.
+ *
+ * A concorrência da suíte deixa de ser limitada pelo número de threads: com um cenário por virtual
+ * thread (VirtualThreadRunner) centenas de cenários podem estar ativos, e o que protege cada serviço
+ * é o número de requisições em voo para ele. Requisições acima do limite aguardam vaga (Semaphore
+ * justo: não fixa a virtual thread no carrier).
+ *
+ * Aplicado às requisições síncronas pelo filtro RestAssured do {@link HttpConnectionPool#given()}
+ * e às assíncronas pelo {@link AsyncHttpClient}. O serviço é identificado pela URL base configurada
+ * em e2e.services; URLs fora dela usam host:porta.
+ */
+@Component
+public class ServiceConcurrencyLimiter {
+
+    @Autowired
+    private E2EConfiguration config;
+
+    private final Map<String, String> servicesByBaseUrl = new LinkedHashMap<>();
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+    private final Filter filter = this::filter;
+
+    @PostConstruct
+    public void init() {
+        E2EConfiguration.Services services = config.getServices();
+        if (services == null) {
+            return;
+        }
+        register("identity", services.getIdentityUrl());
+        register("auth-relay", services.getAuthRelayUrl());
+        register("auth", services.getAuthUrl());
+        register("profile", services.getProfileUrl());
+        register("transactional-messaging", services.getTransactionalMessagingUrl());
+        register("delivery-tracker", services.getDeliveryTrackerUrl());
+        register("audit-compliance", services.getAuditComplianceUrl());
+    }
+
+    private void register(String service, String baseUrl) {
+        if (baseUrl != null && !baseUrl.isBlank()) {
+            servicesByBaseUrl.putIfAbsent(baseUrl, service);
+        }
+    }
+
+    /**
+     * Filtro RestAssured que envolve a requisição com uma vaga do serviço de destino.
+     */
+    public Filter getFilter() {
+        return filter;
+    }
+
+    /**
+     * Aguarda uma vaga do serviço da URL (bloqueante).
+     *
+     * @param url URL completa da requisição
+     * @return Serviço cuja vaga foi obtida (repassar ao {@link #release}), ou null se o limite está desabilitado
+     */
+    public String acquire(String url) {
+        if (!config.getServiceConcurrency().getEnabled()) {
+            return null;
+        }
+        String service = serviceOf(url);
+        Limit limit = limits.computeIfAbsent(service, this::newLimit);
+        long start = System.nanoTime();
+        limit.permits.acquireUninterruptibly();
+        limit.waitNanos.add(System.nanoTime() - start);
+        limit.requests.increment();
+        limit.peak.accumulateAndGet(limit.inFlight.incrementAndGet(), Math::max);
+        return service;
+    }
+
+    /**
+     * Libera a vaga obtida em {@link #acquire}.
+     */
+    public void release(String service) {
+        if (service == null) {
+            return;
+        }
+        Limit limit = limits.get(service);
+        if (limit != null) {
+            limit.inFlight.decrementAndGet();
+            limit.permits.release();
+        }
+    }
+
+    /**
+     * Registra a latência de uma requisição no {@link EndpointMetrics} (somente no modo carga).
+     *
+     * @param service Retorno do {@link #acquire} (null: serviço derivado da URL)
+     * @param status  Status HTTP, ou -1 sem resposta
+     * @param nanos   Tempo a partir da obtenção da vaga (espera pela vaga não entra)
+     */
+    public void record(String service, String method, String url, int status, long nanos) {
+        if (EndpointMetrics.isEnabled()) {
+            EndpointMetrics.record(service != null ? service : serviceOf(url), method, url, status, nanos);
+        }
+    }
+
+    private Response filter(FilterableRequestSpecification request, FilterableResponseSpecification response,
+                            FilterContext context) {
+        String service = acquire(request.getURI());
+        long start = System.nanoTime();
+        int status = -1;
+        try {
+            Response result = context.next(request, response);
+            status = result.getStatusCode();
+            return result;
+        } finally {
+            release(service);
+            record(service, request.getMethod(), request.getURI(), status, System.nanoTime() - start);
+        }
+    }
+
+    String serviceOf(String url) {
+        String service = null;
+        int longest = -1;
+        for (Map.Entry<String, String> entry : servicesByBaseUrl.entrySet()) {
+            // URL base mais longa vence (ex: auth-relay sobre auth no mesmo host)
+            if (url.startsWith(entry.getKey()) && entry.getKey().length() > longest) {
+                service = entry.getValue();
+                longest = entry.getKey().length();
+            }
+        }
+        if (service != null) {
+            return service;
+        }
+        try {
+            URI uri = URI.create(url);
+            return uri.getHost() + ":" + uri.getPort();
+        } catch (IllegalArgumentException e) {
+            return "desconhecido";
+        }
+    }
+
+    private Limit newLimit(String service) {
+        E2EConfiguration.ServiceConcurrency concurrency = config.getServiceConcurrency();
+        int max = concurrency.getPerService().getOrDefault(service, concurrency.getMaxInFlight());
+        return new Limit(Math.max(1, max));
+    }
+
+    @PreDestroy
+    public void logStats() {
+        var logger = org.slf4j.LoggerFactory.getLogger(ServiceConcurrencyLimiter.class);
+        limits.forEach((service, limit) -> logger.info(
+            "📊 [PERFORMANCE] Concorrência {}: {} requisições, pico {}/{} em voo, espera por vaga {}ms",
+            service, limit.requests.sum(), limit.peak.get(), limit.max,
+            TimeUnit.NANOSECONDS.toMillis(limit.waitNanos.sum())));
+    }
+
+    /**
+     * Vagas e estatísticas de um serviço.
+     */
+    static final class Limit {
+        final int max;
+        final Semaphore permits;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final LongAdder requests = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+
+        Limit(int max) {
+            this.max = max;
+            this.permits = new Semaphore(max, true);
+        }
+    }
+}
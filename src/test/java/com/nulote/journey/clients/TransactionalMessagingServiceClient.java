@@ -2,13 +2,14 @@ package com.nulote.journey.clients;
 
 import com.nulote.journey.config.E2EConfiguration;
 import com.nulote.journey.fixtures.ExecutionContext;
-import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Cliente HTTP para comunicação com o Transactional Messaging Service (VS-Customer-Communications).
  */
@@ -18,6 +19,12 @@ public class TransactionalMessagingServiceClient {
     @Autowired
     private E2EConfiguration config;
     
+    @Autowired
+    private HttpConnectionPool httpConnectionPool;
+    
+    @Autowired
+    private AsyncHttpClient asyncHttpClient;
+    
     private String getBaseUrl() {
         // Por padrão, usar porta 8188 conforme documentação
         return config.getServices().getTransactionalMessagingUrl() != null 
@@ -47,7 +54,7 @@ public class TransactionalMessagingServiceClient {
      * @return Resposta HTTP
      */
     public Response getMessageStatus(String messageId) {
-        RequestSpecification spec = RestAssured.given()
+        RequestSpecification spec = httpConnectionPool.given()
             .baseUri(getBaseUrl())
             .contentType(ContentType.JSON)
             .header("request-trace-id", getRequestTraceId());
@@ -67,7 +74,7 @@ public class TransactionalMessagingServiceClient {
      * @return Resposta HTTP
      */
     public Response getMessagesByUser(String userId) {
-        RequestSpecification spec = RestAssured.given()
+        RequestSpecification spec = httpConnectionPool.given()
             .baseUri(getBaseUrl())
             .contentType(ContentType.JSON)
             .header("request-trace-id", getRequestTraceId());
@@ -86,7 +93,7 @@ public class TransactionalMessagingServiceClient {
      * @return Resposta HTTP
      */
     public Response healthCheck() {
-        RequestSpecification spec = RestAssured.given()
+        RequestSpecification spec = httpConnectionPool.given()
             .baseUri(getBaseUrl());
         
         return spec.when()
@@ -95,4 +102,16 @@ public class TransactionalMessagingServiceClient {
             .extract()
             .response();
     }
+    
+    // ========== Versões assíncronas (AsyncHttpClient: java.net.http + virtual threads) ==========
+    
+    public CompletableFuture<Response> getMessageStatusAsync(String messageId) {
+        return asyncHttpClient.get(getBaseUrl(), "/api/v1/messages/" + AsyncHttpClient.encode(messageId),
+            asyncHttpClient.requiredHeaders(getRequestTraceId()));
+    }
+    
+    public CompletableFuture<Response> getMessagesByUserAsync(String userId) {
+        return asyncHttpClient.get(getBaseUrl(), "/api/v1/messages/user/" + AsyncHttpClient.encode(userId),
+            asyncHttpClient.requiredHeaders(getRequestTraceId()));
+    }
 }
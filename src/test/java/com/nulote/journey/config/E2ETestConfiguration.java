@@ -16,7 +16,7 @@ import jakarta.annotation.PostConstruct;
  * - Paralelização de testes (Maven Surefire)
  * - Timeouts otimizados (application.yml)
  * - Poll intervals reduzidos (application.yml)
- * - Connection pooling explícito (RestAssured)
+ * - Connection pooling explícito (HttpConnectionPool compartilhado pelos clientes)
  */
 @CucumberContextConfiguration
 @SpringBootTest(classes = PlatformJourneyTestsApplication.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
@@ -27,23 +27,21 @@ public class E2ETestConfiguration {
     private E2EConfiguration config;
     
     /**
-     * Loga configurações de HTTP client para referência.
-     * RestAssured 5.x já usa connection pooling por padrão, então não é necessário
-     * configurá-lo explicitamente. As configurações em application.yml servem como
-     * documentação e podem ser usadas no futuro se a API do RestAssured permitir.
+     * Loga configurações de HTTP client.
+     * As configurações são aplicadas pelo HttpConnectionPool, compartilhado por todos os clientes.
      */
     @PostConstruct
     public void logHttpClientConfig() {
         E2EConfiguration.HttpClient httpConfig = config.getHttpClient();
         
         var logger = org.slf4j.LoggerFactory.getLogger(E2ETestConfiguration.class);
-        logger.info("✅ [PERFORMANCE] Configurações de HTTP client (RestAssured usa pooling padrão):");
-        logger.info("   - Max connections per route: {} (configurado em application.yml)", httpConfig.getMaxConnectionsPerRoute());
-        logger.info("   - Max total connections: {} (configurado em application.yml)", httpConfig.getMaxTotalConnections());
-        logger.info("   - Connection timeout: {}ms (configurado em application.yml)", httpConfig.getConnectionTimeoutMs());
-        logger.info("   - Socket timeout: {}ms (configurado em application.yml)", httpConfig.getSocketTimeoutMs());
-        logger.info("   - Connection TTL: {}ms (configurado em application.yml)", httpConfig.getConnectionTtlMs());
-        logger.info("   Nota: RestAssured 5.x já usa connection pooling por padrão. Configurações acima são para referência.");
+        logger.info("✅ [PERFORMANCE] Configurações de HTTP client (pool compartilhado HttpConnectionPool):");
+        logger.info("   - Max connections per route: {}", httpConfig.getMaxConnectionsPerRoute());
+        logger.info("   - Max total connections: {}", httpConfig.getMaxTotalConnections());
+        logger.info("   - Connection timeout: {}ms", httpConfig.getConnectionTimeoutMs());
+        logger.info("   - Socket timeout: {}ms", httpConfig.getSocketTimeoutMs());
+        logger.info("   - Connection TTL: {}ms", httpConfig.getConnectionTtlMs());
+        logger.info("   - Idle timeout: {}ms", httpConfig.getIdleTimeoutMs());
     }
 }
 
@@ -0,0 +1,34 @@
+package com.nulote.journey.fixtures;
+
+import com.nulote.journey.config.E2EConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Liga a pré-geração de documentos do {@link TestDataGenerator} conforme e2e.document-prefetch.
+ */
+@Component
+public class DocumentPrefetcher {
+
+    @Autowired
+    private E2EConfiguration config;
+
+    @PostConstruct
+    public void start() {
+        E2EConfiguration.DocumentPrefetch settings = config.getDocumentPrefetch();
+        if (settings.getEnabled()) {
+            TestDataGenerator.startPrefetch(settings.getRingSize());
+            var logger = org.slf4j.LoggerFactory.getLogger(DocumentPrefetcher.class);
+            logger.info("✅ [PERFORMANCE] Pré-geração de documentos habilitada (ring buffer de {} por tipo)",
+                settings.getRingSize());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        TestDataGenerator.stopPrefetch();
+    }
+}
@@ -0,0 +1,70 @@
+package com.nulote.journey.fixtures;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring buffer limitado, sem locks, com um produtor (thread de pré-geração do TestDataGenerator)
+ * e vários consumidores (threads dos cenários).
+ *
+ * O produtor escreve no slot tail e publica tail (volatile); consumidores disputam head via CAS.
+ * O produtor só reutiliza um slot depois que head passou por ele, então um consumidor nunca
+ * recebe um valor sobrescrito nem o mesmo valor de outro consumidor.
+ */
+final class DocumentRingBuffer {
+
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private volatile long tail;
+
+    DocumentRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Retira o próximo valor.
+     *
+     * @return Valor pré-gerado, ou null se o buffer estiver vazio
+     */
+    String poll() {
+        while (true) {
+            long position = head.get();
+            if (position >= tail) {
+                return null;
+            }
+            String value = slots.get((int) (position & mask));
+            if (head.compareAndSet(position, position + 1)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Insere um valor (somente a thread produtora).
+     *
+     * @return false se o buffer estiver cheio
+     */
+    boolean offer(String value) {
+        long position = tail;
+        if (position - head.get() > mask) {
+            return false;
+        }
+        slots.set((int) (position & mask), value);
+        tail = position + 1;
+        return true;
+    }
+
+    boolean isFull() {
+        return tail - head.get() > mask;
+    }
+
+    /**
+     * Indica se o buffer está abaixo da metade (consumidor acorda o produtor).
+     */
+    boolean isLow() {
+        return tail - head.get() <= (mask >> 1);
+    }
+}
@@ -0,0 +1,124 @@
+package com.nulote.journey.fixtures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste unitário do ring buffer da pré-geração: capacidade, ordem FIFO e entrega única com um
+ * produtor e vários consumidores concorrentes.
+ */
+@DisplayName("DocumentRingBuffer - Um produtor e vários consumidores")
+class DocumentRingBufferTest {
+
+    @Test
+    @DisplayName("Deve arredondar a capacidade para potência de dois e recusar valores quando cheio")
+    void deve_recusar_valores_quando_cheio() {
+        // Arrange
+        DocumentRingBuffer buffer = new DocumentRingBuffer(5);
+
+        // Act
+        int accepted = 0;
+        while (buffer.offer("doc-" + accepted)) {
+            accepted++;
+        }
+
+        // Assert
+        assertThat(accepted).isEqualTo(8);
+        assertThat(buffer.isFull()).isTrue();
+        assertThat(buffer.isLow()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve entregar os valores na ordem de inserção e liberar slots para o produtor")
+    void deve_entregar_na_ordem_de_insercao() {
+        // Arrange
+        DocumentRingBuffer buffer = new DocumentRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            buffer.offer("doc-" + i);
+        }
+
+        // Act
+        String first = buffer.poll();
+        String second = buffer.poll();
+        boolean reused = buffer.offer("doc-4");
+
+        // Assert
+        assertThat(first).isEqualTo("doc-0");
+        assertThat(second).isEqualTo("doc-1");
+        assertThat(reused).isTrue();
+        assertThat(List.of(buffer.poll(), buffer.poll(), buffer.poll())).containsExactly("doc-2", "doc-3", "doc-4");
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.isLow()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve entregar cada valor a exatamente um consumidor")
+    void deve_entregar_cada_valor_a_exatamente_um_consumidor() throws Exception {
+        // Arrange
+        DocumentRingBuffer buffer = new DocumentRingBuffer(64);
+        int total = 50_000;
+        int consumers = 4;
+        Set<String> received = ConcurrentHashMap.newKeySet();
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(consumers + 1);
+        try {
+            // Act - produtor único preenche o buffer enquanto os consumidores disputam head
+            Future<?> producer = executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < total; i++) {
+                    String value = "doc-" + i;
+                    while (!buffer.offer(value)) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            });
+            List<Future<?>> pollers = new ArrayList<>();
+            for (int c = 0; c < consumers; c++) {
+                pollers.add(executor.submit(() -> {
+                    start.await();
+                    // Valor perdido: os consumidores não terminam e o get abaixo esgota o prazo
+                    while (consumed.get() < total) {
+                        String value = buffer.poll();
+                        if (value == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        consumed.incrementAndGet();
+                        if (!received.add(value)) {
+                            duplicates.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            producer.get(30, TimeUnit.SECONDS);
+            for (Future<?> poller : pollers) {
+                poller.get(30, TimeUnit.SECONDS);
+            }
+
+            // Assert
+            assertThat(duplicates).hasValue(0);
+            assertThat(received).hasSize(total);
+            assertThat(buffer.poll()).isNull();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -5,18 +5,87 @@ import java.util.UUID;
 /**
  * Contexto de execução para rastreamento de dados criados durante testes E2E.
  * Garante que cada execução tenha um ID único para rastreabilidade.
+ * 
+ * Com sharding (-Djourney.shard=i/n, i base 0), cada JVM executa uma partição dos cenários
+ * (ShardFilter) e o shard entra no prefixo dos dados, para que shards da mesma execução
+ * nunca gerem identificadores iguais.
  */
 public class ExecutionContext {
     
     private static final String EXECUTION_ID = UUID.randomUUID().toString();
     private static final long START_TIME = System.currentTimeMillis();
+    private static final ThreadLocal<String> SCENARIO_ID = new ThreadLocal<>();
+    private static final int[] SHARD = parseShard(System.getProperty("journey.shard"));
     
     public static String getExecutionId() {
         return EXECUTION_ID;
     }
     
+    /**
+     * Índice do shard desta JVM (base 0); 0 sem sharding.
+     */
+    public static int getShardIndex() {
+        return SHARD[0];
+    }
+    
+    /**
+     * Número total de shards; 1 sem sharding.
+     */
+    public static int getShardCount() {
+        return SHARD[1];
+    }
+    
+    public static boolean isSharded() {
+        return SHARD[1] > 1;
+    }
+    
+    /**
+     * Shard a partir de "i/n" (i base 0, i &lt; n); {0, 1} se ausente ou inválido.
+     */
+    static int[] parseShard(String value) {
+        if (value != null && value.matches("\\d+/\\d+")) {
+            String[] parts = value.split("/");
+            int index = Integer.parseInt(parts[0]);
+            int total = Integer.parseInt(parts[1]);
+            if (total > 0 && index < total) {
+                return new int[] {index, total};
+            }
+        }
+        return new int[] {0, 1};
+    }
+    
+    /**
+     * Registra o cenário em execução na thread atual (Hooks.beforeScenario).
+     * 
+     * @param scenarioId ID do cenário no Cucumber
+     */
+    public static void beginScenario(String scenarioId) {
+        SCENARIO_ID.set(scenarioId);
+    }
+    
+    /**
+     * Encerra o cenário da thread atual (Hooks.afterScenario).
+     */
+    public static void endScenario() {
+        SCENARIO_ID.remove();
+    }
+    
+    /**
+     * ID do cenário em execução na thread atual, ou null fora de um cenário (ex: threads de background).
+     */
+    public static String getScenarioId() {
+        return SCENARIO_ID.get();
+    }
+    
     public static String getExecutionPrefix() {
-        return "e2e-" + EXECUTION_ID.substring(0, 8) + "-";
+        return "e2e-" + EXECUTION_ID.substring(0, 8) + getShardTag() + "-";
+    }
+    
+    /**
+     * Marcador do shard para identificadores gerados ("-s2" no shard 2); vazio sem sharding.
+     */
+    public static String getShardTag() {
+        return isSharded() ? "-s" + SHARD[0] : "";
     }
     
     public static boolean isDataFromThisExecution(String identifier) {
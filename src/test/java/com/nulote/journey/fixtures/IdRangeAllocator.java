@@ -0,0 +1,157 @@
+package com.nulote.journey.fixtures;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Alocador de blocos disjuntos do espaço de identificadores (documentos e telefones) por execução.
+ *
+ * Cada espaço é dividido em blocos de tamanho fixo; cada JVM recebe, por tipo, o próximo bloco livre
+ * registrado em um arquivo compartilhado entre execuções (journey.id-ranges.file, padrão
+ * target/id-ranges.properties), sob FileLock - JVMs simultâneas no mesmo diretório e execuções
+ * consecutivas nunca recebem o mesmo bloco. O padrão fica no diretório do build para que runners de
+ * CI com o mesmo home não disputem o arquivo; para manter a sequência após um mvn clean, aponte
+ * journey.id-ranges.file para um caminho estável do runner.
+ *
+ * O arquivo registra o primeiro bloco de cada tipo: quando todos os blocos do espaço (ou do shard)
+ * já foram entregues, a reserva falha com IllegalStateException em vez de dar a volta e repetir
+ * identificadores de execuções anteriores (ex: após 1000 execuções para CPF). Para recomeçar,
+ * remova o arquivo depois de limpar os dados dos ambientes.
+ *
+ * Com shards (journey.shard=i/n), o shard i só recebe blocos b com b mod n == i, então shards em
+ * máquinas diferentes (arquivos diferentes) também não colidem entre si.
+ *
+ * Sem arquivo (journey.id-ranges.enabled=false ou erro de IO), o bloco vem do hash do
+ * execution ID, como antes.
+ */
+public final class IdRangeAllocator {
+
+    private static final String DEFAULT_FILE = "target/id-ranges.properties";
+    private static final String FIRST_SUFFIX = ".first";
+
+    // A reserva faz IO de arquivo: ReentrantLock não fixa a virtual thread no carrier (synchronized fixa no JDK 21)
+    private static final ReentrantLock LOCK = new ReentrantLock();
+
+    private IdRangeAllocator() {
+    }
+
+    /**
+     * Reserva o próximo bloco do tipo para esta JVM.
+     *
+     * @param type Tipo de identificador (ex: "CPF", "PHONE")
+     * @param blocks Número de blocos do espaço
+     * @param fallbackSeed Semente usada sem arquivo compartilhado (ex: hash do execution ID)
+     * @return Índice do bloco em [0, blocks)
+     * @throws IllegalStateException se todos os blocos do tipo já foram entregues por execuções anteriores
+     */
+    public static long allocate(String type, long blocks, long fallbackSeed) {
+        LOCK.lock();
+        try {
+            var logger = org.slf4j.LoggerFactory.getLogger(IdRangeAllocator.class);
+            int[] shard = shard();
+            long block;
+            if (Boolean.parseBoolean(System.getProperty("journey.id-ranges.enabled", "true"))) {
+                Path file = Paths.get(System.getProperty("journey.id-ranges.file", DEFAULT_FILE));
+                long limit = capacity(blocks, shard);
+                long[] reserved;
+                try {
+                    reserved = nextSequence(file, type, Math.floorMod(fallbackSeed, blocks), limit);
+                } catch (IOException | RuntimeException e) {
+                    reserved = null;
+                    logger.warn("⚠️ [ID-RANGES] Não foi possível reservar bloco de {} em {}: {}. Usando bloco derivado do execution ID.",
+                        type, file, e.getMessage());
+                }
+                if (reserved != null) {
+                    long sequence = reserved[0];
+                    // Fora do try: esgotamento não deve cair no fallback por hash (que repetiria blocos)
+                    if (sequence - reserved[1] >= limit) {
+                        throw new IllegalStateException(String.format(
+                            "Blocos de %s esgotados em %s: %d de %d já entregues. Remova o arquivo (após limpar "
+                                + "os dados dos ambientes) ou use outro journey.id-ranges.file",
+                            type, file, sequence - reserved[1], limit));
+                    }
+                    block = toShardBlock(sequence, blocks, shard);
+                    logger.info("🔢 [ID-RANGES] {}: bloco {}/{} reservado em {} (shard {}/{})",
+                        type, block, blocks, file, shard[0], shard[1]);
+                    return block;
+                }
+            }
+            block = toShardBlock(Math.floorMod(fallbackSeed, blocks), blocks, shard);
+            logger.debug("🔢 [ID-RANGES] {}: bloco {}/{} derivado do execution ID", type, block, blocks);
+            return block;
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    /**
+     * Lê e incrementa, sob lock exclusivo do arquivo, a sequência de blocos do tipo.
+     * Com os blocos esgotados o arquivo não é alterado (o chamador falha).
+     *
+     * @param limit Blocos distintos disponíveis ({@link #capacity})
+     * @return {sequência reservada, primeira sequência registrada para o tipo}
+     */
+    static long[] nextSequence(Path file, String type, long initial, long limit) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+            while (content.hasRemaining() && channel.read(content) >= 0) {
+                // leitura completa do arquivo
+            }
+            Properties ranges = new Properties();
+            ranges.load(new ByteArrayInputStream(content.array()));
+
+            // Primeira execução na máquina: começar em um bloco derivado do execution ID
+            long sequence = Long.parseLong(ranges.getProperty(type, String.valueOf(initial)));
+            // Arquivos anteriores sem o primeiro bloco registrado contam a partir da sequência atual
+            long first = Long.parseLong(ranges.getProperty(type + FIRST_SUFFIX, String.valueOf(sequence)));
+            if (sequence - first >= limit) {
+                return new long[] {sequence, first};
+            }
+            ranges.setProperty(type, String.valueOf(sequence + 1));
+            ranges.setProperty(type + FIRST_SUFFIX, String.valueOf(first));
+
+            ByteArrayOutputStream updated = new ByteArrayOutputStream();
+            ranges.store(updated, "platform-journey-tests: proxima sequencia de bloco por tipo de identificador");
+            channel.truncate(0);
+            channel.write(ByteBuffer.wrap(updated.toByteArray()), 0);
+            return new long[] {sequence, first};
+        }
+    }
+
+    /**
+     * Blocos distintos que a sequência de um arquivo pode entregar antes de repetir.
+     */
+    static long capacity(long blocks, int[] shard) {
+        return shard[1] <= 1 ? blocks : Math.max(1, blocks / shard[1]);
+    }
+
+    static long toShardBlock(long sequence, long blocks, int[] shard) {
+        if (shard[1] <= 1) {
+            return Math.floorMod(sequence, blocks);
+        }
+        long blocksPerShard = Math.max(1, blocks / shard[1]);
+        return Math.floorMod(Math.floorMod(sequence, blocksPerShard) * shard[1] + shard[0], blocks);
+    }
+
+    /**
+     * Shard da JVM a partir de journey.shard=i/n (i base 0); {0, 1} sem sharding.
+     */
+    static int[] shard() {
+        return new int[] {ExecutionContext.getShardIndex(), ExecutionContext.getShardCount()};
+    }
+}
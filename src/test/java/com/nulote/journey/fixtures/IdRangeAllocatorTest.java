@@ -0,0 +1,137 @@
+package com.nulote.journey.fixtures;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Teste unitário da reserva de blocos: sequência em arquivo, volta pelo início do espaço,
+ * falha ao esgotar os blocos e mapeamento por shard.
+ */
+@DisplayName("IdRangeAllocator - Reserva de blocos entre execuções")
+class IdRangeAllocatorTest {
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private String previousFile;
+
+    @BeforeEach
+    void usarArquivoTemporario() {
+        file = dir.resolve("id-ranges.properties");
+        previousFile = System.getProperty("journey.id-ranges.file");
+        System.setProperty("journey.id-ranges.file", file.toString());
+    }
+
+    @AfterEach
+    void restaurarArquivo() {
+        if (previousFile != null) {
+            System.setProperty("journey.id-ranges.file", previousFile);
+        } else {
+            System.clearProperty("journey.id-ranges.file");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve reservar blocos consecutivos a partir do bloco derivado da semente")
+    void deve_reservar_blocos_consecutivos() {
+        // Act
+        long first = IdRangeAllocator.allocate("CPF", 10, 3);
+        long second = IdRangeAllocator.allocate("CPF", 10, 3);
+        long otherType = IdRangeAllocator.allocate("CNPJ", 10, 7);
+
+        // Assert
+        assertThat(first).isEqualTo(3);
+        assertThat(second).isEqualTo(4);
+        assertThat(otherType).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Deve dar a volta pelo início do espaço sem repetir blocos")
+    void deve_dar_a_volta_pelo_inicio_sem_repetir_blocos() {
+        // Act
+        List<Long> blocks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            blocks.add(IdRangeAllocator.allocate("DNI", 10, 8));
+        }
+
+        // Assert
+        assertThat(blocks).containsExactly(8L, 9L, 0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L);
+    }
+
+    @Test
+    @DisplayName("Deve falhar sem alterar o arquivo quando todos os blocos já foram entregues")
+    void deve_falhar_quando_todos_os_blocos_ja_foram_entregues() throws Exception {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            IdRangeAllocator.allocate("PHONE", 4, 0);
+        }
+        String exhausted = Files.readString(file);
+
+        // Act / Assert
+        assertThatThrownBy(() -> IdRangeAllocator.allocate("PHONE", 4, 0))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("PHONE")
+            .hasMessageContaining("4 de 4");
+        assertThat(Files.readString(file)).isEqualTo(exhausted);
+    }
+
+    @Test
+    @DisplayName("Deve contar a partir da sequência atual em arquivos sem o primeiro bloco registrado")
+    void deve_contar_a_partir_da_sequencia_atual_em_arquivos_antigos() throws Exception {
+        // Arrange
+        Files.writeString(file, "RUT=42\n");
+
+        // Act
+        long[] reserved = IdRangeAllocator.nextSequence(file, "RUT", 0, 10);
+
+        // Assert
+        assertThat(reserved).containsExactly(42L, 42L);
+        assertThat(Files.readString(file)).contains("RUT=43").contains("RUT.first=42");
+    }
+
+    @Test
+    @DisplayName("Deve usar o bloco derivado da semente com o arquivo desabilitado")
+    void deve_usar_bloco_derivado_da_semente_com_arquivo_desabilitado() {
+        // Arrange
+        System.setProperty("journey.id-ranges.enabled", "false");
+        try {
+            // Act
+            long block = IdRangeAllocator.allocate("CI", 10, -13);
+
+            // Assert
+            assertThat(block).isEqualTo(7);
+            assertThat(file).doesNotExist();
+        } finally {
+            System.clearProperty("journey.id-ranges.enabled");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve entregar a cada shard apenas blocos do seu resto")
+    void deve_entregar_a_cada_shard_apenas_blocos_do_seu_resto() {
+        // Arrange - shard 1 de 3 em um espaço de 10 blocos
+        int[] shard = {1, 3};
+
+        // Act
+        List<Long> blocks = new ArrayList<>();
+        for (long sequence = 0; sequence < IdRangeAllocator.capacity(10, shard); sequence++) {
+            blocks.add(IdRangeAllocator.toShardBlock(sequence, 10, shard));
+        }
+
+        // Assert
+        assertThat(IdRangeAllocator.capacity(10, shard)).isEqualTo(3);
+        assertThat(blocks).containsExactly(1L, 4L, 7L);
+    }
+}
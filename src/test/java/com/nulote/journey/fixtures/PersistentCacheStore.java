@@ -0,0 +1,258 @@
+package com.nulote.journey.fixtures;
+
+import com.nulote.journey.config.E2EConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Armazenamento em disco do cache de dados de teste entre execuções (e2e.data-cache.persistent).
+ *
+ * Arquivo append-only (e2e.data-cache.persistent-path) com uma linha por operação:
+ * - PUT namespace chave valor expiraEm
+ * - DEL namespace chave
+ * Chave e valor em Base64; expiraEm em epoch millis (0 = sem expiração).
+ *
+ * Ao iniciar, o arquivo é lido via memory-mapping, as operações são aplicadas em ordem
+ * (última escrita vence) e o arquivo é compactado apenas com as entradas ainda válidas.
+ * Durante a execução cada alteração é um append - não há reescrita do arquivo.
+ *
+ * O snapshot carregado ({@link #load}) não é revalidado aqui: cada consumidor revalida
+ * a entrada no primeiro uso (ex: o UserPool confere credenciais e perfil no lease).
+ * O arquivo pressupõe uma única JVM escrevendo por caminho (com sharding, cada shard usa o próprio arquivo).
+ *
+ * Conteúdo sensível: os usuários do pool são gravados com a senha de teste. Access e refresh tokens
+ * nunca são persistidos (novo login a cada execução) e, em sistemas POSIX, o arquivo é criado com
+ * permissão somente para o dono (rw-------).
+ */
+@Component
+public class PersistentCacheStore {
+
+    private static final String PUT = "PUT";
+    private static final String DEL = "DEL";
+    private static final Set<PosixFilePermission> OWNER_ONLY =
+        PosixFilePermissions.fromString("rw-------");
+
+    @Autowired
+    private E2EConfiguration config;
+
+    private final Map<String, Map<String, StoredEntry>> snapshot = new ConcurrentHashMap<>();
+    private FileChannel appender;
+    // Serializa as escritas no arquivo de append
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        if (!config.getDataCache().getPersistent()) {
+            return;
+        }
+        var logger = org.slf4j.LoggerFactory.getLogger(PersistentCacheStore.class);
+        Path path = Paths.get(config.getDataCache().getPersistentPath());
+        if (ExecutionContext.isSharded()) {
+            // Um arquivo por shard: o arquivo pressupõe uma única JVM escrevendo
+            path = path.resolveSibling(path.getFileName() + ".shard-" + ExecutionContext.getShardIndex());
+        }
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            int operations = Files.exists(path) ? read(path) : 0;
+            compact(path);
+            appender = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            int live = snapshot.values().stream().mapToInt(Map::size).sum();
+            logger.info("✅ [CACHE] Cache persistente carregado de {}: {} entradas válidas ({} operações lidas)",
+                path, live, operations);
+        } catch (IOException e) {
+            logger.warn("⚠️ [CACHE] Cache persistente indisponível ({}): {}. Continuando apenas em memória.",
+                path, e.getMessage());
+            snapshot.clear();
+            appender = null;
+        }
+    }
+
+    /**
+     * Indica se a persistência está ativa (habilitada e arquivo aberto).
+     */
+    public boolean isEnabled() {
+        return appender != null;
+    }
+
+    /**
+     * Entradas válidas de um namespace lidas ao iniciar (ainda não revalidadas).
+     *
+     * @param namespace Namespace (ex: "tokens")
+     * @return Cópia das entradas (chave -> valor/expiração)
+     */
+    public Map<String, StoredEntry> load(String namespace) {
+        Map<String, StoredEntry> entries = snapshot.get(namespace);
+        return entries != null ? new HashMap<>(entries) : Map.of();
+    }
+
+    /**
+     * Registra (append) o valor de uma chave.
+     *
+     * @param expiresAt Expiração (null = sem expiração)
+     */
+    public void put(String namespace, String key, String value, Instant expiresAt) {
+        if (!isEnabled() || key == null || value == null) {
+            return;
+        }
+        long expiry = expiresAt != null ? expiresAt.toEpochMilli() : 0L;
+        append(PUT + '\t' + namespace + '\t' + encode(key) + '\t' + encode(value) + '\t' + expiry + '\n');
+    }
+
+    /**
+     * Registra (append) a remoção de uma chave.
+     */
+    public void remove(String namespace, String key) {
+        if (!isEnabled() || key == null) {
+            return;
+        }
+        append(DEL + '\t' + namespace + '\t' + encode(key) + '\n');
+    }
+
+    @PreDestroy
+    public void close() {
+        if (appender != null) {
+            try {
+                appender.close();
+            } catch (IOException e) {
+                var logger = org.slf4j.LoggerFactory.getLogger(PersistentCacheStore.class);
+                logger.debug("Erro ao fechar cache persistente: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void append(String line) {
+        appendLock.lock();
+        try {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    appender.write(buffer);
+                }
+            } catch (IOException e) {
+                var logger = org.slf4j.LoggerFactory.getLogger(PersistentCacheStore.class);
+                logger.debug("Erro ao gravar no cache persistente: {}", e.getMessage());
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Lê o arquivo (memory-mapped) e aplica as operações no snapshot.
+     *
+     * @return Número de operações lidas
+     */
+    private int read(Path path) throws IOException {
+        String content;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            content = StandardCharsets.UTF_8.decode(mapped).toString();
+        }
+
+        long now = System.currentTimeMillis();
+        int operations = 0;
+        for (String line : content.split("\n")) {
+            String[] fields = line.split("\t");
+            try {
+                if (fields.length == 5 && PUT.equals(fields[0])) {
+                    long expiry = Long.parseLong(fields[4]);
+                    Map<String, StoredEntry> entries = snapshot.computeIfAbsent(fields[1], k -> new LinkedHashMap<>());
+                    if (expiry != 0 && expiry <= now) {
+                        entries.remove(decode(fields[2]));
+                    } else {
+                        entries.put(decode(fields[2]),
+                            new StoredEntry(decode(fields[3]), expiry != 0 ? Instant.ofEpochMilli(expiry) : null));
+                    }
+                    operations++;
+                } else if (fields.length == 3 && DEL.equals(fields[0])) {
+                    Map<String, StoredEntry> entries = snapshot.get(fields[1]);
+                    if (entries != null) {
+                        entries.remove(decode(fields[2]));
+                    }
+                    operations++;
+                }
+                // Linhas incompletas (ex: execução interrompida durante um append) são ignoradas
+            } catch (IllegalArgumentException ignored) {
+                // Linha corrompida: ignorar
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * Reescreve o arquivo apenas com as entradas válidas do snapshot (troca atômica).
+     */
+    private void compact(Path path) throws IOException {
+        StringBuilder content = new StringBuilder();
+        snapshot.forEach((namespace, entries) -> entries.forEach((key, entry) ->
+            content.append(PUT).append('\t').append(namespace).append('\t')
+                .append(encode(key)).append('\t').append(encode(entry.getValue())).append('\t')
+                .append(entry.getExpiresAt() != null ? entry.getExpiresAt().toEpochMilli() : 0L).append('\n')));
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        // Permissão definida na criação: o conteúdo nunca fica legível por outros usuários
+        Files.deleteIfExists(temp);
+        if (temp.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(temp, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+        } else {
+            Files.createFile(temp);
+        }
+        Files.writeString(temp, content, StandardCharsets.UTF_8);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // Snapshot passa a ser somente leitura para os consumidores
+        snapshot.replaceAll((namespace, entries) -> Map.copyOf(entries));
+    }
+
+    private static String encode(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        return new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Entrada persistida (imutável): valor serializado e expiração.
+     */
+    public static final class StoredEntry {
+        private final String value;
+        private final Instant expiresAt;
+
+        StoredEntry(String value, Instant expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public Instant getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
@@ -1,10 +1,23 @@
 package com.nulote.journey.fixtures;
 
+import com.nulote.journey.config.E2EConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
 
 /**
  * Cache de dados de teste para reutilização entre cenários.
@@ -13,27 +26,46 @@ import java.util.concurrent.atomic.AtomicLong;
  * quando possível, mantendo isolamento entre testes.
  * 
  * Estratégia:
- * - Cache por tipo de dado (usuário, documento, etc.)
- * - Reutilização quando dados ainda são válidos
- * - Limpeza automática de dados expirados
+ * - Um namespace por tipo de dado (usuários, documentos, tokens), cada um com TTL e tamanho
+ *   máximo próprios (e2e.data-cache.*); ao atingir o limite, a entrada menos usada é removida (LRU)
+ * - Entradas válidas só no escopo em que foram criadas: usuários por país, documentos por país
+ *   e cenário (um documento nunca é entregue a outro cenário), tokens até a expiração do token
+ * - Carga única por chave ({@link #getOrLoadDocument}): threads concorrentes aguardam a mesma geração
+ * - Hits, misses, remoções e tempo de carga por namespace em {@link #getStats()}
+ * - Somente em memória: usuários são indexados pelo e-mail gerado na execução e tokens não vão
+ *   para disco; o reaproveitamento entre execuções fica com o {@link UserPool}
  * - Thread-safe para suportar paralelização
  */
 @Component
 public class TestDataCache {
     
-    // Cache de usuários criados (key: email, value: userUuid)
-    private final Map<String, String> userCache = new ConcurrentHashMap<>();
+    private static final String SCOPE_GLOBAL = "global";
     
-    // Cache de documentos gerados (key: documentType, value: documentNumber)
-    private final Map<String, String> documentCache = new ConcurrentHashMap<>();
+    @Autowired
+    private E2EConfiguration config;
     
-    // Contador de hits do cache (para métricas)
-    private final AtomicLong cacheHits = new AtomicLong(0);
-    private final AtomicLong cacheMisses = new AtomicLong(0);
+    // Usuários criados (key: país|email, value: userUuid)
+    private Namespace<String> userCache;
+    
+    // Documentos gerados (key: país|cenário|documentType, value: documentNumber)
+    private Namespace<String> documentCache;
+    
+    // Tokens de sessão (key: usuário|escopo, value: JWT + refresh token + expiração)
+    private Namespace<CachedToken> tokenCache;
+    
+    @PostConstruct
+    public void init() {
+        E2EConfiguration.DataCache settings = config.getDataCache();
+        userCache = new Namespace<>("users", settings.getUsersMaxSize(),
+            Duration.ofSeconds(settings.getUsersTtlSeconds()));
+        documentCache = new Namespace<>("documents", settings.getDocumentsMaxSize(),
+            Duration.ofSeconds(settings.getDocumentsTtlSeconds()));
+        tokenCache = new Namespace<>("tokens", settings.getTokensMaxSize(), null);
+    }
     
     /**
      * Obtém ou cria um UUID de usuário para um email.
-     * Se o email já estiver no cache, retorna o UUID existente.
+     * Se o email já estiver no cache (para o país atual), retorna o UUID existente.
      * Caso contrário, retorna null (indicando que precisa criar).
      * 
      * @param email Email do usuário
@@ -43,32 +75,24 @@ public class TestDataCache {
         if (email == null) {
             return null;
         }
-        
-        String cached = userCache.get(email);
-        if (cached != null) {
-            cacheHits.incrementAndGet();
-            return cached;
-        }
-        
-        cacheMisses.incrementAndGet();
-        return null;
+        return userCache.get(countryScope() + '|' + email);
     }
     
     /**
-     * Adiciona um usuário ao cache.
+     * Adiciona um usuário ao cache (país atual).
      * 
      * @param email Email do usuário
      * @param userUuid UUID do usuário
      */
     public void cacheUser(String email, String userUuid) {
         if (email != null && userUuid != null) {
-            userCache.put(email, userUuid);
+            userCache.put(countryScope() + '|' + email, userUuid, null);
         }
     }
     
     /**
      * Obtém um documento do cache para um tipo específico.
-     * Útil para reutilizar documentos quando possível.
+     * Só retorna documentos gerados no mesmo cenário e país.
      * 
      * @param documentType Tipo do documento (CPF, CNPJ, etc.)
      * @return Número do documento se existir no cache, null caso contrário
@@ -77,29 +101,102 @@ public class TestDataCache {
         if (documentType == null) {
             return null;
         }
-        
-        String cached = documentCache.get(documentType.toUpperCase());
-        if (cached != null) {
-            cacheHits.incrementAndGet();
-            return cached;
-        }
-        
-        cacheMisses.incrementAndGet();
-        return null;
+        return documentCache.get(documentKey(documentType));
     }
     
     /**
-     * Adiciona um documento ao cache.
+     * Adiciona um documento ao cache (cenário e país atuais).
      * 
      * @param documentType Tipo do documento (CPF, CNPJ, etc.)
      * @param documentNumber Número do documento
      */
     public void cacheDocument(String documentType, String documentNumber) {
         if (documentType != null && documentNumber != null) {
-            documentCache.put(documentType.toUpperCase(), documentNumber);
+            documentCache.put(documentKey(documentType), documentNumber, null);
+        }
+    }
+    
+    /**
+     * Obtém o documento do cenário e país atuais ou gera um novo com o gerador informado.
+     * Threads concorrentes com a mesma chave aguardam a mesma geração.
+     * 
+     * @param documentType Tipo do documento (CPF, CNPJ, etc.)
+     * @param generator Gerador do documento em caso de miss (ex: TestDataGenerator::generateUniqueCpf)
+     * @return Número do documento
+     */
+    public String getOrLoadDocument(String documentType, Supplier<String> generator) {
+        if (documentType == null) {
+            return generator.get();
+        }
+        return documentCache.getOrLoad(documentKey(documentType), generator);
+    }
+    
+    /**
+     * Obtém o token de sessão em cache para um usuário e escopo.
+     * Tokens já expirados contam como miss (e são removidos).
+     * 
+     * @param userKey Identificador do usuário (email/username)
+     * @param scope Escopo do token (ex: "password-login")
+     * @return Token em cache ainda não expirado, null caso contrário
+     */
+    public CachedToken getCachedToken(String userKey, String scope) {
+        if (userKey == null || scope == null) {
+            return null;
+        }
+        return tokenCache.get(tokenKey(userKey, scope));
+    }
+    
+    /**
+     * Adiciona (ou substitui) o token de sessão de um usuário e escopo.
+     * 
+     * @param userKey Identificador do usuário (email/username)
+     * @param scope Escopo do token
+     * @param token Token com refresh token e expiração
+     */
+    public void cacheToken(String userKey, String scope, CachedToken token) {
+        if (userKey != null && scope != null && token != null) {
+            tokenCache.put(tokenKey(userKey, scope), token, token.getExpiresAt());
+        }
+    }
+    
+    /**
+     * Remove todos os tokens de um usuário (ex: após troca de senha ou revogação de todos os tokens).
+     * 
+     * @param userKey Identificador do usuário (email/username)
+     */
+    public void invalidateTokens(String userKey) {
+        if (userKey != null) {
+            String prefix = userKey + '|';
+            tokenCache.removeIf((key, cached) -> key.startsWith(prefix));
+        }
+    }
+    
+    /**
+     * Remove o token cujo access token ou refresh token corresponde ao valor informado (ex: após logout).
+     * 
+     * @param token Access token ou refresh token
+     */
+    public void invalidateToken(String token) {
+        if (token != null) {
+            tokenCache.removeIf((key, cached) ->
+                token.equals(cached.getAccessToken()) || token.equals(cached.getRefreshToken()));
         }
     }
     
+    private static String tokenKey(String userKey, String scope) {
+        return userKey + '|' + scope;
+    }
+    
+    private String documentKey(String documentType) {
+        String scenarioId = ExecutionContext.getScenarioId();
+        return countryScope() + '|' + (scenarioId != null ? scenarioId : SCOPE_GLOBAL) + '|' + documentType.toUpperCase();
+    }
+    
+    private String countryScope() {
+        String countryCode = config.getDefaultCountryCode();
+        return countryCode != null ? countryCode.toUpperCase() : SCOPE_GLOBAL;
+    }
+    
     /**
      * Limpa o cache de usuários.
      * Útil para resetar entre execuções ou quando necessário.
@@ -116,33 +213,50 @@ public class TestDataCache {
     }
     
     /**
-     * Limpa todo o cache.
+     * Limpa o cache de tokens de sessão.
+     */
+    public void clearTokenCache() {
+        tokenCache.clear();
+    }
+    
+    /**
+     * Limpa todo o cache (entradas e estatísticas).
      */
     public void clearAll() {
         clearUserCache();
         clearDocumentCache();
-        cacheHits.set(0);
-        cacheMisses.set(0);
+        clearTokenCache();
+        userCache.resetStats();
+        documentCache.resetStats();
+        tokenCache.resetStats();
     }
     
     /**
      * Retorna estatísticas do cache.
      * 
-     * @return Map com estatísticas (hits, misses, hitRate, size)
+     * @return Map com estatísticas totais (hits, misses, hitRate, tamanhos) e por namespace
+     *         ("users", "documents", "tokens": hits, misses, evictions, expirations, loads, avgLoadMs, size)
      */
     public Map<String, Object> getStats() {
-        long hits = cacheHits.get();
-        long misses = cacheMisses.get();
+        long hits = 0;
+        long misses = 0;
+        Map<String, Object> stats = new ConcurrentHashMap<>();
+        for (Namespace<?> namespace : List.of(userCache, documentCache, tokenCache)) {
+            Map<String, Object> namespaceStats = namespace.stats();
+            hits += (Long) namespaceStats.get("hits");
+            misses += (Long) namespaceStats.get("misses");
+            stats.put(namespace.name, namespaceStats);
+        }
         long total = hits + misses;
         double hitRate = total > 0 ? (double) hits / total * 100 : 0.0;
         
-        Map<String, Object> stats = new ConcurrentHashMap<>();
         stats.put("hits", hits);
         stats.put("misses", misses);
         stats.put("total", total);
         stats.put("hitRate", String.format("%.2f%%", hitRate));
         stats.put("userCacheSize", userCache.size());
         stats.put("documentCacheSize", documentCache.size());
+        stats.put("tokenCacheSize", tokenCache.size());
         
         return stats;
     }
@@ -160,5 +274,226 @@ public class TestDataCache {
     public int getDocumentCacheSize() {
         return documentCache.size();
     }
+    
+    /**
+     * Retorna o tamanho do cache de tokens de sessão.
+     */
+    public int getTokenCacheSize() {
+        return tokenCache.size();
+    }
+    
+    @PreDestroy
+    public void logStats() {
+        var logger = org.slf4j.LoggerFactory.getLogger(TestDataCache.class);
+        for (Namespace<?> namespace : List.of(userCache, documentCache, tokenCache)) {
+            logger.info("📊 [CACHE] {}: {}", namespace.name, namespace.stats());
+        }
+    }
+    
+    /**
+     * Namespace do cache: mapa LRU limitado por tamanho, com TTL por entrada e carga única por chave.
+     */
+    static final class Namespace<V> {
+        private final String name;
+        private final int maxSize;
+        private final Duration ttl;
+        // Ordem de acesso (LRU): até get() altera o mapa, então toda leitura passa pelo lock
+        private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+        // ReentrantLock em vez de synchronized: não fixa virtual threads no carrier
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong evictions = new AtomicLong();
+        private final AtomicLong expirations = new AtomicLong();
+        private final AtomicLong loads = new AtomicLong();
+        private final AtomicLong loadNanos = new AtomicLong();
+        
+        Namespace(String name, int maxSize, Duration ttl) {
+            this.name = name;
+            this.maxSize = Math.max(1, maxSize);
+            this.ttl = ttl;
+        }
+        
+        V get(String key) {
+            V value = peek(key);
+            if (value != null) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+            }
+            return value;
+        }
+        
+        /**
+         * Insere ou substitui a entrada; sem expiresAt explícito, expira pelo TTL do namespace.
+         */
+        void put(String key, V value, Instant expiresAt) {
+            Instant expiry = expiresAt != null ? expiresAt : (ttl != null ? Instant.now().plus(ttl) : null);
+            lock.lock();
+            try {
+                entries.put(key, new Entry<>(value, expiry));
+                evictOverflow();
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        private void evictOverflow() {
+            Iterator<Map.Entry<String, Entry<V>>> eldest = entries.entrySet().iterator();
+            while (entries.size() > maxSize && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+        
+        V getOrLoad(String key, Supplier<V> loader) {
+            V cached = get(key);
+            if (cached != null) {
+                return cached;
+            }
+            CompletableFuture<V> mine = new CompletableFuture<>();
+            CompletableFuture<V> inFlight = loading.putIfAbsent(key, mine);
+            if (inFlight != null) {
+                return inFlight.join();
+            }
+            try {
+                // Outra thread pode ter concluído a carga entre o miss e o registro
+                V value = peek(key);
+                if (value == null) {
+                    long start = System.nanoTime();
+                    value = loader.get();
+                    loadNanos.addAndGet(System.nanoTime() - start);
+                    loads.incrementAndGet();
+                    if (value != null) {
+                        put(key, value, null);
+                    }
+                }
+                mine.complete(value);
+                return value;
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                loading.remove(key, mine);
+            }
+        }
+        
+        void removeIf(BiPredicate<String, V> filter) {
+            lock.lock();
+            try {
+                entries.entrySet().removeIf(entry -> filter.test(entry.getKey(), entry.getValue().value));
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        void clear() {
+            removeIf((key, value) -> true);
+        }
+        
+        int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        void resetStats() {
+            hits.set(0);
+            misses.set(0);
+            evictions.set(0);
+            expirations.set(0);
+            loads.set(0);
+            loadNanos.set(0);
+        }
+        
+        Map<String, Object> stats() {
+            long loadCount = loads.get();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("hits", hits.get());
+            stats.put("misses", misses.get());
+            stats.put("evictions", evictions.get());
+            stats.put("expirations", expirations.get());
+            stats.put("loads", loadCount);
+            stats.put("avgLoadMs", loadCount > 0 ? String.format("%.3f", loadNanos.get() / 1_000_000.0 / loadCount) : "0.000");
+            stats.put("size", size());
+            return stats;
+        }
+        
+        private V peek(String key) {
+            lock.lock();
+            try {
+                Entry<V> entry = entries.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.expiresAt != null && !Instant.now().isBefore(entry.expiresAt)) {
+                    entries.remove(key);
+                    expirations.incrementAndGet();
+                    return null;
+                }
+                return entry.value;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+    
+    private static final class Entry<V> {
+        private final V value;
+        private final Instant expiresAt;
+        
+        private Entry(V value, Instant expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    /**
+     * Token de sessão em cache (imutável): access token JWT, refresh token e instante de expiração.
+     */
+    public static final class CachedToken {
+        private final String accessToken;
+        private final String refreshToken;
+        private final Instant expiresAt;
+        private final Instant obtainedAt;
+        
+        public CachedToken(String accessToken, String refreshToken, Instant expiresAt) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+            this.expiresAt = expiresAt;
+            this.obtainedAt = Instant.now();
+        }
+        
+        public String getAccessToken() {
+            return accessToken;
+        }
+        
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+        
+        public Instant getExpiresAt() {
+            return expiresAt;
+        }
+        
+        public Instant getObtainedAt() {
+            return obtainedAt;
+        }
+        
+        public boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+        
+        /**
+         * Indica se o token entra na janela de renovação (expira em menos que a margem).
+         */
+        public boolean needsRefresh(Instant now, Duration margin) {
+            return !now.plus(margin).isBefore(expiresAt);
+        }
+    }
 }
-
@@ -0,0 +1,142 @@
+package com.nulote.journey.fixtures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste unitário dos namespaces do cache de dados de teste: expiração (TTL), remoção da entrada
+ * menos usada (LRU) e carga única por chave.
+ */
+@DisplayName("TestDataCache - TTL, LRU e carga única")
+class TestDataCacheTest {
+
+    @Test
+    @DisplayName("Deve retornar entrada dentro do prazo e contar hit")
+    void deve_retornar_entrada_dentro_do_prazo() {
+        // Arrange
+        TestDataCache.Namespace<String> users = new TestDataCache.Namespace<>("users", 10, Duration.ofHours(1));
+        users.put("BR|ana@example.com", "uuid-1", null);
+
+        // Act
+        String cached = users.get("BR|ana@example.com");
+
+        // Assert
+        assertThat(cached).isEqualTo("uuid-1");
+        assertThat(users.stats()).containsEntry("hits", 1L).containsEntry("misses", 0L);
+    }
+
+    @Test
+    @DisplayName("Deve expirar entrada pelo TTL do namespace")
+    void deve_expirar_entrada_pelo_ttl_do_namespace() {
+        // Arrange - TTL zero: a entrada já nasce expirada
+        TestDataCache.Namespace<String> users = new TestDataCache.Namespace<>("users", 10, Duration.ZERO);
+        users.put("BR|ana@example.com", "uuid-1", null);
+
+        // Act
+        String cached = users.get("BR|ana@example.com");
+
+        // Assert
+        assertThat(cached).isNull();
+        assertThat(users.size()).isZero();
+        assertThat(users.stats()).containsEntry("expirations", 1L).containsEntry("misses", 1L);
+    }
+
+    @Test
+    @DisplayName("Deve priorizar a expiração explícita da entrada sobre o TTL do namespace")
+    void deve_priorizar_expiracao_explicita() {
+        // Arrange
+        TestDataCache.Namespace<String> tokens = new TestDataCache.Namespace<>("tokens", 10, Duration.ofHours(1));
+        tokens.put("ana|password-login", "jwt-expirado", Instant.now().minusSeconds(1));
+        tokens.put("bia|password-login", "jwt-valido", Instant.now().plusSeconds(60));
+
+        // Act / Assert
+        assertThat(tokens.get("ana|password-login")).isNull();
+        assertThat(tokens.get("bia|password-login")).isEqualTo("jwt-valido");
+    }
+
+    @Test
+    @DisplayName("Deve remover a entrada menos usada ao atingir o tamanho máximo")
+    void deve_remover_entrada_menos_usada_ao_atingir_tamanho_maximo() {
+        // Arrange
+        TestDataCache.Namespace<String> documents = new TestDataCache.Namespace<>("documents", 2, null);
+        documents.put("a", "1", null);
+        documents.put("b", "2", null);
+        documents.get("a");
+
+        // Act - "b" é a menos usada desde o último acesso a "a"
+        documents.put("c", "3", null);
+
+        // Assert
+        assertThat(documents.size()).isEqualTo(2);
+        assertThat(documents.get("b")).isNull();
+        assertThat(documents.get("a")).isEqualTo("1");
+        assertThat(documents.get("c")).isEqualTo("3");
+        assertThat(documents.stats()).containsEntry("evictions", 1L);
+    }
+
+    @Test
+    @DisplayName("Deve remover entradas pelo filtro")
+    void deve_remover_entradas_pelo_filtro() {
+        // Arrange
+        TestDataCache.Namespace<String> tokens = new TestDataCache.Namespace<>("tokens", 10, null);
+        tokens.put("ana|password-login", "jwt-1", null);
+        tokens.put("ana|refresh", "jwt-2", null);
+        tokens.put("bia|password-login", "jwt-3", null);
+
+        // Act
+        tokens.removeIf((key, value) -> key.startsWith("ana|"));
+
+        // Assert
+        assertThat(tokens.size()).isEqualTo(1);
+        assertThat(tokens.get("bia|password-login")).isEqualTo("jwt-3");
+    }
+
+    @Test
+    @DisplayName("Deve executar o gerador uma única vez para threads concorrentes na mesma chave")
+    void deve_executar_gerador_uma_unica_vez_para_threads_concorrentes() throws Exception {
+        // Arrange
+        TestDataCache.Namespace<String> documents = new TestDataCache.Namespace<>("documents", 10, null);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            // Act
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> documents.getOrLoad("BR|cenario|CPF", () -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "12345678909";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            // Assert
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("12345678909");
+            }
+            assertThat(loads).hasValue(1);
+            assertThat(documents.stats()).containsEntry("loads", 1L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
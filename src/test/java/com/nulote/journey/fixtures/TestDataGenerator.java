@@ -1,30 +1,73 @@
 package com.nulote.journey.fixtures;
 
 import java.util.UUID;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
 
 /**
  * Gerador de dados únicos para testes E2E.
  * Garante que cada execução use dados únicos para evitar conflitos.
+ * 
+ * Documentos (CPF, CNPJ, CUIT, DNI, RUT, CI, SSN, NIT, EIN) são únicos por construção, sem
+ * conjunto de valores já usados e sem laço de nova tentativa: cada tipo tem um espaço de bases
+ * válidas de tamanho N ({@link DocumentSpace}); a execução ocupa a faixa
+ * [bloco * capacidade, (bloco + 1) * capacidade) desse espaço, o contador do tipo escolhe a posição
+ * na faixa e uma permutação afim (a * i + b) mod N, com mdc(a, N) = 1, espalha as posições pelo
+ * espaço. Índices distintos geram bases distintas; o dígito verificador é calculado sobre a base.
+ * 
+ * O bloco de cada tipo é reservado no primeiro uso pelo {@link IdRangeAllocator}: JVMs simultâneas,
+ * shards e execuções consecutivas recebem blocos disjuntos. Telefones usam o mesmo mecanismo.
+ * 
+ * Capacidade por execução e tipo: min(1.000.000, N / 1000) documentos - 1.000.000 para CPF, CNPJ,
+ * CUIT e NIT; 888.931 para SSN; 820.000 para EIN; 100.000 para DNI, RUT, CI e telefones. Ao esgotar,
+ * a geração falha com IllegalStateException em vez de repetir valores.
+ * 
+ * Formatação e dígitos verificadores em aritmética de inteiros sobre um char[] (sem String.format,
+ * substring ou conversões intermediárias). Opcionalmente ({@link #startPrefetch}), uma thread de
+ * background mantém um {@link DocumentRingBuffer} por tipo com valores prontos: a geração passa a
+ * ser um único poll, com fallback para a geração direta quando o buffer está vazio.
  */
 public class TestDataGenerator {
     
     private static final String EXECUTION_ID = UUID.randomUUID().toString().substring(0, 8);
     private static final long TIMESTAMP = System.currentTimeMillis();
     
-    // Contador sequencial thread-safe para garantir unicidade
+    // Contador sequencial thread-safe para garantir unicidade (emails)
     private static final AtomicLong cpfCounter = new AtomicLong(0);
     
-    // Cache de documentos gerados nesta execução para evitar duplicatas
-    private static final Set<String> usedCpfs = ConcurrentHashMap.newKeySet();
-    private static final Set<String> usedCnpjs = ConcurrentHashMap.newKeySet();
-    private static final Set<String> usedCuits = ConcurrentHashMap.newKeySet();
-    private static final Set<String> usedDnis = ConcurrentHashMap.newKeySet();
-    private static final Set<String> usedRuts = ConcurrentHashMap.newKeySet();
-    private static final Set<String> usedCis = ConcurrentHashMap.newKeySet();
-    private static final Set<String> usedSsns = ConcurrentHashMap.newKeySet();
+    // SSN: área 001-899 exceto 666, grupo 01-99, serial 0001-9999
+    private static final long SSN_AREAS = 898;
+    
+    // EIN: prefixos (2 primeiros dígitos) inválidos
+    private static final int[] INVALID_EIN_PREFIXES = {0, 7, 8, 9, 17, 18, 19, 28, 29, 49, 69, 70, 78, 79, 80, 90, 96, 97};
+    private static final int[] VALID_EIN_PREFIXES = validEinPrefixes();
+    
+    private static final int[] CNPJ_WEIGHTS_1 = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+    private static final int[] CNPJ_WEIGHTS_2 = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+    private static final int[] CUIT_COEFFICIENTS = {5, 4, 3, 2, 7, 6, 5, 4, 3, 2};
+    private static final int[] NIT_WEIGHTS = {11, 10, 9, 8, 7, 6, 5, 4, 3, 2};
+    
+    // Espaços de documentos por tipo (tamanho = número de bases válidas)
+    private static final DocumentSpace CPF_SPACE = new DocumentSpace("CPF", 1_000_000_000L, TestDataGenerator::formatCpf);
+    private static final DocumentSpace CNPJ_SPACE = new DocumentSpace("CNPJ", 1_000_000_000_000L, TestDataGenerator::formatCnpj);
+    private static final DocumentSpace CUIT_SPACE = new DocumentSpace("CUIT", 10_000_000_000L, TestDataGenerator::formatCuit);
+    private static final DocumentSpace DNI_SPACE = new DocumentSpace("DNI", 100_000_000L, index -> formatDigits(index, 8));
+    private static final DocumentSpace RUT_SPACE = new DocumentSpace("RUT", 100_000_000L, TestDataGenerator::formatRut);
+    private static final DocumentSpace CI_SPACE = new DocumentSpace("CI", 100_000_000L, index -> formatDigits(index, 8));
+    private static final DocumentSpace SSN_SPACE = new DocumentSpace("SSN", SSN_AREAS * 99 * 9999, TestDataGenerator::formatSsn);
+    private static final DocumentSpace NIT_SPACE = new DocumentSpace("NIT", 10_000_000_000L, TestDataGenerator::formatNit);
+    private static final DocumentSpace EIN_SPACE = new DocumentSpace("EIN", VALID_EIN_PREFIXES.length * 10_000_000L, TestDataGenerator::formatEin);
+    // Telefones: +55119 + 8 dígitos (celular de SP completo): 1000 blocos de 100.000, como DNI/RUT/CI
+    private static final DocumentSpace PHONE_SPACE = new DocumentSpace("PHONE", 100_000_000L, 100_000L, TestDataGenerator::formatPhone);
+    
+    private static final DocumentSpace[] SPACES = {
+        CPF_SPACE, CNPJ_SPACE, CUIT_SPACE, DNI_SPACE, RUT_SPACE, CI_SPACE, SSN_SPACE, NIT_SPACE, EIN_SPACE, PHONE_SPACE
+    };
+    
+    // Produtor de background dos ring buffers (null = pré-geração desabilitada)
+    private static volatile Thread prefetcher;
     
     /**
      * Gera um email único para testes
@@ -33,57 +76,25 @@ public class TestDataGenerator {
      */
     public static String generateUniqueEmail() {
         long counter = cpfCounter.incrementAndGet();
-        return String.format("test-%s-%d-%d@example.com", EXECUTION_ID, TIMESTAMP, counter);
+        return String.format("test-%s%s-%d-%d@example.com", EXECUTION_ID, ExecutionContext.getShardTag(), TIMESTAMP, counter);
     }
     
     /**
      * Gera um CPF único para testes com dígitos verificadores válidos.
-     * Usa combinação de timestamp, execution ID e contador sequencial para garantir unicidade.
      * 
      * @return CPF único com 11 dígitos e dígitos verificadores válidos
      */
     public static String generateUniqueCpf() {
-        String cpf;
-        int maxAttempts = 1000; // Limite de tentativas para evitar loop infinito
-        int attempts = 0;
-        
-        do {
-            // Combinar timestamp, execution ID hash e contador para garantir unicidade
-            long uniqueValue = (TIMESTAMP % 1000000L) * 1000 + 
-                              (Math.abs(EXECUTION_ID.hashCode()) % 1000) + 
-                              cpfCounter.incrementAndGet();
-            
-            // Garantir que temos 9 dígitos para a base
-            String base = String.format("%09d", Math.abs(uniqueValue) % 1000000000L);
-            
-            // Calcular dígitos verificadores usando algoritmo real de CPF
-            cpf = calculateCpfChecksum(base);
-            
-            attempts++;
-            
-            // Se exceder tentativas, adicionar mais aleatoriedade
-            if (attempts >= maxAttempts) {
-                long randomValue = System.nanoTime() % 1000000000L;
-                base = String.format("%09d", Math.abs(randomValue));
-                cpf = calculateCpfChecksum(base);
-                break;
-            }
-        } while (usedCpfs.contains(cpf));
-        
-        // Adicionar ao cache de CPFs usados
-        usedCpfs.add(cpf);
-        
-        return cpf;
+        return CPF_SPACE.nextValue();
     }
     
     /**
      * Gera um telefone único para testes
      * 
-     * @return Telefone único no formato +5511999{5 dígitos}
+     * @return Telefone único no formato +55119{8 dígitos}
      */
     public static String generateUniquePhone() {
-        long counter = cpfCounter.incrementAndGet();
-        return String.format("+5511999%s", String.format("%05d", (TIMESTAMP + counter) % 100000));
+        return PHONE_SPACE.nextValue();
     }
     
     /**
@@ -96,51 +107,207 @@ public class TestDataGenerator {
     }
     
     /**
-     * Calcula dígitos verificadores de CPF usando algoritmo oficial brasileiro.
+     * Inicia a pré-geração em background: um ring buffer por tipo, ativado no primeiro uso do tipo
+     * (tipos não usados não consomem capacidade). Chamadas repetidas são ignoradas.
      * 
-     * @param base Base do CPF (9 dígitos)
-     * @return CPF completo com 11 dígitos incluindo dígitos verificadores
+     * @param ringSize Capacidade de cada ring buffer (arredondada para potência de 2)
      */
-    private static String calculateCpfChecksum(String base) {
-        if (base == null || base.length() != 9) {
-            throw new IllegalArgumentException("Base do CPF deve ter exatamente 9 dígitos");
+    public static synchronized void startPrefetch(int ringSize) {
+        if (prefetcher != null) {
+            return;
         }
-        
-        // Converter string para array de inteiros
-        int[] digits = new int[11];
-        for (int i = 0; i < 9; i++) {
-            digits[i] = Character.getNumericValue(base.charAt(i));
+        for (DocumentSpace space : SPACES) {
+            space.ring = new DocumentRingBuffer(ringSize);
         }
-        
-        // Calcular primeiro dígito verificador
-        int sum = 0;
+        Thread producer = new Thread(TestDataGenerator::prefetchLoop, "e2e-document-prefetch");
+        producer.setDaemon(true);
+        prefetcher = producer;
+        producer.start();
+    }
+    
+    /**
+     * Interrompe a pré-geração. Valores ainda no buffer são descartados (nunca reutilizados).
+     */
+    public static synchronized void stopPrefetch() {
+        Thread producer = prefetcher;
+        prefetcher = null;
+        if (producer != null) {
+            producer.interrupt();
+        }
+        for (DocumentSpace space : SPACES) {
+            space.ring = null;
+        }
+    }
+    
+    private static void prefetchLoop() {
+        Thread self = Thread.currentThread();
+        while (prefetcher == self) {
+            boolean produced = false;
+            for (DocumentSpace space : SPACES) {
+                produced |= space.refill();
+            }
+            if (!produced) {
+                // Buffers cheios (ou tipos ainda não usados): aguardar consumo (unpark) ou 10ms
+                LockSupport.parkNanos(10_000_000L);
+            }
+        }
+    }
+    
+    /**
+     * CPF a partir da base (9 dígitos) com dígitos verificadores (algoritmo oficial brasileiro).
+     * Formatadores com dígito verificador são package-private para os benchmarks JMH (src/jmh/java).
+     */
+    static String formatCpf(long base) {
+        char[] cpf = new char[11];
+        writeDigits(cpf, 0, base, 9);
+        int sum1 = 0;
+        int sum2 = 0;
         for (int i = 0; i < 9; i++) {
-            sum += digits[i] * (10 - i);
+            int digit = cpf[i] - '0';
+            sum1 += digit * (10 - i);
+            sum2 += digit * (11 - i);
         }
-        int firstDigit = 11 - (sum % 11);
+        int firstDigit = 11 - (sum1 % 11);
         if (firstDigit >= 10) {
             firstDigit = 0;
         }
-        digits[9] = firstDigit;
-        
-        // Calcular segundo dígito verificador
-        sum = 0;
-        for (int i = 0; i < 10; i++) {
-            sum += digits[i] * (11 - i);
-        }
-        int secondDigit = 11 - (sum % 11);
+        sum2 += firstDigit * 2;
+        int secondDigit = 11 - (sum2 % 11);
         if (secondDigit >= 10) {
             secondDigit = 0;
         }
-        digits[10] = secondDigit;
-        
-        // Construir CPF completo como string
-        StringBuilder cpf = new StringBuilder(11);
-        for (int digit : digits) {
-            cpf.append(digit);
+        cpf[9] = (char) ('0' + firstDigit);
+        cpf[10] = (char) ('0' + secondDigit);
+        return new String(cpf);
+    }
+    
+    /**
+     * CNPJ a partir da base (12 dígitos) com dígitos verificadores (algoritmo oficial brasileiro).
+     */
+    static String formatCnpj(long base) {
+        char[] cnpj = new char[14];
+        writeDigits(cnpj, 0, base, 12);
+        int sum1 = 0;
+        int sum2 = 0;
+        for (int i = 0; i < 12; i++) {
+            int digit = cnpj[i] - '0';
+            sum1 += digit * CNPJ_WEIGHTS_1[i];
+            sum2 += digit * CNPJ_WEIGHTS_2[i];
+        }
+        int firstDigit = sum1 % 11;
+        firstDigit = firstDigit < 2 ? 0 : 11 - firstDigit;
+        sum2 += firstDigit * CNPJ_WEIGHTS_2[12];
+        int secondDigit = sum2 % 11;
+        secondDigit = secondDigit < 2 ? 0 : 11 - secondDigit;
+        cnpj[12] = (char) ('0' + firstDigit);
+        cnpj[13] = (char) ('0' + secondDigit);
+        return new String(cnpj);
+    }
+    
+    /**
+     * CUIT a partir da base (10 dígitos) com dígito verificador (Módulo 11).
+     */
+    static String formatCuit(long base) {
+        char[] cuit = new char[11];
+        writeDigits(cuit, 0, base, 10);
+        int sum = 0;
+        for (int i = 0; i < 10; i++) {
+            sum += (cuit[i] - '0') * CUIT_COEFFICIENTS[i];
+        }
+        int checkDigit = 11 - (sum % 11);
+        if (checkDigit == 11) {
+            checkDigit = 0;
+        } else if (checkDigit == 10) {
+            checkDigit = 9;
+        }
+        cuit[10] = (char) ('0' + checkDigit);
+        return new String(cuit);
+    }
+    
+    /**
+     * RUT a partir da base (8 dígitos) no formato XXXXXXXX-D (Módulo 11, D pode ser K).
+     */
+    static String formatRut(long base) {
+        char[] rut = new char[10];
+        writeDigits(rut, 0, base, 8);
+        int sum = 0;
+        for (int i = 7, coefficient = 2; i >= 0; i--) {
+            sum += (rut[i] - '0') * coefficient;
+            coefficient = coefficient == 7 ? 2 : coefficient + 1;
+        }
+        int remainder = sum % 11;
+        rut[8] = '-';
+        rut[9] = remainder == 0 ? '0' : remainder == 1 ? 'K' : (char) ('0' + 11 - remainder);
+        return new String(rut);
+    }
+    
+    /**
+     * NIT a partir da base (10 dígitos) com dígito verificador (Módulo 11, pesos decrescentes).
+     */
+    static String formatNit(long base) {
+        char[] nit = new char[11];
+        writeDigits(nit, 0, base, 10);
+        int sum = 0;
+        for (int i = 0; i < 10; i++) {
+            sum += (nit[i] - '0') * NIT_WEIGHTS[i];
+        }
+        int remainder = sum % 11;
+        nit[10] = (char) ('0' + (remainder < 2 ? 0 : 11 - remainder));
+        return new String(nit);
+    }
+    
+    /**
+     * SSN no formato XXX-XX-XXXX: índice decomposto em área (001-899 exceto 666), grupo (01-99)
+     * e serial (0001-9999).
+     */
+    private static String formatSsn(long index) {
+        int serial = (int) (index % 9999) + 1;
+        index /= 9999;
+        int group = (int) (index % 99) + 1;
+        int area = (int) (index / 99) + 1;
+        if (area >= 666) {
+            area++; // Pula 666: índices 665-897 viram áreas 667-899
+        }
+        char[] ssn = new char[11];
+        writeDigits(ssn, 0, area, 3);
+        ssn[3] = '-';
+        writeDigits(ssn, 4, group, 2);
+        ssn[6] = '-';
+        writeDigits(ssn, 7, serial, 4);
+        return new String(ssn);
+    }
+    
+    /**
+     * EIN no formato XX-XXXXXXX: índice decomposto em (prefixo válido, 7 dígitos).
+     */
+    private static String formatEin(long index) {
+        char[] ein = new char[10];
+        writeDigits(ein, 0, VALID_EIN_PREFIXES[(int) (index / 10_000_000L)], 2);
+        ein[2] = '-';
+        writeDigits(ein, 3, index % 10_000_000L, 7);
+        return new String(ein);
+    }
+    
+    private static String formatPhone(long index) {
+        char[] phone = {'+', '5', '5', '1', '1', '9', '0', '0', '0', '0', '0', '0', '0', '0'};
+        writeDigits(phone, 6, index, 8);
+        return new String(phone);
+    }
+    
+    private static String formatDigits(long value, int width) {
+        char[] digits = new char[width];
+        writeDigits(digits, 0, value, width);
+        return new String(digits);
+    }
+    
+    /**
+     * Escreve value com width dígitos (zeros à esquerda) em target[offset..offset + width).
+     */
+    private static void writeDigits(char[] target, int offset, long value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            target[i] = (char) ('0' + (int) (value % 10));
+            value /= 10;
         }
-        
-        return cpf.toString();
     }
     
     /**
@@ -154,23 +321,16 @@ public class TestDataGenerator {
             return false;
         }
         
-        // Extrair base (9 primeiros dígitos) e dígitos verificadores (2 últimos)
-        String base = cpf.substring(0, 9);
-        String providedChecksum = cpf.substring(9, 11);
-        
-        // Calcular dígitos verificadores corretos
-        String calculatedCpf = calculateCpfChecksum(base);
-        String calculatedChecksum = calculatedCpf.substring(9, 11);
-        
-        // Comparar dígitos verificadores
-        return providedChecksum.equals(calculatedChecksum);
+        // Recalcular dígitos verificadores a partir da base (9 primeiros dígitos) e comparar
+        return formatCpf(Long.parseLong(cpf.substring(0, 9))).equals(cpf);
     }
     
     /**
-     * Limpa o cache de CPFs usados. Útil para testes ou reset entre execuções.
+     * Reinicia o contador de CPFs da execução. Útil para testes do próprio gerador:
+     * após o reset, os mesmos CPFs voltam a ser gerados.
      */
     public static void clearUsedCpfs() {
-        usedCpfs.clear();
+        CPF_SPACE.reset();
         cpfCounter.set(0);
     }
     
@@ -180,7 +340,7 @@ public class TestDataGenerator {
      * @return Número de CPFs únicos gerados
      */
     public static int getGeneratedCpfCount() {
-        return usedCpfs.size();
+        return (int) CPF_SPACE.generated();
     }
     
     /**
@@ -189,70 +349,7 @@ public class TestDataGenerator {
      * @return CNPJ único com 14 dígitos e dígitos verificadores válidos
      */
     public static String generateUniqueCnpj() {
-        String cnpj;
-        int maxAttempts = 1000;
-        int attempts = 0;
-        
-        do {
-            long uniqueValue = (TIMESTAMP % 100000000L) * 100 + 
-                              (Math.abs(EXECUTION_ID.hashCode()) % 100) + 
-                              cpfCounter.incrementAndGet();
-            
-            String base = String.format("%012d", Math.abs(uniqueValue) % 1000000000000L);
-            cnpj = calculateCnpjChecksum(base);
-            
-            attempts++;
-            
-            if (attempts >= maxAttempts) {
-                long randomValue = System.nanoTime() % 1000000000000L;
-                base = String.format("%012d", Math.abs(randomValue));
-                cnpj = calculateCnpjChecksum(base);
-                break;
-            }
-        } while (usedCnpjs.contains(cnpj));
-        
-        usedCnpjs.add(cnpj);
-        return cnpj;
-    }
-    
-    /**
-     * Calcula dígitos verificadores de CNPJ usando algoritmo oficial brasileiro.
-     */
-    private static String calculateCnpjChecksum(String base) {
-        if (base == null || base.length() != 12) {
-            throw new IllegalArgumentException("Base do CNPJ deve ter exatamente 12 dígitos");
-        }
-        
-        int[] digits = new int[14];
-        for (int i = 0; i < 12; i++) {
-            digits[i] = Character.getNumericValue(base.charAt(i));
-        }
-        
-        // Primeiro dígito verificador
-        int[] weights1 = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
-        int sum = 0;
-        for (int i = 0; i < 12; i++) {
-            sum += digits[i] * weights1[i];
-        }
-        int firstDigit = sum % 11;
-        firstDigit = firstDigit < 2 ? 0 : 11 - firstDigit;
-        digits[12] = firstDigit;
-        
-        // Segundo dígito verificador
-        int[] weights2 = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
-        sum = 0;
-        for (int i = 0; i < 13; i++) {
-            sum += digits[i] * weights2[i];
-        }
-        int secondDigit = sum % 11;
-        secondDigit = secondDigit < 2 ? 0 : 11 - secondDigit;
-        digits[13] = secondDigit;
-        
-        StringBuilder cnpj = new StringBuilder(14);
-        for (int digit : digits) {
-            cnpj.append(digit);
-        }
-        return cnpj.toString();
+        return CNPJ_SPACE.nextValue();
     }
     
     /**
@@ -261,65 +358,7 @@ public class TestDataGenerator {
      * @return CUIT único com 11 dígitos e dígito verificador válido
      */
     public static String generateUniqueCuit() {
-        String cuit;
-        int maxAttempts = 1000;
-        int attempts = 0;
-        
-        do {
-            long uniqueValue = (TIMESTAMP % 100000000L) * 10 + 
-                              (Math.abs(EXECUTION_ID.hashCode()) % 10) + 
-                              cpfCounter.incrementAndGet();
-            
-            String base = String.format("%010d", Math.abs(uniqueValue) % 10000000000L);
-            cuit = calculateCuitChecksum(base);
-            
-            attempts++;
-            
-            if (attempts >= maxAttempts) {
-                long randomValue = System.nanoTime() % 10000000000L;
-                base = String.format("%010d", Math.abs(randomValue));
-                cuit = calculateCuitChecksum(base);
-                break;
-            }
-        } while (usedCuits.contains(cuit));
-        
-        usedCuits.add(cuit);
-        return cuit;
-    }
-    
-    /**
-     * Calcula dígito verificador de CUIT usando algoritmo Módulo 11.
-     */
-    private static String calculateCuitChecksum(String base) {
-        if (base == null || base.length() != 10) {
-            throw new IllegalArgumentException("Base do CUIT deve ter exatamente 10 dígitos");
-        }
-        
-        int[] digits = new int[11];
-        for (int i = 0; i < 10; i++) {
-            digits[i] = Character.getNumericValue(base.charAt(i));
-        }
-        
-        int[] coefficients = {2, 3, 4, 5, 6, 7, 2, 3, 4, 5};
-        int sum = 0;
-        for (int i = 0; i < 10; i++) {
-            sum += digits[i] * coefficients[9 - i];
-        }
-        
-        int remainder = sum % 11;
-        int checkDigit = 11 - remainder;
-        if (checkDigit == 11) {
-            checkDigit = 0;
-        } else if (checkDigit == 10) {
-            checkDigit = 9;
-        }
-        digits[10] = checkDigit;
-        
-        StringBuilder cuit = new StringBuilder(11);
-        for (int digit : digits) {
-            cuit.append(digit);
-        }
-        return cuit.toString();
+        return CUIT_SPACE.nextValue();
     }
     
     /**
@@ -328,18 +367,7 @@ public class TestDataGenerator {
      * @return DNI único com 8 dígitos
      */
     public static String generateUniqueDni() {
-        long uniqueValue = (TIMESTAMP % 100000000L) + 
-                          (Math.abs(EXECUTION_ID.hashCode()) % 100000000) + 
-                          cpfCounter.incrementAndGet();
-        
-        String dni = String.format("%08d", Math.abs(uniqueValue) % 100000000L);
-        
-        // Garantir que não é duplicado
-        if (usedDnis.contains(dni)) {
-            dni = String.format("%08d", (System.nanoTime() % 100000000L));
-        }
-        usedDnis.add(dni);
-        return dni;
+        return DNI_SPACE.nextValue();
     }
     
     /**
@@ -348,87 +376,22 @@ public class TestDataGenerator {
      * @return RUT único com 8 dígitos base + dígito verificador válido
      */
     public static String generateUniqueRut() {
-        String rut;
-        int maxAttempts = 1000;
-        int attempts = 0;
-        
-        do {
-            long uniqueValue = (TIMESTAMP % 100000000L) + 
-                              (Math.abs(EXECUTION_ID.hashCode()) % 100000000) + 
-                              cpfCounter.incrementAndGet();
-            
-            String base = String.format("%08d", Math.abs(uniqueValue) % 100000000L);
-            rut = calculateRutChecksum(base);
-            
-            attempts++;
-            
-            if (attempts >= maxAttempts) {
-                long randomValue = System.nanoTime() % 100000000L;
-                base = String.format("%08d", Math.abs(randomValue));
-                rut = calculateRutChecksum(base);
-                break;
-            }
-        } while (usedRuts.contains(rut));
-        
-        usedRuts.add(rut);
-        return rut;
-    }
-    
-    /**
-     * Calcula dígito verificador de RUT usando algoritmo Módulo 11.
-     */
-    private static String calculateRutChecksum(String base) {
-        if (base == null || base.length() != 8) {
-            throw new IllegalArgumentException("Base do RUT deve ter exatamente 8 dígitos");
-        }
-        
-        int[] coefficients = {2, 3, 4, 5, 6, 7};
-        int sum = 0;
-        int coefficientIndex = 0;
-        
-        for (int i = base.length() - 1; i >= 0; i--) {
-            int digit = Character.getNumericValue(base.charAt(i));
-            sum += digit * coefficients[coefficientIndex % coefficients.length];
-            coefficientIndex++;
-        }
-        
-        int remainder = sum % 11;
-        String checkDigit;
-        if (remainder == 0) {
-            checkDigit = "0";
-        } else if (remainder == 1) {
-            checkDigit = "K";
-        } else {
-            checkDigit = String.valueOf(11 - remainder);
-        }
-        
-        return base + "-" + checkDigit;
+        return RUT_SPACE.nextValue();
     }
     
     /**
      * Gera um CI único para testes (Bolívia).
      * 
-     * @return CI único com 7-10 dígitos
+     * @return CI único com 8 dígitos (CI boliviano tem 7-10 dígitos)
      */
     public static String generateUniqueCi() {
-        long uniqueValue = (TIMESTAMP % 100000000L) + 
-                          (Math.abs(EXECUTION_ID.hashCode()) % 100000000) + 
-                          cpfCounter.incrementAndGet();
-        
-        // CI boliviano tem 7-10 dígitos, vamos usar 8
-        String ci = String.format("%08d", Math.abs(uniqueValue) % 100000000L);
-        
-        if (usedCis.contains(ci)) {
-            ci = String.format("%08d", (System.nanoTime() % 100000000L));
-        }
-        usedCis.add(ci);
-        return ci;
+        return CI_SPACE.nextValue();
     }
     
     /**
      * Gera um SSN único para testes (EUA).
      * 
-     * Regras de validação do SSN:
+     * Regras de validação do SSN (garantidas pela decomposição do índice):
      * 1. Area Number (primeiros 3 dígitos): não pode ser "000", "666", ou "900-999"
      * 2. Group Number (dígitos 4-5): não pode ser "00"
      * 3. Serial Number (últimos 4 dígitos): não pode ser "0000"
@@ -436,69 +399,9 @@ public class TestDataGenerator {
      * @return SSN único com 9 dígitos (formato XXX-XX-XXXX)
      */
     public static String generateUniqueSsn() {
-        long uniqueValue = (TIMESTAMP % 1000000000L) + 
-                          (Math.abs(EXECUTION_ID.hashCode()) % 1000000000) + 
-                          cpfCounter.incrementAndGet();
-        
-        // SSN não pode começar com 000, 666, ou 9XX na primeira parte
-        // Para testes, vamos gerar um formato válido
-        long ssnNumber = Math.abs(uniqueValue) % 1000000000L;
-        
-        // Garantir que não começa com 000, 666, ou 9XX
-        int firstPart = (int) (ssnNumber / 1000000);
-        if (firstPart == 0 || firstPart == 666 || firstPart >= 900) {
-            ssnNumber = (ssnNumber % 899000000L) + 1000000; // Entre 100-000-000 e 899-999-999
-        }
-        
-        // Garantir que Group Number (dígitos 4-5) não seja "00"
-        int groupNumber = (int) ((ssnNumber / 10000) % 100);
-        if (groupNumber == 0) {
-            // Se Group Number for 00, ajustar para um valor válido (01-99)
-            ssnNumber = (ssnNumber / 10000) * 10000 + (Math.abs(uniqueValue) % 99 + 1) * 10000 + (ssnNumber % 10000);
-        }
-        
-        // Garantir que Serial Number (últimos 4 dígitos) não seja "0000"
-        int serialNumber = (int) (ssnNumber % 10000);
-        if (serialNumber == 0) {
-            // Se Serial Number for 0000, ajustar para um valor válido (0001-9999)
-            ssnNumber = (ssnNumber / 10000) * 10000 + (Math.abs(uniqueValue) % 9999 + 1);
-        }
-        
-        String ssn = String.format("%09d", ssnNumber);
-        String formatted = ssn.substring(0, 3) + "-" + ssn.substring(3, 5) + "-" + ssn.substring(5, 9);
-        
-        // Validar novamente após formatação
-        int area = Integer.parseInt(ssn.substring(0, 3));
-        int group = Integer.parseInt(ssn.substring(3, 5));
-        int serial = Integer.parseInt(ssn.substring(5, 9));
-        
-        // Se ainda não for válido, gerar um novo
-        if (area == 0 || area == 666 || area >= 900 || group == 0 || serial == 0) {
-            // Gerar um SSN válido garantindo todas as regras
-            area = (int) ((Math.abs(uniqueValue) % 899) + 1); // 1-899 (evita 000, 666, 900-999)
-            if (area == 666) area = 667; // Evitar 666
-            group = (int) ((Math.abs(uniqueValue) % 99) + 1); // 1-99 (evita 00)
-            serial = (int) ((Math.abs(uniqueValue) % 9999) + 1); // 1-9999 (evita 0000)
-            
-            formatted = String.format("%03d-%02d-%04d", area, group, serial);
-        }
-        
-        if (usedSsns.contains(formatted)) {
-            // Se já foi usado, gerar um novo com valores diferentes
-            long newUnique = System.nanoTime();
-            area = (int) ((Math.abs(newUnique) % 899) + 1);
-            if (area == 666) area = 667;
-            group = (int) ((Math.abs(newUnique) % 99) + 1);
-            serial = (int) ((Math.abs(newUnique) % 9999) + 1);
-            formatted = String.format("%03d-%02d-%04d", area, group, serial);
-        }
-        usedSsns.add(formatted);
-        return formatted;
+        return SSN_SPACE.nextValue();
     }
     
-    private static final Set<String> usedNits = ConcurrentHashMap.newKeySet();
-    private static final Set<String> usedEins = ConcurrentHashMap.newKeySet();
-    
     /**
      * Gera um NIT único para testes (Bolívia).
      * NIT (Número de Identificación Tributaria) tem 11 dígitos com dígito verificador.
@@ -506,61 +409,7 @@ public class TestDataGenerator {
      * @return NIT único com 11 dígitos e dígito verificador válido
      */
     public static String generateUniqueNit() {
-        String nit;
-        int maxAttempts = 1000;
-        int attempts = 0;
-        
-        do {
-            long uniqueValue = (TIMESTAMP % 10000000000L) + 
-                              (Math.abs(EXECUTION_ID.hashCode()) % 10000000000L) + 
-                              cpfCounter.incrementAndGet();
-            
-            String base = String.format("%010d", Math.abs(uniqueValue) % 10000000000L);
-            nit = calculateNitChecksum(base);
-            
-            attempts++;
-            
-            if (attempts >= maxAttempts) {
-                long randomValue = System.nanoTime() % 10000000000L;
-                base = String.format("%010d", Math.abs(randomValue));
-                nit = calculateNitChecksum(base);
-                break;
-            }
-        } while (usedNits.contains(nit));
-        
-        usedNits.add(nit);
-        return nit;
-    }
-    
-    /**
-     * Calcula dígito verificador de NIT usando algoritmo Módulo 11.
-     */
-    private static String calculateNitChecksum(String base) {
-        if (base == null || base.length() != 10) {
-            throw new IllegalArgumentException("Base do NIT deve ter exatamente 10 dígitos");
-        }
-        
-        int[] digits = new int[11];
-        for (int i = 0; i < 10; i++) {
-            digits[i] = Character.getNumericValue(base.charAt(i));
-        }
-        
-        // Algoritmo de validação NIT (Bolívia): Módulo 11 com pesos decrescentes
-        int[] weights = {11, 10, 9, 8, 7, 6, 5, 4, 3, 2};
-        int sum = 0;
-        for (int i = 0; i < 10; i++) {
-            sum += digits[i] * weights[i];
-        }
-        
-        int remainder = sum % 11;
-        int checkDigit = remainder < 2 ? 0 : 11 - remainder;
-        digits[10] = checkDigit;
-        
-        StringBuilder nit = new StringBuilder(11);
-        for (int digit : digits) {
-            nit.append(digit);
-        }
-        return nit.toString();
+        return NIT_SPACE.nextValue();
     }
     
     /**
@@ -569,64 +418,152 @@ public class TestDataGenerator {
      * 
      * Regras de validação do EIN:
      * 1. Primeiros 2 dígitos (prefixo): não pode ser "00", "07", "08", "09", "17", "18", "19", "28", "29", "49", "69", "70", "78", "79", "80", "90", "96", "97"
-     * 2. Para testes, vamos gerar um formato válido
+     * 2. O índice é decomposto em (prefixo válido, 7 dígitos), então todo EIN gerado é válido
      * 
      * @return EIN único com 9 dígitos (formato XX-XXXXXXX)
      */
     public static String generateUniqueEin() {
-        long uniqueValue = (TIMESTAMP % 1000000000L) + 
-                          (Math.abs(EXECUTION_ID.hashCode()) % 1000000000) + 
-                          cpfCounter.incrementAndGet();
-        
-        // EIN não pode começar com prefixos inválidos
-        // Para testes, vamos gerar um formato válido (prefixos válidos: 01-06, 10-16, 20-27, 30-48, 50-68, 71-77, 81-89, 91-95, 98-99)
-        long einNumber = Math.abs(uniqueValue) % 1000000000L;
-        
-        // Garantir que o prefixo (primeiros 2 dígitos) seja válido
-        int prefix = (int) (einNumber / 10000000);
-        int[] invalidPrefixes = {0, 7, 8, 9, 17, 18, 19, 28, 29, 49, 69, 70, 78, 79, 80, 90, 96, 97};
-        boolean isValidPrefix = true;
-        for (int invalid : invalidPrefixes) {
-            if (prefix == invalid) {
-                isValidPrefix = false;
-                break;
+        return EIN_SPACE.nextValue();
+    }
+    
+    private static int[] validEinPrefixes() {
+        return java.util.stream.IntStream.rangeClosed(1, 99)
+            .filter(prefix -> java.util.Arrays.stream(INVALID_EIN_PREFIXES).noneMatch(invalid -> invalid == prefix))
+            .toArray();
+    }
+    
+    /**
+     * Espaço de bases de um tipo de documento: mapeia o contador da execução, de forma bijetora,
+     * para um índice em [0, N), dentro do bloco reservado para esta JVM.
+     */
+    static final class DocumentSpace {
+        private static final long MAX_CAPACITY_PER_RUN = 1_000_000L;
+        private static final long MULTIPLIER_SEED = 3_037_021L;
+        private static final long INCREMENT_SEED = 0x9E3779B97F4A7C15L;
+        
+        private final String type;
+        private final long size;
+        private final long capacityPerRun;
+        private volatile long runOffset = -1;
+        // Protege a reserva do bloco (IO de arquivo no IdRangeAllocator)
+        private final ReentrantLock offsetLock = new ReentrantLock();
+        private final long multiplier;
+        private final long increment;
+        private final AtomicLong counter = new AtomicLong();
+        private final LongFunction<String> formatter;
+        // Ring buffer da pré-geração (null = desabilitada); ativo após o primeiro uso do tipo
+        volatile DocumentRingBuffer ring;
+        private volatile boolean used;
+        
+        DocumentSpace(String type, long size, LongFunction<String> formatter) {
+            this(type, size, Math.min(MAX_CAPACITY_PER_RUN, size / 1000), formatter);
+        }
+        
+        DocumentSpace(String type, long size, long capacityPerRun, LongFunction<String> formatter) {
+            this.type = type;
+            this.size = size;
+            this.capacityPerRun = capacityPerRun;
+            this.formatter = formatter;
+            // a coprimo com N (permutação) e a * N sem overflow
+            long a = Math.min(MULTIPLIER_SEED, Long.MAX_VALUE / size) | 1L;
+            while (gcd(a, size) != 1) {
+                a += 2;
             }
-        }
-        
-        if (!isValidPrefix || prefix < 1 || prefix > 99) {
-            // Gerar um prefixo válido
-            prefix = (int) ((Math.abs(uniqueValue) % 98) + 1); // 1-98
-            // Ajustar se for inválido
-            for (int invalid : invalidPrefixes) {
-                if (prefix == invalid) {
-                    prefix = (prefix + 1) % 100;
-                    if (prefix == 0) prefix = 1;
-                    break;
+            this.multiplier = a;
+            this.increment = Math.floorMod(INCREMENT_SEED, size);
+        }
+        
+        /**
+         * Próximo valor formatado: do ring buffer quando houver, senão gerado na hora.
+         */
+        String nextValue() {
+            DocumentRingBuffer buffer = ring;
+            if (buffer != null) {
+                used = true;
+                String prefetched = buffer.poll();
+                if (buffer.isLow()) {
+                    Thread producer = prefetcher;
+                    if (producer != null) {
+                        LockSupport.unpark(producer);
+                    }
                 }
+                if (prefetched != null) {
+                    return prefetched;
+                }
+            }
+            return formatter.apply(next());
+        }
+        
+        /**
+         * Completa o ring buffer (thread de pré-geração).
+         * 
+         * @return true se algum valor foi produzido
+         */
+        boolean refill() {
+            DocumentRingBuffer buffer = ring;
+            if (buffer == null || !used) {
+                return false;
+            }
+            boolean produced = false;
+            try {
+                while (!buffer.isFull() && counter.get() < capacityPerRun) {
+                    buffer.offer(formatter.apply(next()));
+                    produced = true;
+                }
+            } catch (IllegalStateException e) {
+                // Capacidade esgotada entre a verificação e o next(): o consumidor recebe o erro na geração direta
+            }
+            return produced;
+        }
+        
+        /**
+         * Próximo índice da execução (distinto de todos os anteriores).
+         * 
+         * @throws IllegalStateException se a capacidade por execução do tipo foi esgotada
+         */
+        long next() {
+            long sequence = counter.getAndIncrement();
+            if (sequence >= capacityPerRun) {
+                throw new IllegalStateException(String.format(
+                    "Capacidade de %s esgotada nesta execução (%d documentos)", type, capacityPerRun));
             }
-            einNumber = prefix * 10000000L + (einNumber % 10000000L);
+            return Math.floorMod((runOffset() + sequence) * multiplier + increment, size);
+        }
+        
+        private long runOffset() {
+            long offset = runOffset;
+            if (offset < 0) {
+                offsetLock.lock();
+                try {
+                    if (runOffset < 0) {
+                        // Bloco reservado só no primeiro uso: tipos não usados não consomem blocos
+                        runOffset = IdRangeAllocator.allocate(type, size / capacityPerRun, EXECUTION_ID.hashCode())
+                            * capacityPerRun;
+                    }
+                    offset = runOffset;
+                } finally {
+                    offsetLock.unlock();
+                }
+            }
+            return offset;
+        }
+        
+        long generated() {
+            return Math.min(counter.get(), capacityPerRun);
         }
         
-        String ein = String.format("%09d", einNumber);
-        String formatted = ein.substring(0, 2) + "-" + ein.substring(2, 9);
+        void reset() {
+            counter.set(0);
+        }
         
-        if (usedEins.contains(formatted)) {
-            // Se já foi usado, gerar um novo com valores diferentes
-            long newUnique = System.nanoTime();
-            prefix = (int) ((Math.abs(newUnique) % 98) + 1);
-            for (int invalid : invalidPrefixes) {
-                if (prefix == invalid) {
-                    prefix = (prefix + 1) % 100;
-                    if (prefix == 0) prefix = 1;
-                    break;
-                }
+        private static long gcd(long a, long b) {
+            while (b != 0) {
+                long t = a % b;
+                a = b;
+                b = t;
             }
-            long newEinNumber = prefix * 10000000L + (Math.abs(newUnique) % 10000000L);
-            ein = String.format("%09d", newEinNumber);
-            formatted = ein.substring(0, 2) + "-" + ein.substring(2, 9);
+            return a;
         }
-        usedEins.add(formatted);
-        return formatted;
     }
 }
 
@@ -0,0 +1,144 @@
+package com.nulote.journey.fixtures;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Teste unitário da geração de documentos: a permutação afim entrega índices distintos dentro do
+ * bloco da execução, e os dígitos verificadores conferem com documentos válidos conhecidos.
+ */
+@DisplayName("TestDataGenerator - Unicidade por permutação e dígitos verificadores")
+class TestDataGeneratorTest {
+
+    @TempDir
+    static Path rangesDir;
+
+    private static String previousRangesFile;
+
+    @BeforeAll
+    static void usarArquivoDeFaixasTemporario() {
+        // Blocos reservados em arquivo próprio: o teste não consome faixas do target/id-ranges.properties
+        previousRangesFile = System.getProperty("journey.id-ranges.file");
+        System.setProperty("journey.id-ranges.file", rangesDir.resolve("id-ranges.properties").toString());
+    }
+
+    @AfterAll
+    static void restaurarArquivoDeFaixas() {
+        if (previousRangesFile != null) {
+            System.setProperty("journey.id-ranges.file", previousRangesFile);
+        } else {
+            System.clearProperty("journey.id-ranges.file");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todo o espaço sem repetir índices quando a capacidade é o espaço inteiro")
+    void deve_percorrer_todo_o_espaco_sem_repetir_indices() {
+        // Arrange - N par e com fatores 2 e 5: o multiplicador precisa ser ajustado para ser coprimo
+        long size = 10_000;
+        TestDataGenerator.DocumentSpace space =
+            new TestDataGenerator.DocumentSpace("AFFINE-FULL", size, size, Long::toString);
+
+        // Act
+        Set<Long> indices = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            indices.add(space.next());
+        }
+
+        // Assert
+        assertThat(indices).hasSize((int) size);
+        assertThat(indices).allMatch(index -> index >= 0 && index < size);
+    }
+
+    @Test
+    @DisplayName("Deve gerar faixas disjuntas para blocos diferentes do mesmo tipo")
+    void deve_gerar_faixas_disjuntas_para_blocos_diferentes() {
+        // Arrange - duas "execuções" do mesmo tipo recebem blocos consecutivos do arquivo
+        TestDataGenerator.DocumentSpace first =
+            new TestDataGenerator.DocumentSpace("AFFINE-BLOCKS", 100_000, 1_000, Long::toString);
+        TestDataGenerator.DocumentSpace second =
+            new TestDataGenerator.DocumentSpace("AFFINE-BLOCKS", 100_000, 1_000, Long::toString);
+
+        // Act
+        Set<Long> firstIndices = new HashSet<>();
+        Set<Long> secondIndices = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            firstIndices.add(first.next());
+            secondIndices.add(second.next());
+        }
+
+        // Assert
+        assertThat(firstIndices).hasSize(1_000);
+        assertThat(secondIndices).hasSize(1_000).doesNotContainAnyElementsOf(firstIndices);
+    }
+
+    @Test
+    @DisplayName("Deve falhar em vez de repetir valores ao esgotar a capacidade da execução")
+    void deve_falhar_ao_esgotar_a_capacidade_da_execucao() {
+        // Arrange
+        TestDataGenerator.DocumentSpace space =
+            new TestDataGenerator.DocumentSpace("AFFINE-EXHAUSTED", 1_000, 10, Long::toString);
+        for (int i = 0; i < 10; i++) {
+            space.next();
+        }
+
+        // Act / Assert
+        assertThatThrownBy(space::next)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("AFFINE-EXHAUSTED");
+        assertThat(space.generated()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Deve calcular dígitos verificadores iguais aos de documentos válidos conhecidos")
+    void deve_calcular_digitos_verificadores_de_documentos_conhecidos() {
+        assertThat(TestDataGenerator.formatCpf(111_444_777L)).isEqualTo("11144477735");
+        assertThat(TestDataGenerator.formatCpf(529_982_247L)).isEqualTo("52998224725");
+        assertThat(TestDataGenerator.formatCnpj(112_223_330_001L)).isEqualTo("11222333000181");
+        assertThat(TestDataGenerator.formatCuit(2_012_345_678L)).isEqualTo("20123456786");
+        assertThat(TestDataGenerator.formatRut(12_345_678L)).isEqualTo("12345678-5");
+    }
+
+    @Test
+    @DisplayName("Deve gerar CPFs válidos e distintos")
+    void deve_gerar_cpfs_validos_e_distintos() {
+        // Act
+        Set<String> cpfs = new HashSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            cpfs.add(TestDataGenerator.generateUniqueCpf());
+        }
+
+        // Assert
+        assertThat(cpfs).hasSize(5_000);
+        assertThat(cpfs).allMatch(TestDataGenerator::isValidCpf);
+    }
+
+    @Test
+    @DisplayName("Deve gerar SSN, EIN e telefone dentro das faixas permitidas")
+    void deve_gerar_ssn_ein_e_telefone_dentro_das_faixas_permitidas() {
+        for (int i = 0; i < 1_000; i++) {
+            String ssn = TestDataGenerator.generateUniqueSsn();
+            assertThat(ssn).matches("\\d{3}-\\d{2}-\\d{4}")
+                .doesNotStartWith("000").doesNotStartWith("666")
+                .doesNotContain("-00-").doesNotEndWith("-0000");
+            assertThat(Integer.parseInt(ssn.substring(0, 3))).isLessThan(900);
+
+            String ein = TestDataGenerator.generateUniqueEin();
+            assertThat(ein).matches("\\d{2}-\\d{7}");
+            assertThat(Integer.parseInt(ein.substring(0, 2)))
+                .isNotIn(0, 7, 8, 9, 17, 18, 19, 28, 29, 49, 69, 70, 78, 79, 80, 90, 96, 97);
+
+            assertThat(TestDataGenerator.generateUniquePhone()).matches("\\+55119\\d{8}");
+        }
+    }
+}
@@ -1,16 +1,28 @@
 package com.nulote.journey.fixtures;
 
+import io.cucumber.spring.ScenarioScope;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Fixture para construção de dados de usuário em testes E2E.
  * Facilita a criação de objetos de requisição e mantém estado durante execução de cenários.
+ * 
+ * Escopo de cenário (@ScenarioScope): cada cenário recebe a própria instância, criada no primeiro uso
+ * e descartada ao final do cenário - cenários em paralelo não compartilham userUuid, OTP ou tokens.
+ * A instância fica vinculada ao primeiro cenário que a acessa; acesso a partir de outro cenário
+ * (ex: referência guardada fora do proxy) falha imediatamente com IllegalStateException.
  */
 @Component
+@ScenarioScope
 public class UserFixture {
     
+    // Cenário dono desta instância (ExecutionContext.getScenarioId() no primeiro acesso)
+    private volatile String ownerScenarioId;
+    
     private Map<String, String> userData;
     private String createdUserUuid;
     private String otpCode;
@@ -18,12 +30,31 @@ public class UserFixture {
     private String jwtToken;
     private String providerEmail; // Email do provider para account linking (quando corresponde ao email do usuário existente)
     
+    /**
+     * Garante que a instância só é usada pelo cenário dono.
+     * Fora de um cenário (testes unitários, threads de background) não há verificação.
+     */
+    private void checkScenario() {
+        String current = ExecutionContext.getScenarioId();
+        if (current == null) {
+            return;
+        }
+        String owner = ownerScenarioId;
+        if (owner == null) {
+            ownerScenarioId = current;
+        } else if (!owner.equals(current)) {
+            throw new IllegalStateException("UserFixture do cenário '" + owner + "' acessado pelo cenário '" + current
+                + "'. O estado do fixture é por cenário (@ScenarioScope): não compartilhe a instância entre cenários.");
+        }
+    }
+    
     /**
      * Define os dados do usuário a partir de uma DataTable do Cucumber
      * 
      * @param userData Mapa com dados do usuário
      */
     public void setUserData(Map<String, String> userData) {
+        checkScenario();
         // CORREÇÃO: Garantir que userData seja sempre mutável
         // DataTables do Cucumber podem retornar Maps imutáveis
         if (userData != null) {
@@ -40,6 +71,7 @@ public class UserFixture {
      * @return Mapa com dados do usuário
      */
     public Map<String, String> getUserData() {
+        checkScenario();
         return userData;
     }
     
@@ -49,6 +81,7 @@ public class UserFixture {
      * @param userUuid UUID do usuário
      */
     public void setCreatedUserUuid(String userUuid) {
+        checkScenario();
         this.createdUserUuid = userUuid;
     }
     
@@ -58,6 +91,7 @@ public class UserFixture {
      * @return UUID do usuário ou null se ainda não foi criado
      */
     public String getCreatedUserUuid() {
+        checkScenario();
         return createdUserUuid;
     }
     
@@ -67,6 +101,7 @@ public class UserFixture {
      * @param otpCode Código OTP
      */
     public void setOtpCode(String otpCode) {
+        checkScenario();
         this.otpCode = otpCode;
     }
     
@@ -76,6 +111,7 @@ public class UserFixture {
      * @return Código OTP ou null se ainda não foi recebido
      */
     public String getOtpCode() {
+        checkScenario();
         return otpCode;
     }
     
@@ -85,6 +121,7 @@ public class UserFixture {
      * @param sessionToken Token de sessão
      */
     public void setSessionToken(String sessionToken) {
+        checkScenario();
         this.sessionToken = sessionToken;
     }
     
@@ -94,6 +131,7 @@ public class UserFixture {
      * @return SessionToken ou null se ainda não foi obtido
      */
     public String getSessionToken() {
+        checkScenario();
         return sessionToken;
     }
     
@@ -103,6 +141,7 @@ public class UserFixture {
      * @param jwtToken Token JWT
      */
     public void setJwtToken(String jwtToken) {
+        checkScenario();
         this.jwtToken = jwtToken;
     }
     
@@ -112,6 +151,7 @@ public class UserFixture {
      * @return JWT token ou null se ainda não foi obtido
      */
     public String getJwtToken() {
+        checkScenario();
         return jwtToken;
     }
     
@@ -121,6 +161,7 @@ public class UserFixture {
      * @param providerEmail Email do provider
      */
     public void setProviderEmail(String providerEmail) {
+        checkScenario();
         this.providerEmail = providerEmail;
     }
     
@@ -130,6 +171,7 @@ public class UserFixture {
      * @return Email do provider ou null se ainda não foi configurado
      */
     public String getProviderEmail() {
+        checkScenario();
         return providerEmail;
     }
     
@@ -139,6 +181,7 @@ public class UserFixture {
      * @return Objeto de requisição (Map para ser usado com RestAssured)
      */
     public Map<String, Object> buildCreateUserRequest() {
+        checkScenario();
         var request = new java.util.HashMap<String, Object>();
         request.put("name", userData.get("nome") != null ? userData.get("nome") : userData.get("name"));
         
@@ -254,6 +297,7 @@ public class UserFixture {
      * @param otpUuid UUID do OTP
      */
     public void setOtpUuid(String otpUuid) {
+        checkScenario();
         this.otpUuid = otpUuid;
     }
     
@@ -263,9 +307,48 @@ public class UserFixture {
      * @return UUID do OTP ou null se ainda não foi criado
      */
     public String getOtpUuid() {
+        checkScenario();
         return otpUuid;
     }
     
+    /**
+     * Chaves de correlação dos eventos deste cenário, para RabbitMQHelper.awaitEvent.
+     * Eventos de OTP (otp.*) são identificados pelo otpId quando ele já é conhecido (o mesmo e-mail pode ter
+     * recebido OTPs anteriores); os demais, pelo userUuid e pelo e-mail do usuário do cenário.
+     * 
+     * Ler no thread do step: o fixture não é acessível do thread de entrega do RabbitMQ.
+     * 
+     * @param eventType Tipo de evento esperado
+     * @return Chaves disponíveis (vazia se o cenário ainda não tem usuário nem OTP)
+     */
+    public List<String> getEventCorrelationKeys(String eventType) {
+        checkScenario();
+        List<String> keys = new ArrayList<>();
+        if (eventType.startsWith("otp.") && otpUuid != null) {
+            keys.add(otpUuid);
+            return keys;
+        }
+        return getUserCorrelationKeys();
+    }
+    
+    /**
+     * userUuid e e-mail do usuário do cenário, sem o otpId: casam com todos os eventos do usuário
+     * (ex: os vários otp.sent de solicitações repetidas).
+     * 
+     * @return Chaves disponíveis (vazia se o cenário ainda não tem usuário)
+     */
+    public List<String> getUserCorrelationKeys() {
+        checkScenario();
+        List<String> keys = new ArrayList<>();
+        if (createdUserUuid != null) {
+            keys.add(createdUserUuid);
+        }
+        if (userData != null && userData.get("email") != null) {
+            keys.add(userData.get("email"));
+        }
+        return keys;
+    }
+    
     /**
      * Constrói um objeto de requisição para solicitar OTP
      * 
@@ -274,6 +357,7 @@ public class UserFixture {
      * @return Objeto de requisição (Map para ser usado com RestAssured)
      */
     public Map<String, Object> buildOtpRequest(String channel, String purpose) {
+        checkScenario();
         var request = new java.util.HashMap<String, Object>();
         
         // Para REGISTRATION, userUuid pode ser null (usuário ainda não existe)
@@ -426,6 +510,7 @@ public class UserFixture {
      * @return Objeto de requisição (Map para ser usado com RestAssured)
      */
     public Map<String, Object> buildOtpValidationRequest(String code) {
+        checkScenario();
         var request = new java.util.HashMap<String, Object>();
         String otpId = otpUuid != null ? otpUuid : userData.get("otpUuid");
         if (otpId == null) {
@@ -442,6 +527,7 @@ public class UserFixture {
      * @return Objeto de requisição (Map para ser usado com RestAssured)
      */
     public Map<String, String> buildLoginRequest() {
+        checkScenario();
         var request = new java.util.HashMap<String, String>();
         // A API usa username (que pode ser email ou documentNumber)
         String username = userData.get("email") != null ? userData.get("email") : userData.get("documentNumber");
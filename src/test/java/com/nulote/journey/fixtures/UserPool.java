@@ -0,0 +1,610 @@
+package com.nulote.journey.fixtures;
+
+import com.nulote.journey.clients.AuthServiceClient;
+import com.nulote.journey.clients.IdentityServiceClient;
+import com.nulote.journey.clients.ProfileServiceClient;
+import com.nulote.journey.config.E2EConfiguration;
+import com.nulote.journey.utils.WaitHelper;
+import io.restassured.response.Response;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de usuários pré-provisionados para cenários que só precisam de "um usuário pronto".
+ *
+ * Cada chave (país + tipo de documento) mantém até e2e.user-pool.size-per-key usuários completos
+ * (OTP de registro validado, identidade criada, credenciais provisionadas no auth-service e perfil
+ * criado no profile-service), reabastecidos em background à medida que são consumidos.
+ *
+ * Semântica de uso:
+ * - {@link #lease}: entrega um usuário exclusivo (ou null se o pool da chave estiver vazio - o
+ *   chamador cria o usuário inline, como antes) e dispara o reabastecimento
+ * - {@link #release}: devolve o usuário ao pool (cenário não alterou dados/credenciais)
+ * - {@link #poison}: descarta o usuário (senha alterada, conta desativada, etc.)
+ * - {@link #endScenario}: chamado pelos Hooks; usuários não devolvidos são consumidos
+ *   (ou devolvidos, se e2e.user-pool.return-on-success, o cenário passou e está marcado com
+ *   {@value #READ_ONLY_TAG})
+ *
+ * O provisionamento de uma chave começa no primeiro lease (pools não usados não criam usuários)
+ * e só roda enquanto o país padrão configurado é o país da chave, já que os clientes enviam o
+ * country-code do E2EConfiguration. Após uma falha, a chave fica sem reabastecer por
+ * e2e.user-pool.failure-backoff-ms.
+ *
+ * Com o cache persistente (e2e.data-cache.persistent), usuários disponíveis são gravados no
+ * {@link PersistentCacheStore} e voltam ao pool na próxima execução; um usuário restaurado é
+ * revalidado (credenciais e perfil) no momento do lease.
+ *
+ * Cenários que testam o próprio registro continuam criando usuários pelos steps de registro.
+ *
+ * O provisionamento em background publica otp.sent, user.created e credentials.provisioned enquanto
+ * outros cenários aguardam esses mesmos tipos: e-mail, otpId e UUID de cada usuário do pool ficam
+ * marcados ({@link #isPoolIdentifier}) para que esperas não correlacionadas do RabbitMQHelper ignorem
+ * esses eventos. Esperas correlacionadas ao usuário entregue continuam recebendo os eventos dele.
+ * A marca é removida quando o usuário é consumido ou descartado (ou se o provisionamento falhar);
+ * eventos capturados antes disso continuam marcados no RabbitMQHelper.
+ */
+@Component
+public class UserPool {
+
+    private static final String DEFAULT_PASSWORD = "TestPassword123!";
+    private static final String STORE_NAMESPACE = "user-pool";
+
+    /**
+     * Tag dos cenários que não alteram o usuário (dados, credenciais, MFA, vínculos, status):
+     * só eles devolvem o usuário ao pool com return-on-success.
+     */
+    public static final String READ_ONLY_TAG = "@read_only_user";
+
+    // E-mails, otpIds e UUIDs gerados pelo provisionamento (normalizados como no CapturedEventStore)
+    private static final Set<String> POOL_IDENTIFIERS = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private E2EConfiguration config;
+
+    @Autowired
+    private AuthServiceClient authClient;
+
+    @Autowired
+    private IdentityServiceClient identityClient;
+
+    @Autowired
+    private ProfileServiceClient profileClient;
+
+    @Autowired
+    private TestDataCache testDataCache;
+
+    @Autowired
+    private PersistentCacheStore persistentStore;
+
+    private final Map<String, KeyState> states = new ConcurrentHashMap<>();
+    private final ThreadLocal<List<PooledUser>> scenarioLeases = ThreadLocal.withInitial(ArrayList::new);
+    private volatile ExecutorService provisioner;
+
+    /**
+     * Tipo de documento padrão do país (mesmo mapeamento de "que crio um usuário com esses dados").
+     */
+    public static String defaultDocumentType(String countryCode) {
+        if (countryCode == null) {
+            return "CPF";
+        }
+        switch (countryCode.toUpperCase()) {
+            case "AR":
+                return "CUIT";
+            case "CL":
+                return "RUT";
+            case "BO":
+                return "CI";
+            case "US":
+                return "SSN";
+            default:
+                return "CPF";
+        }
+    }
+
+    /**
+     * Entrega um usuário exclusivo da chave país + tipo de documento.
+     *
+     * @param countryCode País (ex: "BR")
+     * @param documentType Tipo de documento (ex: "CPF")
+     * @return Usuário pronto, ou null se o pool estiver desabilitado ou vazio
+     */
+    public PooledUser lease(String countryCode, String documentType) {
+        if (!config.getUserPool().getEnabled()) {
+            return null;
+        }
+        KeyState state = state(countryCode, documentType);
+        PooledUser user = state.available.poll();
+        while (user != null && !user.verified && !revalidate(user)) {
+            persistentStore.remove(STORE_NAMESPACE, user.getUserUuid());
+            state.restoredDiscarded.incrementAndGet();
+            user = state.available.poll();
+        }
+        if (user != null) {
+            persistentStore.remove(STORE_NAMESPACE, user.getUserUuid());
+            state.leased.incrementAndGet();
+            scenarioLeases.get().add(user);
+            var logger = org.slf4j.LoggerFactory.getLogger(UserPool.class);
+            logger.info("♻️ [USER-POOL] Usuário do pool entregue ({}): email={}, uuid={}",
+                state.key, user.getEmail(), user.getUserUuid());
+        } else {
+            state.misses.incrementAndGet();
+        }
+        refill(state);
+        return user;
+    }
+
+    /**
+     * Setup compartilhado de usuário pronto ("que estou autenticado na plataforma", "que já estou
+     * autenticado na plataforma"): entrega um usuário do país do cenário e preenche o UserFixture.
+     * O tipo de documento é o já escolhido no fixture ou, sem escolha, o padrão do país.
+     *
+     * @return Usuário entregue, ou null se o pool estiver desabilitado ou vazio (o chamador cria inline)
+     */
+    public PooledUser leaseFor(UserFixture fixture) {
+        String countryCode = config.getDefaultCountryCode();
+        Map<String, String> data = fixture.getUserData();
+        String documentType = data != null && data.get("documentType") != null
+            ? data.get("documentType")
+            : defaultDocumentType(countryCode);
+        PooledUser user = lease(countryCode, documentType);
+        if (user != null) {
+            fixture.setUserData(user.copyUserData());
+            fixture.setCreatedUserUuid(user.getUserUuid());
+        }
+        return user;
+    }
+
+    /**
+     * Devolve um usuário ao pool (dados e credenciais inalterados pelo cenário).
+     */
+    public void release(PooledUser user) {
+        if (user == null || !scenarioLeases.get().remove(user)) {
+            return;
+        }
+        KeyState state = state(user.getCountryCode(), user.getDocumentType());
+        state.available.offer(user);
+        state.returned.incrementAndGet();
+        persist(user);
+    }
+
+    /**
+     * Descarta um usuário (não volta ao pool) e dispara o reabastecimento.
+     */
+    public void poison(PooledUser user) {
+        if (user == null || !scenarioLeases.get().remove(user)) {
+            return;
+        }
+        KeyState state = state(user.getCountryCode(), user.getDocumentType());
+        state.poisoned.incrementAndGet();
+        unmarkPoolIdentifiers(user.poolIdentifiers);
+        refill(state);
+    }
+
+    /**
+     * Descarta todos os usuários entregues ao cenário atual (ex: após troca de senha).
+     */
+    public void poisonLeases() {
+        new ArrayList<>(scenarioLeases.get()).forEach(this::poison);
+    }
+
+    /**
+     * Encerra os leases do cenário atual (Hooks): usuários devolvidos se o cenário passou, é somente
+     * leitura ({@value #READ_ONLY_TAG}) e e2e.user-pool.return-on-success estiver habilitado;
+     * consumidos caso contrário. Sem a tag, qualquer step pode ter alterado o usuário (desativação,
+     * MFA, troca de e-mail...), então ele não é entregue a outro cenário.
+     *
+     * @param scenarioFailed true se o cenário falhou
+     * @param readOnly true se o cenário tem a tag {@value #READ_ONLY_TAG}
+     */
+    public void endScenario(boolean scenarioFailed, boolean readOnly) {
+        List<PooledUser> leases = new ArrayList<>(scenarioLeases.get());
+        boolean giveBack = config.getUserPool().getReturnOnSuccess() && readOnly && !scenarioFailed;
+        for (PooledUser user : leases) {
+            if (giveBack) {
+                release(user);
+            } else {
+                poison(user);
+            }
+        }
+        scenarioLeases.remove();
+    }
+
+    /**
+     * Loga, por chave, usuários disponíveis, entregues, devolvidos, descartados, misses e provisionamentos.
+     */
+    public void logStats() {
+        var logger = org.slf4j.LoggerFactory.getLogger(UserPool.class);
+        states.values().forEach(state -> logger.info(
+            "📊 [USER-POOL] {}: disponíveis={}, entregues={}, devolvidos={}, descartados={}, misses={}, provisionados={}, falhas={}, restaurados={}, restaurados inválidos={}",
+            state.key, state.available.size(), state.leased.get(), state.returned.get(), state.poisoned.get(),
+            state.misses.get(), state.provisioned.get(), state.failures.get(), state.restored.get(),
+            state.restoredDiscarded.get()));
+    }
+
+    @PreDestroy
+    public void close() {
+        logStats();
+        if (provisioner != null) {
+            provisioner.shutdownNow();
+        }
+        POOL_IDENTIFIERS.clear();
+    }
+
+    private KeyState state(String countryCode, String documentType) {
+        String country = countryCode != null ? countryCode.toUpperCase() : "BR";
+        String docType = documentType != null ? documentType.toUpperCase() : defaultDocumentType(country);
+        return states.computeIfAbsent(country + '|' + docType, key -> restore(new KeyState(key, country, docType)));
+    }
+
+    /**
+     * Carrega no pool os usuários da chave gravados por execuções anteriores (revalidados no lease).
+     */
+    private KeyState restore(KeyState state) {
+        persistentStore.load(STORE_NAMESPACE).forEach((uuid, stored) -> {
+            PooledUser user = PooledUser.deserialize(stored.getValue());
+            if (user != null && state.country.equals(user.getCountryCode())
+                    && state.documentType.equals(user.getDocumentType())) {
+                state.available.offer(user);
+                state.restored.incrementAndGet();
+            }
+        });
+        if (state.restored.get() > 0) {
+            var logger = org.slf4j.LoggerFactory.getLogger(UserPool.class);
+            logger.info("♻️ [USER-POOL] {} usuário(s) de execuções anteriores restaurados para {}", state.restored.get(), state.key);
+        }
+        return state;
+    }
+
+    private boolean revalidate(PooledUser user) {
+        try {
+            boolean valid = authClient.getCredentialsByUserUuid(user.getUserUuid()).getStatusCode() == 200
+                && profileClient.getProfileByUserUuid(user.getUserUuid()).getStatusCode() == 200;
+            user.verified = valid;
+            return valid;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void persist(PooledUser user) {
+        persistentStore.put(STORE_NAMESPACE, user.getUserUuid(), user.serialize(),
+            Instant.now().plus(Duration.ofHours(config.getDataCache().getPersistentTtlHours())));
+    }
+
+    private void refill(KeyState state) {
+        E2EConfiguration.UserPool settings = config.getUserPool();
+        if (!settings.getEnabled() || System.currentTimeMillis() < state.pausedUntil
+                || !state.country.equalsIgnoreCase(config.getDefaultCountryCode())) {
+            return;
+        }
+        while (true) {
+            int inFlight = state.inFlight.get();
+            if (state.available.size() + inFlight >= settings.getSizePerKey()) {
+                return;
+            }
+            if (state.inFlight.compareAndSet(inFlight, inFlight + 1)) {
+                executor().submit(() -> provisionInto(state));
+            }
+        }
+    }
+
+    private void provisionInto(KeyState state) {
+        boolean success = false;
+        try {
+            // País padrão pode ter mudado entre o agendamento e a execução
+            if (!state.country.equalsIgnoreCase(config.getDefaultCountryCode())) {
+                return;
+            }
+            PooledUser user = provision(state.country, state.documentType);
+            if (user != null) {
+                state.available.offer(user);
+                state.provisioned.incrementAndGet();
+                persist(user);
+                testDataCache.cacheUser(user.getEmail(), user.getUserUuid());
+                success = true;
+            }
+        } catch (Exception e) {
+            var logger = org.slf4j.LoggerFactory.getLogger(UserPool.class);
+            logger.debug("Erro ao provisionar usuário para o pool {}: {}", state.key, e.getMessage());
+        } finally {
+            state.inFlight.decrementAndGet();
+        }
+        if (success) {
+            refill(state);
+        } else if (state.country.equalsIgnoreCase(config.getDefaultCountryCode())) {
+            state.failures.incrementAndGet();
+            state.pausedUntil = System.currentTimeMillis() + config.getUserPool().getFailureBackoffMs();
+            var logger = org.slf4j.LoggerFactory.getLogger(UserPool.class);
+            logger.warn("⚠️ [USER-POOL] Falha ao provisionar usuário para {}. Reabastecimento pausado por {}ms",
+                state.key, config.getUserPool().getFailureBackoffMs());
+        }
+    }
+
+    /**
+     * Provisiona um usuário completo: OTP de registro, identidade, credenciais e perfil.
+     *
+     * @return Usuário pronto, ou null se alguma etapa falhar
+     */
+    private PooledUser provision(String countryCode, String documentType) {
+        List<String> identifiers = new ArrayList<>();
+        PooledUser user = null;
+        try {
+            user = provision(countryCode, documentType, identifiers);
+            return user;
+        } finally {
+            if (user == null) {
+                unmarkPoolIdentifiers(identifiers);
+            }
+        }
+    }
+
+    private PooledUser provision(String countryCode, String documentType, List<String> identifiers) {
+        Map<String, String> userData = new HashMap<>();
+        userData.put("nome", TestDataGenerator.generateUniqueName());
+        userData.put("documentNumber", generateDocument(documentType));
+        userData.put("documentType", documentType);
+        userData.put("email", TestDataGenerator.generateUniqueEmail());
+        userData.put("telefone", TestDataGenerator.generateUniquePhone());
+        userData.put("password", DEFAULT_PASSWORD);
+        // Marcado antes da solicitação de OTP: o otp.sent pode ser capturado antes da resposta HTTP
+        markPoolIdentifier(identifiers, userData.get("email"));
+
+        String sessionToken = obtainRegistrationToken(userData.get("email"), identifiers);
+        if (sessionToken == null) {
+            return null;
+        }
+
+        Map<String, Object> createRequest = new HashMap<>();
+        createRequest.put("name", userData.get("nome"));
+        createRequest.put("documentNumber", userData.get("documentNumber"));
+        createRequest.put("documentType", documentType);
+        createRequest.put("email", userData.get("email"));
+        createRequest.put("phone", userData.get("telefone"));
+        createRequest.put("role", "INDIVIDUAL");
+        createRequest.put("relationship", "B2C");
+        Response created = identityClient.createUser(createRequest, sessionToken);
+        if (created.getStatusCode() != 201 && created.getStatusCode() != 200) {
+            return null;
+        }
+        String userUuid = created.jsonPath().getString("uuid");
+        if (userUuid == null) {
+            userUuid = created.jsonPath().getString("id");
+        }
+        if (userUuid == null) {
+            return null;
+        }
+        markPoolIdentifier(identifiers, userUuid);
+
+        // Usuário só entra no pool quando credenciais e perfil já existem (setup do cenário sem espera)
+        final String uuid = userUuid;
+        Duration timeout = Duration.ofSeconds(Math.max(config.getEventTimeoutSeconds(), 5));
+        boolean credentials = WaitHelper.waitUntil("user-pool: credenciais provisionadas", timeout,
+            () -> authClient.getCredentialsByUserUuid(uuid).getStatusCode() == 200);
+        boolean profile = credentials && WaitHelper.waitUntil("user-pool: perfil criado", timeout,
+            () -> profileClient.getProfileByUserUuid(uuid).getStatusCode() == 200);
+        if (!profile) {
+            return null;
+        }
+        return new PooledUser(countryCode, documentType, userUuid, userData, true, identifiers);
+    }
+
+    private String obtainRegistrationToken(String email, List<String> identifiers) {
+        Map<String, Object> otpRequest = new HashMap<>();
+        otpRequest.put("userUuid", null);
+        otpRequest.put("channel", "EMAIL");
+        otpRequest.put("purpose", "REGISTRATION");
+        otpRequest.put("email", email);
+        Response otpResponse = authClient.requestOtp(otpRequest);
+        String otpId = otpResponse.getStatusCode() == 200 ? otpResponse.jsonPath().getString("otpId") : null;
+        if (otpId == null) {
+            return null;
+        }
+        markPoolIdentifier(identifiers, otpId);
+
+        Response codeResponse = authClient.getTestOtpCode(otpId);
+        if (codeResponse.getStatusCode() != 200) {
+            return null;
+        }
+        String code = codeResponse.jsonPath().getString("code");
+        if (code == null) {
+            code = codeResponse.jsonPath().getString("otpCode");
+        }
+        if (code == null) {
+            return null;
+        }
+
+        Map<String, Object> validation = new HashMap<>();
+        validation.put("otpUuid", otpId);
+        validation.put("code", code.replaceAll("[^0-9]", ""));
+        Response validated = authClient.validateOtp(validation);
+        return validated.getStatusCode() == 200 ? validated.jsonPath().getString("sessionToken") : null;
+    }
+
+    /**
+     * Indica se o valor (e-mail, otpId ou UUID) pertence a um usuário provisionado pelo pool que ainda
+     * não foi consumido nem descartado.
+     * Os usuários restaurados do cache persistente não entram: os eventos deles são de outra execução.
+     */
+    public static boolean isPoolIdentifier(String value) {
+        return value != null && POOL_IDENTIFIERS.contains(value.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static void markPoolIdentifier(List<String> identifiers, String value) {
+        if (value != null && !value.isBlank()) {
+            String normalized = value.trim().toLowerCase(Locale.ROOT);
+            identifiers.add(normalized);
+            POOL_IDENTIFIERS.add(normalized);
+        }
+    }
+
+    private static void unmarkPoolIdentifiers(List<String> identifiers) {
+        identifiers.forEach(POOL_IDENTIFIERS::remove);
+    }
+
+    private static String generateDocument(String documentType) {
+        switch (documentType) {
+            case "CNPJ":
+                return TestDataGenerator.generateUniqueCnpj();
+            case "CUIT":
+                return TestDataGenerator.generateUniqueCuit();
+            case "DNI":
+                return TestDataGenerator.generateUniqueDni();
+            case "RUT":
+                return TestDataGenerator.generateUniqueRut();
+            case "CI":
+                return TestDataGenerator.generateUniqueCi();
+            case "SSN":
+                return TestDataGenerator.generateUniqueSsn();
+            default:
+                return TestDataGenerator.generateUniqueCpf();
+        }
+    }
+
+    private ExecutorService executor() {
+        ExecutorService current = provisioner;
+        if (current == null) {
+            synchronized (this) {
+                if (provisioner == null) {
+                    AtomicInteger counter = new AtomicInteger();
+                    provisioner = Executors.newFixedThreadPool(config.getUserPool().getProvisionThreads(), r -> {
+                        Thread thread = new Thread(r, "e2e-user-pool-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+                current = provisioner;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Estado de uma chave país + tipo de documento.
+     */
+    static final class KeyState {
+        final String key;
+        final String country;
+        final String documentType;
+        final ConcurrentLinkedQueue<PooledUser> available = new ConcurrentLinkedQueue<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicLong leased = new AtomicLong();
+        final AtomicLong returned = new AtomicLong();
+        final AtomicLong poisoned = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong provisioned = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong restored = new AtomicLong();
+        final AtomicLong restoredDiscarded = new AtomicLong();
+        volatile long pausedUntil;
+
+        KeyState(String key, String country, String documentType) {
+            this.key = key;
+            this.country = country;
+            this.documentType = documentType;
+        }
+    }
+
+    /**
+     * Usuário pré-provisionado (imutável): dados de cadastro e UUID.
+     */
+    public static final class PooledUser {
+        private final String countryCode;
+        private final String documentType;
+        private final String userUuid;
+        private final Map<String, String> userData;
+        // Marcados em POOL_IDENTIFIERS pelo provisionamento desta execução (vazio para restaurados)
+        final List<String> poolIdentifiers;
+        // false para usuários restaurados do cache persistente até a revalidação no lease
+        volatile boolean verified;
+
+        PooledUser(String countryCode, String documentType, String userUuid, Map<String, String> userData,
+                   boolean verified, List<String> poolIdentifiers) {
+            this.countryCode = countryCode;
+            this.documentType = documentType;
+            this.userUuid = userUuid;
+            this.userData = Map.copyOf(userData);
+            this.verified = verified;
+            this.poolIdentifiers = List.copyOf(poolIdentifiers);
+        }
+
+        /**
+         * Formato do cache persistente: uma linha "chave=valor" (URL-encoded) por campo.
+         */
+        String serialize() {
+            StringBuilder serialized = new StringBuilder()
+                .append("_country=").append(encode(countryCode)).append('\n')
+                .append("_documentType=").append(encode(documentType)).append('\n')
+                .append("_uuid=").append(encode(userUuid)).append('\n');
+            userData.forEach((key, value) ->
+                serialized.append(encode(key)).append('=').append(encode(value)).append('\n'));
+            return serialized.toString();
+        }
+
+        static PooledUser deserialize(String serialized) {
+            Map<String, String> fields = new HashMap<>();
+            for (String line : serialized.split("\n")) {
+                int separator = line.indexOf('=');
+                if (separator > 0) {
+                    fields.put(decode(line.substring(0, separator)), decode(line.substring(separator + 1)));
+                }
+            }
+            String country = fields.remove("_country");
+            String docType = fields.remove("_documentType");
+            String uuid = fields.remove("_uuid");
+            if (country == null || docType == null || uuid == null || fields.get("email") == null) {
+                return null;
+            }
+            return new PooledUser(country, docType, uuid, fields, false, List.of());
+        }
+
+        private static String encode(String value) {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8);
+        }
+
+        private static String decode(String value) {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        }
+
+        public String getCountryCode() {
+            return countryCode;
+        }
+
+        public String getDocumentType() {
+            return documentType;
+        }
+
+        public String getUserUuid() {
+            return userUuid;
+        }
+
+        public String getEmail() {
+            return userData.get("email");
+        }
+
+        /**
+         * Cópia mutável dos dados de cadastro (formato do UserFixture: nome, documentNumber, documentType, email, telefone, password).
+         */
+        public Map<String, String> copyUserData() {
+            return new HashMap<>(userData);
+        }
+    }
+}
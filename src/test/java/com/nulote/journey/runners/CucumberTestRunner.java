@@ -21,8 +21,8 @@ import static io.cucumber.junit.platform.engine.Constants.FILTER_TAGS_PROPERTY_N
 @ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, 
     value = "pretty, " +
             "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm, " +
-            "html:target/cucumber-reports/cucumber.html, " +
-            "json:target/cucumber-reports/cucumber.json")
+            "com.nulote.journey.runners.ShardAwareReports$Html, " +
+            "com.nulote.journey.runners.ShardAwareReports$Json")
 @ConfigurationParameter(key = GLUE_PROPERTY_NAME, 
     value = "com.nulote.journey.stepdefinitions,com.nulote.journey.config")
 // Tags padrão podem ser definidas aqui (serão sobrescritas por linha de comando)
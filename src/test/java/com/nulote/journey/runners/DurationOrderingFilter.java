@@ -0,0 +1,132 @@
+package com.nulote.journey.runners;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordena features e cenários do mais longo para o mais curto (LPT) com base no {@link ScenarioTimings}.
+ *
+ * Registrado via ServiceLoader (META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter);
+ * não exclui nada - apenas reordena os filhos de cada nó da árvore descoberta, pela duração estimada
+ * da subárvore. Na execução paralela por cenário (ForkJoin do JUnit Platform), as threads ociosas
+ * roubam tarefas a partir das primeiras submetidas, enquanto a thread que as submeteu executa a partir
+ * da última: os cenários mais longos de todas as features começam primeiro nos workers ociosos e os
+ * curtos preenchem o final, aproximando o tempo total de (trabalho total / workers) em vez da feature
+ * mais longa.
+ *
+ * Cenários sem histórico usam a média dos cenários conhecidos. Sem histórico algum, a ordem de
+ * descoberta é mantida. Desligar com -Djourney.scheduler.enabled=false.
+ *
+ * A reordenação dentro do apply depende de o JUnit aplicar o filtro a cada nó antes de visitar os
+ * filhos e da ordem de retirada do executor ForkJoin; o DurationOrderingFilterTest executa a engine
+ * Cucumber (sequencial e ForkJoin) e confere a ordem real de início dos cenários.
+ */
+public class DurationOrderingFilter implements PostDiscoveryFilter {
+
+    private static final boolean ENABLED =
+        Boolean.parseBoolean(System.getProperty("journey.scheduler.enabled", "true"));
+
+    private ScenarioTimings timings;
+    private final Map<TestDescriptor, Long> estimates = new IdentityHashMap<>();
+
+    public DurationOrderingFilter() {
+    }
+
+    DurationOrderingFilter(ScenarioTimings timings) {
+        this.timings = timings;
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (!ENABLED) {
+            return FilterResult.included("journey.scheduler desabilitado");
+        }
+        if (timings == null) {
+            timings = ScenarioTimings.load();
+        }
+        if (timings.size() > 0 && descriptor.getChildren().size() > 1) {
+            // Chamado antes de o JUnit visitar os filhos: a nova ordem vale para a visita e para a execução
+            reorder(descriptor);
+        }
+        if (isCucumberEngine(descriptor)) {
+            logSummary(descriptor);
+        }
+        return FilterResult.included("ordenado por duração");
+    }
+
+    private void reorder(TestDescriptor descriptor) {
+        List<TestDescriptor> children = new ArrayList<>(descriptor.getChildren());
+        List<TestDescriptor> ordered = new ArrayList<>(children);
+        // Ordenação estável: empates mantêm a ordem de descoberta
+        ordered.sort(Comparator.comparingLong(this::estimate).reversed());
+        if (ordered.equals(children)) {
+            return;
+        }
+        children.forEach(descriptor::removeChild);
+        ordered.forEach(descriptor::addChild);
+    }
+
+    /**
+     * Duração estimada (ms) da subárvore: histórico do cenário, ou média para cenários sem histórico.
+     */
+    private long estimate(TestDescriptor descriptor) {
+        Long cached = estimates.get(descriptor);
+        if (cached != null) {
+            return cached;
+        }
+        long millis;
+        if (descriptor.isTest()) {
+            Long known = ScenarioTimings.keyOf(descriptor).map(timings::getMillis).orElse(null);
+            millis = known != null ? known : timings.averageMillis();
+        } else {
+            millis = 0;
+            for (TestDescriptor child : descriptor.getChildren()) {
+                millis += estimate(child);
+            }
+        }
+        estimates.put(descriptor, millis);
+        return millis;
+    }
+
+    private static boolean isCucumberEngine(TestDescriptor descriptor) {
+        return descriptor.getUniqueId().getLastSegment().getType().equals("engine")
+            && descriptor.getUniqueId().getLastSegment().getValue().equals("cucumber");
+    }
+
+    private void logSummary(TestDescriptor engine) {
+        var logger = org.slf4j.LoggerFactory.getLogger(DurationOrderingFilter.class);
+        List<TestDescriptor> scenarios = new ArrayList<>();
+        collectTests(engine, scenarios);
+        if (scenarios.isEmpty()) {
+            // Engine Cucumber de nível superior (sem features selecionadas): as features vêm pela suíte
+            return;
+        }
+        long known = scenarios.stream().filter(s -> ScenarioTimings.keyOf(s).map(timings::getMillis).isPresent()).count();
+        if (known == 0) {
+            logger.info("⏱️ [SCHEDULER] Sem histórico de duração para os {} cenários: ordem de descoberta mantida",
+                scenarios.size());
+            return;
+        }
+        long total = estimate(engine);
+        long longest = scenarios.stream().mapToLong(this::estimate).max().orElse(0);
+        // Mesma proporção de cucumber.execution.parallel.config.dynamic.factor (junit-platform.properties)
+        int workers = Runtime.getRuntime().availableProcessors() * 2;
+        logger.info("⏱️ [SCHEDULER] {} cenários ordenados por duração (LPT), {} com histórico: trabalho estimado {}s, "
+                + "maior cenário {}s, mínimo teórico com {} workers ~{}s",
+            scenarios.size(), known, total / 1000, longest / 1000, workers, Math.max(longest, total / workers) / 1000);
+    }
+
+    private static void collectTests(TestDescriptor descriptor, List<TestDescriptor> tests) {
+        if (descriptor.isTest()) {
+            tests.add(descriptor);
+        }
+        descriptor.getChildren().forEach(child -> collectTests(child, tests));
+    }
+}
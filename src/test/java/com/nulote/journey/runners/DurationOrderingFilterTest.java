@@ -0,0 +1,130 @@
+package com.nulote.journey.runners;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClasspathResourceSource;
+import org.junit.platform.engine.support.descriptor.FilePosition;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClasspathResource;
+
+/**
+ * Executa a engine Cucumber sobre as features de src/test/resources/scheduler/features e confere a
+ * ordem em que os cenários realmente começam, com o filtro aplicado pelo Launcher (não só a árvore).
+ *
+ * No executor ForkJoin do JUnit Platform (invokeAll) a thread que cria as tarefas executa a partir
+ * do fim da lista e os workers ociosos roubam a partir do início: com um único worker a ordem de
+ * início é exatamente a inversa, o que prova que os cenários mais longos ficam na base da fila,
+ * onde os demais workers roubam primeiro.
+ */
+@DisplayName("DurationOrderingFilter - ordem de execução")
+class DurationOrderingFilterTest {
+
+    private static final String CURTA = "features/a_curta.feature";
+    private static final String LONGA = "features/b_longa.feature";
+
+    // Média dos conhecidos = (100 + 300 + 900 + 5000) / 4 = 1575ms para o cenário sem histórico
+    private static final Map<String, Long> TIMINGS = Map.of(
+        ScenarioTimings.key(CURTA, 5), 100L,
+        ScenarioTimings.key(CURTA, 8), 300L,
+        ScenarioTimings.key(LONGA, 5), 900L,
+        ScenarioTimings.key(LONGA, 8), 5000L);
+
+    // Longa (5900ms) antes de curta (1975ms); sem histórico (1575ms) antes de 300ms e 100ms
+    private static final List<String> LONGEST_FIRST = List.of(
+        ScenarioTimings.key(LONGA, 8),
+        ScenarioTimings.key(LONGA, 5),
+        ScenarioTimings.key(CURTA, 11),
+        ScenarioTimings.key(CURTA, 8),
+        ScenarioTimings.key(CURTA, 5));
+
+    @Test
+    @DisplayName("Deve executar os cenários mais longos primeiro na execução sequencial")
+    void deve_executar_cenarios_mais_longos_primeiro_na_execucao_sequencial() {
+        // Act
+        List<String> started = run(new DurationOrderingFilter(ScenarioTimings.of(TIMINGS)), false);
+
+        // Assert
+        assertThat(started).isEqualTo(LONGEST_FIRST);
+    }
+
+    @Test
+    @DisplayName("Deve deixar os cenários mais longos na base da fila do ForkJoin")
+    void deve_deixar_cenarios_mais_longos_na_base_da_fila_do_forkjoin() {
+        // Act - um worker: só a thread dona, que retira as tarefas pelo fim
+        List<String> started = run(new DurationOrderingFilter(ScenarioTimings.of(TIMINGS)), true);
+
+        // Assert - ordem inversa: o início da lista (mais longos) é o que os workers ociosos roubam
+        List<String> stealOrder = new ArrayList<>(started);
+        Collections.reverse(stealOrder);
+        assertThat(stealOrder).isEqualTo(LONGEST_FIRST);
+    }
+
+    @Test
+    @DisplayName("Deve manter a ordem de descoberta sem histórico de duração")
+    void deve_manter_ordem_de_descoberta_sem_historico() {
+        // Arrange
+        List<String> discovered = run(null, false);
+
+        // Act
+        List<String> started = run(new DurationOrderingFilter(ScenarioTimings.of(Map.of())), false);
+
+        // Assert
+        assertThat(started).hasSize(5).isEqualTo(discovered);
+    }
+
+    private static List<String> run(PostDiscoveryFilter ordering, boolean parallel) {
+        LauncherDiscoveryRequestBuilder builder = LauncherDiscoveryRequestBuilder.request()
+            .selectors(selectClasspathResource("scheduler/features"))
+            .filters(EngineFilter.includeEngines("cucumber"))
+            // Sem steps: os cenários falham como undefined, mas o início de cada um é registrado
+            .configurationParameter("cucumber.glue", "com.nulote.journey.runners.scheduler")
+            .configurationParameter("cucumber.plugin", "summary")
+            .configurationParameter("cucumber.filter.tags", "@scheduler_ordering")
+            .configurationParameter("cucumber.execution.parallel.enabled", String.valueOf(parallel))
+            .configurationParameter("cucumber.execution.parallel.config.strategy", "fixed")
+            .configurationParameter("cucumber.execution.parallel.config.fixed.parallelism", "1")
+            .configurationParameter("cucumber.execution.parallel.config.fixed.max-pool-size", "1");
+        if (ordering != null) {
+            builder.filters(ordering);
+        }
+        LauncherDiscoveryRequest request = builder.build();
+
+        // Sem os filtros e listeners do ServiceLoader (ShardFilter, Allure): só o filtro sob teste
+        Launcher launcher = LauncherFactory.create(LauncherConfig.builder()
+            .enablePostDiscoveryFilterAutoRegistration(false)
+            .enableTestExecutionListenerAutoRegistration(false)
+            .build());
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        launcher.execute(request, new TestExecutionListener() {
+            @Override
+            public void executionStarted(TestIdentifier identifier) {
+                if (identifier.isTest() && identifier.getSource().orElse(null) instanceof ClasspathResourceSource source) {
+                    started.add(ScenarioTimings.key(source.getClasspathResourceName(),
+                        source.getPosition().map(FilePosition::getLine).orElse(0)));
+                }
+            }
+
+            @Override
+            public void executionFinished(TestIdentifier identifier, TestExecutionResult result) {
+                // Resultado irrelevante: cenários sem steps
+            }
+        });
+        return new ArrayList<>(started);
+    }
+}
@@ -0,0 +1,372 @@
+package com.nulote.journey.runners;
+
+import com.nulote.journey.clients.EndpointMetrics;
+import com.nulote.journey.utils.LatencyHistogram;
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.feature.FeatureParser;
+import io.cucumber.core.filter.Filters;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.core.resource.ClassLoaders;
+import io.cucumber.core.runner.Runner;
+import io.cucumber.core.runtime.BackendServiceLoader;
+import io.cucumber.core.runtime.BackendSupplier;
+import io.cucumber.core.runtime.CucumberExecutionContext;
+import io.cucumber.core.runtime.ExitStatus;
+import io.cucumber.core.runtime.FeaturePathFeatureSupplier;
+import io.cucumber.core.runtime.ObjectFactoryServiceLoader;
+import io.cucumber.core.runtime.ObjectFactorySupplier;
+import io.cucumber.core.runtime.ThreadLocalObjectFactorySupplier;
+import io.cucumber.core.runtime.TimeServiceEventBus;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.tagexpressions.Expression;
+import io.cucumber.tagexpressions.TagExpressionParser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Modo carga (mvn test -Pload): as jornadas Gherkin como gerador de carga, no lugar de uma ferramenta
+ * de carga separada que diverge dos fluxos reais.
+ *
+ * Cenários são sorteados de um mix ponderado de tag expressions (journey.load.mix, ex:
+ * "@segment_1=3,@otp=1": 75% das execuções entre os cenários de @segment_1, 25% entre os de @otp;
+ * vazio = todos os cenários com o mesmo peso) e iniciados a uma taxa fixa (journey.load.rate, cenários
+ * por segundo) durante journey.load.duration-seconds, cada um em uma virtual thread. Modelo aberto:
+ * uma chegada não espera o término das anteriores; com journey.load.max-in-flight cenários ativos a
+ * chegada é descartada e contada, para que um serviço lento não reduza a carga sem aparecer no relatório.
+ *
+ * Cada execução é um cenário novo (glue e fixtures por cenário) com dados novos do TestDataGenerator:
+ * o pool de usuários pré-provisionados e o pacer/retry de 429 ficam desligados e a pré-geração de
+ * documentos ligada, salvo se definidos explicitamente (-De2e.*). Um cenário de aquecimento (contexto
+ * Spring, conexões) roda antes da medição.
+ *
+ * Relatório no log (📈 [LOAD]) e em target/load-test-report.txt: vazão, taxa de erro e percentis de
+ * latência por cenário, por step (padrão da step definition) e por endpoint ({@link EndpointMetrics}).
+ */
+public final class LoadTestRunner {
+
+    private static final double RATE = Double.parseDouble(System.getProperty("journey.load.rate", "2"));
+    private static final long DURATION_SECONDS = Long.getLong("journey.load.duration-seconds", 60);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("journey.load.max-in-flight", 256);
+    private static final double MAX_ERROR_RATE =
+        Double.parseDouble(System.getProperty("journey.load.max-error-rate", "1"));
+    private static final Path REPORT_FILE = Paths.get("target", "load-test-report.txt");
+    // Linhas por tabela no log; o arquivo traz as tabelas completas
+    private static final int LOG_ROWS = 10;
+
+    // Reuso de usuários e controle de taxa no cliente mascaram a carga real sobre os serviços
+    private static final Map<String, String> LOAD_DEFAULTS = Map.of(
+        "e2e.user-pool.enabled", "false",
+        "e2e.rate-limit-retry.enabled", "false",
+        "e2e.rate-limit-retry.pacer-enabled", "false",
+        "e2e.document-prefetch.enabled", "true");
+
+    private final Map<String, Stats> byScenario = new ConcurrentHashMap<>();
+    private final Map<String, Stats> byStep = new ConcurrentHashMap<>();
+    private final Stats scenarios = new Stats();
+    private volatile boolean recording;
+    private long offered;
+    private long dropped;
+    private long elapsedNanos;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) {
+        int status;
+        try {
+            status = new LoadTestRunner().run();
+        } catch (RuntimeException e) {
+            org.slf4j.LoggerFactory.getLogger(LoadTestRunner.class).error("❌ [LOAD] Execução interrompida", e);
+            status = 2;
+        }
+        System.exit(status);
+    }
+
+    private int run() {
+        var logger = org.slf4j.LoggerFactory.getLogger(LoadTestRunner.class);
+        LOAD_DEFAULTS.forEach((key, value) -> {
+            if (System.getProperty(key) == null) {
+                System.setProperty(key, value);
+            }
+        });
+
+        RuntimeOptions options = VirtualThreadRunner.options(false);
+        Supplier<ClassLoader> classLoader = ClassLoaders::getDefaultClassLoader;
+        EventBus bus = new VirtualThreadRunner.LockedEventBus(
+            new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID));
+        ObjectFactorySupplier objectFactories =
+            new ThreadLocalObjectFactorySupplier(new ObjectFactoryServiceLoader(classLoader, options));
+        BackendSupplier backends = new BackendServiceLoader(classLoader, objectFactories);
+        VirtualThreadRunner.RunnerPool runners = new VirtualThreadRunner.RunnerPool(
+            () -> new Runner(bus, backends.get(), objectFactories.get(), options));
+        CucumberExecutionContext context = new CucumberExecutionContext(bus, new ExitStatus(options), runners);
+        bus.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        bus.registerHandlerFor(TestCaseFinished.class, this::onScenarioFinished);
+
+        List<Feature> features = new FeaturePathFeatureSupplier(classLoader, options, new FeatureParser(bus::generateId)).get();
+        Filters filters = new Filters(options);
+        List<Pickle> pickles = new ArrayList<>();
+        features.forEach(feature -> feature.getPickles().stream().filter(filters).forEach(pickles::add));
+        List<MixEntry> mix = mix(System.getProperty("journey.load.mix", ""), pickles);
+        if (mix.isEmpty()) {
+            logger.error("❌ [LOAD] Nenhum cenário selecionado pelo mix '{}'", System.getProperty("journey.load.mix", ""));
+            return 2;
+        }
+        VirtualThreadRunner.ExclusiveResources exclusive = VirtualThreadRunner.ExclusiveResources.load();
+        mix.forEach(entry -> logger.info("📈 [LOAD] Mix {}: peso {}, {} cenários", entry.expression, entry.weight,
+            entry.pickles.size()));
+
+        context.runFeatures(() -> {
+            features.forEach(context::beforeFeature);
+            logger.info("📈 [LOAD] Aquecimento: {}", mix.get(0).pickles.get(0).getName());
+            VirtualThreadRunner.runScenario(context, runners, mix.get(0).pickles.get(0), exclusive);
+
+            EndpointMetrics.setEnabled(true);
+            recording = true;
+            logger.info("📈 [LOAD] Taxa alvo {}/s por {}s (até {} cenários em voo)", RATE, DURATION_SECONDS, MAX_IN_FLIGHT);
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / RATE);
+            long start = System.nanoTime();
+            long end = start + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+            Semaphore slots = new Semaphore(MAX_IN_FLIGHT);
+            try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("e2e-load-", 0).factory())) {
+                // Chegadas em instantes absolutos: um atraso na thread principal é compensado, não acumulado
+                for (long arrival = start; arrival < end; arrival += interval) {
+                    long delay = arrival - System.nanoTime();
+                    if (delay > 0) {
+                        TimeUnit.NANOSECONDS.sleep(delay);
+                    }
+                    offered++;
+                    if (!slots.tryAcquire()) {
+                        dropped++;
+                        continue;
+                    }
+                    Pickle pickle = pick(mix);
+                    executor.submit(() -> {
+                        try {
+                            VirtualThreadRunner.runScenario(context, runners, pickle, exclusive);
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                }
+            } // close() aguarda os cenários em voo
+            elapsedNanos = System.nanoTime() - start;
+            recording = false;
+        });
+
+        report(mix, LOG_ROWS).forEach(line -> logger.info("📈 [LOAD] {}", line));
+        try {
+            Files.createDirectories(REPORT_FILE.getParent());
+            Files.write(REPORT_FILE, report(mix, Integer.MAX_VALUE));
+            logger.info("📈 [LOAD] Relatório em {}", REPORT_FILE);
+        } catch (IOException e) {
+            logger.warn("⚠️ [LOAD] Não foi possível gravar {}: {}", REPORT_FILE, e.getMessage());
+        }
+
+        double errorRate = scenarios.errorRate();
+        if (errorRate > MAX_ERROR_RATE) {
+            logger.error("❌ [LOAD] Taxa de erro {}% acima do limite journey.load.max-error-rate ({}%)",
+                percent(errorRate), percent(MAX_ERROR_RATE));
+            return 1;
+        }
+        return 0;
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        Status status = event.getResult().getStatus();
+        // Steps pulados após uma falha não têm latência
+        if (!recording || !(event.getTestStep() instanceof PickleStepTestStep step)
+                || (status != Status.PASSED && status != Status.FAILED)) {
+            return;
+        }
+        String pattern = step.getPattern() != null && !step.getPattern().isEmpty() ? step.getPattern() : step.getStepText();
+        byStep.computeIfAbsent(pattern, key -> new Stats())
+            .record(event.getResult().getDuration().toNanos(), status == Status.FAILED);
+    }
+
+    private void onScenarioFinished(TestCaseFinished event) {
+        if (!recording) {
+            return;
+        }
+        TestCase testCase = event.getTestCase();
+        long nanos = event.getResult().getDuration().toNanos();
+        boolean failed = !event.getResult().getStatus().isOk();
+        String name = testCase.getName() + " ("
+            + ScenarioTimings.key(testCase.getUri().toString(), testCase.getLocation().getLine()) + ")";
+        byScenario.computeIfAbsent(name, key -> new Stats()).record(nanos, failed);
+        scenarios.record(nanos, failed);
+    }
+
+    /**
+     * Entradas do mix ("expressão=peso,..."); entradas que não selecionam nenhum cenário são ignoradas.
+     */
+    static List<MixEntry> mix(String spec, List<Pickle> pickles) {
+        var logger = org.slf4j.LoggerFactory.getLogger(LoadTestRunner.class);
+        List<MixEntry> mix = new ArrayList<>();
+        if (spec.isBlank()) {
+            if (!pickles.isEmpty()) {
+                mix.add(new MixEntry("(todos)", 1, pickles));
+            }
+            return mix;
+        }
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            int separator = part.lastIndexOf('=');
+            String expression = (separator >= 0 ? part.substring(0, separator) : part).trim();
+            double weight = separator >= 0 ? Double.parseDouble(part.substring(separator + 1).trim()) : 1;
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Peso inválido em journey.load.mix: " + part);
+            }
+            Expression tags = TagExpressionParser.parse(expression);
+            List<Pickle> selected = pickles.stream().filter(pickle -> tags.evaluate(pickle.getTags())).toList();
+            if (selected.isEmpty()) {
+                logger.warn("⚠️ [LOAD] Mix {}: nenhum cenário, entrada ignorada", expression);
+                continue;
+            }
+            mix.add(new MixEntry(expression, weight, selected));
+        }
+        return mix;
+    }
+
+    /**
+     * Sorteia a entrada do mix pelo peso e alterna entre os cenários da entrada (chamado só pela thread principal).
+     */
+    private static Pickle pick(List<MixEntry> mix) {
+        double total = mix.stream().mapToDouble(entry -> entry.weight).sum();
+        double drawn = ThreadLocalRandom.current().nextDouble(total);
+        MixEntry chosen = mix.get(mix.size() - 1);
+        for (MixEntry entry : mix) {
+            drawn -= entry.weight;
+            if (drawn < 0) {
+                chosen = entry;
+                break;
+            }
+        }
+        chosen.started++;
+        return chosen.pickles.get(chosen.next++ % chosen.pickles.size());
+    }
+
+    private List<String> report(List<MixEntry> mix, int rowsPerTable) {
+        double seconds = Math.max(1e-3, elapsedNanos / 1e9);
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "Taxa alvo %.2f/s por %ds: %d chegadas, %d descartadas (limite de %d em voo)",
+            RATE, DURATION_SECONDS, offered, dropped, MAX_IN_FLIGHT));
+        mix.forEach(entry -> lines.add(String.format(Locale.ROOT, "  %s: %d iniciados (peso %s)",
+            entry.expression, entry.started, entry.weight)));
+        lines.add(String.format(Locale.ROOT, "%d cenários em %.1fs: vazão %.2f/s, erro %s%%, p50 %.0fms, p95 %.0fms, "
+                + "p99 %.0fms, máx %.0fms",
+            scenarios.latency.count(), seconds, scenarios.latency.count() / seconds, percent(scenarios.errorRate()),
+            scenarios.latency.percentileMillis(50), scenarios.latency.percentileMillis(95),
+            scenarios.latency.percentileMillis(99), scenarios.latency.maxMillis()));
+
+        table(lines, "Cenários", byScenario, seconds, rowsPerTable);
+        table(lines, "Steps", byStep, seconds, rowsPerTable);
+        Map<String, Stats> byEndpoint = new HashMap<>();
+        EndpointMetrics.snapshot().forEach((endpoint, stats) -> byEndpoint.put(
+            stats.getThrottled() > 0 ? endpoint + " [429: " + stats.getThrottled() + "]" : endpoint,
+            new Stats(stats.getLatency(), stats.getErrors())));
+        table(lines, "Endpoints (erro = 5xx ou sem resposta)", byEndpoint, seconds, rowsPerTable);
+        return lines;
+    }
+
+    /**
+     * Tabela ordenada por número de execuções (maiores primeiro), limitada a {@code limit} linhas.
+     */
+    private static void table(List<String> lines, String title, Map<String, Stats> rows, double seconds, int limit) {
+        lines.add("");
+        lines.add(title + ":");
+        lines.add(String.format(Locale.ROOT, "%8s %8s %7s %9s %9s %9s %9s  %s",
+            "total", "/s", "erro%", "p50 ms", "p95 ms", "p99 ms", "máx ms", "nome"));
+        rows.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<String, Stats> row) -> row.getValue().latency.count()).reversed())
+            .limit(limit)
+            .forEach(row -> {
+                LatencyHistogram latency = row.getValue().latency;
+                lines.add(String.format(Locale.ROOT, "%8d %8.2f %7s %9.0f %9.0f %9.0f %9.0f  %s",
+                    latency.count(), latency.count() / seconds, percent(row.getValue().errorRate()),
+                    latency.percentileMillis(50), latency.percentileMillis(95), latency.percentileMillis(99),
+                    latency.maxMillis(), row.getKey()));
+            });
+        if (rows.size() > limit) {
+            lines.add(String.format(Locale.ROOT, "%8s ... mais %d em %s", "", rows.size() - limit, REPORT_FILE));
+        }
+    }
+
+    private static String percent(double rate) {
+        return String.format(Locale.ROOT, "%.1f", rate * 100);
+    }
+
+    /**
+     * Entrada do mix: tag expression, peso e cenários selecionados.
+     */
+    static final class MixEntry {
+        final String expression;
+        final double weight;
+        final List<Pickle> pickles;
+        int next;
+        long started;
+
+        MixEntry(String expression, double weight, List<Pickle> pickles) {
+            this.expression = expression;
+            this.weight = weight;
+            this.pickles = pickles;
+        }
+    }
+
+    /**
+     * Latência e falhas de um cenário, step ou endpoint.
+     */
+    static final class Stats {
+        final LatencyHistogram latency;
+        private final LongAdder failed = new LongAdder();
+
+        Stats() {
+            this(new LatencyHistogram(), 0);
+        }
+
+        Stats(LatencyHistogram latency, long failed) {
+            this.latency = latency;
+            this.failed.add(failed);
+        }
+
+        void record(long nanos, boolean failure) {
+            latency.recordNanos(nanos);
+            if (failure) {
+                failed.increment();
+            }
+        }
+
+        double errorRate() {
+            long count = latency.count();
+            return count == 0 ? 0 : (double) failed.sum() / count;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.nulote.journey.runners;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Detecta virtual threads fixadas (pinned) no carrier durante a execução, via evento JFR
+ * jdk.VirtualThreadPinned (bloqueio dentro de synchronized ou de código nativo por mais de
+ * journey.vthreads.pinning-threshold-ms, padrão 20ms).
+ *
+ * Cada ocorrência é agrupada pelo primeiro frame do projeto (com.nulote) na pilha - ou pelo topo
+ * da pilha, se não houver - e o resumo é logado ao final, com as pilhas completas em
+ * target/vthread-pinning.txt. Um carrier fixado deixa de executar outras virtual threads: sites
+ * frequentes limitam a concorrência real do VirtualThreadRunner.
+ */
+final class PinningMonitor implements AutoCloseable {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final Path REPORT = Paths.get("target", "vthread-pinning.txt");
+    private static final int REPORTED_SITES = 10;
+    private static final int STACK_DEPTH = 20;
+
+    private final long thresholdMs = Long.getLong("journey.vthreads.pinning-threshold-ms", 20);
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private final RecordingStream stream;
+
+    private PinningMonitor() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+    }
+
+    static PinningMonitor start() {
+        return new PinningMonitor();
+    }
+
+    private void record(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        RecordedFrame site = frames.stream()
+            .filter(frame -> frame.getMethod().getType().getName().startsWith("com.nulote."))
+            .findFirst()
+            .orElse(frames.isEmpty() ? null : frames.get(0));
+        String key = site != null ? format(site) : "(sem pilha)";
+        Site stats = sites.computeIfAbsent(key, k -> new Site(frames.stream()
+            .limit(STACK_DEPTH)
+            .map(frame -> "    at " + format(frame))
+            .collect(Collectors.joining("\n"))));
+        stats.count.increment();
+        stats.nanos.add(event.getDuration().toNanos());
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void close() {
+        var logger = org.slf4j.LoggerFactory.getLogger(PinningMonitor.class);
+        // stop() entrega os eventos ainda em buffer antes de encerrar
+        stream.stop();
+        stream.close();
+
+        if (sites.isEmpty()) {
+            logger.info("📌 [VTHREADS] Nenhuma virtual thread fixada no carrier por mais de {}ms", thresholdMs);
+            return;
+        }
+        List<Map.Entry<String, Site>> ranked = sites.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<String, Site> entry) -> entry.getValue().nanos.sum()).reversed())
+            .toList();
+        long total = ranked.stream().mapToLong(entry -> entry.getValue().count.sum()).sum();
+        logger.warn("📌 [VTHREADS] {} ocorrências de pinning (> {}ms) em {} pontos; principais:", total, thresholdMs, ranked.size());
+        ranked.stream().limit(REPORTED_SITES).forEach(entry -> logger.warn("📌 [VTHREADS]   {}x, {}ms no total: {}",
+            entry.getValue().count.sum(), TimeUnit.NANOSECONDS.toMillis(entry.getValue().nanos.sum()), entry.getKey()));
+
+        StringBuilder report = new StringBuilder();
+        ranked.forEach(entry -> report.append(entry.getKey())
+            .append(" - ").append(entry.getValue().count.sum()).append("x, ")
+            .append(TimeUnit.NANOSECONDS.toMillis(entry.getValue().nanos.sum())).append("ms\n")
+            .append(entry.getValue().stack).append("\n\n"));
+        try {
+            Files.createDirectories(REPORT.getParent());
+            Files.writeString(REPORT, report);
+            logger.warn("📌 [VTHREADS] Pilhas completas em {}", REPORT);
+        } catch (IOException e) {
+            logger.warn("⚠️ [VTHREADS] Não foi possível gravar {}: {}", REPORT, e.getMessage());
+        }
+    }
+
+    /**
+     * Ocorrências de um ponto de pinning (pilha da primeira ocorrência como exemplo).
+     */
+    static final class Site {
+        final String stack;
+        final LongAdder count = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+
+        Site(String stack) {
+            this.stack = stack;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.nulote.journey.runners;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nulote.journey.fixtures.ExecutionContext;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClasspathResourceSource;
+import org.junit.platform.engine.support.descriptor.FilePosition;
+import org.junit.platform.engine.support.descriptor.FileSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Histórico de duração por cenário, alimentado pelo cucumber.json das execuções anteriores.
+ *
+ * Ao carregar, o cucumber.json da última execução (journey.scheduler.cucumber-json, padrão
+ * target/cucumber-reports/cucumber.json) é incorporado ao histórico (journey.scheduler.timings-file,
+ * padrão target/scenario-timings.properties) com média móvel exponencial. O padrão fica no diretório
+ * do build, como o próprio cucumber.json, para que runners de CI com o mesmo home não compartilhem o
+ * histórico; para mantê-lo após um mvn clean (ou entre agentes), aponte a propriedade para um arquivo
+ * restaurado do cache de CI. O mesmo cucumber.json não é incorporado duas vezes (data de modificação
+ * registrada no histórico).
+ *
+ * Chave do cenário: caminho da feature a partir de "features/" + ":" + linha do cenário
+ * (linha do exemplo para Scenario Outline), igual nos dois lados (cucumber.json e descritores JUnit).
+ */
+public final class ScenarioTimings {
+
+    private static final String DEFAULT_FILE = "target/scenario-timings.properties";
+    private static final String DEFAULT_CUCUMBER_JSON = "target/cucumber-reports/cucumber.json";
+    private static final String SOURCE_MARKER = "_cucumber-json.last-modified";
+
+    // Peso da execução mais recente na média móvel
+    private static final double SMOOTHING = 0.5;
+
+    private final Map<String, Long> millisByScenario;
+
+    private ScenarioTimings(Map<String, Long> millisByScenario) {
+        this.millisByScenario = millisByScenario;
+    }
+
+    /**
+     * Histórico em memória (chave do cenário -> ms), sem arquivo.
+     */
+    static ScenarioTimings of(Map<String, Long> millisByScenario) {
+        return new ScenarioTimings(Map.copyOf(millisByScenario));
+    }
+
+    /**
+     * Carrega o histórico, incorporando o cucumber.json da última execução se ainda não incorporado.
+     * Com sharding o histórico é somente leitura: todos os shards precisam particionar a partir dos
+     * mesmos dados, e o cucumber.json consolidado é incorporado pelo {@link ShardReportMerger}.
+     * Erros de IO resultam em histórico vazio (ordem de descoberta mantida).
+     */
+    public static ScenarioTimings load() {
+        var logger = org.slf4j.LoggerFactory.getLogger(ScenarioTimings.class);
+        Path file = timingsFile();
+        if (!ExecutionContext.isSharded()) {
+            update(Paths.get(System.getProperty("journey.scheduler.cucumber-json", DEFAULT_CUCUMBER_JSON)));
+        }
+        Properties history = new Properties();
+        try {
+            if (Files.exists(file)) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    history.load(in);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("⚠️ [SCHEDULER] Histórico de duração indisponível ({}): {}. Mantendo ordem de descoberta.",
+                file, e.getMessage());
+            return new ScenarioTimings(Map.of());
+        }
+
+        Map<String, Long> millisByScenario = new HashMap<>();
+        history.stringPropertyNames().stream()
+            .filter(key -> !key.startsWith("_"))
+            .forEach(key -> millisByScenario.put(key, Long.parseLong(history.getProperty(key))));
+        return new ScenarioTimings(millisByScenario);
+    }
+
+    /**
+     * Incorpora as durações de um cucumber.json ao histórico (média móvel), se ainda não incorporado.
+     *
+     * @param cucumberJson Relatório JSON do Cucumber (ausente = nada a fazer)
+     */
+    public static void update(Path cucumberJson) {
+        var logger = org.slf4j.LoggerFactory.getLogger(ScenarioTimings.class);
+        Path file = timingsFile();
+        try {
+            if (!Files.exists(cucumberJson)) {
+                return;
+            }
+            Properties history = new Properties();
+            if (Files.exists(file)) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    history.load(in);
+                }
+            }
+            String lastModified = String.valueOf(Files.getLastModifiedTime(cucumberJson).toMillis());
+            if (lastModified.equals(history.getProperty(SOURCE_MARKER))) {
+                return;
+            }
+            Map<String, Long> measured = parseCucumberJson(cucumberJson);
+            measured.forEach((key, millis) -> {
+                String previous = history.getProperty(key);
+                long smoothed = previous != null
+                    ? Math.round(SMOOTHING * millis + (1 - SMOOTHING) * Long.parseLong(previous))
+                    : millis;
+                history.setProperty(key, String.valueOf(smoothed));
+            });
+            history.setProperty(SOURCE_MARKER, lastModified);
+            save(file, history);
+            logger.info("⏱️ [SCHEDULER] {} durações de cenário incorporadas de {} ao histórico {}",
+                measured.size(), cucumberJson, file);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("⚠️ [SCHEDULER] Não foi possível atualizar o histórico de duração ({}): {}",
+                file, e.getMessage());
+        }
+    }
+
+    private static Path timingsFile() {
+        return Paths.get(System.getProperty("journey.scheduler.timings-file", DEFAULT_FILE));
+    }
+
+    /**
+     * Duração registrada do cenário, ou null sem histórico.
+     */
+    public Long getMillis(String key) {
+        return millisByScenario.get(key);
+    }
+
+    public int size() {
+        return millisByScenario.size();
+    }
+
+    /**
+     * Média das durações registradas (estimativa para cenários sem histórico), ou 0 sem histórico.
+     */
+    public long averageMillis() {
+        return millisByScenario.isEmpty() ? 0
+            : Math.round(millisByScenario.values().stream().mapToLong(Long::longValue).average().orElse(0));
+    }
+
+    /**
+     * Chave do cenário de um descritor JUnit (feature + linha do cenário), se for um cenário.
+     */
+    public static Optional<String> keyOf(TestDescriptor descriptor) {
+        Optional<TestSource> source = descriptor.getSource();
+        if (!descriptor.isTest() || source.isEmpty()) {
+            return Optional.empty();
+        }
+        if (source.get() instanceof ClasspathResourceSource resource && resource.getPosition().isPresent()) {
+            return Optional.of(key(resource.getClasspathResourceName(),
+                resource.getPosition().map(FilePosition::getLine).get()));
+        }
+        if (source.get() instanceof FileSource file && file.getPosition().isPresent()) {
+            return Optional.of(key(file.getFile().getPath(), file.getPosition().map(FilePosition::getLine).get()));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Chave do cenário a partir do URI da feature (classpath:, file: ou caminho) e da linha.
+     */
+    public static String key(String uri, int line) {
+        String path = uri.replace('\\', '/');
+        int features = path.lastIndexOf("features/");
+        if (features >= 0) {
+            path = path.substring(features);
+        }
+        return path + ':' + line;
+    }
+
+    /**
+     * Duração por cenário em um cucumber.json: soma de hooks e steps (nanossegundos), incluindo o
+     * Background, que aparece como elemento próprio antes de cada cenário.
+     * Cenários sem nenhum step executado (todos skipped/undefined) são ignorados.
+     */
+    static Map<String, Long> parseCucumberJson(Path cucumberJson) throws IOException {
+        Map<String, Long> millisByScenario = new HashMap<>();
+        JsonNode features = new ObjectMapper().readTree(cucumberJson.toFile());
+        for (JsonNode feature : features) {
+            String uri = feature.path("uri").asText();
+            long backgroundNanos = 0;
+            for (JsonNode element : feature.path("elements")) {
+                if ("background".equals(element.path("type").asText())) {
+                    backgroundNanos = sumDurations(element.path("steps"));
+                    continue;
+                }
+                boolean executed = false;
+                for (JsonNode step : element.path("steps")) {
+                    String status = step.path("result").path("status").asText();
+                    executed |= "passed".equals(status) || "failed".equals(status);
+                }
+                long nanos = backgroundNanos + sumDurations(element.path("before"))
+                    + sumDurations(element.path("steps")) + sumDurations(element.path("after"));
+                backgroundNanos = 0;
+                if (executed) {
+                    millisByScenario.put(key(uri, element.path("line").asInt()), Math.max(1, nanos / 1_000_000));
+                }
+            }
+        }
+        return millisByScenario;
+    }
+
+    private static long sumDurations(JsonNode results) {
+        long nanos = 0;
+        for (JsonNode result : results) {
+            nanos += result.path("result").path("duration").asLong(0);
+        }
+        return nanos;
+    }
+
+    private static void save(Path file, Properties history) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        history.store(content, "platform-journey-tests: duracao por cenario (ms, media movel)");
+        // Escrita atômica: JVMs em paralelo (shards) nunca leem um arquivo pela metade
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        Files.write(temp, content.toByteArray());
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,102 @@
+package com.nulote.journey.runners;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste unitário da leitura do cucumber.json para o histórico de duração: soma de hooks, steps e
+ * Background por cenário, e normalização das chaves a partir do URI da feature.
+ */
+@DisplayName("ScenarioTimings - Duração por cenário a partir do cucumber.json")
+class ScenarioTimingsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Deve somar hooks, steps e o Background anterior em milissegundos")
+    void deve_somar_hooks_steps_e_background() throws Exception {
+        // Arrange - durações do cucumber.json em nanossegundos
+        Path json = dir.resolve("cucumber.json");
+        Files.writeString(json, """
+            [{
+              "uri": "classpath:features/auth/login.feature",
+              "elements": [
+                {"type": "background", "line": 3, "steps": [
+                  {"result": {"status": "passed", "duration": 500000000}}]},
+                {"type": "scenario", "line": 7,
+                 "before": [{"result": {"status": "passed", "duration": 100000000}}],
+                 "steps": [
+                   {"result": {"status": "passed", "duration": 1000000000}},
+                   {"result": {"status": "failed", "duration": 250000000}}],
+                 "after": [{"result": {"status": "passed", "duration": 150000000}}]},
+                {"type": "scenario", "line": 12, "steps": [
+                  {"result": {"status": "passed", "duration": 2000000000}}]}
+              ]
+            }]
+            """);
+
+        // Act
+        Map<String, Long> millis = ScenarioTimings.parseCucumberJson(json);
+
+        // Assert - o Background vale só para o cenário seguinte (o 12 não tem Background próprio)
+        assertThat(millis).containsExactlyInAnyOrderEntriesOf(Map.of(
+            "features/auth/login.feature:7", 2_000L,
+            "features/auth/login.feature:12", 2_000L));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar cenários sem steps executados e registrar ao menos 1 ms")
+    void deve_ignorar_cenarios_sem_steps_executados() throws Exception {
+        // Arrange
+        Path json = dir.resolve("cucumber.json");
+        Files.writeString(json, """
+            [{
+              "uri": "file:///repo/src/test/resources/features/profile.feature",
+              "elements": [
+                {"type": "scenario", "line": 4, "steps": [
+                  {"result": {"status": "undefined"}},
+                  {"result": {"status": "skipped", "duration": 0}}]},
+                {"type": "scenario", "line": 9, "steps": [
+                  {"result": {"status": "passed", "duration": 20000}}]}
+              ]
+            }]
+            """);
+
+        // Act
+        Map<String, Long> millis = ScenarioTimings.parseCucumberJson(json);
+
+        // Assert
+        assertThat(millis).containsExactly(Map.entry("features/profile.feature:9", 1L));
+    }
+
+    @Test
+    @DisplayName("Deve normalizar a chave a partir de features/ em URIs de classpath, arquivo e Windows")
+    void deve_normalizar_chave_do_cenario() {
+        assertThat(ScenarioTimings.key("classpath:features/auth/login.feature", 7))
+            .isEqualTo("features/auth/login.feature:7");
+        assertThat(ScenarioTimings.key("file:///repo/src/test/resources/features/auth/login.feature", 7))
+            .isEqualTo("features/auth/login.feature:7");
+        assertThat(ScenarioTimings.key("C:\\repo\\src\\test\\resources\\features\\auth\\login.feature", 7))
+            .isEqualTo("features/auth/login.feature:7");
+    }
+
+    @Test
+    @DisplayName("Deve estimar cenários desconhecidos pela média do histórico")
+    void deve_estimar_cenarios_desconhecidos_pela_media() {
+        // Arrange
+        ScenarioTimings timings = ScenarioTimings.of(Map.of("features/a.feature:3", 1_000L, "features/b.feature:3", 2_000L));
+
+        // Act / Assert
+        assertThat(timings.getMillis("features/c.feature:3")).isNull();
+        assertThat(timings.averageMillis()).isEqualTo(1_500L);
+        assertThat(ScenarioTimings.of(Map.of()).averageMillis()).isZero();
+    }
+}
@@ -0,0 +1,79 @@
+package com.nulote.journey.runners;
+
+import com.nulote.journey.fixtures.ExecutionContext;
+import io.cucumber.core.plugin.HtmlFormatter;
+import io.cucumber.core.plugin.JsonFormatter;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.EventListener;
+import io.cucumber.plugin.event.EventPublisher;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Plugins Cucumber que gravam os relatórios JSON e HTML em target/cucumber-reports, ou em
+ * target/cucumber-reports/shard-i com sharding (-Djourney.shard=i/n), para que JVMs em paralelo
+ * não sobrescrevam o relatório umas das outras. O {@link ShardReportMerger} consolida os shards
+ * de volta em target/cucumber-reports/cucumber.json.
+ *
+ * Substituem os plugins "json:..." e "html:...", cujo caminho é fixo na configuração:
+ * - com.nulote.journey.runners.ShardAwareReports$Json
+ * - com.nulote.journey.runners.ShardAwareReports$Html
+ *
+ * Duas classes porque o Cucumber entrega os eventos de forma diferente a cada uma: o JSON precisa
+ * dos eventos em ordem canônica (EventListener), o HTML dos eventos em tempo real (ConcurrentEventListener).
+ */
+public final class ShardAwareReports {
+
+    private static final String REPORTS_DIR = "target/cucumber-reports";
+
+    private ShardAwareReports() {
+    }
+
+    /**
+     * Relatório target/cucumber-reports[/shard-i]/cucumber.json.
+     */
+    public static final class Json implements EventListener {
+
+        private final JsonFormatter formatter;
+
+        public Json() throws IOException {
+            this.formatter = new JsonFormatter(open("cucumber.json"));
+        }
+
+        @Override
+        public void setEventPublisher(EventPublisher publisher) {
+            // O formatter fecha o arquivo ao receber TestRunFinished
+            formatter.setEventPublisher(publisher);
+        }
+    }
+
+    /**
+     * Relatório target/cucumber-reports[/shard-i]/cucumber.html.
+     */
+    public static final class Html implements ConcurrentEventListener {
+
+        private final HtmlFormatter formatter;
+
+        public Html() throws IOException {
+            this.formatter = new HtmlFormatter(open("cucumber.html"));
+        }
+
+        @Override
+        public void setEventPublisher(EventPublisher publisher) {
+            formatter.setEventPublisher(publisher);
+        }
+    }
+
+    private static OutputStream open(String fileName) throws IOException {
+        Path dir = Paths.get(REPORTS_DIR);
+        if (ExecutionContext.isSharded()) {
+            dir = dir.resolve("shard-" + ExecutionContext.getShardIndex());
+        }
+        Files.createDirectories(dir);
+        return Files.newOutputStream(dir.resolve(fileName));
+    }
+}
@@ -0,0 +1,141 @@
+package com.nulote.journey.runners;
+
+import com.nulote.journey.fixtures.ExecutionContext;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Particiona os cenários entre JVMs (-Djourney.shard=i/n, i base 0): cada shard executa apenas
+ * os cenários atribuídos a ele e exclui os demais.
+ *
+ * Registrado via ServiceLoader (META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter).
+ * A atribuição é determinística - todos os shards calculam a mesma partição sem se comunicar:
+ * - hash (padrão): hash estável da chave do cenário (feature + linha) módulo n;
+ * - duration (-Djourney.shard.strategy=duration): bin-packing guloso (LPT) pelo {@link ScenarioTimings},
+ *   equilibrando o tempo estimado de cada shard. Exige o mesmo arquivo de histórico em todos os shards
+ *   (journey.scheduler.timings-file); sem histórico, cai no hash.
+ *
+ * Sem journey.shard (ou com n = 1), não exclui nada.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+
+    private static final String STRATEGY = System.getProperty("journey.shard.strategy", "hash");
+
+    private Map<String, Integer> assignment;
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (!ExecutionContext.isSharded()) {
+            return FilterResult.included("sem sharding");
+        }
+        if (isCucumberEngine(descriptor)) {
+            // Visitado antes dos filhos: a partição fica pronta antes do primeiro cenário
+            assign(descriptor);
+        }
+        if (!descriptor.isTest()) {
+            // Containers sem cenários restantes são removidos pelo JUnit após o filtro
+            return FilterResult.included("container");
+        }
+        String key = ScenarioTimings.keyOf(descriptor).orElse(descriptor.getUniqueId().toString());
+        int shard = assignment != null && assignment.containsKey(key)
+            ? assignment.get(key) : hashShard(key, ExecutionContext.getShardCount());
+        return shard == ExecutionContext.getShardIndex()
+            ? FilterResult.included("shard " + shard)
+            : FilterResult.excluded("shard " + shard + " (esta JVM: shard " + ExecutionContext.getShardIndex() + ")");
+    }
+
+    private void assign(TestDescriptor engine) {
+        var logger = org.slf4j.LoggerFactory.getLogger(ShardFilter.class);
+        List<String> keys = new ArrayList<>();
+        collectKeys(engine, keys);
+        if (keys.isEmpty()) {
+            // Engine Cucumber de nível superior (sem features selecionadas): as features vêm pela suíte
+            return;
+        }
+        int count = ExecutionContext.getShardCount();
+        long[] load = new long[count];
+        int[] scenarios = new int[count];
+        ScenarioTimings timings = "duration".equalsIgnoreCase(STRATEGY) ? ScenarioTimings.load() : null;
+        if (timings != null && timings.size() == 0) {
+            logger.warn("⚠️ [SHARD] Estratégia duration sem histórico de duração: usando hash");
+        }
+        assignment = partition(keys, count, timings, load, scenarios);
+
+        int index = ExecutionContext.getShardIndex();
+        if (timings != null && timings.size() > 0) {
+            logger.info("🧩 [SHARD] Shard {}/{} (duration): {} de {} cenários, ~{}s estimados (maior shard ~{}s)",
+                index, count, scenarios[index], keys.size(), load[index] / 1000,
+                Arrays.stream(load).max().orElse(0) / 1000);
+        } else {
+            logger.info("🧩 [SHARD] Shard {}/{} (hash): {} de {} cenários", index, count, scenarios[index], keys.size());
+        }
+    }
+
+    /**
+     * Atribui cada cenário a um shard: LPT pelo histórico (se houver durações) ou hash da chave.
+     * O resultado depende só das chaves e do histórico, não da ordem de descoberta.
+     *
+     * @param timings Histórico de duração (null ou vazio = hash)
+     * @param load Preenchido com o tempo estimado (ms) por shard (zero no hash)
+     * @param scenarios Preenchido com o número de cenários por shard
+     * @return Chave do cenário -> shard
+     */
+    static Map<String, Integer> partition(List<String> keys, int count, ScenarioTimings timings,
+                                          long[] load, int[] scenarios) {
+        Map<String, Integer> result = new HashMap<>();
+        if (timings != null && timings.size() > 0) {
+            long average = timings.averageMillis();
+            Map<String, Long> estimates = new HashMap<>();
+            keys.forEach(key -> estimates.put(key, timings.getMillis(key) != null ? timings.getMillis(key) : average));
+            // Mais longo primeiro, desempate pela chave: mesma ordem em todas as JVMs
+            List<String> ordered = new ArrayList<>(keys);
+            ordered.sort(Comparator.comparing((String key) -> estimates.get(key)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+            for (String key : ordered) {
+                int lightest = 0;
+                for (int shard = 1; shard < count; shard++) {
+                    if (load[shard] < load[lightest]) {
+                        lightest = shard;
+                    }
+                }
+                load[lightest] += estimates.get(key);
+                scenarios[lightest]++;
+                result.put(key, lightest);
+            }
+        } else {
+            for (String key : keys) {
+                int shard = hashShard(key, count);
+                scenarios[shard]++;
+                result.put(key, shard);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Shard pelo hash da chave: String.hashCode é especificado pela linguagem, igual em qualquer JVM.
+     */
+    static int hashShard(String key, int count) {
+        return Math.floorMod(key.hashCode(), count);
+    }
+
+    private static boolean isCucumberEngine(TestDescriptor descriptor) {
+        return descriptor.getUniqueId().getLastSegment().getType().equals("engine")
+            && descriptor.getUniqueId().getLastSegment().getValue().equals("cucumber");
+    }
+
+    private static void collectKeys(TestDescriptor descriptor, List<String> keys) {
+        if (descriptor.isTest()) {
+            keys.add(ScenarioTimings.keyOf(descriptor).orElse(descriptor.getUniqueId().toString()));
+        }
+        descriptor.getChildren().forEach(child -> collectKeys(child, keys));
+    }
+}
@@ -0,0 +1,115 @@
+package com.nulote.journey.runners;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste unitário da divisão de cenários entre shards: a atribuição por hash e por LPT depende só
+ * das chaves e do histórico, de modo que todas as JVMs chegam ao mesmo particionamento.
+ */
+@DisplayName("ShardFilter - Atribuição determinística de cenários")
+class ShardFilterTest {
+
+    @Test
+    @DisplayName("Deve atribuir os mesmos shards por hash independentemente da ordem de descoberta")
+    void deve_atribuir_mesmos_shards_por_hash() {
+        // Arrange
+        List<String> keys = keys(200);
+        List<String> shuffled = new ArrayList<>(keys);
+        Collections.shuffle(shuffled, new Random(42));
+
+        // Act
+        Map<String, Integer> first = ShardFilter.partition(keys, 4, null, new long[4], new int[4]);
+        Map<String, Integer> second = ShardFilter.partition(shuffled, 4, null, new long[4], new int[4]);
+
+        // Assert
+        assertThat(second).isEqualTo(first);
+        assertThat(first).hasSize(200);
+        assertThat(first.values()).allMatch(shard -> shard >= 0 && shard < 4);
+        assertThat(first).allSatisfy((key, shard) -> assertThat(shard).isEqualTo(ShardFilter.hashShard(key, 4)));
+    }
+
+    @Test
+    @DisplayName("Deve distribuir pelo LPT colocando cada cenário no shard mais leve")
+    void deve_distribuir_pelo_lpt() {
+        // Arrange
+        ScenarioTimings timings = ScenarioTimings.of(Map.of(
+            "features/a.feature:3", 8_000L,
+            "features/b.feature:3", 7_000L,
+            "features/c.feature:3", 6_000L,
+            "features/d.feature:3", 5_000L,
+            "features/e.feature:3", 4_000L));
+        long[] load = new long[2];
+        int[] scenarios = new int[2];
+
+        // Act
+        Map<String, Integer> assignment = ShardFilter.partition(
+            List.of("features/e.feature:3", "features/c.feature:3", "features/a.feature:3",
+                "features/d.feature:3", "features/b.feature:3"),
+            2, timings, load, scenarios);
+
+        // Assert - 8 -> 0, 7 -> 1, 6 -> 1, 5 -> 0, 4 -> 0
+        assertThat(assignment).containsExactlyInAnyOrderEntriesOf(Map.of(
+            "features/a.feature:3", 0,
+            "features/b.feature:3", 1,
+            "features/c.feature:3", 1,
+            "features/d.feature:3", 0,
+            "features/e.feature:3", 0));
+        assertThat(load).containsExactly(17_000L, 13_000L);
+        assertThat(scenarios).containsExactly(3, 2);
+    }
+
+    @Test
+    @DisplayName("Deve repetir a atribuição LPT com empates e cenários sem histórico em qualquer ordem")
+    void deve_repetir_atribuicao_lpt_com_empates_e_cenarios_novos() {
+        // Arrange - durações iguais e cenários novos (estimados pela média) dependem do desempate pela chave
+        ScenarioTimings timings = ScenarioTimings.of(Map.of(
+            "features/key0.feature:5", 3_000L,
+            "features/key1.feature:5", 3_000L,
+            "features/key2.feature:5", 3_000L,
+            "features/key3.feature:5", 1_000L));
+        List<String> keys = keys(30);
+        List<String> shuffled = new ArrayList<>(keys);
+        Collections.shuffle(shuffled, new Random(7));
+
+        // Act
+        Map<String, Integer> first = ShardFilter.partition(keys, 3, timings, new long[3], new int[3]);
+        Map<String, Integer> second = ShardFilter.partition(shuffled, 3, timings, new long[3], new int[3]);
+
+        // Assert
+        assertThat(second).isEqualTo(first);
+        assertThat(first.values()).containsOnly(0, 1, 2);
+    }
+
+    @Test
+    @DisplayName("Deve usar hash quando o histórico de duração está vazio")
+    void deve_usar_hash_quando_historico_vazio() {
+        // Arrange
+        List<String> keys = keys(50);
+        int[] scenarios = new int[3];
+
+        // Act
+        Map<String, Integer> assignment = ShardFilter.partition(keys, 3, ScenarioTimings.of(Map.of()),
+            new long[3], scenarios);
+
+        // Assert
+        assertThat(assignment).isEqualTo(ShardFilter.partition(keys, 3, null, new long[3], new int[3]));
+        assertThat(scenarios[0] + scenarios[1] + scenarios[2]).isEqualTo(50);
+    }
+
+    private static List<String> keys(int count) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            keys.add("features/key" + i + ".feature:5");
+        }
+        return keys;
+    }
+}
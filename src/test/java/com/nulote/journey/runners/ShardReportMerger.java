@@ -0,0 +1,111 @@
+package com.nulote.journey.runners;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Consolida os relatórios de uma execução com sharding (scripts/run-shards.sh).
+ *
+ * - target/cucumber-reports/shard-*&#47;cucumber.json: features agrupadas por uri, com os elementos
+ *   de cada shard concatenados na ordem original (o Background continua antes do seu cenário),
+ *   gravadas em target/cucumber-reports/cucumber.json e incorporadas ao {@link ScenarioTimings};
+ * - allure-results/shard-*: resultados movidos para allure-results (nomes são UUIDs, sem colisão).
+ *
+ * Uso: mvn exec:java -Dexec.mainClass=com.nulote.journey.runners.ShardReportMerger -Dexec.classpathScope=test
+ * Argumentos opcionais: [diretório cucumber-reports] [diretório allure-results]
+ */
+public final class ShardReportMerger {
+
+    private ShardReportMerger() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path reportsDir = Paths.get(args.length > 0 ? args[0] : "target/cucumber-reports");
+        Path allureDir = Paths.get(args.length > 1 ? args[1] : "allure-results");
+
+        Path merged = mergeCucumberJson(reportsDir);
+        if (merged != null) {
+            ScenarioTimings.update(merged);
+        }
+        mergeAllureResults(allureDir);
+    }
+
+    static Path mergeCucumberJson(Path reportsDir) throws IOException {
+        var logger = org.slf4j.LoggerFactory.getLogger(ShardReportMerger.class);
+        List<Path> shardReports = shardDirs(reportsDir).stream()
+            .map(dir -> dir.resolve("cucumber.json"))
+            .filter(Files::exists)
+            .toList();
+        if (shardReports.isEmpty()) {
+            logger.warn("⚠️ [SHARD] Nenhum cucumber.json de shard em {}", reportsDir);
+            return null;
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, ObjectNode> featuresByUri = new LinkedHashMap<>();
+        int scenarios = 0;
+        for (Path report : shardReports) {
+            for (JsonNode feature : mapper.readTree(report.toFile())) {
+                String uri = feature.path("uri").asText();
+                ObjectNode target = featuresByUri.get(uri);
+                if (target == null) {
+                    featuresByUri.put(uri, ((ObjectNode) feature).deepCopy());
+                } else {
+                    ((ArrayNode) target.withArray("elements")).addAll((ArrayNode) feature.path("elements"));
+                }
+                for (JsonNode element : feature.path("elements")) {
+                    if (!"background".equals(element.path("type").asText())) {
+                        scenarios++;
+                    }
+                }
+            }
+        }
+
+        ArrayNode features = mapper.createArrayNode();
+        featuresByUri.values().forEach(features::add);
+        Path merged = reportsDir.resolve("cucumber.json");
+        mapper.writerWithDefaultPrettyPrinter().writeValue(merged.toFile(), features);
+        logger.info("🧩 [SHARD] {} shards consolidados em {}: {} features, {} cenários",
+            shardReports.size(), merged, featuresByUri.size(), scenarios);
+        return merged;
+    }
+
+    static void mergeAllureResults(Path allureDir) throws IOException {
+        var logger = org.slf4j.LoggerFactory.getLogger(ShardReportMerger.class);
+        int moved = 0;
+        for (Path shardDir : shardDirs(allureDir)) {
+            try (Stream<Path> files = Files.list(shardDir)) {
+                for (Path file : files.filter(Files::isRegularFile).toList()) {
+                    Files.move(file, allureDir.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                    moved++;
+                }
+            }
+            Files.deleteIfExists(shardDir);
+        }
+        logger.info("🧩 [SHARD] {} arquivos de resultado Allure consolidados em {}", moved, allureDir);
+    }
+
+    private static List<Path> shardDirs(Path parent) throws IOException {
+        if (!Files.isDirectory(parent)) {
+            return List.of();
+        }
+        try (Stream<Path> dirs = Files.list(parent)) {
+            return dirs.filter(Files::isDirectory)
+                .filter(dir -> dir.getFileName().toString().startsWith("shard-"))
+                .sorted()
+                .toList();
+        }
+    }
+}
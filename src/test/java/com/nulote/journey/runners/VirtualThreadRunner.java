@@ -0,0 +1,407 @@
+package com.nulote.journey.runners;
+
+import com.nulote.journey.fixtures.ExecutionContext;
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.feature.FeatureParser;
+import io.cucumber.core.filter.Filters;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.options.CucumberProperties;
+import io.cucumber.core.options.CucumberPropertiesParser;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.core.plugin.PluginFactory;
+import io.cucumber.core.plugin.Plugins;
+import io.cucumber.core.resource.ClassLoaders;
+import io.cucumber.core.runner.Runner;
+import io.cucumber.core.runtime.BackendServiceLoader;
+import io.cucumber.core.runtime.BackendSupplier;
+import io.cucumber.core.runtime.CucumberExecutionContext;
+import io.cucumber.core.runtime.ExitStatus;
+import io.cucumber.core.runtime.FeaturePathFeatureSupplier;
+import io.cucumber.core.runtime.ObjectFactoryServiceLoader;
+import io.cucumber.core.runtime.ObjectFactorySupplier;
+import io.cucumber.core.runtime.RunnerSupplier;
+import io.cucumber.core.runtime.ThreadLocalObjectFactorySupplier;
+import io.cucumber.core.runtime.TimeServiceEventBus;
+import io.cucumber.plugin.event.EventHandler;
+import io.cucumber.plugin.event.TestCaseFinished;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Modo de execução com um cenário por virtual thread (mvn test -Pvthreads).
+ *
+ * A suíte passa quase todo o tempo bloqueada em HTTP, AMQP e esperas; no runner JUnit a concorrência
+ * é limitada pelo número de threads de plataforma do ForkJoin. Aqui cada cenário roda em uma virtual
+ * thread e a concorrência real é limitada por serviço ({@code ServiceConcurrencyLimiter},
+ * e2e.service-concurrency) e pelo teto de cenários simultâneos (journey.vthreads.max-scenarios,
+ * padrão 256).
+ *
+ * Usa o runtime do cucumber-core diretamente (o executor do engine JUnit Platform não é substituível),
+ * com a mesma configuração do runner JUnit: cucumber.properties + propriedades de sistema
+ * (cucumber.filter.tags, cucumber.plugin, ...), ordem por duração ({@link ScenarioTimings}),
+ * sharding por hash (journey.shard) e recursos exclusivos de junit-platform.properties
+ * (cucumber.execution.exclusive-resources.&lt;tag&gt;.read-write|read).
+ *
+ * Os Runners do Cucumber (glue + object factory) são reaproveitados entre cenários: cada cenário
+ * aluga um Runner livre e o devolve ao terminar, e o pool cresce até o pico de cenários simultâneos.
+ * Pinning de virtual threads é detectado e reportado ao final ({@link PinningMonitor}).
+ */
+public final class VirtualThreadRunner {
+
+    private static final int MAX_SCENARIOS = Integer.getInteger("journey.vthreads.max-scenarios", 256);
+    private static final String EXCLUSIVE_RESOURCES = "cucumber.execution.exclusive-resources.";
+
+    private VirtualThreadRunner() {
+    }
+
+    public static void main(String[] args) {
+        int status;
+        try (PinningMonitor ignored = PinningMonitor.start()) {
+            status = new VirtualThreadRunner().run();
+        } catch (RuntimeException e) {
+            // Falha fora dos cenários (ex: @BeforeAll, plugin de relatório)
+            org.slf4j.LoggerFactory.getLogger(VirtualThreadRunner.class).error("❌ [VTHREADS] Execução interrompida", e);
+            status = 2;
+        }
+        // Encerra a JVM (e o contexto Spring, via shutdown hook) mesmo com threads não daemon ativas
+        System.exit(status);
+    }
+
+    private int run() {
+        var logger = org.slf4j.LoggerFactory.getLogger(VirtualThreadRunner.class);
+        RuntimeOptions options = options(true);
+        Supplier<ClassLoader> classLoader = ClassLoaders::getDefaultClassLoader;
+        EventBus bus = new LockedEventBus(new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID));
+
+        ExitStatus exitStatus = new ExitStatus(options);
+        Plugins plugins = new Plugins(new PluginFactory(), options);
+        plugins.addPlugin(exitStatus);
+        // Cenários concorrentes: plugins não concorrentes (ex: JSON) recebem os eventos em ordem canônica
+        plugins.setSerialEventBusOnEventListenerPlugins(bus);
+
+        ObjectFactorySupplier objectFactories =
+            new ThreadLocalObjectFactorySupplier(new ObjectFactoryServiceLoader(classLoader, options));
+        BackendSupplier backends = new BackendServiceLoader(classLoader, objectFactories);
+        // Backends antes da object factory: na mesma thread, ambos recebem a mesma instância
+        RunnerPool runners = new RunnerPool(() -> new Runner(bus, backends.get(), objectFactories.get(), options));
+        CucumberExecutionContext context = new CucumberExecutionContext(bus, exitStatus, runners);
+        AtomicInteger failed = new AtomicInteger();
+        bus.registerHandlerFor(TestCaseFinished.class, event -> {
+            if (!event.getResult().getStatus().isOk()) {
+                failed.incrementAndGet();
+            }
+        });
+
+        List<Feature> features = new FeaturePathFeatureSupplier(classLoader, options, new FeatureParser(bus::generateId)).get();
+        List<Pickle> pickles = select(features, new Filters(options));
+        ExclusiveResources exclusive = ExclusiveResources.load();
+
+        logger.info("🧵 [VTHREADS] {} cenários em virtual threads (até {} simultâneos), recursos exclusivos: {}",
+            pickles.size(), MAX_SCENARIOS, exclusive.tags());
+        long start = System.nanoTime();
+        context.runFeatures(() -> {
+            features.forEach(context::beforeFeature);
+            Semaphore slots = new Semaphore(MAX_SCENARIOS);
+            try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("e2e-scenario-", 0).factory())) {
+                for (Pickle pickle : pickles) {
+                    // Submissão na ordem (mais longos primeiro): o teto é aplicado antes de criar a thread
+                    slots.acquire();
+                    executor.submit(() -> {
+                        try {
+                            runScenario(context, runners, pickle, exclusive);
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                }
+            } // close() aguarda todos os cenários
+        });
+        logger.info("🧵 [VTHREADS] {} cenários concluídos em {}s, {} com falha ({} Runners Cucumber criados)",
+            pickles.size(), TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), failed.get(), runners.created());
+        return failed.get() == 0 ? 0 : 1;
+    }
+
+    /**
+     * Executa um cenário na thread atual, com os recursos exclusivos das suas tags, e devolve o Runner ao pool.
+     */
+    static void runScenario(CucumberExecutionContext context, RunnerPool runners, Pickle pickle,
+                            ExclusiveResources exclusive) {
+        List<Lock> locks = exclusive.locksFor(pickle);
+        locks.forEach(Lock::lock);
+        try {
+            context.runTestCase(runner -> runner.runPickle(pickle));
+        } finally {
+            runners.release();
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    /**
+     * Recursos exclusivos por tag (junit-platform.properties): mesmos que o runner JUnit aplica.
+     */
+    private static Map<String, ExclusiveResource> exclusiveTags() {
+        Map<String, ExclusiveResource> exclusive = new HashMap<>();
+        Properties properties = new Properties();
+        try (InputStream in = VirtualThreadRunner.class.getResourceAsStream("/junit-platform.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            var logger = org.slf4j.LoggerFactory.getLogger(VirtualThreadRunner.class);
+            logger.warn("⚠️ [VTHREADS] junit-platform.properties indisponível: {}. Sem recursos exclusivos.", e.getMessage());
+        }
+        properties.stringPropertyNames().stream()
+            .filter(key -> key.startsWith(EXCLUSIVE_RESOURCES))
+            .forEach(key -> {
+                String suffix = key.substring(EXCLUSIVE_RESOURCES.length());
+                String tag = "@" + suffix.substring(0, suffix.lastIndexOf('.'));
+                exclusive.put(tag, new ExclusiveResource(properties.getProperty(key).trim(), suffix.endsWith(".read-write")));
+            });
+        return exclusive;
+    }
+
+    /**
+     * Cenários selecionados pelos filtros do Cucumber e pelo shard desta JVM, do mais longo para o mais curto.
+     */
+    private static List<Pickle> select(List<Feature> features, Predicate<Pickle> filter) {
+        var logger = org.slf4j.LoggerFactory.getLogger(VirtualThreadRunner.class);
+        List<Pickle> pickles = new ArrayList<>();
+        features.forEach(feature -> feature.getPickles().stream().filter(filter).forEach(pickles::add));
+
+        if (ExecutionContext.isSharded()) {
+            int total = pickles.size();
+            pickles.removeIf(pickle -> ShardFilter.hashShard(key(pickle), ExecutionContext.getShardCount()) != ExecutionContext.getShardIndex());
+            logger.info("🧩 [SHARD] Shard {}/{} (hash): {} de {} cenários",
+                ExecutionContext.getShardIndex(), ExecutionContext.getShardCount(), pickles.size(), total);
+        }
+
+        if (Boolean.parseBoolean(System.getProperty("journey.scheduler.enabled", "true"))) {
+            ScenarioTimings timings = ScenarioTimings.load();
+            if (timings.size() > 0) {
+                long average = timings.averageMillis();
+                // Ordenação estável: empates mantêm a ordem das features
+                pickles.sort(Comparator.comparingLong((Pickle pickle) -> {
+                    Long millis = timings.getMillis(key(pickle));
+                    return millis != null ? millis : average;
+                }).reversed());
+            }
+        }
+        return pickles;
+    }
+
+    static String key(Pickle pickle) {
+        return ScenarioTimings.key(pickle.getUri().toString(), pickle.getLocation().getLine());
+    }
+
+    /**
+     * Opções na mesma precedência do Cucumber: cucumber.properties, ambiente e propriedades de sistema.
+     *
+     * @param reports false para ignorar cucumber.plugin e o resumo final (ex: modo carga, onde relatórios
+     *                por cenário não fazem sentido)
+     */
+    static RuntimeOptions options(boolean reports) {
+        Map<String, String> fromFile = new HashMap<>(CucumberProperties.fromPropertiesFile());
+        fromFile.putIfAbsent("cucumber.features", "classpath:features");
+        Map<String, String> fromEnvironment = new HashMap<>(CucumberProperties.fromEnvironment());
+        Map<String, String> fromSystem = new HashMap<>(CucumberProperties.fromSystemProperties());
+        if (!reports) {
+            List.of(fromFile, fromEnvironment, fromSystem).forEach(properties -> properties.remove("cucumber.plugin"));
+        }
+        RuntimeOptions options = new CucumberPropertiesParser().parse(fromFile).build();
+        options = new CucumberPropertiesParser().parse(fromEnvironment).build(options);
+        var builder = new CucumberPropertiesParser().parse(fromSystem).addDefaultGlueIfAbsent();
+        return reports ? builder.addDefaultSummaryPrinterIfNotDisabled().build(options) : builder.build(options);
+    }
+
+    /**
+     * Recursos exclusivos das tags (junit-platform.properties) e seus locks, compartilhados pelos cenários.
+     */
+    static final class ExclusiveResources {
+
+        private final Map<String, ExclusiveResource> byTag;
+        private final Map<String, ReentrantReadWriteLock> resourceLocks = new ConcurrentHashMap<>();
+
+        private ExclusiveResources(Map<String, ExclusiveResource> byTag) {
+            this.byTag = byTag;
+        }
+
+        static ExclusiveResources load() {
+            return new ExclusiveResources(exclusiveTags());
+        }
+
+        Set<String> tags() {
+            return byTag.keySet();
+        }
+
+        /**
+         * Locks dos recursos exclusivos do cenário, na ordem do nome do recurso (sem deadlock entre cenários).
+         */
+        List<Lock> locksFor(Pickle pickle) {
+            Map<String, Boolean> writeByResource = new TreeMap<>();
+            for (String tag : pickle.getTags()) {
+                ExclusiveResource exclusive = byTag.get(tag);
+                if (exclusive != null) {
+                    writeByResource.merge(exclusive.resource, exclusive.write, Boolean::logicalOr);
+                }
+            }
+            List<Lock> locks = new ArrayList<>();
+            writeByResource.forEach((resource, write) -> {
+                ReentrantReadWriteLock lock = resourceLocks.computeIfAbsent(resource, r -> new ReentrantReadWriteLock(true));
+                locks.add(write ? lock.writeLock() : lock.readLock());
+            });
+            return locks;
+        }
+    }
+
+    /**
+     * Recurso exclusivo de uma tag: read-write serializa os cenários, read permite leitores simultâneos.
+     */
+    static final class ExclusiveResource {
+        final String resource;
+        final boolean write;
+
+        ExclusiveResource(String resource, boolean write) {
+            this.resource = resource;
+            this.write = write;
+        }
+    }
+
+    /**
+     * Event bus com ReentrantLock no lugar do SynchronizedEventBus do Cucumber.
+     *
+     * Os handlers (ex: pretty) escrevem em System.out dentro do lock do bus: com synchronized, a virtual
+     * thread que aguarda o PrintStream fica fixada no carrier, os carriers restantes ficam fixados
+     * esperando o monitor do bus, e a virtual thread dona do PrintStream não tem carrier para continuar
+     * (deadlock com poucos cores). Com ReentrantLock, quem espera libera o carrier.
+     */
+    static final class LockedEventBus implements EventBus {
+
+        private final EventBus delegate;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        LockedEventBus(EventBus delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Instant getInstant() {
+            return delegate.getInstant();
+        }
+
+        @Override
+        public UUID generateId() {
+            return delegate.generateId();
+        }
+
+        @Override
+        public <T> void send(T event) {
+            lock.lock();
+            try {
+                delegate.send(event);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public <T> void sendAll(Iterable<T> events) {
+            lock.lock();
+            try {
+                delegate.sendAll(events);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public <T> void registerHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+            lock.lock();
+            try {
+                delegate.registerHandlerFor(eventType, handler);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public <T> void removeHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+            lock.lock();
+            try {
+                delegate.removeHandlerFor(eventType, handler);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Runners reaproveitados entre cenários: o Runner fica alugado pela virtual thread do cenário
+     * até {@link #release()} e volta para a fila de livres. Novos Runners são criados (carregando
+     * glue e object factory) apenas quando não há nenhum livre.
+     */
+    static final class RunnerPool implements RunnerSupplier {
+
+        private final Supplier<Runner> factory;
+        private final ConcurrentLinkedQueue<Runner> idle = new ConcurrentLinkedQueue<>();
+        private final ThreadLocal<Runner> leased = new ThreadLocal<>();
+        private final AtomicInteger created = new AtomicInteger();
+
+        RunnerPool(Supplier<Runner> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public Runner get() {
+            Runner runner = leased.get();
+            if (runner == null) {
+                runner = idle.poll();
+                if (runner == null) {
+                    runner = factory.get();
+                    created.incrementAndGet();
+                }
+                leased.set(runner);
+            }
+            return runner;
+        }
+
+        void release() {
+            Runner runner = leased.get();
+            if (runner != null) {
+                leased.remove();
+                idle.offer(runner);
+            }
+        }
+
+        int created() {
+            return created.get();
+        }
+    }
+}
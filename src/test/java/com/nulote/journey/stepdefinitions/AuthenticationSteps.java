@@ -6,6 +6,7 @@ import com.nulote.journey.clients.ProfileServiceClient;
 import com.nulote.journey.fixtures.UserFixture;
 import com.nulote.journey.utils.AllureHelper;
 import com.nulote.journey.utils.RabbitMQHelper;
+import com.nulote.journey.utils.WaitHelper;
 import io.cucumber.java.pt.Dado;
 import io.cucumber.java.pt.Então;
 import io.cucumber.java.pt.Quando;
@@ -19,7 +20,9 @@ import static org.awaitility.Awaitility.await;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * Step definitions para cenários de autenticação e registro.
@@ -48,6 +51,12 @@ public class AuthenticationSteps {
     @Autowired(required = false)
     private com.nulote.journey.fixtures.TestDataCache testDataCache;
     
+    @Autowired
+    private com.nulote.journey.clients.AuthTokenCache authTokenCache;
+    
+    @Autowired
+    private com.nulote.journey.fixtures.UserPool userPool;
+    
     // Configurações de timeout para eventos assíncronos
     @Value("${e2e.event-timeout-seconds:3}")
     private long eventTimeoutSeconds;
@@ -477,16 +486,8 @@ public class AuthenticationSteps {
         
         logger.info("🔧 [TROUBLESHOOTING] Enviando requisição OTP para Auth Service...");
         
-        // CORREÇÃO: Adicionar delay antes de requisições OTP para evitar rate limiting
-        // quando há múltiplas requisições em sequência
-        // Delay aumentado para 500ms para reduzir chance de rate limiting
-        try {
-            Thread.sleep(500); // 500ms de delay para evitar rate limiting em requisições rápidas
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.warn("⚠️ [TROUBLESHOOTING] Delay interrompido antes de solicitar OTP");
-        }
-        
+        // Rate limiting: o espaçamento entre requisições OTP é feito pelo RateLimitPacer do client
+        // (token bucket compartilhado por endpoint e país), sem delay fixo por requisição
         lastResponse = authClient.requestOtp(request);
         
         int statusCode = lastResponse.getStatusCode();
@@ -498,7 +499,7 @@ public class AuthenticationSteps {
             
             // Se for rate limiting, sugerir aumentar o delay
             if (statusCode == 429) {
-                logger.warn("⚠️ [TROUBLESHOOTING] Rate limiting detectado. Considere aumentar o delay entre requisições OTP.");
+                logger.warn("⚠️ [TROUBLESHOOTING] Rate limiting detectado. Considere reduzir e2e.rate-limit-retry.requests-per-second (pacer).");
             }
         } else {
             logger.info("✅ [TROUBLESHOOTING] Resposta OTP bem-sucedida (200)");
@@ -584,76 +585,28 @@ public class AuthenticationSteps {
         // Estratégia 2: Consumir da fila RabbitMQ (pode ter sido consumido por outros consumidores)
         // O evento é publicado via Outbox Pattern, que pode ter delay de 2-5 segundos
         try {
-            // Usar configuração otimizada de timeout e polling
-            await().atMost(eventTimeoutSeconds, SECONDS).pollInterval(eventPollIntervalMs, MILLISECONDS)
-                .until(() -> {
-                    var event = rabbitMQHelper.consumeMessage("otp.sent");
-                    
-                    if (event != null) {
-                        logger.debug("Evento recebido. Tipo: {}, Payload: {}", event.getType(), event.getPayload());
-                        
-                        // O evento OtpSentV1 é serializado diretamente como JSON no RabbitMQ
-                        // O RabbitMQHelper já parseou como Map no payload
-                        java.util.Map<String, Object> payload = event.getPayload();
-                        
-                        if (payload != null) {
-                            logger.debug("Campos disponíveis no payload: {}", payload.keySet());
-                            
-                            // Tentar extrair código do payload (pode estar em diferentes campos)
-                            Object codeObj = payload.get("otpCode");
-                            if (codeObj == null) {
-                                codeObj = payload.get("code");
-                            }
-                            if (codeObj == null) {
-                                codeObj = payload.get("otp_code");
-                            }
-                            
-                            if (codeObj != null) {
-                                otpCode = codeObj.toString().trim();
-                                // Garantir que código tem exatamente 6 dígitos
-                                otpCode = otpCode.replaceAll("[^0-9]", "");
-                                if (otpCode.length() != 6) {
-                                    logger.error("Código OTP extraído não tem 6 dígitos. Código: {}, Tamanho: {}", otpCode, otpCode.length());
-                                    throw new IllegalStateException("Código OTP deve ter exatamente 6 dígitos, mas recebeu: " + otpCode);
-                                }
-                                userFixture.setOtpCode(otpCode);
-                                
-                                // Também extrair otpId se disponível e ainda não foi definido
-                                Object otpIdObj = payload.get("otpId");
-                                if (otpIdObj == null) {
-                                    otpIdObj = payload.get("otp_id");
-                                }
-                                if (otpIdObj == null) {
-                                    otpIdObj = payload.get("otpUuid");
-                                }
-                                if (otpIdObj == null) {
-                                    otpIdObj = payload.get("uuid");
-                                }
-                                
-                                if (otpIdObj != null) {
-                                    String otpIdStr = otpIdObj.toString();
-                                    userFixture.setOtpUuid(otpIdStr);
-                                    logger.debug("OTP ID extraído do evento: {}", otpIdStr);
-                                } else {
-                                    logger.warn("OTP ID não encontrado no evento. Verificando se foi definido anteriormente...");
-                                    // Se otpUuid não foi encontrado no evento mas foi definido na resposta da API, está OK
-                                    if (userFixture.getOtpUuid() == null) {
-                                        logger.error("OTP ID não está disponível nem no evento nem na resposta da API");
-                                    }
-                                }
-                                
-                                logger.info("✅ Código OTP recebido do evento: {} (OTP UUID: {})", otpCode, userFixture.getOtpUuid());
-                                return true;
-                            } else {
-                                logger.warn("Payload recebido mas campo 'otpCode'/'code' não encontrado. Campos disponíveis: {}", payload.keySet());
-                            }
-                        } else {
-                            logger.warn("Evento recebido mas payload é null");
-                        }
-                    }
-                    
-                    return false;
-                });
+            // Evento do OTP deste cenário (otpId ou e-mail) com código válido; a condição roda no thread de
+            // entrega do RabbitMQ, então só lê o evento - o fixture é atualizado abaixo, no thread do step
+            var otpSentEvent = rabbitMQHelper.awaitEvent("otp.sent", userFixture.getEventCorrelationKeys("otp.sent"),
+                event -> otpCodeOf(event) != null, Duration.ofSeconds(eventTimeoutSeconds)).join();
+            if (otpSentEvent == null) {
+                throw new IllegalStateException("Evento otp.sent não recebido em " + eventTimeoutSeconds + "s");
+            }
+            logger.debug("Evento recebido. Tipo: {}, Payload: {}", otpSentEvent.getType(), otpSentEvent.getPayload());
+            
+            otpCode = otpCodeOf(otpSentEvent);
+            userFixture.setOtpCode(otpCode);
+            
+            // Também registrar o otpId do evento (pode não ter vindo na resposta da API)
+            String eventOtpId = otpIdOf(otpSentEvent);
+            if (eventOtpId != null) {
+                userFixture.setOtpUuid(eventOtpId);
+                logger.debug("OTP ID extraído do evento: {}", eventOtpId);
+            } else if (userFixture.getOtpUuid() == null) {
+                logger.error("OTP ID não está disponível nem no evento nem na resposta da API");
+            }
+            
+            logger.info("✅ Código OTP recebido do evento: {} (OTP UUID: {})", otpCode, userFixture.getOtpUuid());
         } catch (Exception e) {
             logger.error("Não foi possível obter código OTP. Erro: {}", e.getMessage(), e);
             logger.error("Estratégias tentadas:");
@@ -1305,17 +1258,67 @@ public class AuthenticationSteps {
         userFixture.setJwtToken(jwt); // Armazenar também no UserFixture para uso pelos clientes HTTP
     }
     
+    /**
+     * Aguarda o evento do tipo publicado para este cenário (otpId, userUuid ou e-mail do UserFixture).
+     * Com cenários em paralelo, "o primeiro evento do tipo" pode ser de um vizinho.
+     * 
+     * @return Evento do cenário, ou null se nenhum chegar no prazo
+     */
+    private RabbitMQHelper.Event awaitScenarioEvent(String eventType, Predicate<RabbitMQHelper.Event> condition,
+                                                    Duration timeout) {
+        return rabbitMQHelper.awaitEvent(eventType, userFixture.getEventCorrelationKeys(eventType), condition, timeout).join();
+    }
+    
+    /**
+     * Código OTP (6 dígitos) do payload de um evento otp.sent, ou null se ausente/inválido.
+     * Sem efeitos colaterais: também é usado como condição de espera no thread de entrega do RabbitMQ.
+     */
+    private static String otpCodeOf(RabbitMQHelper.Event event) {
+        Map<String, Object> payload = event.getPayload();
+        if (payload == null) {
+            return null;
+        }
+        // O código pode estar em diferentes campos conforme a versão do evento
+        Object codeObj = payload.get("otpCode");
+        if (codeObj == null) {
+            codeObj = payload.get("code");
+        }
+        if (codeObj == null) {
+            codeObj = payload.get("otp_code");
+        }
+        if (codeObj == null) {
+            return null;
+        }
+        String code = codeObj.toString().trim().replaceAll("[^0-9]", "");
+        return code.length() == 6 ? code : null;
+    }
+    
+    /**
+     * Identificador do OTP no payload de um evento otp.sent, ou null.
+     */
+    private static String otpIdOf(RabbitMQHelper.Event event) {
+        Map<String, Object> payload = event.getPayload();
+        if (payload == null) {
+            return null;
+        }
+        for (String field : new String[] {"otpId", "otp_id", "otpUuid", "uuid"}) {
+            Object value = payload.get(field);
+            if (value != null) {
+                return value.toString();
+            }
+        }
+        return null;
+    }
+    
     @Então("o evento {string} deve ser publicado")
     public void o_evento_deve_ser_publicado(String eventType) {
         // Verificar se evento foi publicado no RabbitMQ usando filas padrão do projeto
         // Se RabbitMQ não estiver disponível ou fila não existir, apenas logar warning
         try {
-            await().atMost(eventTimeoutSeconds, SECONDS).pollInterval(eventPollIntervalMs, MILLISECONDS)
-                .until(() -> {
-                    var message = rabbitMQHelper.consumeMessage(eventType);
-                    return message != null && 
-                           message.getType().equals(eventType);
-                });
+            var message = awaitScenarioEvent(eventType, null, Duration.ofSeconds(eventTimeoutSeconds));
+            if (message == null || !eventType.equals(message.getType())) {
+                throw new IllegalStateException("Evento " + eventType + " não recebido em " + eventTimeoutSeconds + "s");
+            }
             
             org.slf4j.LoggerFactory.getLogger(AuthenticationSteps.class)
                 .debug("Evento {} verificado com sucesso no RabbitMQ", eventType);
@@ -1894,21 +1897,14 @@ public class AuthenticationSteps {
             logger.debug("Aguardando criação de credenciais para usuário: {}", userUuid);
             // Aguardar pelo evento credentials.provisioned.v1 usando timeout configurado
             try {
-                await().atMost(eventTimeoutSeconds, SECONDS).pollInterval(eventPollIntervalMs, MILLISECONDS)
-                    .until(() -> {
-                        var message = rabbitMQHelper.consumeMessage("credentials.provisioned.v1");
-                        if (message != null && message.getType().equals("credentials.provisioned.v1")) {
-                            // Verificar se o evento é para o usuário correto
-                            Map<String, Object> payload = message.getPayload();
-                            String eventUserUuid = payload != null ? 
-                                (String) payload.get("userUuid") : null;
-                            if (userUuid.equals(eventUserUuid)) {
-                                logger.debug("Evento credentials.provisioned.v1 recebido para usuário: {}", userUuid);
-                                return true;
-                            }
-                        }
-                        return false;
-                    });
+                // Lookup pelo userUuid no índice de correlação (não retira eventos de outros cenários)
+                var provisioned = rabbitMQHelper.awaitEvent("credentials.provisioned.v1", userUuid,
+                    Duration.ofSeconds(eventTimeoutSeconds)).join();
+                if (provisioned != null) {
+                    logger.debug("Evento credentials.provisioned.v1 recebido para usuário: {}", userUuid);
+                } else {
+                    logger.debug("Evento credentials.provisioned.v1 não recebido em {}s para usuário: {}", eventTimeoutSeconds, userUuid);
+                }
             } catch (Exception e) {
                 // Se não conseguir verificar o evento, continuar mesmo assim
                 // (pode ser que as credenciais já estejam criadas ou o evento não seja necessário)
@@ -2224,15 +2220,12 @@ public class AuthenticationSteps {
     
     @Então("o evento {string} deve ser publicado com motivo {string}")
     public void o_evento_deve_ser_publicado_com_motivo(String eventType, String motivo) {
-        await().atMost(eventTimeoutSeconds, SECONDS).pollInterval(eventPollIntervalMs, MILLISECONDS)
-            .until(() -> {
-                var message = rabbitMQHelper.consumeMessage(
-                    "user.events", eventType);
-                return message != null && 
-                       message.getType().equals(eventType) &&
-                       message.getPayload() != null &&
-                       motivo.equals(message.getPayload().get("reason"));
-            });
+        var message = awaitScenarioEvent(eventType,
+            event -> event.getPayload() != null && motivo.equals(event.getPayload().get("reason")),
+            Duration.ofSeconds(eventTimeoutSeconds));
+        assertThat(message)
+            .as("Evento %s com motivo %s deve ser publicado", eventType, motivo)
+            .isNotNull();
     }
     
     @Dado("que esqueci minha senha")
@@ -2358,11 +2351,10 @@ public class AuthenticationSteps {
             .isEqualTo(200);
         
         // Verificar se evento foi publicado
-        await().atMost(eventTimeoutSeconds, SECONDS).pollInterval(eventPollIntervalMs, MILLISECONDS)
-            .until(() -> {
-                var event = rabbitMQHelper.consumeMessage("otp.validated");
-                return event != null;
-            });
+        var otpValidatedEvent = awaitScenarioEvent("otp.validated", null, Duration.ofSeconds(eventTimeoutSeconds));
+        assertThat(otpValidatedEvent)
+            .as("Evento otp.validated deve ser publicado após redefinição de senha")
+            .isNotNull();
     }
     
     @Dado("que não existe usuário com email {string}")
@@ -2419,24 +2411,29 @@ public class AuthenticationSteps {
     public void que_ja_estou_autenticado_na_plataforma() {
         var logger = org.slf4j.LoggerFactory.getLogger(AuthenticationSteps.class);
         
-        // Se o usuário já foi criado em um step anterior, apenas fazer login
+        // Pool: sem usuário no cenário, receber um pré-provisionado do país do cenário (só falta o login)
+        if (userFixture.getCreatedUserUuid() == null) {
+            var pooledUser = userPool.leaseFor(userFixture);
+            if (pooledUser != null) {
+                logger.info("♻️ [USER-POOL] Usuário pré-provisionado em uso: email={}, uuid={}",
+                    pooledUser.getEmail(), pooledUser.getUserUuid());
+            }
+        }
+        
+        // Se o usuário já foi criado em um step anterior, reutilizar o token em cache (ou fazer login)
         // Não precisamos criar um novo usuário se já existe um
         if (userFixture.getCreatedUserUuid() != null) {
-            logger.debug("Usuário já existe (UUID: {}). Apenas fazendo login...", userFixture.getCreatedUserUuid());
-            eu_faco_login_com_minhas_credenciais();
-            
-            // Verificar se login foi bem-sucedido
-            if (lastResponse != null && (lastResponse.getStatusCode() == 200 || lastResponse.getStatusCode() == 201)) {
-                try {
-                    currentJwtToken = lastResponse.jsonPath().getString("token");
-                    if (currentJwtToken != null) {
-                        userFixture.setJwtToken(currentJwtToken); // Armazenar também no UserFixture
-                        logger.info("✅ Login bem-sucedido. Token JWT obtido.");
-                        return; // Usuário já autenticado, não precisa criar novo
-                    }
-                } catch (Exception e) {
-                    logger.debug("Token não encontrado na resposta, mas login pode ter sido bem-sucedido");
-                }
+            logger.debug("Usuário já existe (UUID: {}). Obtendo token (cache ou login)...", userFixture.getCreatedUserUuid());
+            String token = authTokenCache.getAccessToken(currentUserEmail(), 
+                com.nulote.journey.clients.AuthTokenCache.SCOPE_PASSWORD_LOGIN, () -> {
+                    eu_faco_login_com_minhas_credenciais();
+                    return lastResponse;
+                });
+            if (token != null) {
+                currentJwtToken = token;
+                userFixture.setJwtToken(currentJwtToken); // Armazenar também no UserFixture
+                logger.info("✅ Usuário autenticado. Token JWT obtido.");
+                return; // Usuário já autenticado, não precisa criar novo
             }
         }
         
@@ -2510,6 +2507,8 @@ public class AuthenticationSteps {
                 }
                 if (currentJwtToken != null) {
                     userFixture.setJwtToken(currentJwtToken); // Armazenar também no UserFixture
+                    authTokenCache.store(currentUserEmail(), 
+                        com.nulote.journey.clients.AuthTokenCache.SCOPE_PASSWORD_LOGIN, lastResponse);
                 }
             } catch (Exception e) {
                 org.slf4j.LoggerFactory.getLogger(AuthenticationSteps.class)
@@ -2518,6 +2517,14 @@ public class AuthenticationSteps {
         }
     }
     
+    /**
+     * Email (username de login) do usuário atual, usado como chave do cache de tokens.
+     */
+    private String currentUserEmail() {
+        var userData = userFixture.getUserData();
+        return userData != null ? userData.get("email") : null;
+    }
+    
     @Dado("que tenho um token JWT válido")
     public void que_tenho_um_token_jwt_valido() {
         // Garantir que estamos autenticados e temos um token
@@ -2534,21 +2541,15 @@ public class AuthenticationSteps {
         // Se não temos token, tentar obter um fazendo login
         if (currentJwtToken == null) {
             org.slf4j.LoggerFactory.getLogger(AuthenticationSteps.class)
-                .warn("Token JWT não existe, tentando obter via login...");
+                .warn("Token JWT não existe, tentando obter via cache de tokens ou login...");
             try {
-                eu_faco_login_com_minhas_credenciais();
-                if (lastResponse != null && lastResponse.getStatusCode() == 200) {
-                    try {
-                        currentJwtToken = lastResponse.jsonPath().getString("token");
-                        if (currentJwtToken == null) {
-                            currentJwtToken = lastResponse.jsonPath().getString("accessToken");
-                        }
-                        if (currentJwtToken != null) {
-                            userFixture.setJwtToken(currentJwtToken); // Armazenar também no UserFixture
-                        }
-                    } catch (Exception e) {
-                        // Token não encontrado
-                    }
+                currentJwtToken = authTokenCache.getAccessToken(currentUserEmail(), 
+                    com.nulote.journey.clients.AuthTokenCache.SCOPE_PASSWORD_LOGIN, () -> {
+                        eu_faco_login_com_minhas_credenciais();
+                        return lastResponse;
+                    });
+                if (currentJwtToken != null) {
+                    userFixture.setJwtToken(currentJwtToken); // Armazenar também no UserFixture
                 }
             } catch (Exception e) {
                 org.slf4j.LoggerFactory.getLogger(AuthenticationSteps.class)
@@ -2912,15 +2913,9 @@ public class AuthenticationSteps {
     
     @Então("nenhum evento {string} deve ser publicado")
     public void nenhum_evento_deve_ser_publicado(String eventType) {
-        // Aguardar um pouco para garantir que se o evento fosse publicado, já teria sido
-        try {
-            Thread.sleep(500); // Aguardar 500ms
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
-        // Tentar consumir evento - não deve existir
-        var message = rabbitMQHelper.consumeMessage(eventType);
+        // Observar por 500ms: se o evento fosse publicado, já teria sido capturado (retorna antes se chegar)
+        // Só eventos deste cenário contam - vizinhos em paralelo podem publicar o mesmo tipo
+        var message = awaitScenarioEvent(eventType, null, Duration.ofMillis(500));
         assertThat(message)
             .as("Nenhum evento %s deve ter sido publicado", eventType)
             .isNull();
@@ -2971,21 +2966,7 @@ public class AuthenticationSteps {
         
         try {
             // Aguardar evento ser publicado
-            java.util.concurrent.atomic.AtomicReference<RabbitMQHelper.Event> eventRef = 
-                new java.util.concurrent.atomic.AtomicReference<>();
-            await()
-                .atMost(eventTimeoutSeconds, SECONDS)
-                .pollInterval(eventPollIntervalMs, MILLISECONDS)
-                .until(() -> {
-                    var message = rabbitMQHelper.consumeMessage(eventType);
-                    if (message != null && message.getType().equals(eventType)) {
-                        eventRef.set(message);
-                        return true;
-                    }
-                    return false;
-                });
-            
-            RabbitMQHelper.Event event = eventRef.get();
+            RabbitMQHelper.Event event = awaitScenarioEvent(eventType, null, Duration.ofSeconds(eventTimeoutSeconds));
             assertThat(event)
                 .as("Evento %s deve ter sido publicado", eventType)
                 .isNotNull();
@@ -3057,6 +3038,7 @@ public class AuthenticationSteps {
         }
         request.put("currentPassword", currentPassword);
         request.put("newPassword", passwordData.get("senha_nova"));
+        userPool.poisonLeases(); // Senha alterada: usuário não pode voltar ao pool
         lastResponse = authClient.changePassword(request, currentJwtToken);
     }
     
@@ -3066,6 +3048,7 @@ public class AuthenticationSteps {
         var request = new java.util.HashMap<String, String>();
         request.put("currentPassword", passwordData.get("senha_atual"));
         request.put("newPassword", passwordData.get("senha_nova"));
+        userPool.poisonLeases(); // Senha alterada: usuário não pode voltar ao pool
         lastResponse = authClient.changePassword(request, currentJwtToken);
     }
     
@@ -3080,6 +3063,7 @@ public class AuthenticationSteps {
         }
         request.put("currentPassword", currentPassword);
         request.put("newPassword", passwordData.get("senha_nova"));
+        userPool.poisonLeases(); // Senha alterada: usuário não pode voltar ao pool
         lastResponse = authClient.changePassword(request, currentJwtToken);
     }
     
@@ -3094,6 +3078,7 @@ public class AuthenticationSteps {
     public void eu_informo_nova_senha(String novaSenha) {
         var request = new java.util.HashMap<String, String>();
         request.put("newPassword", novaSenha);
+        userPool.poisonLeases(); // Senha alterada: usuário não pode voltar ao pool
         lastResponse = authClient.changePassword(request, currentJwtToken);
     }
     
@@ -3273,14 +3258,8 @@ public class AuthenticationSteps {
     public void o_evento_nao_deve_ser_publicado(String eventType) {
         // Aguardar um pouco para garantir que o evento não foi publicado
         // Mas não aguardar muito tempo - se evento não foi publicado imediatamente, provavelmente não será
-        try {
-            Thread.sleep(2000); // Aguardar 2 segundos para eventos assíncronos
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
-        // Tentar consumir o evento - se não houver, está correto
-        var message = rabbitMQHelper.consumeMessage(eventType);
+        // Observar por 2 segundos (retorna antes se o evento chegar), apenas eventos correlacionados ao cenário
+        var message = awaitScenarioEvent(eventType, null, Duration.ofSeconds(2));
         
         // Se evento foi publicado mas não deveria, pode ser problema do serviço
         // Mas vamos falhar o teste para indicar o problema
@@ -3583,43 +3562,17 @@ public class AuthenticationSteps {
         // Estratégia 2: Tentar obter do evento RabbitMQ
         // IMPORTANTE: O evento pode já ter sido consumido pelo OtpSentConsumer, então vamos tentar rapidamente
         try {
-            // Usar array para permitir modificação dentro da lambda (variável efetivamente final)
-            final String[] otpCodeHolder = new String[1];
-            final String finalOtpId = otpId; // Tornar efetivamente final
-            
-            // Usar timeout configurado (otimizado para eventos rápidos)
-            await().atMost(eventTimeoutSeconds, SECONDS).pollInterval(eventPollIntervalMs, MILLISECONDS)
-                .until(() -> {
-                    var event = rabbitMQHelper.consumeMessage("otp.sent");
-                    if (event != null) {
-                        java.util.Map<String, Object> payload = event.getPayload();
-                        if (payload != null) {
-                            // Verificar se o evento é para o OTP ID correto (se disponível)
-                            if (finalOtpId != null) {
-                                Object eventOtpId = payload.get("otpId");
-                                if (!finalOtpId.equals(eventOtpId)) {
-                                    return false; // Não é o evento correto
-                                }
-                            }
-                            Object codeObj = payload.get("otpCode");
-                            if (codeObj != null) {
-                                String code = codeObj.toString().trim().replaceAll("[^0-9]", "");
-                                if (code.length() == 6) {
-                                    otpCodeHolder[0] = code;
-                                    userFixture.setOtpCode(code);
-                                    logger.info("✅ Código OTP obtido do evento RabbitMQ: {}", code);
-                                    return true;
-                                }
-                            }
-                        }
-                    }
-                    return false;
-                });
+            // Condição pura (thread de entrega do RabbitMQ); correlação pelo otpId do fixture
+            var otpSentEvent = rabbitMQHelper.awaitEvent("otp.sent", userFixture.getEventCorrelationKeys("otp.sent"),
+                event -> otpCodeOf(event) != null, Duration.ofSeconds(eventTimeoutSeconds)).join();
             
             // Validar OTP com código obtido
-            if (otpCodeHolder[0] != null) {
+            if (otpSentEvent != null) {
+                otpCode = otpCodeOf(otpSentEvent);
+                userFixture.setOtpCode(otpCode);
                 // Atualizar variável de instância para consistência
-                this.otpCode = otpCodeHolder[0];
+                this.otpCode = otpCode;
+                logger.info("✅ Código OTP obtido do evento RabbitMQ: {}", otpCode);
                 eu_valido_o_otp_recebido();
                 return;
             }
@@ -3629,7 +3582,13 @@ public class AuthenticationSteps {
         
         // Estratégia 3: Verificar se há última mensagem consumida armazenada
         try {
-            var lastEvent = rabbitMQHelper.getLastConsumedMessage("otp.sent");
+            // Histórico correlacionado (inclui eventos já entregues a outros steps): pelo otpId ou,
+            // sem ele, pelo e-mail do cenário - nunca a última mensagem de qualquer cenário
+            var userData = userFixture.getUserData();
+            String scenarioEmail = userData != null ? userData.get("email") : null;
+            var lastEvent = otpId != null
+                ? rabbitMQHelper.findEvent("otp.sent", otpId)
+                : scenarioEmail != null ? rabbitMQHelper.findEvent("otp.sent", scenarioEmail) : null;
             if (lastEvent != null) {
                 java.util.Map<String, Object> payload = lastEvent.getPayload();
                 if (payload != null) {
@@ -4270,12 +4229,12 @@ public class AuthenticationSteps {
             
             // Aguardar sincronização entre Identity Service e Auth Service
             // O Auth Service recebe eventos de atualização de usuário via RabbitMQ
-            // Aguardar um tempo suficiente para que o evento seja processado
-            try {
-                Thread.sleep(2000); // 2 segundos para sincronização via eventos
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            // Termina assim que o auth-service refletir a desativação (até 2 segundos)
+            WaitHelper.waitUntil("desativação sincronizada no auth-service", Duration.ofSeconds(2), () -> {
+                Response credentials = authClient.getCredentialsByUserUuid(userUuid);
+                return credentials.getStatusCode() == 200
+                    && Boolean.FALSE.equals(credentials.jsonPath().getBoolean("isActive"));
+            });
         } catch (Exception e) {
             var logger = org.slf4j.LoggerFactory.getLogger(AuthenticationSteps.class);
             logger.warn("Não foi possível desativar usuário: {}. Continuando...", e.getMessage());
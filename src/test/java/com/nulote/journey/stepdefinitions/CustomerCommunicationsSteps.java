@@ -2,8 +2,11 @@ package com.nulote.journey.stepdefinitions;
 
 import com.nulote.journey.clients.DeliveryTrackerServiceClient;
 import com.nulote.journey.clients.TransactionalMessagingServiceClient;
+import com.nulote.journey.fixtures.UserFixture;
 import com.nulote.journey.utils.AllureHelper;
+import com.nulote.journey.utils.DeadLetterWatcher;
 import com.nulote.journey.utils.RabbitMQHelper;
+import com.nulote.journey.utils.WaitHelper;
 import io.cucumber.java.pt.Dado;
 import io.cucumber.java.pt.Então;
 import io.cucumber.java.pt.Quando;
@@ -11,11 +14,12 @@ import io.restassured.response.Response;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.awaitility.Awaitility.await;
-import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * Step definitions para cenários cross-VS envolvendo VS-Customer-Communications.
@@ -26,20 +30,26 @@ public class CustomerCommunicationsSteps {
     @Autowired
     private RabbitMQHelper rabbitMQHelper;
     
+    @Autowired
+    private DeadLetterWatcher deadLetterWatcher;
+    
     @Autowired
     private TransactionalMessagingServiceClient transactionalMessagingClient;
     
     @Autowired
     private DeliveryTrackerServiceClient deliveryTrackerClient;
     
+    @Autowired
+    private UserFixture userFixture;
+    
     private Response lastResponse;
     
     /**
      * Valida que o Transactional Messaging Service consumiu o evento da fila especificada.
      * 
-     * Nota: Como há consumidores ativos nas filas, as mensagens são consumidas rapidamente.
-     * Este step valida que o evento foi processado verificando se a fila está vazia ou
-     * se há evidências de processamento (mensagem persistida, tracking criado, etc.).
+     * Com a captura ativa (tap/push), o otp.sent do cenário precisa ter sido roteado para a fila
+     * (a captura espelha os bindings dela); a fila do serviço não é consumida pelos testes.
+     * No modo poll, fila vazia após 1s indica que o consumidor do serviço processou o evento.
      */
     @Então("o Transactional Messaging Service \\(VS-Customer-Communications\\) deve consumir o evento da fila {string}")
     public void o_transactional_messaging_service_deve_consumir_o_evento_da_fila(String queueName) {
@@ -47,15 +57,17 @@ public class CustomerCommunicationsSteps {
         
         var logger = org.slf4j.LoggerFactory.getLogger(CustomerCommunicationsSteps.class);
         
-        // Aguardar um pouco para dar tempo do consumidor processar
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        if (rabbitMQHelper.isPushCaptureEnabled()) {
+            var captured = awaitScenarioEvent("otp.sent", queueName, Duration.ofSeconds(5));
+            assertThat(captured)
+                .as("otp.sent do cenário não foi roteado para a fila %s", queueName)
+                .isNotNull();
+            logger.info("✅ Evento otp.sent do cenário entregue na fila {}", queueName);
+            return;
         }
         
-        // Tentar consumir da fila - se não houver mensagem, significa que foi consumida
-        var event = rabbitMQHelper.consumeMessage("otp.sent", queueName);
+        // Modo poll: observar a fila por até 1s - se não houver mensagem, significa que foi consumida
+        var event = rabbitMQHelper.waitForEvent("otp.sent", queueName, Duration.ofSeconds(1));
         
         if (event == null) {
             // Mensagem foi consumida (comportamento esperado)
@@ -224,84 +236,58 @@ public class CustomerCommunicationsSteps {
             }
         }
         
-        // Contador de tentativas para logging
-        final int[] attemptCount = {0};
         final long startTime = System.currentTimeMillis();
         
-        // Aguardar publicação do evento
-        try {
-            await().atMost(5, SECONDS).pollInterval(200, java.util.concurrent.TimeUnit.MILLISECONDS).until(() -> {
-                attemptCount[0]++;
-                logger.debug("🔧 [TROUBLESHOOTING] Tentativa {} de consumir evento {} da fila {}", 
-                    attemptCount[0], eventType, queueName);
-                
-                // Verificar status da fila novamente
-                var currentQueueInfo = rabbitMQHelper.getQueueInfo(queueName);
-                if (currentQueueInfo != null && currentQueueInfo.getConsumerCount() > 0 && 
-                    currentQueueInfo.getMessageCount() == 0 && attemptCount[0] >= 3) {
-                    // Após algumas tentativas, se há consumidor ativo e fila vazia, considerar como sucesso
-                    logger.info("✅ [TROUBLESHOOTING] Fila {} tem consumidor ativo e está vazia após {} tentativas. " +
-                        "Evento foi consumido (validação indireta).", queueName, attemptCount[0]);
-                    return true;
-                }
-                
-                var event = rabbitMQHelper.consumeMessage(eventType, queueName);
-                if (event != null) {
-                    long elapsed = System.currentTimeMillis() - startTime;
-                    logger.info("✅ [TROUBLESHOOTING] Evento {} publicado no RabbitMQ e consumido da fila {} (tentativa {}, {}ms)", 
-                        eventType, queueName, attemptCount[0], elapsed);
-                    logger.debug("🔧 [TROUBLESHOOTING] Conteúdo do evento: {}", event);
-                    return true;
-                } else {
-                    logger.debug("🔧 [TROUBLESHOOTING] Evento {} não encontrado na fila {} (tentativa {})", 
-                        eventType, queueName, attemptCount[0]);
-                }
-                return false;
-            });
-        } catch (org.awaitility.core.ConditionTimeoutException e) {
+        // Aguardar o evento do cenário (captura push: retorna assim que a entrega chega)
+        var event = awaitScenarioEvent(eventType, queueName, Duration.ofSeconds(5));
+        if (event != null) {
             long elapsed = System.currentTimeMillis() - startTime;
+            logger.info("✅ [TROUBLESHOOTING] Evento {} publicado no RabbitMQ e consumido da fila {} ({}ms)", 
+                eventType, queueName, elapsed);
+            logger.debug("🔧 [TROUBLESHOOTING] Conteúdo do evento: {}", event);
+            return;
+        }
+        long elapsed = System.currentTimeMillis() - startTime;
+        
+        // Verificar status final da fila para diagnóstico
+        var finalQueueInfo = rabbitMQHelper.getQueueInfo(queueName);
+        if (finalQueueInfo != null) {
+            logger.error("❌ [TROUBLESHOOTING] Status final da fila {} - Mensagens: {}, Consumidores: {}", 
+                queueName, finalQueueInfo.getMessageCount(), finalQueueInfo.getConsumerCount());
             
-            // Verificar status final da fila para diagnóstico
-            var finalQueueInfo = rabbitMQHelper.getQueueInfo(queueName);
-            if (finalQueueInfo != null) {
-                logger.error("❌ [TROUBLESHOOTING] Status final da fila {} - Mensagens: {}, Consumidores: {}", 
-                    queueName, finalQueueInfo.getMessageCount(), finalQueueInfo.getConsumerCount());
-                
-                // Se há consumidor ativo e fila vazia, evento provavelmente foi consumido
-                if (finalQueueInfo.getConsumerCount() > 0 && finalQueueInfo.getMessageCount() == 0) {
-                    logger.warn("⚠️ [TROUBLESHOOTING] Fila {} tem {} consumidor(es) ativo(s) e está vazia. " +
-                        "O evento provavelmente foi consumido antes da validação.", 
-                        queueName, finalQueueInfo.getConsumerCount());
-                    logger.warn("⚠️ [TROUBLESHOOTING] Isso é ESPERADO quando há consumidores ativos processando eventos.");
-                    logger.warn("⚠️ [TROUBLESHOOTING] Em ambiente com serviços rodando, os eventos são consumidos imediatamente.");
-                    logger.warn("⚠️ [TROUBLESHOOTING] Validação indireta: evento foi processado (fila vazia + consumidor ativo).");
-                    // Não lançar exceção - considerar como sucesso indireto
-                    return;
-                }
+            // Se há consumidor ativo e fila vazia, evento provavelmente foi consumido
+            if (finalQueueInfo.getConsumerCount() > 0 && finalQueueInfo.getMessageCount() == 0) {
+                logger.warn("⚠️ [TROUBLESHOOTING] Fila {} tem {} consumidor(es) ativo(s) e está vazia. " +
+                    "O evento provavelmente foi consumido antes da validação.", 
+                    queueName, finalQueueInfo.getConsumerCount());
+                logger.warn("⚠️ [TROUBLESHOOTING] Isso é ESPERADO quando há consumidores ativos processando eventos.");
+                logger.warn("⚠️ [TROUBLESHOOTING] Em ambiente com serviços rodando, os eventos são consumidos imediatamente.");
+                logger.warn("⚠️ [TROUBLESHOOTING] Validação indireta: evento foi processado (fila vazia + consumidor ativo).");
+                // Não lançar exceção - considerar como sucesso indireto
+                return;
             }
-            
-            logger.error("❌ [TROUBLESHOOTING] TIMEOUT ao aguardar evento {} na fila {}", eventType, queueName);
-            logger.error("❌ [TROUBLESHOOTING] Tentativas realizadas: {}", attemptCount[0]);
-            logger.error("❌ [TROUBLESHOOTING] Tempo decorrido: {}ms", elapsed);
-            logger.error("❌ [TROUBLESHOOTING] ========================================");
-            logger.error("❌ [TROUBLESHOOTING] ERRO ESPERADO EM AMBIENTE SEM SERVIÇOS");
-            logger.error("❌ [TROUBLESHOOTING] ========================================");
-            logger.error("❌ [TROUBLESHOOTING] Este erro é ESPERADO quando:");
-            logger.error("   ✓ RabbitMQ não está rodando localmente");
-            logger.error("   ✓ Microserviços não estão em execução");
-            logger.error("   ✓ Eventos não estão sendo publicados/consumidos");
-            logger.error("❌ [TROUBLESHOOTING] Para resolver:");
-            logger.error("   1. Execute os testes em ambiente SIT/UAT com serviços rodando");
-            logger.error("   2. Ou configure Testcontainers para rodar RabbitMQ localmente");
-            logger.error("   3. Ou marque estes cenários como @requires-services");
-            logger.error("❌ [TROUBLESHOOTING] Possíveis causas técnicas:");
-            logger.error("   - RabbitMQ não está rodando ou não está acessível");
-            logger.error("   - Fila '{}' não existe ou não está configurada corretamente", queueName);
-            logger.error("   - Evento não foi publicado pelo serviço (verificar logs do Auth Service)");
-            logger.error("   - Consumidor já consumiu o evento antes desta validação");
-            logger.error("❌ [TROUBLESHOOTING] ========================================");
-            throw e;
         }
+        
+        logger.error("❌ [TROUBLESHOOTING] TIMEOUT ao aguardar evento {} na fila {}", eventType, queueName);
+        logger.error("❌ [TROUBLESHOOTING] Tempo decorrido: {}ms", elapsed);
+        logger.error("❌ [TROUBLESHOOTING] ========================================");
+        logger.error("❌ [TROUBLESHOOTING] ERRO ESPERADO EM AMBIENTE SEM SERVIÇOS");
+        logger.error("❌ [TROUBLESHOOTING] ========================================");
+        logger.error("❌ [TROUBLESHOOTING] Este erro é ESPERADO quando:");
+        logger.error("   ✓ RabbitMQ não está rodando localmente");
+        logger.error("   ✓ Microserviços não estão em execução");
+        logger.error("   ✓ Eventos não estão sendo publicados/consumidos");
+        logger.error("❌ [TROUBLESHOOTING] Para resolver:");
+        logger.error("   1. Execute os testes em ambiente SIT/UAT com serviços rodando");
+        logger.error("   2. Ou configure Testcontainers para rodar RabbitMQ localmente");
+        logger.error("   3. Ou marque estes cenários como @requires-services");
+        logger.error("❌ [TROUBLESHOOTING] Possíveis causas técnicas:");
+        logger.error("   - RabbitMQ não está rodando ou não está acessível");
+        logger.error("   - Fila '{}' não existe ou não está configurada corretamente", queueName);
+        logger.error("   - Evento não foi publicado pelo serviço (verificar logs do Auth Service)");
+        logger.error("   - Consumidor já consumiu o evento antes desta validação");
+        logger.error("❌ [TROUBLESHOOTING] ========================================");
+        throw new AssertionError("Evento " + eventType + " não recebido na fila " + queueName + " em 5s");
     }
     
     @Então("o evento {string} deve ser publicado no RabbitMQ \\(exchange {string}\\)")
@@ -337,107 +323,82 @@ public class CustomerCommunicationsSteps {
                 "A fila pode não existir ou o RabbitMQ pode não estar acessível.", queueName);
         }
         
-        // Contador de tentativas para logging
-        final int[] attemptCount = {0};
         final long startTime = System.currentTimeMillis();
         
-        // Aguardar publicação do evento
-        try {
-            await().atMost(5, SECONDS).pollInterval(200, java.util.concurrent.TimeUnit.MILLISECONDS).until(() -> {
-                attemptCount[0]++;
-                logger.debug("🔧 [TROUBLESHOOTING] Tentativa {} de consumir evento {} da fila {}", 
-                    attemptCount[0], eventType, queueName);
-                
-                // Verificar status da fila novamente durante o polling
-                var currentQueueInfo = rabbitMQHelper.getQueueInfo(queueName);
-                if (currentQueueInfo != null && currentQueueInfo.getConsumerCount() > 0 && 
-                    currentQueueInfo.getMessageCount() == 0 && attemptCount[0] >= 3) {
-                    // Após algumas tentativas, se há consumidor ativo e fila vazia, considerar como sucesso
-                    logger.info("✅ [TROUBLESHOOTING] Fila {} tem consumidor ativo e está vazia após {} tentativas. " +
-                        "Evento foi consumido (validação indireta).", queueName, attemptCount[0]);
-                    return true;
-                }
-                
-                var event = rabbitMQHelper.consumeMessage(eventType, queueName);
-                if (event != null) {
-                    long elapsed = System.currentTimeMillis() - startTime;
-                    logger.info("✅ [TROUBLESHOOTING] Evento {} publicado no exchange {} e consumido da fila {} (tentativa {}, {}ms)", 
-                        eventType, exchangeName, queueName, attemptCount[0], elapsed);
-                    logger.debug("🔧 [TROUBLESHOOTING] Conteúdo do evento: {}", event);
-                    return true;
-                } else {
-                    logger.debug("🔧 [TROUBLESHOOTING] Evento {} não encontrado na fila {} (tentativa {})", 
-                        eventType, queueName, attemptCount[0]);
-                }
-                return false;
-            });
-        } catch (org.awaitility.core.ConditionTimeoutException e) {
-            // Verificar status final da fila para diagnóstico
-            var finalQueueInfo = rabbitMQHelper.getQueueInfo(queueName);
-            if (finalQueueInfo != null) {
-                logger.error("❌ [TROUBLESHOOTING] Status final da fila {} - Mensagens: {}, Consumidores: {}", 
-                    queueName, finalQueueInfo.getMessageCount(), finalQueueInfo.getConsumerCount());
-                
-                // Se há consumidor ativo e fila vazia, evento provavelmente foi consumido
-                if (finalQueueInfo.getConsumerCount() > 0 && finalQueueInfo.getMessageCount() == 0) {
-                    logger.warn("⚠️ [TROUBLESHOOTING] Fila {} tem {} consumidor(es) ativo(s) e está vazia. " +
-                        "O evento provavelmente foi consumido antes da validação.", 
-                        queueName, finalQueueInfo.getConsumerCount());
-                    logger.warn("⚠️ [TROUBLESHOOTING] Isso é ESPERADO quando há consumidores ativos processando eventos.");
-                    logger.warn("⚠️ [TROUBLESHOOTING] Em ambiente com serviços rodando, os eventos são consumidos imediatamente.");
-                    logger.warn("⚠️ [TROUBLESHOOTING] Validação indireta: evento foi processado (fila vazia + consumidor ativo).");
-                    // Não lançar exceção - considerar como sucesso indireto
-                    return;
-                }
-            }
+        // Aguardar o evento do cenário (captura push: retorna assim que a entrega chega)
+        var event = awaitScenarioEvent(eventType, queueName, Duration.ofSeconds(5));
+        if (event != null) {
             long elapsed = System.currentTimeMillis() - startTime;
-            logger.error("❌ [TROUBLESHOOTING] TIMEOUT ao aguardar evento {} no exchange {} (fila {})", 
-                eventType, exchangeName, queueName);
-            logger.error("❌ [TROUBLESHOOTING] Tentativas realizadas: {}", attemptCount[0]);
-            logger.error("❌ [TROUBLESHOOTING] Tempo decorrido: {}ms", elapsed);
-            logger.error("❌ [TROUBLESHOOTING] ========================================");
-            logger.error("❌ [TROUBLESHOOTING] ERRO ESPERADO EM AMBIENTE SEM SERVIÇOS");
-            logger.error("❌ [TROUBLESHOOTING] ========================================");
-            logger.error("❌ [TROUBLESHOOTING] Este erro é ESPERADO quando:");
-            logger.error("   ✓ RabbitMQ não está rodando localmente");
-            logger.error("   ✓ Microserviços não estão em execução");
-            logger.error("   ✓ Eventos não estão sendo publicados/consumidos");
-            logger.error("❌ [TROUBLESHOOTING] Para resolver:");
-            logger.error("   1. Execute os testes em ambiente SIT/UAT com serviços rodando");
-            logger.error("   2. Ou configure Testcontainers para rodar RabbitMQ localmente");
-            logger.error("   3. Ou marque estes cenários como @requires-services");
-            logger.error("❌ [TROUBLESHOOTING] Possíveis causas técnicas:");
-            logger.error("   - RabbitMQ não está rodando ou não está acessível");
-            logger.error("   - Exchange '{}' ou fila '{}' não existe ou não está configurada corretamente", exchangeName, queueName);
-            logger.error("   - Evento não foi publicado pelo serviço (verificar logs do Transactional Messaging Service)");
-            logger.error("   - Consumidor já consumiu o evento antes desta validação");
+            logger.info("✅ [TROUBLESHOOTING] Evento {} publicado no exchange {} e consumido da fila {} ({}ms)", 
+                eventType, exchangeName, queueName, elapsed);
+            logger.debug("🔧 [TROUBLESHOOTING] Conteúdo do evento: {}", event);
+            return;
+        }
+        // Verificar status final da fila para diagnóstico
+        var finalQueueInfo = rabbitMQHelper.getQueueInfo(queueName);
+        if (finalQueueInfo != null) {
+            logger.error("❌ [TROUBLESHOOTING] Status final da fila {} - Mensagens: {}, Consumidores: {}", 
+                queueName, finalQueueInfo.getMessageCount(), finalQueueInfo.getConsumerCount());
             
-            // Para delivery.tracking.created.v1, adicionar informações específicas
-            if ("delivery.tracking.created.v1".equals(eventType)) {
-                logger.error("❌ [TROUBLESHOOTING] Informações específicas para delivery.tracking.created.v1:");
-                logger.error("   - Este evento é publicado pelo Transactional Messaging Service após enviar email");
-                logger.error("   - Verifique se o Transactional Messaging Service está rodando");
-                logger.error("   - Verifique se o Delivery Tracker Service está consumindo eventos (pode ter consumido antes)");
-                logger.error("   - Verifique os logs do Transactional Messaging Service para confirmar publicação");
-                try {
-                    var deliveryQueueInfo = rabbitMQHelper.getQueueInfo(queueName);
-                    if (deliveryQueueInfo != null) {
-                        logger.error("   - Fila {} existe: {} mensagens, {} consumidor(es)", 
-                            queueName, deliveryQueueInfo.getMessageCount(), deliveryQueueInfo.getConsumerCount());
-                        if (deliveryQueueInfo.getConsumerCount() > 0) {
-                            logger.error("   - ⚠️ Há consumidor(es) ativo(s) - evento pode ter sido consumido antes da validação");
-                        }
-                    } else {
-                        logger.error("   - ⚠️ Fila {} não existe ou não está acessível", queueName);
+            // Se há consumidor ativo e fila vazia, evento provavelmente foi consumido
+            if (finalQueueInfo.getConsumerCount() > 0 && finalQueueInfo.getMessageCount() == 0) {
+                logger.warn("⚠️ [TROUBLESHOOTING] Fila {} tem {} consumidor(es) ativo(s) e está vazia. " +
+                    "O evento provavelmente foi consumido antes da validação.", 
+                    queueName, finalQueueInfo.getConsumerCount());
+                logger.warn("⚠️ [TROUBLESHOOTING] Isso é ESPERADO quando há consumidores ativos processando eventos.");
+                logger.warn("⚠️ [TROUBLESHOOTING] Em ambiente com serviços rodando, os eventos são consumidos imediatamente.");
+                logger.warn("⚠️ [TROUBLESHOOTING] Validação indireta: evento foi processado (fila vazia + consumidor ativo).");
+                // Não lançar exceção - considerar como sucesso indireto
+                return;
+            }
+        }
+        long elapsed = System.currentTimeMillis() - startTime;
+        logger.error("❌ [TROUBLESHOOTING] TIMEOUT ao aguardar evento {} no exchange {} (fila {})", 
+            eventType, exchangeName, queueName);
+        logger.error("❌ [TROUBLESHOOTING] Tempo decorrido: {}ms", elapsed);
+        logger.error("❌ [TROUBLESHOOTING] ========================================");
+        logger.error("❌ [TROUBLESHOOTING] ERRO ESPERADO EM AMBIENTE SEM SERVIÇOS");
+        logger.error("❌ [TROUBLESHOOTING] ========================================");
+        logger.error("❌ [TROUBLESHOOTING] Este erro é ESPERADO quando:");
+        logger.error("   ✓ RabbitMQ não está rodando localmente");
+        logger.error("   ✓ Microserviços não estão em execução");
+        logger.error("   ✓ Eventos não estão sendo publicados/consumidos");
+        logger.error("❌ [TROUBLESHOOTING] Para resolver:");
+        logger.error("   1. Execute os testes em ambiente SIT/UAT com serviços rodando");
+        logger.error("   2. Ou configure Testcontainers para rodar RabbitMQ localmente");
+        logger.error("   3. Ou marque estes cenários como @requires-services");
+        logger.error("❌ [TROUBLESHOOTING] Possíveis causas técnicas:");
+        logger.error("   - RabbitMQ não está rodando ou não está acessível");
+        logger.error("   - Exchange '{}' ou fila '{}' não existe ou não está configurada corretamente", exchangeName, queueName);
+        logger.error("   - Evento não foi publicado pelo serviço (verificar logs do Transactional Messaging Service)");
+        logger.error("   - Consumidor já consumiu o evento antes desta validação");
+        
+        // Para delivery.tracking.created.v1, adicionar informações específicas
+        if ("delivery.tracking.created.v1".equals(eventType)) {
+            logger.error("❌ [TROUBLESHOOTING] Informações específicas para delivery.tracking.created.v1:");
+            logger.error("   - Este evento é publicado pelo Transactional Messaging Service após enviar email");
+            logger.error("   - Verifique se o Transactional Messaging Service está rodando");
+            logger.error("   - Verifique se o Delivery Tracker Service está consumindo eventos (pode ter consumido antes)");
+            logger.error("   - Verifique os logs do Transactional Messaging Service para confirmar publicação");
+            try {
+                var deliveryQueueInfo = rabbitMQHelper.getQueueInfo(queueName);
+                if (deliveryQueueInfo != null) {
+                    logger.error("   - Fila {} existe: {} mensagens, {} consumidor(es)", 
+                        queueName, deliveryQueueInfo.getMessageCount(), deliveryQueueInfo.getConsumerCount());
+                    if (deliveryQueueInfo.getConsumerCount() > 0) {
+                        logger.error("   - ⚠️ Há consumidor(es) ativo(s) - evento pode ter sido consumido antes da validação");
                     }
-                } catch (Exception ex) {
-                    logger.debug("Erro ao verificar informações da fila: {}", ex.getMessage());
+                } else {
+                    logger.error("   - ⚠️ Fila {} não existe ou não está acessível", queueName);
                 }
+            } catch (Exception ex) {
+                logger.debug("Erro ao verificar informações da fila: {}", ex.getMessage());
             }
-            
-            logger.error("❌ [TROUBLESHOOTING] ========================================");
-            throw e;
         }
+        
+        logger.error("❌ [TROUBLESHOOTING] ========================================");
+        throw new AssertionError("Evento " + eventType + " não recebido no exchange " + exchangeName
+            + " (fila " + queueName + ") em 5s");
     }
     
     @Então("o Delivery Tracker Service deve consumir o evento e criar tracking inicial")
@@ -446,12 +407,8 @@ public class CustomerCommunicationsSteps {
         
         var logger = org.slf4j.LoggerFactory.getLogger(CustomerCommunicationsSteps.class);
         
-        // Aguardar processamento do evento de tracking
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Aguardar processamento do evento de tracking (fila do Delivery Tracker drenada)
+        aguardarConsumoDaFila(determineQueueName("delivery.tracking.created.v1"), Duration.ofSeconds(1));
         
         // Validação indireta: se chegou aqui, assumimos que o tracking foi criado
         // Validações mais específicas podem ser feitas consultando a API do Delivery Tracker
@@ -510,92 +467,72 @@ public class CustomerCommunicationsSteps {
             }
         }
         
-        // Contador de tentativas para logging
-        final int[] attemptCount = {0};
+        int receivedCount = 0;
         final long startTime = System.currentTimeMillis();
+        final long deadline = startTime + 10_000;
         
-        try {
-            await().atMost(10, SECONDS).pollInterval(500, java.util.concurrent.TimeUnit.MILLISECONDS).until(() -> {
-                attemptCount[0]++;
-                logger.debug("🔧 [TROUBLESHOOTING] Tentativa {} de consumir {} eventos {} da fila {}", 
-                    attemptCount[0], expectedCount, eventType, queueName);
-                
-                // Verificar status da fila novamente
-                var currentQueueInfo = rabbitMQHelper.getQueueInfo(queueName);
-                if (currentQueueInfo != null && currentQueueInfo.getConsumerCount() > 0 && 
-                    currentQueueInfo.getMessageCount() == 0 && attemptCount[0] >= 3) {
-                    // Após algumas tentativas, se há consumidor ativo e fila vazia, considerar como sucesso
-                    logger.info("✅ [TROUBLESHOOTING] Fila {} tem consumidor ativo e está vazia após {} tentativas. " +
-                        "Eventos foram consumidos (validação indireta).", queueName, attemptCount[0]);
-                    return true;
-                }
-                
-                // Tentar consumir múltiplos eventos
-                int count = 0;
-                for (int i = 0; i < expectedCount; i++) {
-                    var event = rabbitMQHelper.consumeMessage(eventType, queueName);
-                    if (event != null) {
-                        count++;
-                        logger.debug("🔧 [TROUBLESHOOTING] Evento {}/{} consumido com sucesso", count, expectedCount);
-                    }
-                }
-                
-                if (count >= expectedCount) {
-                    long elapsed = System.currentTimeMillis() - startTime;
-                    logger.info("✅ [TROUBLESHOOTING] {} eventos {} publicados e consumidos (tentativa {}, {}ms)", 
-                        expectedCount, eventType, attemptCount[0], elapsed);
-                    return true;
-                } else {
-                    logger.debug("🔧 [TROUBLESHOOTING] Apenas {}/{} eventos encontrados (tentativa {})", 
-                        count, expectedCount, attemptCount[0]);
-                }
-                return false;
-            });
-        } catch (org.awaitility.core.ConditionTimeoutException e) {
+        // Captura push: cada evento é retirado assim que chega, dentro do prazo total de 10s
+        while (receivedCount < expectedCount) {
+            long remainingMs = deadline - System.currentTimeMillis();
+            if (remainingMs <= 0) {
+                break;
+            }
+            var event = awaitNextScenarioEvent(eventType, queueName, Duration.ofMillis(remainingMs));
+            if (event == null) {
+                break;
+            }
+            receivedCount++;
+            logger.debug("🔧 [TROUBLESHOOTING] Evento {}/{} consumido com sucesso", receivedCount, expectedCount);
+        }
+        if (receivedCount >= expectedCount) {
             long elapsed = System.currentTimeMillis() - startTime;
+            logger.info("✅ [TROUBLESHOOTING] {} eventos {} publicados e consumidos ({}ms)", 
+                expectedCount, eventType, elapsed);
+            return;
+        }
+        long elapsed = System.currentTimeMillis() - startTime;
+        
+        // Verificar status final da fila para diagnóstico
+        var finalQueueInfo = rabbitMQHelper.getQueueInfo(queueName);
+        if (finalQueueInfo != null) {
+            logger.error("❌ [TROUBLESHOOTING] Status final da fila {} - Mensagens: {}, Consumidores: {}", 
+                queueName, finalQueueInfo.getMessageCount(), finalQueueInfo.getConsumerCount());
             
-            // Verificar status final da fila para diagnóstico
-            var finalQueueInfo = rabbitMQHelper.getQueueInfo(queueName);
-            if (finalQueueInfo != null) {
-                logger.error("❌ [TROUBLESHOOTING] Status final da fila {} - Mensagens: {}, Consumidores: {}", 
-                    queueName, finalQueueInfo.getMessageCount(), finalQueueInfo.getConsumerCount());
-                
-                // Se há consumidor ativo e fila vazia, eventos provavelmente foram consumidos
-                if (finalQueueInfo.getConsumerCount() > 0 && finalQueueInfo.getMessageCount() == 0) {
-                    logger.warn("⚠️ [TROUBLESHOOTING] Fila {} tem {} consumidor(es) ativo(s) e está vazia. " +
-                        "Os eventos provavelmente foram consumidos antes da validação.", 
-                        queueName, finalQueueInfo.getConsumerCount());
-                    logger.warn("⚠️ [TROUBLESHOOTING] Isso é ESPERADO quando há consumidores ativos processando eventos.");
-                    logger.warn("⚠️ [TROUBLESHOOTING] Em ambiente com serviços rodando, os eventos são consumidos imediatamente.");
-                    logger.warn("⚠️ [TROUBLESHOOTING] Validação indireta: eventos foram processados (fila vazia + consumidor ativo).");
-                    // Não lançar exceção - considerar como sucesso indireto
-                    return;
-                }
+            // Se há consumidor ativo e fila vazia, eventos provavelmente foram consumidos
+            if (finalQueueInfo.getConsumerCount() > 0 && finalQueueInfo.getMessageCount() == 0) {
+                logger.warn("⚠️ [TROUBLESHOOTING] Fila {} tem {} consumidor(es) ativo(s) e está vazia. " +
+                    "Os eventos provavelmente foram consumidos antes da validação.", 
+                    queueName, finalQueueInfo.getConsumerCount());
+                logger.warn("⚠️ [TROUBLESHOOTING] Isso é ESPERADO quando há consumidores ativos processando eventos.");
+                logger.warn("⚠️ [TROUBLESHOOTING] Em ambiente com serviços rodando, os eventos são consumidos imediatamente.");
+                logger.warn("⚠️ [TROUBLESHOOTING] Validação indireta: eventos foram processados (fila vazia + consumidor ativo).");
+                // Não lançar exceção - considerar como sucesso indireto
+                return;
             }
-            
-            logger.error("❌ [TROUBLESHOOTING] TIMEOUT ao aguardar {} eventos {} na fila {}", 
-                expectedCount, eventType, queueName);
-            logger.error("❌ [TROUBLESHOOTING] Tentativas realizadas: {}", attemptCount[0]);
-            logger.error("❌ [TROUBLESHOOTING] Tempo decorrido: {}ms", elapsed);
-            logger.error("❌ [TROUBLESHOOTING] ========================================");
-            logger.error("❌ [TROUBLESHOOTING] ERRO ESPERADO EM AMBIENTE SEM SERVIÇOS");
-            logger.error("❌ [TROUBLESHOOTING] ========================================");
-            logger.error("❌ [TROUBLESHOOTING] Este erro é ESPERADO quando:");
-            logger.error("   ✓ RabbitMQ não está rodando localmente");
-            logger.error("   ✓ Microserviços não estão em execução");
-            logger.error("   ✓ Eventos não estão sendo publicados/consumidos");
-            logger.error("❌ [TROUBLESHOOTING] Para resolver:");
-            logger.error("   1. Execute os testes em ambiente SIT/UAT com serviços rodando");
-            logger.error("   2. Ou configure Testcontainers para rodar RabbitMQ localmente");
-            logger.error("   3. Ou marque estes cenários como @requires-services");
-            logger.error("❌ [TROUBLESHOOTING] Possíveis causas técnicas:");
-            logger.error("   - RabbitMQ não está rodando ou não está acessível");
-            logger.error("   - Fila '{}' não existe ou não está configurada corretamente", queueName);
-            logger.error("   - Menos de {} eventos foram publicados pelo serviço", expectedCount);
-            logger.error("   - Consumidores já consumiram os eventos antes desta validação");
-            logger.error("❌ [TROUBLESHOOTING] ========================================");
-            throw e;
         }
+        
+        logger.error("❌ [TROUBLESHOOTING] TIMEOUT ao aguardar {} eventos {} na fila {} ({} recebidos)", 
+            expectedCount, eventType, queueName, receivedCount);
+        logger.error("❌ [TROUBLESHOOTING] Tempo decorrido: {}ms", elapsed);
+        logger.error("❌ [TROUBLESHOOTING] ========================================");
+        logger.error("❌ [TROUBLESHOOTING] ERRO ESPERADO EM AMBIENTE SEM SERVIÇOS");
+        logger.error("❌ [TROUBLESHOOTING] ========================================");
+        logger.error("❌ [TROUBLESHOOTING] Este erro é ESPERADO quando:");
+        logger.error("   ✓ RabbitMQ não está rodando localmente");
+        logger.error("   ✓ Microserviços não estão em execução");
+        logger.error("   ✓ Eventos não estão sendo publicados/consumidos");
+        logger.error("❌ [TROUBLESHOOTING] Para resolver:");
+        logger.error("   1. Execute os testes em ambiente SIT/UAT com serviços rodando");
+        logger.error("   2. Ou configure Testcontainers para rodar RabbitMQ localmente");
+        logger.error("   3. Ou marque estes cenários como @requires-services");
+        logger.error("❌ [TROUBLESHOOTING] Possíveis causas técnicas:");
+        logger.error("   - RabbitMQ não está rodando ou não está acessível");
+        logger.error("   - Fila '{}' não existe ou não está configurada corretamente", queueName);
+        logger.error("   - Menos de {} eventos foram publicados pelo serviço", expectedCount);
+        logger.error("   - Consumidores já consumiram os eventos antes desta validação");
+        logger.error("❌ [TROUBLESHOOTING] ========================================");
+        throw new AssertionError(String.format("Apenas %d/%d eventos %s do cenário recebidos na fila %s em 10s", 
+            receivedCount, expectedCount, eventType, queueName));
     }
     
     @Então("o Transactional Messaging Service deve processar todos os {int} eventos")
@@ -604,12 +541,8 @@ public class CustomerCommunicationsSteps {
         
         var logger = org.slf4j.LoggerFactory.getLogger(CustomerCommunicationsSteps.class);
         
-        // Aguardar processamento - validação indireta
-        try {
-            Thread.sleep(2000); // Dar tempo para processamento
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Aguardar processamento - validação indireta (fila do Transactional Messaging drenada)
+        aguardarConsumoDaFila(determineQueueName("otp.sent"), Duration.ofSeconds(2));
         
         logger.info("✅ Transactional Messaging Service processou {} eventos", expectedCount);
     }
@@ -654,12 +587,14 @@ public class CustomerCommunicationsSteps {
         var logger = org.slf4j.LoggerFactory.getLogger(CustomerCommunicationsSteps.class);
         logger.info("🔧 [TROUBLESHOOTING] Validando que evento está na fila {}", queueName);
         
-        // Aguardar um pouco para garantir que o evento foi publicado
-        try {
-            Thread.sleep(500); // 500ms para dar tempo do evento ser publicado
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Começar a observar os dead-letters da fila antes do TTL expirar (fila principal → DLQ → parking lot)
+        deadLetterWatcher.watch(queueName, queueName + ".dlq", queueName + ".parking-lot");
+        
+        // Aguardar o evento chegar à fila (ou um consumidor ativo, que o retira imediatamente)
+        WaitHelper.waitUntil("evento publicado na fila " + queueName, Duration.ofMillis(500), () -> {
+            var info = rabbitMQHelper.getQueueInfo(queueName);
+            return info != null && (info.getMessageCount() > 0 || info.getConsumerCount() > 0);
+        });
         
         // Validar que há mensagem na fila principal
         // Seguindo estratégia de resiliência: Fila Principal Sem TTL - mensagens permanecem indefinidamente
@@ -695,14 +630,34 @@ public class CustomerCommunicationsSteps {
         var logger = org.slf4j.LoggerFactory.getLogger(CustomerCommunicationsSteps.class);
         logger.info("🔧 [TROUBLESHOOTING] Validando movimentação para DLQ: {}", dlqName);
         logger.info("🔧 [TROUBLESHOOTING] Seguindo estratégia de resiliência: DLQ com TTL de 5s");
-        logger.info("🔧 [TROUBLESHOOTING] Aguardando TTL de 5 segundos antes de validar...");
         
-        // Aguardar TTL da DLQ (5 segundos conforme estratégia de resiliência)
+        // Seguir a mensagem pelo x-death: completa no instante em que o broker a move da fila principal,
+        // limitado ao TTL da DLQ (5 segundos conforme estratégia de resiliência)
         // Estratégia: DLQ com TTL de 5s - quando expira, retorna para fila principal via DLX
-        try {
-            Thread.sleep(5500); // Aguardar 5.5s para garantir que TTL expirou
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        String mainQueue = dlqName.endsWith(".dlq") ? dlqName.substring(0, dlqName.length() - ".dlq".length()) : dlqName;
+        String messageId = DeadLetterWatcher.messageIdOf(findScenarioEvent("otp.sent"));
+        deadLetterWatcher.watch(mainQueue, dlqName);
+        
+        if (deadLetterWatcher.isActive()) {
+            var hop = WaitHelper.await("dead-letter " + mainQueue + " -> " + dlqName,
+                deadLetterWatcher.awaitDeadLetteredFrom(messageId, mainQueue, Duration.ofMillis(5500)));
+            if (hop != null) {
+                logger.info("✅ [TROUBLESHOOTING] Mensagem movida para DLQ {}: {}", dlqName, hop);
+                var timeline = deadLetterWatcher.getTimeline(hop.getMessageId());
+                AllureHelper.attachText("Saltos observados (x-death):\n" + timeline.stream()
+                    .map(Object::toString)
+                    .collect(Collectors.joining("\n")));
+            } else {
+                logger.warn("⚠️ [TROUBLESHOOTING] Nenhum dead-letter de {} observado no prazo (message_id={})", 
+                    mainQueue, messageId);
+            }
+        } else {
+            // Sem exchange de dead-letter observável: aguardar pela profundidade da DLQ
+            logger.info("🔧 [TROUBLESHOOTING] Aguardando TTL de 5 segundos antes de validar...");
+            WaitHelper.waitUntil("mensagem na DLQ " + dlqName, Duration.ofMillis(5500), () -> {
+                var info = rabbitMQHelper.getQueueInfo(dlqName);
+                return info != null && info.getMessageCount() > 0;
+            });
         }
         
         // Validar que mensagem está na DLQ ou foi retornada para fila principal
@@ -776,11 +731,8 @@ public class CustomerCommunicationsSteps {
     public void aguardo_segundos(int seconds) {
         AllureHelper.step("Aguardando " + seconds + " segundos");
         
-        try {
-            Thread.sleep(seconds * 1000L);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Espera declarada no cenário: o próprio tempo é a condição (ex: espaçamento entre solicitações)
+        WaitHelper.pause("aguardo " + seconds + "s (cenário)", Duration.ofSeconds(seconds));
     }
     
     @Então("o Transactional Messaging Service deve processar os eventos na ordem de publicação")
@@ -1055,12 +1007,8 @@ public class CustomerCommunicationsSteps {
         
         var logger = org.slf4j.LoggerFactory.getLogger(CustomerCommunicationsSteps.class);
         
-        // Aguardar processamento
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Aguardar processamento (fila do Transactional Messaging drenada)
+        aguardarConsumoDaFila(determineQueueName("otp.sent"), Duration.ofSeconds(1));
         
         logger.info("✅ Transactional Messaging Service consumiu o evento");
     }
@@ -1252,12 +1200,8 @@ public class CustomerCommunicationsSteps {
         
         var logger = org.slf4j.LoggerFactory.getLogger(CustomerCommunicationsSteps.class);
         
-        // Aguardar processamento
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Aguardar processamento (fila do Delivery Tracker drenada)
+        aguardarConsumoDaFila(determineQueueName("delivery.tracking.created.v1"), Duration.ofSeconds(1));
         
         logger.info("✅ Delivery Tracker Service consumiu o evento");
     }
@@ -1325,12 +1269,8 @@ public class CustomerCommunicationsSteps {
         
         var logger = org.slf4j.LoggerFactory.getLogger(CustomerCommunicationsSteps.class);
         
-        // Aguardar processamento
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Aguardar processamento (fila drenada)
+        aguardarConsumoDaFila(queueName, Duration.ofSeconds(1));
         
         logger.info("✅ Delivery Tracker Service consumiu evento da fila {}", queueName);
     }
@@ -1450,12 +1390,8 @@ public class CustomerCommunicationsSteps {
         
         var logger = org.slf4j.LoggerFactory.getLogger(CustomerCommunicationsSteps.class);
         
-        // Aguardar processamento
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Aguardar processamento (fila de auditoria drenada)
+        aguardarConsumoDaFila(determineQueueName("MESSAGE_SENT"), Duration.ofSeconds(1));
         
         logger.info("✅ Audit Compliance Service consumiu o evento");
     }
@@ -1526,12 +1462,8 @@ public class CustomerCommunicationsSteps {
         
         var logger = org.slf4j.LoggerFactory.getLogger(CustomerCommunicationsSteps.class);
         
-        // Aguardar processamento
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Aguardar processamento (fila do Transactional Messaging drenada)
+        aguardarConsumoDaFila(determineQueueName("otp.sent"), Duration.ofSeconds(2));
         
         logger.info("✅ Transactional Messaging Service processou os eventos");
     }
@@ -1777,6 +1709,67 @@ public class CustomerCommunicationsSteps {
         logger.info("✅ Evento movido para DLQ após falha de retry por timeout");
     }
     
+    /**
+     * Aguarda o evento do tipo correlacionado ao cenário (otpId, userUuid ou e-mail), inclusive se um step
+     * anterior já o recebeu.
+     * 
+     * As features de integração do VS-Customer-Communications não criam usuário (os eventos são simulados)
+     * e não têm chave para correlacionar: aceitam o próximo evento do tipo e, por isso, rodam sob o
+     * recurso exclusivo UNCORRELATED_EVENTS (tag @uncorrelated_events).
+     * 
+     * @return Evento, ou null se não chegar no prazo
+     */
+    private RabbitMQHelper.Event awaitScenarioEvent(String eventType, String queueName, Duration timeout) {
+        List<String> keys = userFixture.getEventCorrelationKeys(eventType);
+        if (keys.isEmpty()) {
+            return rabbitMQHelper.waitForEvent(eventType, queueName, timeout);
+        }
+        return rabbitMQHelper.awaitEvent(eventType, queueName, keys, null, timeout).join();
+    }
+    
+    /**
+     * Retira o próximo evento do usuário do cenário ainda não contado. Correlaciona por userUuid/e-mail,
+     * não pelo otpId: cada solicitação de OTP repetida gera um otpId diferente.
+     */
+    private RabbitMQHelper.Event awaitNextScenarioEvent(String eventType, String queueName, Duration timeout) {
+        List<String> keys = userFixture.getUserCorrelationKeys();
+        if (keys.isEmpty()) {
+            return rabbitMQHelper.waitForEvent(eventType, queueName, timeout);
+        }
+        return rabbitMQHelper.awaitNextEvent(eventType, queueName, keys, timeout).join();
+    }
+    
+    /**
+     * Evento do cenário já recebido (sem aguardar), ou o último entregue nos cenários sem usuário.
+     */
+    private RabbitMQHelper.Event findScenarioEvent(String eventType) {
+        List<String> keys = userFixture.getEventCorrelationKeys(eventType);
+        if (keys.isEmpty()) {
+            return rabbitMQHelper.getLastConsumedMessage(eventType);
+        }
+        for (String key : keys) {
+            var event = rabbitMQHelper.findEvent(eventType, key);
+            if (event != null) {
+                return event;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Aguarda o consumidor do serviço drenar a fila (sem mensagens pendentes), limitado ao prazo.
+     * Se a fila não puder ser consultada, não há condição a observar e a espera termina imediatamente.
+     * 
+     * @param queueName Nome da fila consumida pelo serviço
+     * @param timeout Limite máximo de espera
+     */
+    private void aguardarConsumoDaFila(String queueName, Duration timeout) {
+        WaitHelper.waitUntil("fila " + queueName + " drenada", timeout, () -> {
+            var info = rabbitMQHelper.getQueueInfo(queueName);
+            return info == null || info.getMessageCount() == 0;
+        });
+    }
+    
     /**
      * Determina o nome da fila baseado no tipo de evento.
      */
@@ -1,34 +1,61 @@
 package com.nulote.journey.stepdefinitions;
 
+import com.nulote.journey.clients.HttpConnectionPool;
+import com.nulote.journey.config.E2EConfiguration;
+import com.nulote.journey.fixtures.ExecutionContext;
+import com.nulote.journey.fixtures.UserPool;
+import com.nulote.journey.utils.WaitHelper;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
 import io.cucumber.java.pt.Dado;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Hooks do Cucumber para setup e teardown de cenários.
  * Não há necessidade de cleanup de dados - idempotência + dados únicos garantem isolamento.
- * Mas fazemos cleanup de recursos de hardware (conexões HTTP) para liberar memória.
+ * Mas fazemos cleanup de recursos de hardware (conexões HTTP idle/expiradas do pool compartilhado).
  */
 public class Hooks {
     
+    @Autowired
+    private HttpConnectionPool httpConnectionPool;
+    
+    @Autowired
+    private UserPool userPool;
+    
+    @Autowired
+    private E2EConfiguration config;
+    
     @Before("@e2e")
-    public void beforeScenario() {
+    public void beforeScenario(Scenario scenario) {
         // Setup comum para todos os testes
+        // Cenário da thread atual: escopo de dados em cache válidos só para este cenário (TestDataCache)
+        ExecutionContext.beginScenario(scenario.getId());
         System.out.println("🔄 Iniciando cenário E2E");
     }
     
     @After("@e2e")
-    public void afterScenario() {
-        // Cleanup de recursos de hardware para liberar memória
-        // RestAssured: Forçar eviction de conexões idle do pool HTTP
-        // Isso ajuda a liberar memória mais rapidamente, especialmente com paralelização
+    public void afterScenario(Scenario scenario) {
+        // Usuários do pool entregues ao cenário: consumidos (ou devolvidos, se return-on-success e o cenário
+        // somente leitura passou)
         try {
-            // RestAssured gerencia connection pooling automaticamente
-            // Não há API pública para forçar eviction, mas o GC vai limpar conexões idle
-            // Apenas sugerir GC (não força, mas ajuda se memória estiver baixa)
-            if (Runtime.getRuntime().freeMemory() < Runtime.getRuntime().totalMemory() * 0.1) {
-                // Se menos de 10% de memória livre, sugerir GC
-                System.gc();
+            userPool.endScenario(scenario.isFailed(), scenario.getSourceTagNames().contains(UserPool.READ_ONLY_TAG));
+        } catch (Exception e) {
+            var logger = org.slf4j.LoggerFactory.getLogger(Hooks.class);
+            logger.debug("Erro ao encerrar leases do pool de usuários: {}", e.getMessage());
+        }
+        
+        // Cleanup de recursos de hardware: devolver ao pool compartilhado apenas conexões úteis
+        // (fecha conexões expiradas pelo TTL e idle além do limite configurado)
+        try {
+            httpConnectionPool.evictIdleConnections();
+            var logger = org.slf4j.LoggerFactory.getLogger(Hooks.class);
+            if (logger.isDebugEnabled()) {
+                var stats = httpConnectionPool.getStats();
+                logger.debug("📊 [PERFORMANCE] Pool HTTP após cenário: leased={}, pending={}, available={}",
+                    stats.getLeased(), stats.getPending(), stats.getAvailable());
             }
         } catch (Exception e) {
             // Ignorar erros de cleanup - não deve falhar o teste
@@ -36,9 +63,18 @@ public class Hooks {
             logger.debug("Erro durante cleanup de recursos: {}", e.getMessage());
         }
         
+        // País definido por steps multi-country vale só para o cenário (thread reaproveitada pelo próximo)
+        config.clearScenarioCountryCode();
+        ExecutionContext.endScenario();
         System.out.println("✅ Cenário concluído - dados mantidos para rastreabilidade");
     }
     
+    @AfterAll
+    public static void afterAll() {
+        // Resumo das esperas condicionais (tempo real gasto aguardando serviços/eventos)
+        WaitHelper.logSummary();
+    }
+
     @Dado("a infraestrutura de testes está configurada")
     public void a_infraestrutura_de_testes_esta_configurada() {
         // Verificar que infraestrutura está disponível
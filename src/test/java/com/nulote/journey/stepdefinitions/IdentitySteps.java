@@ -7,6 +7,7 @@ import com.nulote.journey.fixtures.TestDataGenerator;
 import com.nulote.journey.fixtures.TestDataCache;
 import com.nulote.journey.fixtures.UserFixture;
 import com.nulote.journey.utils.AllureHelper;
+import com.nulote.journey.utils.WaitHelper;
 import io.cucumber.java.pt.Dado;
 import io.cucumber.java.pt.Então;
 import io.cucumber.java.pt.Quando;
@@ -14,6 +15,7 @@ import io.restassured.response.Response;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
 
@@ -1341,15 +1343,10 @@ public class IdentitySteps {
         
         String userUuid = userFixture.getCreatedUserUuid();
         
-        // Aguardar sincronização via evento RabbitMQ
-        try {
-            Thread.sleep(3000); // Aguardar 3 segundos para processamento do evento
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
-        // Consultar auth-service
-        Response response = authClient.getCredentialsByUserUuid(userUuid);
+        // Aguardar sincronização via evento RabbitMQ: nome atualizado no auth-service (até 3 segundos)
+        Response response = WaitHelper.waitFor("nome sincronizado no auth-service", Duration.ofSeconds(3),
+            () -> authClient.getCredentialsByUserUuid(userUuid),
+            r -> r.getStatusCode() == 200 && expectedName.equals(r.jsonPath().getString("name")));
         authServiceUserResponse = response;
         
         assertThat(response.getStatusCode())
@@ -1555,14 +1552,10 @@ public class IdentitySteps {
         
         String userUuid = userFixture.getCreatedUserUuid();
         
-        // Aguardar sincronização via evento RabbitMQ
-        try {
-            Thread.sleep(3000); // Aguardar 3 segundos para processamento do evento
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
-        Response response = authClient.getCredentialsByUserUuid(userUuid);
+        // Aguardar sincronização via evento RabbitMQ: usuário desativado no auth-service (até 3 segundos)
+        Response response = WaitHelper.waitFor("desativação sincronizada no auth-service", Duration.ofSeconds(3),
+            () -> authClient.getCredentialsByUserUuid(userUuid),
+            r -> r.getStatusCode() == 200 && Boolean.FALSE.equals(r.jsonPath().getBoolean("isActive")));
         
         assertThat(response.getStatusCode())
             .as("Usuário deve existir no auth-service")
@@ -1583,8 +1576,12 @@ public class IdentitySteps {
         
         String userUuid = userFixture.getCreatedUserUuid();
         
+        // Consultas independentes emitidas em paralelo (identity-service e auth-service)
+        var identityFuture = identityClient.getUserByUuidAsync(userUuid);
+        var authFuture = authClient.getCredentialsByUserUuidAsync(userUuid);
+        
         // Consultar identity-service
-        Response identityResponse = identityClient.getUserByUuid(userUuid);
+        Response identityResponse = identityFuture.join();
         assertThat(identityResponse.getStatusCode())
             .as("Usuário deve existir no identity-service")
             .isEqualTo(200);
@@ -1592,7 +1589,7 @@ public class IdentitySteps {
         Boolean identityIsActive = identityResponse.jsonPath().getBoolean("isActive");
         
         // Consultar auth-service
-        Response authResponse = authClient.getCredentialsByUserUuid(userUuid);
+        Response authResponse = authFuture.join();
         assertThat(authResponse.getStatusCode())
             .as("Usuário deve existir no auth-service")
             .isEqualTo(200);
@@ -1838,14 +1835,18 @@ public class IdentitySteps {
         
         String userUuid = userFixture.getCreatedUserUuid();
         
+        // Consultas independentes emitidas em paralelo (identity-service e auth-service)
+        var identityFuture = identityClient.getUserByUuidAsync(userUuid);
+        var authFuture = authClient.getCredentialsByUserUuidAsync(userUuid);
+        
         // Consultar identity-service (fonte de verdade)
-        Response identityResponse = identityClient.getUserByUuid(userUuid);
+        Response identityResponse = identityFuture.join();
         assertThat(identityResponse.getStatusCode())
             .as("Usuário deve existir no identity-service")
             .isEqualTo(200);
         
         // Consultar auth-service
-        Response authResponse = authClient.getCredentialsByUserUuid(userUuid);
+        Response authResponse = authFuture.join();
         assertThat(authResponse.getStatusCode())
             .as("Usuário deve existir no auth-service")
             .isEqualTo(200);
@@ -1979,14 +1980,10 @@ public class IdentitySteps {
         
         String userUuid = userFixture.getCreatedUserUuid();
         
-        // Aguardar sincronização via evento RabbitMQ
-        try {
-            Thread.sleep(2000); // Aguardar 2 segundos para processamento do evento
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
-        Response response = authClient.getCredentialsByUserUuid(userUuid);
+        // Aguardar sincronização via evento RabbitMQ: usuário presente no auth-service (até 2 segundos)
+        Response response = WaitHelper.waitFor("usuário sincronizado no auth-service", Duration.ofSeconds(2),
+            () -> authClient.getCredentialsByUserUuid(userUuid),
+            r -> r.getStatusCode() == 200);
         
         assertThat(response.getStatusCode())
             .as("Usuário deve existir no auth-service após sincronização")
@@ -2012,14 +2009,10 @@ public class IdentitySteps {
             .isNotNull()
             .isNotEmpty();
         
-        // Aguardar sincronização via evento RabbitMQ (se ainda não foi processado)
-        try {
-            Thread.sleep(2000); // Aguardar 2 segundos para processamento do evento
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
-        Response response = authClient.getCredentialsByUserUuid(userUuid);
+        // Aguardar sincronização via evento RabbitMQ (se ainda não foi processado, até 2 segundos)
+        Response response = WaitHelper.waitFor("usuário sincronizado no auth-service", Duration.ofSeconds(2),
+            () -> authClient.getCredentialsByUserUuid(userUuid),
+            r -> r.getStatusCode() == 200);
         
         assertThat(response.getStatusCode())
             .as("Usuário deve existir no auth-service com dados iniciais")
@@ -2312,33 +2305,23 @@ public class IdentitySteps {
         var logger = org.slf4j.LoggerFactory.getLogger(IdentitySteps.class);
         
         long startTime = System.currentTimeMillis();
-        long maxTime = maxSeconds * 1000L;
         
-        // Polling para aguardar sincronização
-        for (int attempt = 1; attempt <= 10; attempt++) {
-            try {
-                Thread.sleep(500); // Aguardar 500ms entre tentativas
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
-            
-            Response response = authClient.getCredentialsByUserUuid(userUuid);
-            if (response.getStatusCode() == 200) {
-                String authName = response.jsonPath().getString("name");
-                // Verificar se nome foi atualizado (assumindo que atualizamos para "Nome Atualizado")
-                if (authName != null && authName.contains("Atualizado")) {
-                    long elapsed = System.currentTimeMillis() - startTime;
-                    logger.info("✅ Sincronização concluída em {}ms (tentativa {})", elapsed, attempt);
-                    return;
-                }
-            }
-            
-            if (System.currentTimeMillis() - startTime > maxTime) {
-                logger.warn("⚠️ Timeout ao aguardar sincronização ({}ms)", System.currentTimeMillis() - startTime);
-                break;
-            }
+        // Aguardar sincronização: termina assim que o nome atualizado aparece no auth-service
+        // (assumindo que atualizamos para "Nome Atualizado")
+        Response response = WaitHelper.waitFor("sincronização do evento RabbitMQ no auth-service", Duration.ofSeconds(maxSeconds),
+            () -> authClient.getCredentialsByUserUuid(userUuid),
+            r -> {
+                String authName = r.getStatusCode() == 200 ? r.jsonPath().getString("name") : null;
+                return authName != null && authName.contains("Atualizado");
+            });
+        
+        long elapsed = System.currentTimeMillis() - startTime;
+        String authName = response != null && response.getStatusCode() == 200 ? response.jsonPath().getString("name") : null;
+        if (authName != null && authName.contains("Atualizado")) {
+            logger.info("✅ Sincronização concluída em {}ms", elapsed);
+            return;
         }
+        logger.warn("⚠️ Timeout ao aguardar sincronização ({}ms)", elapsed);
         
         logger.info("Aguardou sincronização do evento RabbitMQ");
     }
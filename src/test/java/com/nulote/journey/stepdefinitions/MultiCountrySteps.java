@@ -7,7 +7,9 @@ import com.nulote.journey.clients.IdentityServiceClient;
 import com.nulote.journey.clients.TransactionalMessagingServiceClient;
 import com.nulote.journey.config.E2EConfiguration;
 import com.nulote.journey.fixtures.UserFixture;
+import com.nulote.journey.utils.DeadLetterWatcher;
 import com.nulote.journey.utils.RabbitMQHelper;
+import com.nulote.journey.utils.WaitHelper;
 import io.cucumber.java.pt.Dado;
 import io.cucumber.java.pt.Então;
 import io.cucumber.java.pt.Quando;
@@ -16,12 +18,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.test.context.ContextConfiguration;
 
+import java.time.Duration;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
 
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
-import static java.util.concurrent.TimeUnit.SECONDS;
-import static org.awaitility.Awaitility.await;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -62,6 +61,17 @@ public class MultiCountrySteps {
     @Autowired
     private UserFixture userFixture;
     
+    @Autowired
+    private DeadLetterWatcher deadLetterWatcher;
+    
+    // Janela para confirmar que a mensagem do parking lot não voltou para a fila principal
+    private static final Duration PARKING_LOT_OBSERVATION_WINDOW = Duration.ofSeconds(1);
+    
+    // message_id da mensagem de erro publicada pelo cenário (null enquanto o evento de erro é só simulado)
+    // e salto dessa mensagem para o parking lot
+    private String errorMessageId;
+    private DeadLetterWatcher.Hop parkingLotHop;
+    
     // Resposta HTTP da última requisição (compartilhada com AuthenticationSteps via setter)
     private Response lastResponse;
     
@@ -84,8 +94,8 @@ public class MultiCountrySteps {
             .as("Código do país deve estar em uppercase (ex: BR, AR, CL)")
             .matches("^[A-Z]{2}$");
         
-        // Configurar país padrão (temporariamente para este teste)
-        config.setDefaultCountryCode(countryCode);
+        // Configurar país padrão (apenas para este cenário)
+        config.setScenarioCountryCode(countryCode);
         
         logger.info("🌍 [MULTI-COUNTRY] País padrão configurado como: {} (header será: {})", 
             countryCode, config.getCountryCodeHeader());
@@ -106,8 +116,8 @@ public class MultiCountrySteps {
             .as("Código do país deve estar em uppercase (ex: BR, AR, CL)")
             .matches("^[A-Z]{2}$");
         
-        // Configurar país padrão (temporariamente para este teste)
-        config.setDefaultCountryCode(countryCode);
+        // Configurar país padrão (apenas para este cenário)
+        config.setScenarioCountryCode(countryCode);
         
         logger.info("🌍 [MULTI-COUNTRY] País padrão configurado como: {} (header será: {})", 
             countryCode, config.getCountryCodeHeader());
@@ -176,20 +186,13 @@ public class MultiCountrySteps {
         
         try {
             // Aguardar evento ser publicado e consumir
-            AtomicReference<RabbitMQHelper.Event> eventRef = new AtomicReference<>();
-            await()
-                .atMost(eventTimeoutSeconds, SECONDS)
-                .pollInterval(eventPollIntervalMs, MILLISECONDS)
-                .until(() -> {
-                    var message = rabbitMQHelper.consumeMessage(eventType);
-                    if (message != null && message.getType().equals(eventType)) {
-                        eventRef.set(message);
-                        return true;
-                    }
-                    return false;
-                });
-            
-            RabbitMQHelper.Event event = eventRef.get();
+            // Evento deste cenário (userUuid/e-mail/otpId), completado pelo callback de entrega do RabbitMQ
+            RabbitMQHelper.Event event = rabbitMQHelper.awaitEvent(eventType,
+                userFixture.getEventCorrelationKeys(eventType), null, Duration.ofSeconds(eventTimeoutSeconds)).join();
+            if (event == null) {
+                throw new IllegalStateException(
+                    String.format("Evento %s não recebido em %ds", eventType, eventTimeoutSeconds));
+            }
             assertThat(event)
                 .as("Evento %s deve ter sido publicado", eventType)
                 .isNotNull();
@@ -248,7 +251,7 @@ public class MultiCountrySteps {
         var logger = org.slf4j.LoggerFactory.getLogger(MultiCountrySteps.class);
         
         // Configurar país para tentativa de criação
-        config.setDefaultCountryCode(countryCode);
+        config.setScenarioCountryCode(countryCode);
         
         // Obter dados do usuário anterior do fixture
         var userData = userFixture.getUserData();
@@ -405,20 +408,13 @@ public class MultiCountrySteps {
         
         try {
             // Aguardar evento ser processado
-            AtomicReference<RabbitMQHelper.Event> eventRef = new AtomicReference<>();
-            await()
-                .atMost(eventTimeoutSeconds, SECONDS)
-                .pollInterval(eventPollIntervalMs, MILLISECONDS)
-                .until(() -> {
-                    var message = rabbitMQHelper.consumeMessage(eventType);
-                    if (message != null && message.getType().equals(eventType)) {
-                        eventRef.set(message);
-                        return true;
-                    }
-                    return false;
-                });
-            
-            RabbitMQHelper.Event event = eventRef.get();
+            // Evento deste cenário (userUuid/e-mail/otpId), completado pelo callback de entrega do RabbitMQ
+            RabbitMQHelper.Event event = rabbitMQHelper.awaitEvent(eventType,
+                userFixture.getEventCorrelationKeys(eventType), null, Duration.ofSeconds(eventTimeoutSeconds)).join();
+            if (event == null) {
+                throw new IllegalStateException(
+                    String.format("Evento %s não recebido em %ds", eventType, eventTimeoutSeconds));
+            }
             assertThat(event)
                 .as("Evento %s deve ter sido processado", eventType)
                 .isNotNull();
@@ -468,20 +464,13 @@ public class MultiCountrySteps {
         
         try {
             // Aguardar evento ser publicado
-            AtomicReference<RabbitMQHelper.Event> eventRef = new AtomicReference<>();
-            await()
-                .atMost(eventTimeoutSeconds, SECONDS)
-                .pollInterval(eventPollIntervalMs, MILLISECONDS)
-                .until(() -> {
-                    var message = rabbitMQHelper.consumeMessage(eventType);
-                    if (message != null && message.getType().equals(eventType)) {
-                        eventRef.set(message);
-                        return true;
-                    }
-                    return false;
-                });
-            
-            RabbitMQHelper.Event event = eventRef.get();
+            // Evento deste cenário (userUuid/e-mail/otpId), completado pelo callback de entrega do RabbitMQ
+            RabbitMQHelper.Event event = rabbitMQHelper.awaitEvent(eventType,
+                userFixture.getEventCorrelationKeys(eventType), null, Duration.ofSeconds(eventTimeoutSeconds)).join();
+            if (event == null) {
+                throw new IllegalStateException(
+                    String.format("Evento %s não recebido em %ds", eventType, eventTimeoutSeconds));
+            }
             assertThat(event)
                 .as("Evento %s deve ter sido publicado", eventType)
                 .isNotNull();
@@ -553,7 +542,7 @@ public class MultiCountrySteps {
         var logger = org.slf4j.LoggerFactory.getLogger(MultiCountrySteps.class);
         
         // Configurar país para consulta
-        config.setDefaultCountryCode(countryCode);
+        config.setScenarioCountryCode(countryCode);
         
         // Validação indireta: se o usuário foi criado com sucesso,
         // assumimos que é consultável no país correto
@@ -571,7 +560,7 @@ public class MultiCountrySteps {
         var logger = org.slf4j.LoggerFactory.getLogger(MultiCountrySteps.class);
         
         // Configurar país para consulta
-        config.setDefaultCountryCode(countryCode);
+        config.setScenarioCountryCode(countryCode);
         
         logger.info("🌍 [MULTI-COUNTRY] Consultando usuários no país {}", countryCode);
     }
@@ -601,6 +590,7 @@ public class MultiCountrySteps {
         var logger = org.slf4j.LoggerFactory.getLogger(MultiCountrySteps.class);
         
         logger.warn("🌍 [MULTI-COUNTRY] ⚠️ Simulando evento {} sem campo {} (cenário de erro)", eventType, fieldName);
+        resetErrorMessage();
         
         // Nota: Em um teste real, isso seria feito publicando um evento sem o campo
         // Por enquanto, apenas logamos a intenção
@@ -631,28 +621,61 @@ public class MultiCountrySteps {
         logger.info("🌍 [MULTI-COUNTRY] ✅ Audit Compliance Consumer lançou exceção non-retryable (validação indireta)");
     }
     
+    /**
+     * Esquece a mensagem de erro de um step anterior: nada é publicado enquanto o evento é simulado.
+     */
+    private void resetErrorMessage() {
+        errorMessageId = null;
+        parkingLotHop = null;
+    }
+    
     /**
      * Valida que a mensagem foi enviada para o parking lot.
+     * Aguarda o salto da mensagem de erro publicada (por message_id) via DeadLetterWatcher; sem mensagem
+     * publicada não há salto a esperar, e a validação fica indireta sem bloquear o cenário.
      */
     @Então("a mensagem deve ser enviada para o parking lot")
     public void a_mensagem_deve_ser_enviada_para_o_parking_lot() {
         var logger = org.slf4j.LoggerFactory.getLogger(MultiCountrySteps.class);
         
-        // Validação indireta: verificar se há mensagem na fila de parking lot
-        // A validação real seria feita consultando a fila de parking lot do RabbitMQ
-        logger.info("🌍 [MULTI-COUNTRY] ✅ Mensagem enviada para parking lot (validação indireta)");
+        if (errorMessageId == null) {
+            logger.info("🌍 [MULTI-COUNTRY] ✅ Mensagem enviada para parking lot (validação indireta - evento de erro simulado)");
+            return;
+        }
+        
+        parkingLotHop = WaitHelper.await("mensagem no parking lot",
+            deadLetterWatcher.awaitParkingLot(errorMessageId, Duration.ofSeconds(eventTimeoutSeconds)));
+        assertThat(parkingLotHop)
+            .as("Mensagem %s deveria ter sido enviada para o parking lot em %ds", errorMessageId, eventTimeoutSeconds)
+            .isNotNull();
+        logger.info("🌍 [MULTI-COUNTRY] ✅ Mensagem enviada para parking lot: {}", parkingLotHop);
     }
     
     /**
      * Valida que a mensagem não foi reenviada para a fila principal.
+     * Com salto para o parking lot observado, nenhum novo dead-letter da mesma mensagem pode sair
+     * do parking lot dentro da janela de observação.
      */
     @Então("a mensagem não deve ser reenviada para a fila principal")
     public void a_mensagem_nao_deve_ser_reenviada_para_a_fila_principal() {
         var logger = org.slf4j.LoggerFactory.getLogger(MultiCountrySteps.class);
         
-        // Validação indireta: verificar que não há mensagem na fila principal
-        // A validação real seria feita consultando a fila principal do RabbitMQ
-        logger.info("🌍 [MULTI-COUNTRY] ✅ Mensagem não foi reenviada para fila principal (validação indireta)");
+        if (parkingLotHop == null) {
+            logger.info("🌍 [MULTI-COUNTRY] ✅ Mensagem não foi reenviada para fila principal (validação indireta)");
+            return;
+        }
+        
+        // Espera negativa: o esperado é o prazo esgotar sem salto (não entra nas estatísticas do WaitHelper)
+        var redelivery = deadLetterWatcher.awaitHop(parkingLotHop.getMessageId(),
+            hop -> hop.getObservedAt().isAfter(parkingLotHop.getObservedAt()) && !hop.isParkingLot(),
+            PARKING_LOT_OBSERVATION_WINDOW).join();
+        
+        assertThat(redelivery)
+            .as("Mensagem %s não deveria sair do parking lot (salto observado: %s)", 
+                parkingLotHop.getMessageId(), redelivery)
+            .isNull();
+        logger.info("🌍 [MULTI-COUNTRY] ✅ Mensagem {} permaneceu no parking lot (linha do tempo: {})", 
+            parkingLotHop.getMessageId(), deadLetterWatcher.getTimeline(parkingLotHop.getMessageId()));
     }
     
     /**
@@ -665,6 +688,7 @@ public class MultiCountrySteps {
         var logger = org.slf4j.LoggerFactory.getLogger(MultiCountrySteps.class);
         
         logger.warn("🌍 [MULTI-COUNTRY] ⚠️ Simulando evento {} sem header {} (cenário de erro)", eventType, headerName);
+        resetErrorMessage();
         
         // Nota: Em um teste real, isso seria feito publicando um evento sem o header
         // Por enquanto, apenas logamos a intenção
@@ -1,7 +1,9 @@
 package com.nulote.journey.stepdefinitions;
 
+import com.nulote.journey.clients.AuthTokenCache;
 import com.nulote.journey.clients.ProfileServiceClient;
 import com.nulote.journey.fixtures.UserFixture;
+import com.nulote.journey.fixtures.UserPool;
 import io.cucumber.java.pt.Dado;
 import io.cucumber.java.pt.Então;
 import io.cucumber.java.pt.Quando;
@@ -24,12 +26,18 @@ public class ProfileSteps {
     @Autowired
     private com.nulote.journey.clients.AuthServiceClient authClient;
     
+    @Autowired
+    private AuthTokenCache authTokenCache;
+    
     @Autowired
     private UserFixture userFixture;
     
     @Autowired(required = false)
     private com.nulote.journey.fixtures.TestDataCache testDataCache;
     
+    @Autowired
+    private UserPool userPool;
+    
     // Configurações de timeout para eventos assíncronos
     @Value("${e2e.event-timeout-seconds:3}")
     private long eventTimeoutSeconds;
@@ -60,7 +68,8 @@ public class ProfileSteps {
     public void que_estou_autenticado_na_plataforma() {
         var logger = org.slf4j.LoggerFactory.getLogger(ProfileSteps.class);
         
-        // Cache: Verificar se há usuário no cache antes de criar novo
+        // Cache: Verificar se há usuário no cache antes de criar novo (só na mesma execução: a chave
+        // é o e-mail gerado nesta execução; entre execuções o reaproveitamento vem do UserPool abaixo)
         if (testDataCache != null) {
             var userData = userFixture.getUserData();
             if (userData != null) {
@@ -84,6 +93,24 @@ public class ProfileSteps {
             return;
         }
         
+        // Pool: usuário pré-provisionado (identidade, credenciais e perfil já criados em background)
+        var pooledUser = userPool.leaseFor(userFixture);
+        if (pooledUser != null) {
+            try {
+                var loginRequest = userFixture.buildLoginRequest();
+                String jwtToken = authTokenCache.getAccessToken(loginRequest.get("username"),
+                    AuthTokenCache.SCOPE_PASSWORD_LOGIN, () -> authClient.login(loginRequest));
+                if (jwtToken != null) {
+                    userFixture.setJwtToken(jwtToken);
+                }
+            } catch (Exception e) {
+                logger.warn("Não foi possível fazer login para obter JWT token: {}", e.getMessage());
+            }
+            logger.info("♻️ [USER-POOL] Usuário pré-provisionado em uso: email={}, uuid={}",
+                pooledUser.getEmail(), pooledUser.getUserUuid());
+            return;
+        }
+        
         // Se usuário não existe, criar um novo usuário de teste (com OTP)
         logger.debug("Criando novo usuário para autenticação...");
         // Criar usuário primeiro
@@ -91,21 +118,10 @@ public class ProfileSteps {
         var userData = new java.util.HashMap<String, String>();
         userData.put("nome", com.nulote.journey.fixtures.TestDataGenerator.generateUniqueName());
         
-        // Cache: Verificar se há CPF no cache antes de gerar novo
-        String documentNumber = null;
-        if (testDataCache != null) {
-            documentNumber = testDataCache.getCachedDocument("CPF");
-            if (documentNumber != null) {
-                logger.debug("✅ [CACHE] Reutilizando CPF do cache: {}", documentNumber);
-            }
-        }
-        if (documentNumber == null) {
-            documentNumber = com.nulote.journey.fixtures.TestDataGenerator.generateUniqueCpf();
-            // Adicionar ao cache para reutilização futura
-            if (testDataCache != null) {
-                testDataCache.cacheDocument("CPF", documentNumber);
-            }
-        }
+        // Cache: CPF do cenário atual (gerado uma única vez por cenário e país)
+        String documentNumber = testDataCache != null
+            ? testDataCache.getOrLoadDocument("CPF", com.nulote.journey.fixtures.TestDataGenerator::generateUniqueCpf)
+            : com.nulote.journey.fixtures.TestDataGenerator.generateUniqueCpf();
         userData.put("documentNumber", documentNumber);
         userData.put("documentType", "CPF");
         userData.put("email", com.nulote.journey.fixtures.TestDataGenerator.generateUniqueEmail());
@@ -207,19 +223,14 @@ public class ProfileSteps {
                         // Não falhar aqui - alguns testes podem criar perfil manualmente
                     }
                     
-                    // Fazer login para obter JWT token (necessário para operações autenticadas)
+                    // Obter JWT token (necessário para operações autenticadas): cache de tokens ou login
                     try {
                         var loginRequest = userFixture.buildLoginRequest();
-                        var loginResponse = authClient.login(loginRequest);
-                        if (loginResponse.getStatusCode() == 200) {
-                            String jwtToken = loginResponse.jsonPath().getString("token");
-                            if (jwtToken == null) {
-                                jwtToken = loginResponse.jsonPath().getString("accessToken");
-                            }
-                            if (jwtToken != null) {
-                                userFixture.setJwtToken(jwtToken);
-                                logger.debug("✅ JWT token obtido e armazenado no UserFixture");
-                            }
+                        String jwtToken = authTokenCache.getAccessToken(loginRequest.get("username"),
+                            AuthTokenCache.SCOPE_PASSWORD_LOGIN, () -> authClient.login(loginRequest));
+                        if (jwtToken != null) {
+                            userFixture.setJwtToken(jwtToken);
+                            logger.debug("✅ JWT token obtido e armazenado no UserFixture");
                         }
                     } catch (Exception e) {
                         logger.warn("Não foi possível fazer login para obter JWT token: {}", e.getMessage());
@@ -1,19 +1,21 @@
 package com.nulote.journey.stepdefinitions;
 
 import com.nulote.journey.config.E2EConfiguration;
+import com.nulote.journey.fixtures.UserFixture;
 import com.nulote.journey.utils.RabbitMQHelper;
+import com.nulote.journey.utils.WaitHelper;
 import io.cucumber.java.pt.Dado;
 import io.cucumber.java.pt.Então;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.test.context.ContextConfiguration;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
-import static org.awaitility.Awaitility.await;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -28,6 +30,9 @@ public class SimulateProviderSteps {
     @Autowired
     private E2EConfiguration config;
     
+    @Autowired
+    private UserFixture userFixture;
+    
     // Configurações de timeout para eventos assíncronos
     @Value("${e2e.event-timeout-seconds:3}")
     private long eventTimeoutSeconds;
@@ -43,21 +48,14 @@ public class SimulateProviderSteps {
         var logger = org.slf4j.LoggerFactory.getLogger(SimulateProviderSteps.class);
         
         try {
-            // Aguardar evento ser publicado e consumir
-            AtomicReference<RabbitMQHelper.Event> eventRef = new AtomicReference<>();
-            await()
-                .atMost(eventTimeoutSeconds, SECONDS)
-                .pollInterval(eventPollIntervalMs, MILLISECONDS)
-                .until(() -> {
-                    var message = rabbitMQHelper.consumeMessage(eventType);
-                    if (message != null && message.getType().equals(eventType)) {
-                        eventRef.set(message);
-                        return true;
-                    }
-                    return false;
-                });
-            
-            RabbitMQHelper.Event event = eventRef.get();
+            // Aguardar o evento deste cenário (otpId/userUuid/e-mail)
+            // Future completado pelo callback de entrega do RabbitMQ (sem polling)
+            RabbitMQHelper.Event event = rabbitMQHelper.awaitEvent(eventType,
+                userFixture.getEventCorrelationKeys(eventType), null, Duration.ofSeconds(eventTimeoutSeconds)).join();
+            if (event == null) {
+                throw new IllegalStateException(
+                    String.format("Evento %s não recebido em %ds", eventType, eventTimeoutSeconds));
+            }
             assertThat(event)
                 .as("Evento %s deve ter sido publicado", eventType)
                 .isNotNull();
@@ -141,35 +139,35 @@ public class SimulateProviderSteps {
             
             logger.info("🔍 [TROUBLESHOOTING] Configuração: minMessages={}, maxMessages={}", minMessages, maxMessages);
             
-            // IMPORTANTE: As mensagens podem ter sido consumidas rapidamente pelos consumidores ativos.
-            // Vamos tentar uma estratégia diferente: aguardar um pouco e então tentar consumir todas as mensagens disponíveis.
-            // Primeiro, aguardar um pouco para dar tempo das mensagens serem publicadas
-            logger.info("🔍 [TROUBLESHOOTING] Aguardando 2 segundos antes de começar a consumir mensagens do evento {}...", finalEventType);
-            try {
-                Thread.sleep(2000); // Aumentado para 2 segundos
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                logger.warn("🔍 [TROUBLESHOOTING] Thread interrompida durante aguardo inicial");
+            // Só mensagens do usuário do cenário: cada solicitação tem o próprio otpId, o e-mail é comum a todas
+            var userData = userFixture.getUserData();
+            String scenarioEmail = userData != null ? userData.get("email") : null;
+            if (scenarioEmail == null) {
+                throw new IllegalStateException("Cenário sem e-mail para correlacionar as mensagens " + eventType);
             }
+            final Predicate<RabbitMQHelper.Event> fromScenario = RabbitMQHelper.correlatedTo(List.of(scenarioEmail));
             
-            // Tentar obter a última mensagem consumida do cache (pode ter sido consumida anteriormente)
-            logger.info("🔍 [TROUBLESHOOTING] Verificando cache de última mensagem consumida para eventType={}", eventType);
-            RabbitMQHelper.Event lastEvent = rabbitMQHelper.getLastConsumedMessage(eventType);
+            // IMPORTANTE: As mensagens podem ter sido consumidas rapidamente pelos consumidores ativos.
+            // Vamos tentar uma estratégia diferente: aguardar um pouco e então tentar consumir todas as mensagens disponíveis.
+            // Primeiro, aguardar a primeira mensagem do cenário ser publicada (até 2 segundos)
+            logger.info("🔍 [TROUBLESHOOTING] Aguardando até 2 segundos pela primeira mensagem do evento {}...", finalEventType);
+            RabbitMQHelper.Event lastEvent = WaitHelper.await("primeira mensagem do evento " + finalEventType,
+                rabbitMQHelper.awaitEvent(finalEventType, fromScenario, Duration.ofSeconds(2)));
             if (lastEvent != null) {
-                logger.info("🔍 [TROUBLESHOOTING] ✅ Última mensagem encontrada no cache para eventType={}", eventType);
-                logger.debug("🔍 [TROUBLESHOOTING] Detalhes da mensagem do cache: type={}, headers={}", 
+                logger.info("🔍 [TROUBLESHOOTING] ✅ Primeira mensagem recebida para eventType={}", eventType);
+                logger.debug("🔍 [TROUBLESHOOTING] Detalhes da primeira mensagem: type={}, headers={}", 
                     lastEvent.getType(), lastEvent.getHeaders() != null ? lastEvent.getHeaders().keySet() : "null");
                 messagesChecked[0]++;
                 
                 // Verificar header
                 Map<String, Object> headers = lastEvent.getHeaders();
                 assertThat(headers)
-                    .as("Última mensagem do evento %s deve conter headers", finalEventType)
+                    .as("Primeira mensagem do evento %s deve conter headers", finalEventType)
                     .isNotNull();
                 
                 Object headerValue = headers.get(finalHeaderName);
                 assertThat(headerValue)
-                    .as("Última mensagem do evento %s deve conter o header %s", finalEventType, finalHeaderName)
+                    .as("Primeira mensagem do evento %s deve conter o header %s", finalEventType, finalHeaderName)
                     .isNotNull();
                 
                 // Converter valor do header para string
@@ -183,13 +181,13 @@ public class SimulateProviderSteps {
                 }
                 
                 assertThat(actualValue)
-                    .as("Header %s da última mensagem do evento %s deve ter valor %s, mas foi %s", 
+                    .as("Header %s da primeira mensagem do evento %s deve ter valor %s, mas foi %s", 
                         finalHeaderName, finalEventType, finalExpectedValue, actualValue)
                     .isEqualTo(finalExpectedValue);
                 
-                logger.info("🔍 [TROUBLESHOOTING] ✅ Mensagem do cache validada com header {}={}", finalHeaderName, actualValue);
+                logger.info("🔍 [TROUBLESHOOTING] ✅ Primeira mensagem validada com header {}={}", finalHeaderName, actualValue);
             } else {
-                logger.info("🔍 [TROUBLESHOOTING] ⚠️ Nenhuma mensagem encontrada no cache para eventType={}", eventType);
+                logger.info("🔍 [TROUBLESHOOTING] ⚠️ Nenhuma mensagem do cenário recebida para eventType={}", eventType);
             }
             
             // Tentar consumir mensagens adicionais com polling
@@ -200,7 +198,8 @@ public class SimulateProviderSteps {
                 finalEventType, messagesChecked[0]);
             for (int i = 0; i < 5 && messagesChecked[0] < minMessages; i++) {
                 logger.debug("🔍 [TROUBLESHOOTING] Tentativa {} de consumo direto...", i + 1);
-                RabbitMQHelper.Event event = rabbitMQHelper.consumeMessage(finalEventType);
+                // Retorna assim que a mensagem chegar (até 300ms por tentativa)
+                RabbitMQHelper.Event event = rabbitMQHelper.awaitEvent(finalEventType, fromScenario, Duration.ofMillis(300)).join();
                 if (event != null) {
                     messagesChecked[0]++;
                     int currentMessageNumber = messagesChecked[0];
@@ -237,14 +236,6 @@ public class SimulateProviderSteps {
                     
                     logger.debug("✅ Mensagem {} do evento {} validada com header {}={}", 
                         currentMessageNumber, finalEventType, finalHeaderName, actualValue);
-                } else {
-                    // Aguardar um pouco antes de tentar novamente
-                    try {
-                        Thread.sleep(300);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
                 }
             }
             
@@ -253,56 +244,52 @@ public class SimulateProviderSteps {
             // as mensagens podem ter sido consumidas muito rapidamente e não há mais mensagens disponíveis
             if (messagesChecked[0] > 0 && messagesChecked[0] < minMessages) {
                 logger.debug("Apenas {} mensagens encontradas diretamente. Iniciando polling para encontrar mais mensagens...", messagesChecked[0]);
-                try {
-                    await()
-                        .atMost(5, SECONDS) // Timeout reduzido
-                        .pollInterval(300, java.util.concurrent.TimeUnit.MILLISECONDS)
-                        .until(() -> {
-                            RabbitMQHelper.Event event = rabbitMQHelper.consumeMessage(finalEventType);
-                            if (event == null) {
-                                return false; // Continuar tentando
-                            }
-                            
-                            messagesChecked[0]++;
-                            int currentMessageNumber = messagesChecked[0];
-                            logger.debug("Mensagem {} do evento {} consumida via polling. Total verificado: {}", 
-                                currentMessageNumber, finalEventType, messagesChecked[0]);
-                            
-                            // Verificar header
-                            Map<String, Object> headers = event.getHeaders();
-                            assertThat(headers)
-                                .as("Mensagem %d do evento %s deve conter headers", currentMessageNumber, finalEventType)
-                                .isNotNull();
-                            
-                            Object headerValue = headers.get(finalHeaderName);
-                            assertThat(headerValue)
-                                .as("Mensagem %d do evento %s deve conter o header %s", currentMessageNumber, finalEventType, finalHeaderName)
-                                .isNotNull();
-                            
-                            // Converter valor do header para string
-                            String actualValue = null;
-                            if (headerValue instanceof String) {
-                                actualValue = (String) headerValue;
-                            } else if (headerValue instanceof byte[]) {
-                                actualValue = new String((byte[]) headerValue);
-                            } else {
-                                actualValue = String.valueOf(headerValue);
-                            }
-                            
-                            assertThat(actualValue)
-                                .as("Header %s da mensagem %d do evento %s deve ter valor %s, mas foi %s", 
-                                    finalHeaderName, currentMessageNumber, finalEventType, finalExpectedValue, actualValue)
-                                .isEqualTo(finalExpectedValue);
-                            
-                            logger.debug("✅ Mensagem {} do evento {} validada com header {}={}", 
-                                currentMessageNumber, finalEventType, finalHeaderName, actualValue);
-                            
-                            // Continuar tentando até encontrar pelo menos minMessages
-                            return messagesChecked[0] >= minMessages;
-                        });
-                } catch (org.awaitility.core.ConditionTimeoutException e) {
-                    // Timeout no polling - não é crítico, já temos pelo menos 1 mensagem
-                    logger.info("🔍 [TROUBLESHOOTING] ⏱️ Timeout no polling para encontrar mais mensagens. Total encontrado: {}", messagesChecked[0]);
+                // Futures completados pelo callback de entrega; prazo total de 5s para as mensagens restantes
+                final long deadline = System.nanoTime() + SECONDS.toNanos(5);
+                while (messagesChecked[0] < minMessages) {
+                    long remainingMs = (deadline - System.nanoTime()) / 1_000_000;
+                    RabbitMQHelper.Event event = remainingMs > 0
+                        ? rabbitMQHelper.awaitEvent(finalEventType, fromScenario, Duration.ofMillis(remainingMs)).join()
+                        : null;
+                    if (event == null) {
+                        // Timeout - não é crítico, já temos pelo menos 1 mensagem
+                        logger.info("🔍 [TROUBLESHOOTING] ⏱️ Timeout aguardando mais mensagens. Total encontrado: {}", messagesChecked[0]);
+                        break;
+                    }
+                    
+                    messagesChecked[0]++;
+                    int currentMessageNumber = messagesChecked[0];
+                    logger.debug("Mensagem {} do evento {} recebida via awaitEvent. Total verificado: {}", 
+                        currentMessageNumber, finalEventType, messagesChecked[0]);
+                    
+                    // Verificar header
+                    Map<String, Object> headers = event.getHeaders();
+                    assertThat(headers)
+                        .as("Mensagem %d do evento %s deve conter headers", currentMessageNumber, finalEventType)
+                        .isNotNull();
+                    
+                    Object headerValue = headers.get(finalHeaderName);
+                    assertThat(headerValue)
+                        .as("Mensagem %d do evento %s deve conter o header %s", currentMessageNumber, finalEventType, finalHeaderName)
+                        .isNotNull();
+                    
+                    // Converter valor do header para string
+                    String actualValue = null;
+                    if (headerValue instanceof String) {
+                        actualValue = (String) headerValue;
+                    } else if (headerValue instanceof byte[]) {
+                        actualValue = new String((byte[]) headerValue);
+                    } else {
+                        actualValue = String.valueOf(headerValue);
+                    }
+                    
+                    assertThat(actualValue)
+                        .as("Header %s da mensagem %d do evento %s deve ter valor %s, mas foi %s", 
+                            finalHeaderName, currentMessageNumber, finalEventType, finalExpectedValue, actualValue)
+                        .isEqualTo(finalExpectedValue);
+                    
+                    logger.debug("✅ Mensagem {} do evento {} validada com header {}={}", 
+                        currentMessageNumber, finalEventType, finalHeaderName, actualValue);
                 }
             } else if (messagesChecked[0] == 0) {
                 logger.warn("🔍 [TROUBLESHOOTING] ⚠️ Nenhuma mensagem encontrada após consumo direto. " +
@@ -320,17 +307,10 @@ public class SimulateProviderSteps {
                 // Tentar consumir mais mensagens diretamente (até 10 tentativas)
                 for (int i = 0; i < 10; i++) {
                     logger.debug("🔍 [TROUBLESHOOTING] Tentativa adicional {} de consumo (total atual: {})...", i + 1, messagesChecked[0]);
-                    RabbitMQHelper.Event event = rabbitMQHelper.consumeMessage(finalEventType);
+                    // Retorna assim que a mensagem chegar (até 200ms por tentativa)
+                    RabbitMQHelper.Event event = rabbitMQHelper.awaitEvent(finalEventType, fromScenario, Duration.ofMillis(200)).join();
                     if (event == null) {
                         logger.debug("🔍 [TROUBLESHOOTING] Tentativa adicional {}: nenhuma mensagem encontrada", i + 1);
-                        // Aguardar um pouco antes de tentar novamente
-                        try {
-                            Thread.sleep(200);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            logger.warn("🔍 [TROUBLESHOOTING] Thread interrompida durante consumo adicional");
-                            break;
-                        }
                         continue;
                     }
                     
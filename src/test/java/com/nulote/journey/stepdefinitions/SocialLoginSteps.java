@@ -5,6 +5,7 @@ import com.nulote.journey.clients.IdentityServiceClient;
 import com.nulote.journey.fixtures.UserFixture;
 import com.nulote.journey.utils.AllureHelper;
 import com.nulote.journey.utils.RabbitMQHelper;
+import com.nulote.journey.utils.WaitHelper;
 import io.cucumber.java.pt.Dado;
 import io.cucumber.java.pt.Então;
 import io.cucumber.java.pt.Quando;
@@ -13,6 +14,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -1211,14 +1213,8 @@ public class SocialLoginSteps {
         var logger = org.slf4j.LoggerFactory.getLogger(SocialLoginSteps.class);
         logger.info("Aguardando processamento do evento RabbitMQ: eventType={}", eventType);
         
-        // Aguardar um pouco para o evento ser processado (OutboxPublisherScheduler roda a cada 2s)
-        try {
-            Thread.sleep(3000); // Aguardar 3 segundos para garantir processamento
-            logger.info("✅ Aguardou 3 segundos para processamento do evento RabbitMQ");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.warn("Interrompido enquanto aguardava processamento do evento");
-        }
+        // Aguardar o evento ser processado (OutboxPublisherScheduler roda a cada 2s) - até 3 segundos
+        aguardarProcessamentoDoEvento(eventType, Duration.ofSeconds(3));
     }
     
     @Quando("o evento RabbitMQ {string} é processado antes de criar OTP")
@@ -1228,14 +1224,8 @@ public class SocialLoginSteps {
         var logger = org.slf4j.LoggerFactory.getLogger(SocialLoginSteps.class);
         logger.info("Aguardando processamento do evento RabbitMQ antes de criar OTP: eventType={}", eventType);
         
-        // Aguardar um pouco para o evento ser processado
-        try {
-            Thread.sleep(3000); // Aguardar 3 segundos
-            logger.info("✅ Aguardou 3 segundos para processamento do evento RabbitMQ");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.warn("Interrompido enquanto aguardava processamento do evento");
-        }
+        // Aguardar o evento ser processado - até 3 segundos
+        aguardarProcessamentoDoEvento(eventType, Duration.ofSeconds(3));
     }
     
     @Quando("o evento RabbitMQ {string} é processado múltiplas vezes")
@@ -1245,16 +1235,30 @@ public class SocialLoginSteps {
         var logger = org.slf4j.LoggerFactory.getLogger(SocialLoginSteps.class);
         logger.info("Simulando processamento múltiplo do evento RabbitMQ (teste de idempotência): eventType={}", eventType);
         
-        // Aguardar múltiplas vezes para simular reprocessamento
-        for (int i = 1; i <= 3; i++) {
-            try {
-                Thread.sleep(2000); // Aguardar 2 segundos entre cada "processamento"
-                logger.info("Simulação de processamento {} do evento RabbitMQ", i);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                logger.warn("Interrompido durante simulação de processamento múltiplo");
-                break;
-            }
+        // O teste não consegue forçar a reentrega do evento: aguardar o processamento real uma vez
+        // (limitado ao tempo total da simulação anterior) e validar a idempotência nos steps seguintes
+        aguardarProcessamentoDoEvento(eventType, Duration.ofSeconds(6));
+    }
+    
+    /**
+     * Aguarda o auth-service refletir o processamento do evento (credenciais do usuário disponíveis).
+     * Sem userUuid conhecido não há condição a observar, e a espera vira uma pausa pelo prazo informado.
+     */
+    private void aguardarProcessamentoDoEvento(String eventType, Duration timeout) {
+        var logger = org.slf4j.LoggerFactory.getLogger(SocialLoginSteps.class);
+        String userUuid = identityServiceUserUuid != null
+            ? identityServiceUserUuid.toString()
+            : userFixture.getCreatedUserUuid();
+        if (userUuid == null) {
+            WaitHelper.pause("processamento do evento " + eventType + " (sem userUuid)", timeout);
+            return;
+        }
+        boolean processed = WaitHelper.waitUntil("processamento do evento " + eventType, timeout,
+            () -> authClient.getCredentialsByUserUuid(userUuid).getStatusCode() == 200);
+        if (processed) {
+            logger.info("✅ Evento RabbitMQ {} processado: credenciais disponíveis no auth-service", eventType);
+        } else {
+            logger.warn("⚠️ Evento RabbitMQ {} não refletido no auth-service em {}ms", eventType, timeout.toMillis());
         }
     }
     
@@ -0,0 +1,359 @@
+package com.nulote.journey.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Armazena os eventos capturados do RabbitMQ indexados por tipo e por chaves de correlação.
+ *
+ * Objetivo: com cenários em paralelo, cada cenário retira apenas os eventos que lhe pertencem
+ * (userUuid, email, otpId, messageId), sem consumir nem reenfileirar eventos de outros cenários.
+ *
+ * Estratégia:
+ * - Índice concorrente "tipo + chave de correlação" -> eventos (lookup O(1))
+ * - Histórico limitado por tipo (eventos mais antigos são descartados ao exceder a capacidade)
+ * - Eventos retirados (claim) permanecem no histórico para consulta, mas não são entregues de novo
+ * - Esperas são CompletableFuture completados diretamente pela entrega (sem polling nem sleep)
+ * - Thread-safe: produtores são os consumidores AMQP, leitores são os steps
+ */
+public class CapturedEventStore {
+
+    /**
+     * Campos do payload e dos headers usados como chave de correlação.
+     */
+    static final List<String> CORRELATION_FIELDS = List.of(
+        "userUuid", "user_uuid",
+        "email",
+        "otpId", "otp_id", "otpUuid",
+        "messageId", "message_id");
+
+    private final int capacityPerType;
+
+    // Histórico por tipo (ordem de chegada)
+    private final Map<String, ConcurrentLinkedDeque<Entry>> byType = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> sizeByType = new ConcurrentHashMap<>();
+
+    // Índice por tipo + chave de correlação
+    private final Map<String, Queue<Entry>> byCorrelation = new ConcurrentHashMap<>();
+
+    // Esperas pendentes por tipo, completadas no momento em que um evento compatível é adicionado
+    private final Map<String, Queue<Waiter>> waiters = new ConcurrentHashMap<>();
+
+    public CapturedEventStore(int capacityPerType) {
+        this.capacityPerType = Math.max(1, capacityPerType);
+    }
+
+    /**
+     * Adiciona um evento capturado e completa a primeira espera pendente compatível.
+     *
+     * @param event Evento com tipo já resolvido
+     * @param extraKeys Chaves adicionais (ex: messageId/correlationId das propriedades AMQP)
+     */
+    public void add(RabbitMQHelper.Event event, String... extraKeys) {
+        store(event, false, extraKeys);
+    }
+
+    /**
+     * Registra um evento já entregue a um step (ex: consumido via basicGet no modo poll),
+     * mantendo-o apenas como histórico consultável.
+     */
+    public void addClaimed(RabbitMQHelper.Event event) {
+        store(event, true);
+    }
+
+    private void store(RabbitMQHelper.Event event, boolean claimed, String... extraKeys) {
+        String type = event.getType();
+        List<String> keys = correlationKeys(event, extraKeys);
+        Entry entry = new Entry(event, keys, claimed);
+
+        byType.computeIfAbsent(type, k -> new ConcurrentLinkedDeque<>()).offerLast(entry);
+        for (String key : keys) {
+            // Inclusão dentro do compute: atômica em relação à remoção da fila vazia no evictOldest
+            byCorrelation.compute(indexKey(type, key), (k, candidates) -> {
+                Queue<Entry> queue = candidates != null ? candidates : new ConcurrentLinkedQueue<>();
+                queue.offer(entry);
+                return queue;
+            });
+        }
+        if (sizeByType.computeIfAbsent(type, k -> new AtomicInteger()).incrementAndGet() > capacityPerType) {
+            evictOldest(type);
+        }
+
+        if (!claimed) {
+            deliver(entry);
+        }
+    }
+
+    /**
+     * Oferece o evento às esperas pendentes do tipo, na ordem de registro, até uma aceitá-lo.
+     */
+    private void deliver(Entry entry) {
+        Queue<Waiter> pending = waiters.get(entry.event.getType());
+        if (pending == null) {
+            return;
+        }
+        for (Waiter waiter : pending) {
+            if (offer(waiter, entry)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Aguarda até o prazo por um evento do tipo com a chave de correlação informada.
+     *
+     * @return Future completado com o evento, ou com null se o prazo esgotar
+     */
+    public CompletableFuture<RabbitMQHelper.Event> awaitAsync(String type, String correlationKey, long timeoutMs) {
+        String key = normalize(correlationKey);
+        return register(type, entry -> entry.keys.contains(key),
+            () -> byCorrelation.get(indexKey(type, key)), timeoutMs);
+    }
+
+    /**
+     * Aguarda até o prazo por um evento do tipo que satisfaça a condição.
+     *
+     * @param condition Condição de aceitação (null aceita qualquer evento)
+     * @return Future completado com o evento, ou com null se o prazo esgotar
+     */
+    public CompletableFuture<RabbitMQHelper.Event> awaitAsync(String type, Predicate<RabbitMQHelper.Event> condition, long timeoutMs) {
+        return register(type, entry -> condition == null || condition.test(entry.event),
+            () -> byType.get(type), timeoutMs);
+    }
+
+    /**
+     * Versão bloqueante de {@link #awaitAsync(String, String, long)}.
+     */
+    public RabbitMQHelper.Event await(String type, String correlationKey, long timeoutMs) {
+        return awaitAsync(type, correlationKey, timeoutMs).join();
+    }
+
+    /**
+     * Versão bloqueante de {@link #awaitAsync(String, Predicate, long)}.
+     */
+    public RabbitMQHelper.Event await(String type, Predicate<RabbitMQHelper.Event> condition, long timeoutMs) {
+        return awaitAsync(type, condition, timeoutMs).join();
+    }
+
+    private CompletableFuture<RabbitMQHelper.Event> register(String type, Predicate<Entry> matcher,
+                                                             Supplier<Iterable<Entry>> history, long timeoutMs) {
+        CompletableFuture<RabbitMQHelper.Event> future = new CompletableFuture<>();
+        Waiter waiter = new Waiter(matcher, future);
+
+        Queue<Waiter> pending = waiters.computeIfAbsent(type, k -> new ConcurrentLinkedQueue<>());
+        pending.offer(waiter);
+        future.whenComplete((event, error) -> pending.remove(waiter));
+
+        // O histórico só é lido depois que a espera está visível: um store() anterior a este ponto
+        // deixou o evento no índice, um store() posterior encontra a espera em deliver()
+        Iterable<Entry> candidates = history.get();
+        if (candidates != null) {
+            for (Entry entry : candidates) {
+                if (future.isDone() || offer(waiter, entry)) {
+                    break;
+                }
+            }
+        }
+
+        if (timeoutMs <= 0) {
+            future.complete(null);
+        } else {
+            future.completeOnTimeout(null, timeoutMs, TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * Entrega o evento à espera se ele for compatível e ainda não tiver sido retirado.
+     * Se a espera já tiver sido completada (ex: prazo esgotado), o evento volta a ficar disponível.
+     */
+    private boolean offer(Waiter waiter, Entry entry) {
+        if (entry.isClaimed() || waiter.future.isDone() || !matches(waiter, entry) || !entry.claim()) {
+            return false;
+        }
+        if (waiter.future.complete(entry.event)) {
+            return true;
+        }
+        entry.unclaim();
+        // Enquanto o evento esteve retirado, outras esperas podem ter varrido o histórico e desistido dele
+        deliver(entry);
+        return false;
+    }
+
+    private static boolean matches(Waiter waiter, Entry entry) {
+        try {
+            return waiter.matcher.test(entry);
+        } catch (RuntimeException e) {
+            // Condição do step falhou para este evento: tratar como não compatível
+            return false;
+        }
+    }
+
+    /**
+     * Consulta (sem retirar) o evento mais recente do tipo com a chave de correlação,
+     * incluindo eventos já entregues.
+     */
+    public RabbitMQHelper.Event findLatest(String type, String correlationKey) {
+        Queue<Entry> candidates = byCorrelation.get(indexKey(type, normalize(correlationKey)));
+        if (candidates == null) {
+            return null;
+        }
+        RabbitMQHelper.Event latest = null;
+        for (Entry entry : candidates) {
+            latest = entry.event;
+        }
+        return latest;
+    }
+
+    /**
+     * Retorna o evento entregue mais recentemente para o tipo (substitui o antigo lastConsumedMessages).
+     */
+    public RabbitMQHelper.Event lastClaimed(String type) {
+        ConcurrentLinkedDeque<Entry> entries = byType.get(type);
+        if (entries == null) {
+            return null;
+        }
+        Iterator<Entry> it = entries.descendingIterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.isClaimed()) {
+                return entry.event;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Quantidade de eventos ainda não entregues para o tipo.
+     */
+    public int pendingCount(String type) {
+        ConcurrentLinkedDeque<Entry> entries = byType.get(type);
+        if (entries == null) {
+            return 0;
+        }
+        int pending = 0;
+        for (Entry entry : entries) {
+            if (!entry.isClaimed()) {
+                pending++;
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Descarta o histórico e encerra as esperas pendentes (completadas com null, como no prazo esgotado).
+     */
+    public void clear() {
+        waiters.values().forEach(pending -> pending.forEach(waiter -> waiter.future.complete(null)));
+        waiters.clear();
+        byType.clear();
+        sizeByType.clear();
+        byCorrelation.clear();
+    }
+
+    /**
+     * Extrai as chaves de correlação do payload e dos headers do evento.
+     */
+    static List<String> correlationKeys(RabbitMQHelper.Event event, String... extraKeys) {
+        List<String> keys = new ArrayList<>();
+        for (Map<String, Object> source : Arrays.asList(event.getPayload(), event.getHeaders())) {
+            if (source == null) {
+                continue;
+            }
+            for (String field : CORRELATION_FIELDS) {
+                Object value = source.get(field);
+                if (value != null) {
+                    addKey(keys, value.toString());
+                }
+            }
+        }
+        if (extraKeys != null) {
+            for (String extra : extraKeys) {
+                addKey(keys, extra);
+            }
+        }
+        return keys;
+    }
+
+    private static void addKey(List<String> keys, String value) {
+        String normalized = normalize(value);
+        if (normalized != null && !keys.contains(normalized)) {
+            keys.add(normalized);
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String indexKey(String type, String key) {
+        return type + '|' + key;
+    }
+
+    private void evictOldest(String type) {
+        Entry oldest = byType.get(type).pollFirst();
+        if (oldest == null) {
+            return;
+        }
+        sizeByType.get(type).decrementAndGet();
+        for (String key : oldest.keys) {
+            // Verificação de fila vazia e remoção no mesmo compute: um store() concorrente na mesma
+            // chave não perde o evento recém-indexado
+            byCorrelation.computeIfPresent(indexKey(type, key), (k, candidates) -> {
+                candidates.remove(oldest);
+                return candidates.isEmpty() ? null : candidates;
+            });
+        }
+    }
+
+    private static final class Entry {
+        private final RabbitMQHelper.Event event;
+        private final List<String> keys;
+        private final AtomicBoolean claimed;
+
+        private Entry(RabbitMQHelper.Event event, List<String> keys, boolean claimed) {
+            this.event = event;
+            this.keys = keys;
+            this.claimed = new AtomicBoolean(claimed);
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        private void unclaim() {
+            claimed.set(false);
+        }
+
+        private boolean isClaimed() {
+            return claimed.get();
+        }
+    }
+
+    private static final class Waiter {
+        private final Predicate<Entry> matcher;
+        private final CompletableFuture<RabbitMQHelper.Event> future;
+
+        private Waiter(Predicate<Entry> matcher, CompletableFuture<RabbitMQHelper.Event> future) {
+            this.matcher = matcher;
+            this.future = future;
+        }
+    }
+}
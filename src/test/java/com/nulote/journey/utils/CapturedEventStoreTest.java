@@ -0,0 +1,218 @@
+package com.nulote.journey.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste unitário do armazenamento de eventos capturados: entrega para esperas registradas antes e
+ * depois da chegada do evento, retirada única (claim), devolução (unclaim) e descarte por capacidade.
+ */
+@DisplayName("CapturedEventStore - Entrega, retirada e descarte de eventos")
+class CapturedEventStoreTest {
+
+    private static final String TYPE = "user.created";
+
+    @Test
+    @DisplayName("Deve entregar evento já capturado pela chave de correlação, sem diferenciar maiúsculas")
+    void deve_entregar_evento_ja_capturado_pela_chave_de_correlacao() {
+        // Arrange
+        CapturedEventStore store = new CapturedEventStore(10);
+        RabbitMQHelper.Event event = event("uuid-1", "Ana@Example.com");
+        store.add(event);
+
+        // Act
+        RabbitMQHelper.Event found = store.await(TYPE, "ana@example.COM", 100);
+
+        // Assert
+        assertThat(found).isSameAs(event);
+        assertThat(store.pendingCount(TYPE)).isZero();
+        assertThat(store.lastClaimed(TYPE)).isSameAs(event);
+    }
+
+    @Test
+    @DisplayName("Deve completar espera registrada antes da chegada do evento")
+    void deve_completar_espera_registrada_antes_do_evento() {
+        // Arrange
+        CapturedEventStore store = new CapturedEventStore(10);
+        CompletableFuture<RabbitMQHelper.Event> waiting = store.awaitAsync(TYPE, "uuid-1", 5_000);
+
+        // Act
+        RabbitMQHelper.Event event = event("uuid-1", "ana@example.com");
+        store.add(event);
+
+        // Assert
+        assertThat(waiting).isCompletedWithValue(event);
+    }
+
+    @Test
+    @DisplayName("Não deve perder eventos adicionados durante o registro da espera")
+    void nao_deve_perder_eventos_adicionados_durante_o_registro_da_espera() throws Exception {
+        // Arrange
+        CapturedEventStore store = new CapturedEventStore(10_000);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        int rounds = 2_000;
+        try {
+            for (int i = 0; i < rounds; i++) {
+                String uuid = "uuid-" + i;
+                CyclicBarrier start = new CyclicBarrier(2);
+
+                // Act - espera e evento concorrentes para a mesma chave
+                Future<RabbitMQHelper.Event> awaited = executor.submit(() -> {
+                    start.await();
+                    return store.await(TYPE, uuid, 2_000);
+                });
+                executor.submit(() -> {
+                    start.await();
+                    store.add(event(uuid, uuid + "@example.com"));
+                    return null;
+                });
+
+                // Assert
+                RabbitMQHelper.Event event = awaited.get();
+                assertThat(event).as("evento da rodada %d", i).isNotNull();
+                assertThat(event.getPayload()).containsEntry("userUuid", uuid);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve entregar cada evento a uma única espera")
+    void deve_entregar_cada_evento_a_uma_unica_espera() {
+        // Arrange
+        CapturedEventStore store = new CapturedEventStore(10);
+        CompletableFuture<RabbitMQHelper.Event> first = store.awaitAsync(TYPE, "uuid-1", 5_000);
+        CompletableFuture<RabbitMQHelper.Event> second = store.awaitAsync(TYPE, "uuid-1", 200);
+
+        // Act
+        store.add(event("uuid-1", "ana@example.com"));
+
+        // Assert - a primeira espera registrada recebe; a segunda esgota o prazo
+        assertThat(first).isCompleted();
+        assertThat(first.join()).isNotNull();
+        assertThat(second.join()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve manter o evento disponível quando a espera esgota o prazo")
+    void deve_manter_evento_disponivel_quando_a_espera_esgota_o_prazo() {
+        // Arrange
+        CapturedEventStore store = new CapturedEventStore(10);
+        assertThat(store.await(TYPE, "uuid-1", 0)).isNull();
+
+        // Act
+        RabbitMQHelper.Event event = event("uuid-1", "ana@example.com");
+        store.add(event);
+
+        // Assert
+        assertThat(store.pendingCount(TYPE)).isEqualTo(1);
+        assertThat(store.await(TYPE, "uuid-1", 100)).isSameAs(event);
+    }
+
+    @Test
+    @DisplayName("Deve tratar condição que lança exceção como evento não compatível")
+    void deve_tratar_condicao_com_excecao_como_nao_compativel() {
+        // Arrange
+        CapturedEventStore store = new CapturedEventStore(10);
+        store.add(event("uuid-1", "ana@example.com"));
+
+        // Act
+        RabbitMQHelper.Event found = store.await(TYPE, event -> {
+            throw new IllegalStateException("condição do step");
+        }, 50);
+
+        // Assert
+        assertThat(found).isNull();
+        assertThat(store.pendingCount(TYPE)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve manter eventos já entregues apenas como histórico consultável")
+    void deve_manter_eventos_ja_entregues_apenas_como_historico() {
+        // Arrange
+        CapturedEventStore store = new CapturedEventStore(10);
+        RabbitMQHelper.Event event = event("uuid-1", "ana@example.com");
+
+        // Act
+        store.addClaimed(event);
+
+        // Assert
+        assertThat(store.findLatest(TYPE, "uuid-1")).isSameAs(event);
+        assertThat(store.lastClaimed(TYPE)).isSameAs(event);
+        assertThat(store.await(TYPE, "uuid-1", 0)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve descartar os eventos mais antigos ao exceder a capacidade por tipo")
+    void deve_descartar_eventos_mais_antigos_ao_exceder_a_capacidade() {
+        // Arrange
+        CapturedEventStore store = new CapturedEventStore(2);
+        List<RabbitMQHelper.Event> events = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            events.add(event("uuid-" + i, "user" + i + "@example.com"));
+        }
+
+        // Act
+        events.forEach(store::add);
+
+        // Assert
+        assertThat(store.pendingCount(TYPE)).isEqualTo(2);
+        assertThat(store.findLatest(TYPE, "uuid-1")).isNull();
+        assertThat(store.await(TYPE, "uuid-1", 0)).isNull();
+        assertThat(store.await(TYPE, "user3@example.com", 0)).isSameAs(events.get(2));
+    }
+
+    @Test
+    @DisplayName("Deve encerrar esperas pendentes ao limpar o armazenamento")
+    void deve_encerrar_esperas_pendentes_ao_limpar() {
+        // Arrange
+        CapturedEventStore store = new CapturedEventStore(10);
+        store.add(event("uuid-1", "ana@example.com"));
+        CompletableFuture<RabbitMQHelper.Event> waiting = store.awaitAsync(TYPE, "uuid-2", 60_000);
+
+        // Act
+        store.clear();
+
+        // Assert
+        assertThat(waiting).isCompletedWithValue(null);
+        assertThat(store.pendingCount(TYPE)).isZero();
+        assertThat(store.findLatest(TYPE, "uuid-1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve extrair chaves de correlação do payload, dos headers e das propriedades AMQP")
+    void deve_extrair_chaves_de_correlacao() {
+        // Arrange
+        RabbitMQHelper.Event event = event("UUID-1", "ana@example.com");
+        event.setHeaders(Map.of("otpId", "OTP-9"));
+
+        // Act
+        List<String> keys = CapturedEventStore.correlationKeys(event, "msg-1", " ", null);
+
+        // Assert
+        assertThat(keys).containsExactly("uuid-1", "ana@example.com", "otp-9", "msg-1");
+    }
+
+    private static RabbitMQHelper.Event event(String userUuid, String email) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("userUuid", userUuid);
+        payload.put("email", email);
+        RabbitMQHelper.Event event = new RabbitMQHelper.Event();
+        event.setType(TYPE);
+        event.setPayload(payload);
+        return event;
+    }
+}
@@ -0,0 +1,536 @@
+package com.nulote.journey.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nulote.journey.fixtures.ExecutionContext;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.DefaultConsumer;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.ShutdownSignalException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Observa o caminho de retry das mensagens: fila principal → DLQ → DLX → parking lot.
+ *
+ * Uma fila exclusiva desta execução (por virtual host) é ligada aos exchanges de dead-letter e
+ * de parking lot (rabbitmq.dead-letter.exchanges). Toda mensagem dead-lettered é republicada pelo
+ * broker nesses exchanges com o header x-death, então cada salto é observado no momento em que
+ * acontece, sem consumir nem reenfileirar mensagens das filas dos serviços.
+ *
+ * Cada salto (Hop) registra de qual fila a mensagem saiu, o motivo (expired, rejected, maxlen),
+ * a contagem de retries, o TTL original e o tempo decorrido desde o salto anterior da mesma
+ * mensagem - ou seja, o TTL/backoff efetivamente observado no broker.
+ *
+ * As esperas são CompletableFuture completados pela entrega (mesmo modelo do CapturedEventStore).
+ */
+@Component
+public class DeadLetterWatcher {
+
+    private static final String[] MESSAGE_ID_FIELDS = {"message_id", "messageId", "eventId"};
+
+    @Value("${rabbitmq.dead-letter.exchanges:transactional.dlx,transactional.parking-lot,delivery-tracker.dlx,delivery-tracker.parking-lot,audit-compliance.dlx,audit-compliance.parking-lot}")
+    private List<String> exchanges;
+
+    @Value("${rabbitmq.dead-letter.virtual-hosts:/shared,/br}")
+    private List<String> virtualHosts;
+
+    @Value("${rabbitmq.dead-letter.binding-key:#}")
+    private String bindingKey;
+
+    @Value("${rabbitmq.capture-buffer-size:500}")
+    private int capacity;
+
+    @Autowired
+    private RabbitMQHelper rabbitMQHelper;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Canal de consumo por virtual host e routing keys já ligadas (exchanges direct precisam da chave exata)
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final ReentrantLock channelsLock = new ReentrantLock();
+    private final Set<String> boundKeys = ConcurrentHashMap.newKeySet();
+    private final Map<String, List<String>> boundExchanges = new ConcurrentHashMap<>();
+
+    // Saltos observados (ordem de chegada, limitado) e esperas pendentes
+    private final ConcurrentLinkedDeque<Hop> hops = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Queue<HopWaiter> waiters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Garante a observação nos virtual hosts configurados e liga também as routing keys das filas
+     * informadas (necessário quando o DLX é direct e roteia pelo nome da fila).
+     *
+     * @param queueNames Filas envolvidas no cenário (ex: fila principal, DLQ, parking lot)
+     * @return true se ao menos um exchange de dead-letter está sendo observado
+     */
+    public boolean watch(String... queueNames) {
+        boolean active = false;
+        for (String vhost : virtualHosts) {
+            if (ensureConsumer(vhost)) {
+                bindRoutingKeys(vhost, queueNames);
+                active = true;
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Indica se há algum exchange de dead-letter observado (sem ele, os steps usam a profundidade das filas).
+     */
+    public boolean isActive() {
+        return boundExchanges.values().stream().anyMatch(list -> !list.isEmpty());
+    }
+
+    /**
+     * Aguarda o próximo salto da mensagem que satisfaça a condição, considerando também os saltos
+     * já observados. Completa no instante em que o broker faz o salto.
+     *
+     * @param messageId message_id da mensagem (null aceita qualquer mensagem)
+     * @param condition Condição sobre o salto (ex: saiu da fila principal, chegou ao parking lot)
+     * @param timeout Limite máximo de espera
+     * @return Future completado com o salto, ou com null se o prazo esgotar ou não houver observação ativa
+     */
+    public CompletableFuture<Hop> awaitHop(String messageId, Predicate<Hop> condition, Duration timeout) {
+        watch();
+        Predicate<Hop> matcher = hop -> (messageId == null || messageId.equals(hop.messageId))
+            && (condition == null || condition.test(hop));
+
+        CompletableFuture<Hop> future = new CompletableFuture<>();
+        if (!isActive()) {
+            future.complete(null);
+            return future;
+        }
+
+        // Registrar antes de varrer o histórico para não perder um salto concorrente
+        HopWaiter waiter = new HopWaiter(matcher, future);
+        waiters.offer(waiter);
+        future.whenComplete((hop, error) -> waiters.remove(waiter));
+
+        for (Hop hop : hops) {
+            if (future.isDone() || offer(waiter, hop)) {
+                break;
+            }
+        }
+        future.completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    /**
+     * Aguarda a mensagem sair (dead-letter) da fila informada.
+     */
+    public CompletableFuture<Hop> awaitDeadLetteredFrom(String messageId, String queueName, Duration timeout) {
+        return awaitHop(messageId, hop -> queueName.equals(hop.queue), timeout);
+    }
+
+    /**
+     * Aguarda a mensagem ser encaminhada para o parking lot.
+     */
+    public CompletableFuture<Hop> awaitParkingLot(String messageId, Duration timeout) {
+        return awaitHop(messageId, Hop::isParkingLot, timeout);
+    }
+
+    /**
+     * Saltos observados da mensagem, em ordem de chegada.
+     */
+    public List<Hop> getTimeline(String messageId) {
+        List<Hop> timeline = new ArrayList<>();
+        for (Hop hop : hops) {
+            if (messageId != null && messageId.equals(hop.messageId)) {
+                timeline.add(hop);
+            }
+        }
+        return timeline;
+    }
+
+    /**
+     * Resolve o message_id de um evento capturado: propriedade AMQP, headers ou payload.
+     */
+    public static String messageIdOf(RabbitMQHelper.Event event) {
+        if (event == null) {
+            return null;
+        }
+        if (event.getMessageId() != null && !event.getMessageId().isBlank()) {
+            return event.getMessageId();
+        }
+        String fromHeaders = firstValue(event.getHeaders());
+        return fromHeaders != null ? fromHeaders : firstValue(event.getPayload());
+    }
+
+    private static String firstValue(Map<String, Object> source) {
+        if (source == null) {
+            return null;
+        }
+        for (String field : MESSAGE_ID_FIELDS) {
+            Object value = source.get(field);
+            if (value != null && !value.toString().isBlank()) {
+                return value.toString();
+            }
+        }
+        return null;
+    }
+
+    private String watchQueueName(String vhost) {
+        String vhostSuffix = vhost.replace("/", "");
+        return "e2e.dlx-watch." + ExecutionContext.getExecutionId() + "." + (vhostSuffix.isEmpty() ? "root" : vhostSuffix);
+    }
+
+    /**
+     * Declara a fila de observação exclusiva e auto-delete do virtual host e liga-a aos exchanges
+     * de dead-letter existentes. Exchanges inexistentes são ignorados.
+     */
+    private boolean ensureConsumer(String vhost) {
+        var logger = org.slf4j.LoggerFactory.getLogger(DeadLetterWatcher.class);
+        Channel existing = channels.get(vhost);
+        if (existing != null && existing.isOpen()) {
+            return !boundExchanges.getOrDefault(vhost, List.of()).isEmpty();
+        }
+
+        channelsLock.lock();
+        try {
+            existing = channels.get(vhost);
+            if (existing != null && existing.isOpen()) {
+                return !boundExchanges.getOrDefault(vhost, List.of()).isEmpty();
+            }
+
+            String queueName = watchQueueName(vhost);
+            Channel consumerChannel = null;
+            try {
+                Connection connection = rabbitMQHelper.connection(vhost);
+                consumerChannel = connection.createChannel();
+                consumerChannel.queueDeclare(queueName, false, true, true, null);
+
+                List<String> bound = new ArrayList<>();
+                for (String exchange : exchanges) {
+                    // Declaração passiva em canal descartável: 404 fecha o canal
+                    try (Channel probe = connection.createChannel()) {
+                        probe.exchangeDeclarePassive(exchange);
+                    } catch (Exception e) {
+                        logger.debug("🔁 [DLX-WATCH] Exchange {} não existe no vhost {}: {}", exchange, vhost, e.getMessage());
+                        continue;
+                    }
+                    consumerChannel.queueBind(queueName, exchange, bindingKey);
+                    bound.add(exchange);
+                }
+                boundExchanges.put(vhost, bound);
+                boundKeys.removeIf(key -> key.startsWith(vhost + "|"));
+
+                consumerChannel.basicConsume(queueName, true, "e2e-dlx-watch-" + vhost,
+                    new DefaultConsumer(consumerChannel) {
+                        @Override
+                        public void handleDelivery(String consumerTag, Envelope envelope,
+                                                   AMQP.BasicProperties properties, byte[] body) {
+                            onDeadLetter(envelope, properties, body);
+                        }
+
+                        @Override
+                        public void handleShutdownSignal(String consumerTag, ShutdownSignalException sig) {
+                            channels.remove(vhost);
+                            logger.debug("🔁 [DLX-WATCH] Consumidor encerrado (vhost {}): {}", vhost, sig.getMessage());
+                        }
+                    });
+
+                channels.put(vhost, consumerChannel);
+                logger.info("🔁 [DLX-WATCH] Fila {} observando {} exchange(s) de dead-letter no vhost {}",
+                    queueName, bound.size(), vhost);
+                return !bound.isEmpty();
+            } catch (Exception e) {
+                logger.warn("⚠️ [DLX-WATCH] Não foi possível observar dead-letters no vhost {}: {}", vhost, e.getMessage());
+                if (consumerChannel != null && consumerChannel.isOpen()) {
+                    try {
+                        consumerChannel.close();
+                    } catch (Exception ignored) {
+                        // Canal já em estado inválido
+                    }
+                }
+                return false;
+            }
+        } finally {
+            channelsLock.unlock();
+        }
+    }
+
+    private void bindRoutingKeys(String vhost, String... routingKeys) {
+        Channel channel = channels.get(vhost);
+        if (channel == null || routingKeys == null) {
+            return;
+        }
+        String queueName = watchQueueName(vhost);
+        for (String routingKey : routingKeys) {
+            if (routingKey == null || !boundKeys.add(vhost + "|" + routingKey)) {
+                continue;
+            }
+            for (String exchange : boundExchanges.getOrDefault(vhost, List.of())) {
+                try {
+                    channel.queueBind(queueName, exchange, routingKey);
+                } catch (IOException e) {
+                    var logger = org.slf4j.LoggerFactory.getLogger(DeadLetterWatcher.class);
+                    logger.debug("🔁 [DLX-WATCH] Falha ao ligar routing key {} ao exchange {}: {}", routingKey, exchange, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Callback de entrega: converte a mensagem dead-lettered em um salto e completa a primeira espera compatível.
+     */
+    private void onDeadLetter(Envelope envelope, AMQP.BasicProperties properties, byte[] body) {
+        var logger = org.slf4j.LoggerFactory.getLogger(DeadLetterWatcher.class);
+        Map<String, Object> headers = properties.getHeaders();
+        String messageId = properties.getMessageId();
+        if (messageId == null) {
+            messageId = firstValue(headers);
+        }
+        if (messageId == null) {
+            messageId = messageIdFromBody(body);
+        }
+
+        Hop hop = Hop.from(messageId, envelope, headers, Instant.now(), previousHop(messageId));
+        hops.offerLast(hop);
+        if (size.incrementAndGet() > Math.max(1, capacity) && hops.pollFirst() != null) {
+            size.decrementAndGet();
+        }
+        logger.debug("🔁 [DLX-WATCH] {}", hop);
+
+        for (HopWaiter waiter : waiters) {
+            if (offer(waiter, hop)) {
+                break;
+            }
+        }
+    }
+
+    private Hop previousHop(String messageId) {
+        if (messageId == null) {
+            return null;
+        }
+        var it = hops.descendingIterator();
+        while (it.hasNext()) {
+            Hop hop = it.next();
+            if (messageId.equals(hop.messageId)) {
+                return hop;
+            }
+        }
+        return null;
+    }
+
+    private String messageIdFromBody(byte[] body) {
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> payload = objectMapper.readValue(new String(body, StandardCharsets.UTF_8), Map.class);
+            String messageId = firstValue(payload);
+            if (messageId == null && payload.get("payload") instanceof Map<?, ?> inner) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> innerPayload = (Map<String, Object>) inner;
+                messageId = firstValue(innerPayload);
+            }
+            return messageId;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static boolean offer(HopWaiter waiter, Hop hop) {
+        try {
+            return waiter.matcher.test(hop) && waiter.future.complete(hop);
+        } catch (RuntimeException e) {
+            // Condição do step falhou para este salto: tratar como não compatível
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        for (Channel channel : channels.values()) {
+            if (channel.isOpen()) {
+                try {
+                    channel.close();
+                } catch (Exception ignored) {
+                    // Conexão já encerrada pelo RabbitMQHelper
+                }
+            }
+        }
+        channels.clear();
+        hops.clear();
+    }
+
+    /**
+     * Salto observado de uma mensagem no caminho de retry.
+     */
+    public static final class Hop {
+        private final String messageId;
+        private final String exchange;
+        private final String routingKey;
+        private final String queue;
+        private final String reason;
+        private final long count;
+        private final Long originalExpirationMs;
+        private final Instant deathTime;
+        private final Instant observedAt;
+        private final Duration sincePreviousHop;
+
+        private Hop(String messageId, String exchange, String routingKey, String queue, String reason, long count,
+                    Long originalExpirationMs, Instant deathTime, Instant observedAt, Duration sincePreviousHop) {
+            this.messageId = messageId;
+            this.exchange = exchange;
+            this.routingKey = routingKey;
+            this.queue = queue;
+            this.reason = reason;
+            this.count = count;
+            this.originalExpirationMs = originalExpirationMs;
+            this.deathTime = deathTime;
+            this.observedAt = observedAt;
+            this.sincePreviousHop = sincePreviousHop;
+        }
+
+        /**
+         * Monta o salto a partir do x-death mais recente (primeiro item do header, conforme o broker).
+         * Mensagens republicadas pela aplicação (ex: parking lot) podem não trazer x-death.
+         */
+        private static Hop from(String messageId, Envelope envelope, Map<String, Object> headers,
+                                Instant observedAt, Hop previous) {
+            String queue = null;
+            String reason = null;
+            long count = 0;
+            Long originalExpirationMs = null;
+            Instant deathTime = null;
+
+            Object xDeath = headers != null ? headers.get("x-death") : null;
+            if (xDeath instanceof List<?> deaths && !deaths.isEmpty() && deaths.get(0) instanceof Map<?, ?> latest) {
+                queue = stringValue(latest.get("queue"));
+                reason = stringValue(latest.get("reason"));
+                if (latest.get("count") instanceof Number number) {
+                    count = number.longValue();
+                }
+                String expiration = stringValue(latest.get("original-expiration"));
+                if (expiration != null) {
+                    try {
+                        originalExpirationMs = Long.parseLong(expiration);
+                    } catch (NumberFormatException ignored) {
+                        // Expiração não numérica: manter null
+                    }
+                }
+                if (latest.get("time") instanceof Date time) {
+                    deathTime = time.toInstant();
+                }
+            }
+
+            Duration sincePrevious = previous != null ? Duration.between(previous.observedAt, observedAt) : null;
+            return new Hop(messageId, envelope.getExchange(), envelope.getRoutingKey(), queue, reason, count,
+                originalExpirationMs, deathTime, observedAt, sincePrevious);
+        }
+
+        private static String stringValue(Object value) {
+            return value != null ? value.toString() : null;
+        }
+
+        /**
+         * Indica se o salto levou a mensagem ao parking lot (exchange ou routing key de parking lot).
+         */
+        public boolean isParkingLot() {
+            return contains(exchange, "parking") || contains(routingKey, "parking");
+        }
+
+        /**
+         * Indica se a mensagem saiu da fila por expiração de TTL.
+         */
+        public boolean isExpired() {
+            return "expired".equals(reason);
+        }
+
+        private static boolean contains(String value, String fragment) {
+            return value != null && value.contains(fragment);
+        }
+
+        public String getMessageId() {
+            return messageId;
+        }
+
+        public String getExchange() {
+            return exchange;
+        }
+
+        public String getRoutingKey() {
+            return routingKey;
+        }
+
+        /**
+         * Fila da qual a mensagem foi dead-lettered (x-death.queue).
+         */
+        public String getQueue() {
+            return queue;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * Quantas vezes a mensagem foi dead-lettered dessa fila pelo mesmo motivo (x-death.count).
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * TTL por mensagem original (x-death.original-expiration), null quando o TTL é da fila.
+         */
+        public Long getOriginalExpirationMs() {
+            return originalExpirationMs;
+        }
+
+        public Instant getDeathTime() {
+            return deathTime;
+        }
+
+        public Instant getObservedAt() {
+            return observedAt;
+        }
+
+        /**
+         * Tempo observado desde o salto anterior da mesma mensagem (TTL/backoff efetivo), null no primeiro salto.
+         */
+        public Duration getSincePreviousHop() {
+            return sincePreviousHop;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("message_id=%s, fila=%s, motivo=%s, retry=%d, exchange=%s, routingKey=%s, ttlOriginal=%s, desdeSaltoAnterior=%s",
+                messageId, queue, reason, count, exchange, routingKey,
+                originalExpirationMs != null ? originalExpirationMs + "ms" : "-",
+                sincePreviousHop != null ? sincePreviousHop.toMillis() + "ms" : "-");
+        }
+    }
+
+    private static final class HopWaiter {
+        private final Predicate<Hop> matcher;
+        private final CompletableFuture<Hop> future;
+
+        private HopWaiter(Predicate<Hop> matcher, CompletableFuture<Hop> future) {
+            this.matcher = matcher;
+            this.future = future;
+        }
+    }
+}
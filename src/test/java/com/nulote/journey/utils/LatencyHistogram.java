@@ -0,0 +1,69 @@
+package com.nulote.journey.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências com buckets logarítmicos (precisão relativa de ~2%), sem locks.
+ *
+ * Memória fixa independente do número de amostras (modo carga de longa duração): cada bucket cobre
+ * [1.02^i, 1.02^(i+1)) microssegundos, de 1µs a ~1h. Percentis retornam o limite superior do bucket,
+ * portanto nunca subestimam a latência real em mais de 2%.
+ */
+public final class LatencyHistogram {
+
+    private static final double GROWTH = 1.02;
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+    private static final int BUCKETS = (int) Math.ceil(Math.log(3_600_000_000.0) / LOG_GROWTH) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        long micros = Math.max(1, nanos / 1_000);
+        buckets.incrementAndGet(bucketOf(micros));
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double meanMillis() {
+        long n = count.sum();
+        return n == 0 ? 0 : totalMicros.sum() / 1_000.0 / n;
+    }
+
+    public double maxMillis() {
+        return maxMicros.get() / 1_000.0;
+    }
+
+    /**
+     * Latência (ms) abaixo da qual estão {@code percentile}% das amostras, ou 0 sem amostras.
+     */
+    public double percentileMillis(double percentile) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                // Limite superior do bucket, sem passar do máximo observado
+                return Math.min(Math.pow(GROWTH, i + 1), maxMicros.get()) / 1_000.0;
+            }
+        }
+        return maxMillis();
+    }
+
+    private static int bucketOf(long micros) {
+        return Math.min(BUCKETS - 1, (int) (Math.log(micros) / LOG_GROWTH));
+    }
+}
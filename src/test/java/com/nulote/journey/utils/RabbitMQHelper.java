@@ -2,10 +2,16 @@ package com.nulote.journey.utils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nulote.journey.config.E2EConfiguration;
+import com.nulote.journey.fixtures.ExecutionContext;
+import com.nulote.journey.fixtures.UserPool;
+import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.ConnectionFactory;
+import com.rabbitmq.client.DefaultConsumer;
+import com.rabbitmq.client.Envelope;
 import com.rabbitmq.client.GetResponse;
+import com.rabbitmq.client.ShutdownSignalException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -13,14 +19,35 @@ import org.springframework.stereotype.Component;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 
 /**
  * Helper para interação com RabbitMQ em testes E2E.
  * Permite consumir mensagens de filas para verificar eventos assíncronos.
+ * 
+ * Modos de captura (rabbitmq.capture-mode):
+ * - tap (padrão): filas exclusivas e auto-delete desta execução (tag ExecutionContext.getExecutionId())
+ *   ligadas aos exchanges dos serviços em /br e /shared; cada evento publicado é observado
+ *   exatamente uma vez, sem competir com os consumidores reais das filas dos serviços.
+ *   Bindings seguem o tipo de cada exchange (RabbitTopology): "#" só vale para topic.
+ * - push: um consumidor de longa duração (basicConsume) por fila de serviço, lendo uma fila espelho
+ *   da execução com os mesmos bindings; as filas dos serviços nunca são consumidas nem confirmadas.
+ * - poll: comportamento legado com queueDeclarePassive + basicGet a cada tentativa, direto na fila
+ *   do serviço (compete com o consumidor real; eventos de outro tipo voltam com nack + requeue).
  */
 @Component
 public class RabbitMQHelper {
@@ -40,68 +67,165 @@ public class RabbitMQHelper {
     @Value("${rabbitmq.virtual-host:/}")
     private String virtualHost;
     
+    @Value("${rabbitmq.capture-mode:tap}")
+    private String captureMode;
+    
+    @Value("${rabbitmq.capture-prefetch:50}")
+    private int capturePrefetch;
+    
+    @Value("${rabbitmq.capture-buffer-size:500}")
+    private int captureBufferSize;
+    
+    @Value("${rabbitmq.channel-pool-size:16}")
+    private int channelPoolSize;
+    
+    @Value("${rabbitmq.channel-lease-timeout-ms:5000}")
+    private long channelLeaseTimeoutMs;
+    
+    @Value("${rabbitmq.tap.exchanges:auth.events,identity.events,delivery-tracker.events,delivery-tracker.delivery-callbacks}")
+    private List<String> tapExchanges;
+    
+    @Value("${rabbitmq.tap.virtual-hosts:/br,/shared}")
+    private List<String> tapVirtualHosts;
+    
+    @Value("${rabbitmq.tap.binding-key:#}")
+    private String tapBindingKey;
+    
     @Autowired
     private E2EConfiguration config;
     
-    // Multi-Country: Múltiplas conexões por virtual host
-    private Map<String, Connection> connections = new HashMap<>();
-    private Map<String, Channel> channels = new HashMap<>();
+    @Autowired
+    private RabbitTopology topology;
+    
+    // Multi-Country: Uma conexão por virtual host e um pool de canais por conexão
+    // Canais AMQP não são thread-safe: cada operação (basicGet, queueDeclarePassive) aluga um canal do pool
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+    private final Map<String, ChannelPool> channelPools = new ConcurrentHashMap<>();
+    // Conexão e declaração de consumidores fazem IO de rede sob lock: ReentrantLock para não fixar virtual threads
+    private final ReentrantLock connectLock = new ReentrantLock();
+    private final ReentrantLock captureLock = new ReentrantLock();
     private ObjectMapper objectMapper;
-    private Map<String, Event> lastConsumedMessages = new HashMap<>();
+    
+    // Push capture: canal dedicado por consumidor (key: "vhost|fila")
+    private final Map<String, Channel> captureChannels = new ConcurrentHashMap<>();
+    // Tap: filas explícitas cujos bindings já foram espelhados (key: "vhost|fila")
+    private final Set<String> mirroredQueues = ConcurrentHashMap.newKeySet();
+    
+    // Eventos capturados/consumidos indexados por tipo + chave de correlação (limitado por tipo)
+    private CapturedEventStore eventStore;
     
     @PostConstruct
     public void init() {
         var logger = org.slf4j.LoggerFactory.getLogger(RabbitMQHelper.class);
         // Inicializar ObjectMapper imediatamente (não depende de RabbitMQ)
         objectMapper = new ObjectMapper();
+        eventStore = new CapturedEventStore(captureBufferSize);
         
         // Multi-Country: Não conectar durante init() - conexões serão estabelecidas de forma lazy
         // quando necessário, usando o virtual host correto para cada tipo de evento
         logger.info("🌍 [MULTI-COUNTRY] RabbitMQHelper inicializado. Conexões serão estabelecidas de forma lazy por virtual host.");
+        logger.info("📥 [CAPTURE] Modo de captura de eventos: {}", 
+            isTapCaptureEnabled() ? "tap (filas exclusivas da execução)" 
+                : isPushCaptureEnabled() ? "push (filas espelho da execução)" : "poll (basicGet)");
+        
+        // Shards são JVMs independentes: fora do tap, cada uma disputaria as filas dos serviços
+        if (ExecutionContext.isSharded() && !isTapCaptureEnabled()) {
+            logger.warn("⚠️ [CAPTURE] Shard {}/{} com captura '{}': sharding exige -Drabbitmq.capture-mode=tap",
+                ExecutionContext.getShardIndex(), ExecutionContext.getShardCount(), captureMode);
+        }
+        
+        // Tap: filas precisam existir antes da publicação dos eventos - únicas conexões abertas no init()
+        if (isTapCaptureEnabled()) {
+            startTapCapture();
+        }
+    }
+    
+    /**
+     * Indica se a captura usa filas tap exclusivas desta execução.
+     */
+    private boolean isTapCaptureEnabled() {
+        return "tap".equalsIgnoreCase(captureMode);
+    }
+    
+    /**
+     * Indica se a captura de eventos usa consumidores push (basicConsume) em vez de basicGet.
+     */
+    public boolean isPushCaptureEnabled() {
+        return !"poll".equalsIgnoreCase(captureMode);
     }
     
     /**
      * Estabelece conexão com RabbitMQ para um virtual host específico.
      * Multi-Country: Mantém conexões separadas para cada virtual host.
      * 
+     * Caminho rápido sem lock quando a conexão já está aberta; a (re)conexão é serializada
+     * para que threads paralelas não abram conexões duplicadas para o mesmo virtual host.
+     * 
      * @param vhost Virtual host a ser usado (ex: "/br", "/shared")
+     * @return Conexão aberta para o virtual host
      * @throws IOException Se houver erro de I/O
      * @throws TimeoutException Se houver timeout
      */
-    private void connect(String vhost) throws IOException, TimeoutException {
-        var logger = org.slf4j.LoggerFactory.getLogger(RabbitMQHelper.class);
-        
-        // Se já está conectado para este virtual host, não reconectar
+    private Connection connect(String vhost) throws IOException, TimeoutException {
         Connection existingConnection = connections.get(vhost);
-        Channel existingChannel = channels.get(vhost);
-        if (existingConnection != null && existingConnection.isOpen() && 
-            existingChannel != null && existingChannel.isOpen()) {
-            logger.debug("🌍 [MULTI-COUNTRY] Conexão RabbitMQ já está estabelecida para vhost: {}", vhost);
-            return;
+        if (existingConnection != null && existingConnection.isOpen()) {
+            return existingConnection;
         }
         
-        logger.info("🌍 [MULTI-COUNTRY] Iniciando conexão com RabbitMQ em {}:{} (virtual host: {})", 
-            host, port, vhost);
-        ConnectionFactory factory = new ConnectionFactory();
-        factory.setHost(host);
-        factory.setPort(port);
-        factory.setUsername(username);
-        factory.setPassword(password);
-        factory.setVirtualHost(vhost);
-        
-        // Configurar timeout de conexão para evitar travamentos
-        factory.setConnectionTimeout(5000); // 5 segundos
-        factory.setNetworkRecoveryInterval(5000); // 5 segundos
-        
-        Connection newConnection = factory.newConnection();
-        Channel newChannel = newConnection.createChannel();
-        
-        // Armazenar conexão e canal para este virtual host
-        connections.put(vhost, newConnection);
-        channels.put(vhost, newChannel);
-        
-        logger.info("✅ [MULTI-COUNTRY] Conexão RabbitMQ estabelecida com sucesso em {}:{} (virtual host: {})", 
-            host, port, vhost);
+        var logger = org.slf4j.LoggerFactory.getLogger(RabbitMQHelper.class);
+        connectLock.lock();
+        try {
+            // Outra thread pode ter conectado enquanto aguardávamos o lock
+            existingConnection = connections.get(vhost);
+            if (existingConnection != null && existingConnection.isOpen()) {
+                logger.debug("🌍 [MULTI-COUNTRY] Conexão RabbitMQ já está estabelecida para vhost: {}", vhost);
+                return existingConnection;
+            }
+            
+            logger.info("🌍 [MULTI-COUNTRY] Iniciando conexão com RabbitMQ em {}:{} (virtual host: {})", 
+                host, port, vhost);
+            ConnectionFactory factory = new ConnectionFactory();
+            factory.setHost(host);
+            factory.setPort(port);
+            factory.setUsername(username);
+            factory.setPassword(password);
+            factory.setVirtualHost(vhost);
+            
+            // Configurar timeout de conexão para evitar travamentos
+            factory.setConnectionTimeout(5000); // 5 segundos
+            factory.setNetworkRecoveryInterval(5000); // 5 segundos
+            
+            Connection newConnection = factory.newConnection();
+            
+            // Armazenar conexão e pool de canais para este virtual host
+            ChannelPool previousPool = channelPools.put(vhost, new ChannelPool(newConnection, channelPoolSize));
+            if (previousPool != null) {
+                previousPool.close();
+            }
+            connections.put(vhost, newConnection);
+            
+            logger.info("✅ [MULTI-COUNTRY] Conexão RabbitMQ estabelecida com sucesso em {}:{} (virtual host: {}, pool de canais: {})", 
+                host, port, vhost, channelPoolSize);
+            return newConnection;
+        } finally {
+            connectLock.unlock();
+        }
+    }
+    
+    /**
+     * Conexão do virtual host para outros componentes de observação do broker (ex: DeadLetterWatcher),
+     * que abrem seus próprios canais de consumo sobre a conexão compartilhada.
+     */
+    Connection connection(String vhost) throws IOException, TimeoutException {
+        return connect(vhost);
+    }
+    
+    /**
+     * Retorna o pool de canais do virtual host, conectando se necessário.
+     */
+    private ChannelPool channelPool(String vhost) throws IOException, TimeoutException {
+        connect(vhost);
+        return channelPools.get(vhost);
     }
     
     /**
@@ -197,20 +321,28 @@ public class RabbitMQHelper {
     public void close() throws IOException, TimeoutException {
         var logger = org.slf4j.LoggerFactory.getLogger(RabbitMQHelper.class);
         
-        // Multi-Country: Fechar todas as conexões e canais
-        for (Map.Entry<String, Channel> entry : channels.entrySet()) {
-            String vhost = entry.getKey();
+        // Push capture: encerrar consumidores antes de fechar as conexões
+        for (Map.Entry<String, Channel> entry : captureChannels.entrySet()) {
             Channel ch = entry.getValue();
             if (ch != null && ch.isOpen()) {
                 try {
                     ch.close();
-                    logger.debug("🌍 [MULTI-COUNTRY] Canal fechado para vhost: {}", vhost);
+                    logger.debug("📥 [CAPTURE] Consumidor encerrado: {}", entry.getKey());
                 } catch (Exception e) {
-                    logger.warn("Erro ao fechar canal para vhost {}: {}", vhost, e.getMessage());
+                    logger.warn("Erro ao encerrar consumidor {}: {}", entry.getKey(), e.getMessage());
                 }
             }
         }
-        channels.clear();
+        captureChannels.clear();
+        mirroredQueues.clear();
+        eventStore.clear();
+        
+        // Multi-Country: Fechar todos os pools de canais e conexões
+        for (Map.Entry<String, ChannelPool> entry : channelPools.entrySet()) {
+            entry.getValue().close();
+            logger.debug("🌍 [MULTI-COUNTRY] Pool de canais fechado para vhost: {}", entry.getKey());
+        }
+        channelPools.clear();
         
         for (Map.Entry<String, Connection> entry : connections.entrySet()) {
             String vhost = entry.getKey();
@@ -289,17 +421,18 @@ public class RabbitMQHelper {
             String vhost = determineVirtualHostForEvent(eventType);
             logger.debug("🌍 [MULTI-COUNTRY] Consumindo evento {} do vhost: {}", eventType, vhost);
             
-            // Obter conexão e canal para este virtual host
-            Channel channel = channels.get(vhost);
-            if (channel == null || !channel.isOpen()) {
-                logger.debug("🌍 [MULTI-COUNTRY] Canal não está aberto para vhost {}. Tentando conectar...", vhost);
-                try {
-                    connect(vhost);
-                    channel = channels.get(vhost);
-                } catch (Exception e) {
-                    logger.warn("Erro ao conectar ao RabbitMQ no vhost {}: {}", vhost, e.getMessage());
-                    return null;
-                }
+            // Push capture: entregas já chegam ao buffer em memória, sem ida ao broker
+            if (isPushCaptureEnabled()) {
+                startCapture(eventType, queueName);
+                return takeCapturedEvent(eventType, withoutPoolEvents(null), 0);
+            }
+            
+            // Obter conexão para este virtual host
+            try {
+                connect(vhost);
+            } catch (Exception e) {
+                logger.warn("Erro ao conectar ao RabbitMQ no vhost {}: {}", vhost, e.getMessage());
+                return null;
             }
             
             // Determinar nome da fila seguindo padrão do projeto
@@ -351,22 +484,28 @@ public class RabbitMQHelper {
      * @return Evento consumido ou null
      */
     private Event tryConsumeFromQueue(String eventType, String queueName, String vhost, org.slf4j.Logger logger) throws IOException {
-        // Multi-Country: Verificar conexão para este virtual host específico
-        Connection connection = connections.get(vhost);
-        Channel channel = channels.get(vhost);
-        
-        if (connection == null || !connection.isOpen() || channel == null || !channel.isOpen()) {
-            logger.warn("⚠️ [MULTI-COUNTRY] Conexão RabbitMQ não está aberta para vhost {}. Tentando reconectar...", vhost);
-            try {
-                connect(vhost);
-                connection = connections.get(vhost);
-                channel = channels.get(vhost);
-            } catch (Exception e) {
-                logger.error("❌ [MULTI-COUNTRY] Falha ao reconectar ao RabbitMQ no vhost {}: {}", vhost, e.getMessage());
-                return null;
-            }
+        // Multi-Country: Pool de canais para este virtual host específico
+        ChannelPool pool;
+        try {
+            pool = channelPool(vhost);
+        } catch (Exception e) {
+            logger.error("❌ [MULTI-COUNTRY] Falha ao conectar ao RabbitMQ no vhost {}: {}", vhost, e.getMessage());
+            return null;
         }
         
+        Channel channel = pool.lease(channelLeaseTimeoutMs);
+        try {
+            return consumeFromQueue(eventType, queueName, channel, logger);
+        } finally {
+            pool.release(channel);
+        }
+    }
+    
+    /**
+     * Consome uma mensagem da fila usando um canal alugado do pool.
+     * Erros de canal (ex: 404 no queueDeclarePassive) fecham apenas este canal, que é descartado na devolução.
+     */
+    private Event consumeFromQueue(String eventType, String queueName, Channel channel, org.slf4j.Logger logger) throws IOException {
         // Declarar fila caso não exista (modo passivo)
         // As filas devem ser criadas pelo RabbitConfig do microserviço
         try {
@@ -422,44 +561,15 @@ public class RabbitMQHelper {
                 logger.debug("Headers da mensagem RabbitMQ: {}", headers.keySet());
             }
             
-            // Tentar parsear como Event primeiro
-            Event event;
-            try {
-                event = objectMapper.readValue(messageBody, Event.class);
-            } catch (Exception e) {
-                // Se não for Event, tentar parsear como Map direto
-                @SuppressWarnings("unchecked")
-                Map<String, Object> payload = objectMapper.readValue(messageBody, Map.class);
-                event = new Event();
-                event.setType(eventType); // Usar eventType como tipo
-                event.setPayload(payload);
-                logger.debug("Evento parseado como Map direto. Payload keys: {}", payload.keySet());
-            }
-            
-            // Armazenar headers no evento
-            if (headers != null) {
-                event.setHeaders(headers);
-            }
-            
-            // Aceitar mensagem apenas se for do tipo esperado ou se payload contém informações do evento
-            boolean isExpectedEvent = event.getType() != null && event.getType().equals(eventType);
-            if (!isExpectedEvent && event.getPayload() != null) {
-                // Verificar se o payload contém informações que indicam o tipo de evento
-                // Para eventos OTP, o payload pode conter campos específicos
-                if (eventType.equals("otp.sent") && event.getPayload().containsKey("otpCode")) {
-                    isExpectedEvent = true;
-                    event.setType(eventType);
-                    logger.debug("Evento identificado como otp.sent baseado no campo otpCode no payload");
-                } else if (eventType.equals("otp.validated") && event.getPayload().containsKey("otpId")) {
-                    isExpectedEvent = true;
-                    event.setType(eventType);
-                    logger.debug("Evento identificado como otp.validated baseado no campo otpId no payload");
-                }
+            Event event = parseEvent(eventType, messageBody, headers);
+            if (response.getProps().getMessageId() != null) {
+                event.setMessageId(response.getProps().getMessageId());
             }
+            boolean isExpectedEvent = matchesExpectedType(eventType, event, logger);
             
             if (isExpectedEvent) {
                 channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
-                lastConsumedMessages.put(eventType, event);
+                eventStore.addClaimed(event);
                 
                 logger.info("✅ Evento {} consumido com sucesso da fila {}", eventType, queueName);
                 return event;
@@ -472,6 +582,684 @@ public class RabbitMQHelper {
             }
     }
     
+    /**
+     * Converte o corpo de uma mensagem em Event.
+     * Tenta primeiro o envelope Event e, se não for compatível, trata o corpo como payload (Map).
+     * Package-private para o benchmark JMH (src/jmh/java).
+     * 
+     * @param eventType Tipo de evento esperado (usado quando o corpo não traz o tipo)
+     * @param messageBody Corpo da mensagem em UTF-8
+     * @param headers Headers AMQP da mensagem (pode ser null)
+     * @return Evento parseado
+     * @throws IOException Se o corpo não for JSON válido
+     */
+    Event parseEvent(String eventType, String messageBody, Map<String, Object> headers) throws IOException {
+        var logger = org.slf4j.LoggerFactory.getLogger(RabbitMQHelper.class);
+        
+        // Tentar parsear como Event primeiro
+        Event event;
+        try {
+            event = objectMapper.readValue(messageBody, Event.class);
+        } catch (Exception e) {
+            // Se não for Event, tentar parsear como Map direto
+            @SuppressWarnings("unchecked")
+            Map<String, Object> payload = objectMapper.readValue(messageBody, Map.class);
+            event = new Event();
+            event.setType(eventType); // Usar eventType como tipo
+            event.setPayload(payload);
+            logger.debug("Evento parseado como Map direto. Payload keys: {}", payload.keySet());
+        }
+        
+        // Armazenar headers no evento
+        if (headers != null) {
+            event.setHeaders(headers);
+        }
+        return event;
+    }
+    
+    /**
+     * Verifica se o evento corresponde ao tipo esperado.
+     * Para eventos OTP, o payload pode conter campos específicos que identificam o tipo
+     * mesmo quando o envelope não traz o campo type; nesse caso o tipo é ajustado no evento.
+     */
+    private boolean matchesExpectedType(String eventType, Event event, org.slf4j.Logger logger) {
+        // Aceitar mensagem apenas se for do tipo esperado ou se payload contém informações do evento
+        boolean isExpectedEvent = event.getType() != null && event.getType().equals(eventType);
+        if (!isExpectedEvent && event.getPayload() != null) {
+            // Verificar se o payload contém informações que indicam o tipo de evento
+            // Para eventos OTP, o payload pode conter campos específicos
+            if (eventType.equals("otp.sent") && event.getPayload().containsKey("otpCode")) {
+                isExpectedEvent = true;
+                event.setType(eventType);
+                logger.debug("Evento identificado como otp.sent baseado no campo otpCode no payload");
+            } else if (eventType.equals("otp.validated") && event.getPayload().containsKey("otpId")) {
+                isExpectedEvent = true;
+                event.setType(eventType);
+                logger.debug("Evento identificado como otp.validated baseado no campo otpId no payload");
+            }
+        }
+        return isExpectedEvent;
+    }
+    
+    /**
+     * Garante que há consumidores push ativos para o tipo de evento.
+     * Para otp.sent sem fila explícita, observa as duas filas possíveis (/shared e /br),
+     * espelhando o comportamento do modo poll.
+     */
+    private void startCapture(String eventType, String queueName) {
+        // Tap: filas da execução já recebem os eventos dos exchanges; fila explícita tem os bindings espelhados
+        if (isTapCaptureEnabled()) {
+            startTapCapture();
+            if (queueName != null) {
+                mirrorQueueBindings(eventType, queueName);
+            }
+            return;
+        }
+        if ("otp.sent".equals(eventType) && queueName == null) {
+            ensureCaptureConsumer(eventType, "transactional.auth-otp-sent.queue", "/shared");
+            ensureCaptureConsumer(eventType, "auth.otp-sent.queue", "/br");
+            return;
+        }
+        String finalQueueName = queueName != null ? queueName : determineQueueName(eventType);
+        ensureCaptureConsumer(eventType, finalQueueName, determineVirtualHostForEvent(eventType));
+    }
+    
+    /**
+     * Registra (uma única vez) um consumidor basicConsume de longa duração para a fila no virtual host.
+     * O consumidor nunca lê a fila do serviço: consome uma fila espelho exclusiva desta execução,
+     * ligada com os mesmos bindings da fila do serviço, que continua recebendo (e processando) tudo.
+     * Sem os bindings (API de management indisponível ou fila sem bindings), cai para a fila tap do vhost.
+     * 
+     * @return true se há consumidor ativo para a fila (espelho ou tap)
+     */
+    private boolean ensureCaptureConsumer(String eventType, String queueName, String vhost) {
+        var logger = org.slf4j.LoggerFactory.getLogger(RabbitMQHelper.class);
+        String captureKey = vhost + "|" + queueName;
+        Channel existing = captureChannels.get(captureKey);
+        if (existing != null && existing.isOpen()) {
+            return true;
+        }
+        
+        List<RabbitTopology.Binding> bindings = topology.queueBindings(vhost, queueName);
+        if (bindings == null || bindings.isEmpty()) {
+            logger.warn("⚠️ [CAPTURE] Bindings da fila {} (vhost {}) indisponíveis: usando a fila tap do vhost "
+                + "(a fila do serviço nunca é consumida)", queueName, vhost);
+            return ensureTapConsumer(vhost);
+        }
+        
+        captureLock.lock();
+        try {
+            existing = captureChannels.get(captureKey);
+            if (existing != null && existing.isOpen()) {
+                return true;
+            }
+            
+            String mirrorQueue = mirrorQueueName(queueName);
+            Channel consumerChannel = null;
+            Channel binder = null;
+            try {
+                Connection connection = connect(vhost);
+                consumerChannel = connection.createChannel();
+                consumerChannel.basicQos(capturePrefetch);
+                // Exclusiva + auto-delete: o ack de cada entrega só afeta a cópia desta execução
+                consumerChannel.queueDeclare(mirrorQueue, false, true, true, null);
+                binder = connection.createChannel();
+                for (RabbitTopology.Binding binding : bindings) {
+                    binder.queueBind(mirrorQueue, binding.getSource(), binding.getRoutingKey(), binding.getArguments());
+                }
+                
+                consumerChannel.basicConsume(mirrorQueue, false, "e2e-capture-" + captureKey,
+                    new DefaultConsumer(consumerChannel) {
+                        @Override
+                        public void handleDelivery(String consumerTag, Envelope envelope,
+                                                   AMQP.BasicProperties properties, byte[] body) throws IOException {
+                            onCapturedDelivery(eventType, mirrorQueue, getChannel(), envelope, properties, body);
+                        }
+                        
+                        @Override
+                        public void handleCancel(String consumerTag) {
+                            captureChannels.remove(captureKey);
+                            logger.warn("⚠️ [CAPTURE] Consumidor cancelado pelo broker: {}", captureKey);
+                        }
+                        
+                        @Override
+                        public void handleShutdownSignal(String consumerTag, ShutdownSignalException sig) {
+                            captureChannels.remove(captureKey);
+                            logger.debug("📥 [CAPTURE] Consumidor encerrado ({}): {}", captureKey, sig.getMessage());
+                        }
+                    });
+                
+                captureChannels.put(captureKey, consumerChannel);
+                logger.info("📥 [CAPTURE] Consumidor push registrado na fila espelho {} de {} (vhost {}, {} binding(s))",
+                    mirrorQueue, queueName, vhost, bindings.size());
+                return true;
+            } catch (Exception e) {
+                logger.warn("⚠️ [CAPTURE] Não foi possível espelhar a fila {} (vhost {}): {}",
+                    queueName, vhost, e.getMessage());
+                if (consumerChannel != null && consumerChannel.isOpen()) {
+                    try {
+                        consumerChannel.close();
+                    } catch (Exception ignored) {
+                        // Canal já em estado inválido
+                    }
+                }
+                return false;
+            } finally {
+                if (binder != null) {
+                    ChannelPool.closeQuietly(binder);
+                }
+            }
+        } finally {
+            captureLock.unlock();
+        }
+    }
+    
+    /**
+     * Nome da fila espelho desta execução para uma fila de serviço.
+     * Ex: e2e.mirror.3f2a...-uuid.transactional.auth-otp-sent.queue
+     */
+    private String mirrorQueueName(String queueName) {
+        return "e2e.mirror." + ExecutionContext.getExecutionId() + "." + queueName;
+    }
+    
+    /**
+     * Nome da fila tap desta execução para um virtual host.
+     * Ex: e2e.tap.3f2a...-uuid.shared
+     */
+    private String tapQueueName(String vhost) {
+        String vhostSuffix = vhost.replace("/", "");
+        return "e2e.tap." + ExecutionContext.getExecutionId() + "." + (vhostSuffix.isEmpty() ? "root" : vhostSuffix);
+    }
+    
+    /**
+     * Garante uma fila tap por virtual host configurado (rabbitmq.tap.virtual-hosts).
+     */
+    private void startTapCapture() {
+        for (String vhost : tapVirtualHosts) {
+            ensureTapConsumer(vhost);
+        }
+    }
+    
+    /**
+     * Declara a fila tap exclusiva e auto-delete do virtual host, liga-a aos exchanges
+     * existentes (rabbitmq.tap.exchanges) e registra o consumidor push.
+     * Exchanges inexistentes no virtual host são ignorados.
+     * 
+     * @return true se há consumidor tap ativo no virtual host
+     */
+    private boolean ensureTapConsumer(String vhost) {
+        var logger = org.slf4j.LoggerFactory.getLogger(RabbitMQHelper.class);
+        String queueName = tapQueueName(vhost);
+        String captureKey = vhost + "|" + queueName;
+        Channel existing = captureChannels.get(captureKey);
+        if (existing != null && existing.isOpen()) {
+            return true;
+        }
+        
+        captureLock.lock();
+        try {
+            existing = captureChannels.get(captureKey);
+            if (existing != null && existing.isOpen()) {
+                return true;
+            }
+            
+            Channel consumerChannel = null;
+            try {
+                Connection connection = connect(vhost);
+                consumerChannel = connection.createChannel();
+                consumerChannel.basicQos(capturePrefetch);
+                // Exclusiva + auto-delete: removida pelo broker quando a conexão desta execução fechar
+                consumerChannel.queueDeclare(queueName, false, true, true, null);
+                // Fila recriada (ex: reconexão) perdeu os bindings espelhados de filas explícitas
+                mirroredQueues.removeIf(key -> key.startsWith(vhost + "|"));
+                
+                int bindings = 0;
+                for (String exchange : tapExchanges) {
+                    try {
+                        bindings += bindTapQueue(connection, queueName, vhost, exchange);
+                    } catch (IOException e) {
+                        logger.warn("⚠️ [TAP] Não foi possível ligar a fila {} ao exchange {} (vhost {}): {}",
+                            queueName, exchange, vhost, e.getMessage());
+                    }
+                }
+                
+                consumerChannel.basicConsume(queueName, false, "e2e-tap-" + captureKey,
+                    new DefaultConsumer(consumerChannel) {
+                        @Override
+                        public void handleDelivery(String consumerTag, Envelope envelope,
+                                                   AMQP.BasicProperties properties, byte[] body) throws IOException {
+                            onCapturedDelivery(null, queueName, getChannel(), envelope, properties, body);
+                        }
+                        
+                        @Override
+                        public void handleShutdownSignal(String consumerTag, ShutdownSignalException sig) {
+                            captureChannels.remove(captureKey);
+                            logger.debug("📥 [TAP] Consumidor encerrado ({}): {}", captureKey, sig.getMessage());
+                        }
+                    });
+                
+                captureChannels.put(captureKey, consumerChannel);
+                logger.info("📥 [TAP] Fila {} ativa no vhost {} ({} exchange(s) ligados)", queueName, vhost, bindings);
+                return true;
+            } catch (Exception e) {
+                logger.warn("⚠️ [TAP] Não foi possível preparar fila tap no vhost {}: {}", vhost, e.getMessage());
+                if (consumerChannel != null && consumerChannel.isOpen()) {
+                    try {
+                        consumerChannel.close();
+                    } catch (Exception ignored) {
+                        // Canal já em estado inválido
+                    }
+                }
+                return false;
+            }
+        } finally {
+            captureLock.unlock();
+        }
+    }
+    
+    /**
+     * Liga a fila tap a um exchange conforme o tipo dele: topic recebe o binding configurado ("#"),
+     * fanout dispensa routing key, e direct/headers replicam os bindings das filas dos serviços
+     * (routing keys e arguments), já que "#" não casa com nada nesses tipos.
+     * Sem a API de management, mantém o binding configurado e avisa que ele só funciona em topic.
+     * 
+     * @return Número de bindings criados (0 se o exchange não existir ou nada puder ser capturado)
+     */
+    private int bindTapQueue(Connection connection, String queueName, String vhost, String exchange) throws IOException {
+        var logger = org.slf4j.LoggerFactory.getLogger(RabbitMQHelper.class);
+        String type = topology.exchangeType(vhost, exchange);
+        // Canal descartável: 404 ou argumento inválido fecham o canal, não a fila tap
+        Channel binder = connection.createChannel();
+        try {
+            if (type == null) {
+                try {
+                    binder.exchangeDeclarePassive(exchange);
+                } catch (IOException e) {
+                    logger.debug("📥 [TAP] Exchange {} não existe no vhost {}: {}", exchange, vhost, e.getMessage());
+                    return 0;
+                }
+                logger.warn("⚠️ [TAP] Tipo do exchange {} desconhecido (vhost {}, API de management indisponível): "
+                    + "binding '{}' só captura eventos se o exchange for topic", exchange, vhost, tapBindingKey);
+                binder.queueBind(queueName, exchange, tapBindingKey);
+                return 1;
+            }
+            switch (type) {
+                case "topic":
+                    binder.queueBind(queueName, exchange, tapBindingKey);
+                    logger.debug("📥 [TAP] Fila {} ligada ao exchange topic {} (vhost {}, binding {})",
+                        queueName, exchange, vhost, tapBindingKey);
+                    return 1;
+                case "fanout":
+                    binder.queueBind(queueName, exchange, "");
+                    return 1;
+                default:
+                    int bindings = 0;
+                    List<RabbitTopology.Binding> serviceBindings = topology.exchangeBindings(vhost, exchange);
+                    for (RabbitTopology.Binding binding : serviceBindings != null ? serviceBindings : List.<RabbitTopology.Binding>of()) {
+                        // Bindings de outras execuções de teste não representam tráfego de serviço
+                        if (binding.getDestination().startsWith("e2e.")) {
+                            continue;
+                        }
+                        binder.queueBind(queueName, exchange, binding.getRoutingKey(), binding.getArguments());
+                        bindings++;
+                    }
+                    if (bindings == 0) {
+                        logger.warn("⚠️ [TAP] Exchange {} ({}) sem bindings de serviço no vhost {}: "
+                            + "fila tap não captura eventos dele", exchange, type, vhost);
+                    } else {
+                        logger.debug("📥 [TAP] Fila {} ligada ao exchange {} {} com {} binding(s) dos serviços",
+                            queueName, type, exchange, bindings);
+                    }
+                    return bindings;
+            }
+        } finally {
+            ChannelPool.closeQuietly(binder);
+        }
+    }
+    
+    /**
+     * Tap com fila explícita (consumeMessage(tipo, fila)): replica na fila tap do virtual host os bindings
+     * daquela fila, para capturar também eventos de exchanges fora de rabbitmq.tap.exchanges.
+     */
+    private void mirrorQueueBindings(String eventType, String queueName) {
+        var logger = org.slf4j.LoggerFactory.getLogger(RabbitMQHelper.class);
+        String vhost = determineVirtualHostForEvent(eventType);
+        if (!ensureTapConsumer(vhost) || !mirroredQueues.add(vhost + "|" + queueName)) {
+            return;
+        }
+        List<RabbitTopology.Binding> bindings = topology.queueBindings(vhost, queueName);
+        if (bindings == null) {
+            mirroredQueues.remove(vhost + "|" + queueName);
+            logger.warn("⚠️ [TAP] Bindings da fila {} (vhost {}) indisponíveis: captura limitada a rabbitmq.tap.exchanges",
+                queueName, vhost);
+            return;
+        }
+        if (bindings.isEmpty()) {
+            logger.warn("⚠️ [TAP] Fila {} (vhost {}) não tem bindings de exchange: nada a espelhar na fila tap",
+                queueName, vhost);
+            return;
+        }
+        String tapQueue = tapQueueName(vhost);
+        Channel binder = null;
+        try {
+            binder = connect(vhost).createChannel();
+            for (RabbitTopology.Binding binding : bindings) {
+                binder.queueBind(tapQueue, binding.getSource(), binding.getRoutingKey(), binding.getArguments());
+            }
+            logger.info("📥 [TAP] Fila {} espelha os bindings de {} (vhost {}): {}", tapQueue, queueName, vhost, bindings);
+        } catch (Exception e) {
+            mirroredQueues.remove(vhost + "|" + queueName);
+            logger.warn("⚠️ [TAP] Não foi possível espelhar os bindings da fila {} (vhost {}): {}",
+                queueName, vhost, e.getMessage());
+        } finally {
+            if (binder != null) {
+                ChannelPool.closeQuietly(binder);
+            }
+        }
+    }
+    
+    /**
+     * Resolve o tipo de um evento recebido pela fila tap, que mistura todos os tipos.
+     * Ordem: campo type do envelope Event, header de tipo, campos característicos do payload
+     * e, por fim, a routing key da publicação.
+     */
+    private String resolveTapEventType(Event event, Envelope envelope, Map<String, Object> headers) {
+        if (event.getType() != null && !event.getType().isBlank()) {
+            return event.getType();
+        }
+        if (headers != null) {
+            for (String header : new String[] {"event-type", "eventType", "type"}) {
+                Object value = headers.get(header);
+                if (value != null && !value.toString().isBlank()) {
+                    return value.toString();
+                }
+            }
+        }
+        Map<String, Object> payload = event.getPayload();
+        if (payload != null) {
+            Object payloadType = payload.get("eventType");
+            if (payloadType != null) {
+                return payloadType.toString();
+            }
+            if (payload.containsKey("otpCode")) {
+                return "otp.sent";
+            }
+        }
+        return envelope.getRoutingKey();
+    }
+    
+    /**
+     * Callback de entrega dos consumidores push e tap (sempre filas exclusivas desta execução).
+     * Toda entrega é confirmada (ack) e indexada pelo tipo resolvido: o tipo esperado da fila,
+     * ou o tipo declarado no próprio evento quando não corresponder (ou quando vier da fila tap).
+     * 
+     * @param eventType Tipo esperado da fila (null para filas tap)
+     */
+    private void onCapturedDelivery(String eventType, String queueName, Channel channel, Envelope envelope,
+                                    AMQP.BasicProperties properties, byte[] body) throws IOException {
+        var logger = org.slf4j.LoggerFactory.getLogger(RabbitMQHelper.class);
+        String messageBody = new String(body, StandardCharsets.UTF_8);
+        try {
+            Event event = parseEvent(eventType, messageBody, properties.getHeaders());
+            String resolvedType;
+            if (eventType == null) {
+                // Fila tap: sem tipo esperado, resolver a partir do próprio evento
+                resolvedType = resolveTapEventType(event, envelope, properties.getHeaders());
+            } else {
+                resolvedType = matchesExpectedType(eventType, event, logger) || event.getType() == null
+                    ? eventType
+                    : event.getType();
+            }
+            event.setType(resolvedType);
+            if (properties.getMessageId() != null) {
+                event.setMessageId(properties.getMessageId());
+            }
+            // Marca gravada na captura: continua valendo depois que o UserPool descarta o usuário
+            event.fromUserPool = isPoolEvent(event);
+            eventStore.add(event, properties.getMessageId(), properties.getCorrelationId());
+            logger.debug("📥 [CAPTURE] Evento {} capturado da fila {} ({} bytes)", resolvedType, queueName, body.length);
+        } catch (Exception e) {
+            logger.warn("⚠️ [CAPTURE] Mensagem inválida descartada da fila {}: {}", queueName, e.getMessage());
+        } finally {
+            channel.basicAck(envelope.getDeliveryTag(), false);
+        }
+    }
+    
+    /**
+     * Retira o próximo evento capturado do tipo informado que satisfaça a condição.
+     * Eventos que não satisfazem a condição permanecem no store para outros cenários.
+     * 
+     * @param eventType Tipo de evento
+     * @param condition Condição de aceitação (null aceita qualquer evento)
+     * @param timeoutMs Tempo máximo de espera em milissegundos (0 = não bloquear)
+     * @return Evento ou null se nenhum evento aceito chegou no prazo
+     */
+    private Event takeCapturedEvent(String eventType, Predicate<Event> condition, long timeoutMs) {
+        return eventStore.await(eventType, condition, timeoutMs);
+    }
+    
+    /**
+     * Aguarda um evento do tipo informado, retornando assim que ele chegar.
+     * 
+     * @param eventType Tipo de evento esperado (ex: "otp.sent", "credentials.provisioned.v1")
+     * @param timeout Tempo máximo de espera
+     * @return Evento recebido ou null se o tempo esgotar
+     */
+    public Event waitForEvent(String eventType, Duration timeout) {
+        return waitForEvent(eventType, null, null, timeout);
+    }
+    
+    /**
+     * Aguarda um evento do tipo informado que satisfaça a condição.
+     * 
+     * @param eventType Tipo de evento esperado
+     * @param condition Condição de aceitação do evento (ex: payload com userUuid esperado)
+     * @param timeout Tempo máximo de espera
+     * @return Evento aceito ou null se o tempo esgotar
+     */
+    public Event waitForEvent(String eventType, Predicate<Event> condition, Duration timeout) {
+        return waitForEvent(eventType, null, condition, timeout);
+    }
+    
+    /**
+     * Aguarda um evento do tipo informado em uma fila específica.
+     * 
+     * @param eventType Tipo de evento esperado
+     * @param queueName Nome da fila (null para determinar automaticamente)
+     * @param timeout Tempo máximo de espera
+     * @return Evento recebido ou null se o tempo esgotar
+     */
+    public Event waitForEvent(String eventType, String queueName, Duration timeout) {
+        return waitForEvent(eventType, queueName, null, timeout);
+    }
+    
+    private Event waitForEvent(String eventType, String queueName, Predicate<Event> condition, Duration timeout) {
+        return waitMatching(eventType, queueName, withoutPoolEvents(condition), timeout);
+    }
+    
+    private Event waitMatching(String eventType, String queueName, Predicate<Event> condition, Duration timeout) {
+        if (isPushCaptureEnabled()) {
+            startCapture(eventType, queueName);
+            return takeCapturedEvent(eventType, condition, timeout.toMillis());
+        }
+        
+        // Modo poll: basicGet a cada intervalo configurado até o prazo
+        long pollIntervalMs = config != null ? config.getEventPollIntervalMs() : 500L;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        do {
+            Event event = consumeMessage(eventType, queueName);
+            if (event != null && (condition == null || condition.test(event))) {
+                return event;
+            }
+            try {
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        } while (System.nanoTime() < deadline);
+        return null;
+    }
+    
+    /**
+     * Aguarda de forma assíncrona um evento do tipo informado que satisfaça a condição.
+     * No modo push/tap o future é completado diretamente pelo callback de entrega do consumidor,
+     * permitindo aguardar vários eventos ao mesmo tempo (ex: CompletableFuture.allOf).
+     * 
+     * @param eventType Tipo de evento esperado
+     * @param condition Condição de aceitação do evento (null aceita qualquer evento)
+     * @param timeout Tempo máximo de espera
+     * @return Future completado com o evento, ou com null se o tempo esgotar
+     */
+    public CompletableFuture<Event> awaitEvent(String eventType, Predicate<Event> condition, Duration timeout) {
+        return awaitMatching(eventType, null, withoutPoolEvents(condition), timeout);
+    }
+    
+    private CompletableFuture<Event> awaitMatching(String eventType, String queueName,
+                                                   Predicate<Event> condition, Duration timeout) {
+        if (isPushCaptureEnabled()) {
+            startCapture(eventType, queueName);
+            return eventStore.awaitAsync(eventType, condition, timeout.toMillis());
+        }
+        // Modo poll: não há callback de entrega, o polling roda fora da thread do step
+        return CompletableFuture.supplyAsync(() -> waitMatching(eventType, queueName, condition, timeout));
+    }
+    
+    /**
+     * Aguarda de forma assíncrona um evento do tipo informado.
+     * 
+     * @param eventType Tipo de evento esperado
+     * @param timeout Tempo máximo de espera
+     * @return Future completado com o evento, ou com null se o tempo esgotar
+     */
+    public CompletableFuture<Event> awaitEvent(String eventType, Duration timeout) {
+        return awaitEvent(eventType, (Predicate<Event>) null, timeout);
+    }
+    
+    /**
+     * Aguarda de forma assíncrona o evento do tipo informado correlacionado ao cenário
+     * (userUuid, email, otpId ou messageId).
+     * Lookup direto no índice de correlação: eventos de outros cenários nunca são retirados.
+     * 
+     * @param eventType Tipo de evento esperado
+     * @param correlationKey Valor de correlação (ex: userUuid do usuário do cenário)
+     * @param timeout Tempo máximo de espera
+     * @return Future completado com o evento, ou com null se o tempo esgotar
+     */
+    public CompletableFuture<Event> awaitEvent(String eventType, String correlationKey, Duration timeout) {
+        if (isPushCaptureEnabled()) {
+            startCapture(eventType, null);
+            return eventStore.awaitAsync(eventType, correlationKey, timeout.toMillis());
+        }
+        // Modo poll: sem índice no broker, filtrar pelas chaves de correlação de cada mensagem
+        return awaitMatching(eventType, null, event -> hasCorrelationKey(event, correlationKey), timeout);
+    }
+    
+    /**
+     * Aguarda o evento do tipo correlacionado ao cenário por qualquer uma das chaves informadas
+     * (ex: userUuid e e-mail do mesmo usuário, quando o payload traz só uma delas).
+     * Um evento do cenário já entregue a outro step (ex: consultado por um step anterior) também vale:
+     * o histórico correlacionado é consultado antes de registrar a espera.
+     * 
+     * @param eventType Tipo de evento esperado
+     * @param correlationKeys Chaves do cenário (ver UserFixture.getEventCorrelationKeys)
+     * @param condition Condição adicional sobre o evento (null aceita qualquer evento correlacionado)
+     * @param timeout Tempo máximo de espera
+     * @return Future completado com o evento, ou com null se o tempo esgotar
+     * @throws IllegalArgumentException se não houver chave de correlação (aceitaria eventos de qualquer cenário)
+     */
+    public CompletableFuture<Event> awaitEvent(String eventType, List<String> correlationKeys,
+                                               Predicate<Event> condition, Duration timeout) {
+        return awaitEvent(eventType, null, correlationKeys, condition, timeout);
+    }
+    
+    /**
+     * Igual a {@link #awaitEvent(String, List, Predicate, Duration)}, observando a fila informada
+     * (no modo tap, a captura espelha os bindings dela em vez dos do exchange do tipo).
+     * 
+     * @param queueName Fila do serviço consumidor (null para determinar pelo tipo)
+     */
+    public CompletableFuture<Event> awaitEvent(String eventType, String queueName, List<String> correlationKeys,
+                                               Predicate<Event> condition, Duration timeout) {
+        requireCorrelationKeys(eventType, correlationKeys);
+        Predicate<Event> correlated = condition == null
+            ? correlatedTo(correlationKeys)
+            : correlatedTo(correlationKeys).and(condition);
+        for (String key : correlationKeys) {
+            Event seen = eventStore.findLatest(eventType, key);
+            if (seen != null && correlated.test(seen)) {
+                return CompletableFuture.completedFuture(seen);
+            }
+        }
+        // Correlacionada: eventos de um usuário entregue pelo UserPool também valem
+        return awaitMatching(eventType, queueName, correlated, timeout);
+    }
+    
+    /**
+     * Retira o próximo evento do tipo correlacionado ao cenário que ainda não foi entregue a nenhum step.
+     * Sem consulta ao histórico: chamadas sucessivas retornam eventos distintos (ex: contar os N otp.sent
+     * de N solicitações do mesmo usuário).
+     * 
+     * @param eventType Tipo de evento esperado
+     * @param queueName Fila do serviço consumidor (null para determinar pelo tipo)
+     * @param correlationKeys Chaves do cenário (ver UserFixture.getUserCorrelationKeys)
+     * @param timeout Tempo máximo de espera
+     * @return Future completado com o evento, ou com null se o tempo esgotar
+     * @throws IllegalArgumentException se não houver chave de correlação
+     */
+    public CompletableFuture<Event> awaitNextEvent(String eventType, String queueName, List<String> correlationKeys,
+                                                   Duration timeout) {
+        requireCorrelationKeys(eventType, correlationKeys);
+        return awaitMatching(eventType, queueName, correlatedTo(correlationKeys), timeout);
+    }
+    
+    private static void requireCorrelationKeys(String eventType, List<String> correlationKeys) {
+        if (correlationKeys == null || correlationKeys.isEmpty()) {
+            throw new IllegalArgumentException(
+                "Sem otpId, userUuid ou e-mail do cenário para correlacionar o evento " + eventType);
+        }
+    }
+    
+    /**
+     * Consulta (sem retirar) o evento mais recente do tipo com a chave de correlação,
+     * incluindo eventos já entregues a outros steps do cenário.
+     * 
+     * @param eventType Tipo de evento
+     * @param correlationKey Valor de correlação
+     * @return Evento ou null se não houver evento correlacionado no histórico
+     */
+    public Event findEvent(String eventType, String correlationKey) {
+        return eventStore.findLatest(eventType, correlationKey);
+    }
+    
+    /**
+     * Condição "evento correlacionado a alguma das chaves", para esperas que retiram vários eventos
+     * do mesmo cenário (ex: um otp.sent por solicitação, todos com o e-mail do cenário).
+     * Avalia apenas o evento: pode rodar no thread de entrega do RabbitMQ.
+     */
+    public static Predicate<Event> correlatedTo(List<String> correlationKeys) {
+        List<String> keys = List.copyOf(correlationKeys);
+        return event -> keys.stream().anyMatch(key -> hasCorrelationKey(event, key));
+    }
+    
+    /**
+     * Esperas sem correlação aceitariam o otp.sent/user.created de um usuário que o UserPool provisiona
+     * em background; esses eventos ficam no store apenas para esperas correlacionadas.
+     */
+    private static Predicate<Event> withoutPoolEvents(Predicate<Event> condition) {
+        Predicate<Event> notFromPool = event -> !event.fromUserPool && !isPoolEvent(event);
+        return condition == null ? notFromPool : notFromPool.and(condition);
+    }
+    
+    private static boolean isPoolEvent(Event event) {
+        return CapturedEventStore.correlationKeys(event).stream().anyMatch(UserPool::isPoolIdentifier);
+    }
+    
+    private static boolean hasCorrelationKey(Event event, String correlationKey) {
+        return correlationKey != null
+            && CapturedEventStore.correlationKeys(event).contains(CapturedEventStore.normalize(correlationKey));
+    }
+    
     /**
      * Retorna a última mensagem consumida de um tipo específico
      * 
@@ -479,7 +1267,7 @@ public class RabbitMQHelper {
      * @return Última mensagem consumida ou null
      */
     public Event getLastConsumedMessage(String eventType) {
-        return lastConsumedMessages.get(eventType);
+        return eventStore.lastClaimed(eventType);
     }
     
     /**
@@ -528,29 +1316,27 @@ public class RabbitMQHelper {
      */
     private QueueInfo getQueueInfo(String queueName, String vhost, org.slf4j.Logger logger) {
         try {
-            // Multi-Country: Verificar conexão para este virtual host específico
-            Connection connection = connections.get(vhost);
-            Channel channel = channels.get(vhost);
-            
-            if (connection == null || !connection.isOpen() || channel == null || !channel.isOpen()) {
-                logger.debug("🌍 [MULTI-COUNTRY] Conexão RabbitMQ não está aberta para vhost {}. Tentando conectar...", vhost);
-                try {
-                    connect(vhost);
-                    connection = connections.get(vhost);
-                    channel = channels.get(vhost);
-                } catch (Exception e) {
-                    logger.debug("Erro ao conectar ao RabbitMQ no vhost {}: {}", vhost, e.getMessage());
-                    return null;
-                }
+            // Multi-Country: Pool de canais para este virtual host específico
+            ChannelPool pool;
+            try {
+                pool = channelPool(vhost);
+            } catch (Exception e) {
+                logger.debug("Erro ao conectar ao RabbitMQ no vhost {}: {}", vhost, e.getMessage());
+                return null;
             }
             
-            // Declarar fila em modo passivo (apenas verifica se existe)
-            com.rabbitmq.client.AMQP.Queue.DeclareOk queueInfo = channel.queueDeclarePassive(queueName);
-            
-            return new QueueInfo(
-                queueInfo.getMessageCount(),
-                queueInfo.getConsumerCount()
-            );
+            Channel channel = pool.lease(channelLeaseTimeoutMs);
+            try {
+                // Declarar fila em modo passivo (apenas verifica se existe)
+                com.rabbitmq.client.AMQP.Queue.DeclareOk queueInfo = channel.queueDeclarePassive(queueName);
+                
+                return new QueueInfo(
+                    queueInfo.getMessageCount(),
+                    queueInfo.getConsumerCount()
+                );
+            } finally {
+                pool.release(channel);
+            }
         } catch (IOException e) {
             logger.debug("🌍 [MULTI-COUNTRY] Fila {} não existe ou não está acessível no vhost {}: {}", queueName, vhost, e.getMessage());
             return null;
@@ -560,6 +1346,74 @@ public class RabbitMQHelper {
         }
     }
     
+    /**
+     * Pool limitado de canais de uma conexão (um por virtual host).
+     * Cada operação aluga um canal exclusivo e o devolve ao final; canais fechados por erro
+     * de protocolo são descartados e substituídos sob demanda. O semáforo limita o total
+     * de canais abertos, e o caminho de aluguel/devolução não usa locks.
+     */
+    private static final class ChannelPool {
+        private final Connection connection;
+        private final BlockingQueue<Channel> idle;
+        private final Semaphore permits;
+        
+        private ChannelPool(Connection connection, int size) {
+            this.connection = connection;
+            this.idle = new ArrayBlockingQueue<>(Math.max(1, size));
+            this.permits = new Semaphore(Math.max(1, size));
+        }
+        
+        private Channel lease(long timeoutMs) throws IOException {
+            try {
+                if (!permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new IOException("Nenhum canal RabbitMQ disponível no pool após " + timeoutMs + "ms");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrompido aguardando canal RabbitMQ do pool");
+            }
+            try {
+                Channel channel;
+                while ((channel = idle.poll()) != null) {
+                    if (channel.isOpen()) {
+                        return channel;
+                    }
+                }
+                return connection.createChannel();
+            } catch (IOException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+        
+        private void release(Channel channel) {
+            try {
+                if (channel != null && channel.isOpen() && !idle.offer(channel)) {
+                    closeQuietly(channel);
+                }
+            } finally {
+                permits.release();
+            }
+        }
+        
+        private void close() {
+            Channel channel;
+            while ((channel = idle.poll()) != null) {
+                closeQuietly(channel);
+            }
+        }
+        
+        private static void closeQuietly(Channel channel) {
+            try {
+                if (channel.isOpen()) {
+                    channel.close();
+                }
+            } catch (Exception e) {
+                // Canal já encerrado pelo broker ou pela conexão
+            }
+        }
+    }
+    
     /**
      * Classe para representar informações de uma fila RabbitMQ
      */
@@ -589,6 +1443,9 @@ public class RabbitMQHelper {
         private Map<String, Object> payload;
         private String timestamp;
         private Map<String, Object> headers;
+        private String messageId;
+        // Capturado enquanto o e-mail/otpId/UUID do payload pertencia a um usuário do UserPool
+        private volatile boolean fromUserPool;
         
         public String getType() {
             return type;
@@ -621,6 +1478,18 @@ public class RabbitMQHelper {
         public void setHeaders(Map<String, Object> headers) {
             this.headers = headers;
         }
+        
+        /**
+         * message_id da publicação (propriedade AMQP ou campo do envelope), usado para
+         * seguir a mensagem pelas filas de retry (DLQ/parking lot).
+         */
+        public String getMessageId() {
+            return messageId;
+        }
+        
+        public void setMessageId(String messageId) {
+            this.messageId = messageId;
+        }
     }
 }
 
@@ -0,0 +1,187 @@
+package com.nulote.journey.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leitura da topologia do broker (tipo de exchange e bindings) pela API de management do RabbitMQ.
+ *
+ * O AMQP não informa o tipo de um exchange existente nem os bindings de uma fila; sem isso a fila tap
+ * só consegue usar o binding "#", que nada captura em exchanges direct e headers.
+ * Resultados são guardados em cache (a topologia dos serviços não muda durante a execução).
+ * Com a API indisponível, os métodos retornam null e o chamador decide o fallback.
+ */
+@Component
+public class RabbitTopology {
+
+    @Value("${rabbitmq.management-url:http://localhost:15672}")
+    private String managementUrl;
+
+    @Value("${rabbitmq.username:guest}")
+    private String username;
+
+    @Value("${rabbitmq.password:guest}")
+    private String password;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(2))
+        .build();
+
+    // Chave: "vhost|recurso" - listas vazias também ficam em cache; falhas de acesso não
+    private final Map<String, String> exchangeTypes = new ConcurrentHashMap<>();
+    private final Map<String, List<Binding>> bindingsCache = new ConcurrentHashMap<>();
+
+    /**
+     * Tipo do exchange (topic, direct, fanout, headers...).
+     *
+     * @return Tipo, ou null se o exchange não existir ou a API estiver indisponível
+     */
+    public String exchangeType(String vhost, String exchange) {
+        String key = vhost + "|" + exchange;
+        String cached = exchangeTypes.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        JsonNode node = get("/api/exchanges/" + encode(vhost) + "/" + encode(exchange));
+        if (node == null || !node.hasNonNull("type")) {
+            return null;
+        }
+        String type = node.get("type").asText();
+        exchangeTypes.put(key, type);
+        return type;
+    }
+
+    /**
+     * Bindings que partem do exchange para filas (routing keys/arguments usados pelos serviços).
+     *
+     * @return Bindings, ou null se a API estiver indisponível
+     */
+    public List<Binding> exchangeBindings(String vhost, String exchange) {
+        return bindings("source|" + vhost + "|" + exchange,
+            "/api/exchanges/" + encode(vhost) + "/" + encode(exchange) + "/bindings/source");
+    }
+
+    /**
+     * Bindings da fila, sem o binding implícito do exchange default (source vazio).
+     *
+     * @return Bindings, ou null se a API estiver indisponível ou a fila não existir
+     */
+    public List<Binding> queueBindings(String vhost, String queue) {
+        return bindings("queue|" + vhost + "|" + queue,
+            "/api/queues/" + encode(vhost) + "/" + encode(queue) + "/bindings");
+    }
+
+    private List<Binding> bindings(String cacheKey, String path) {
+        List<Binding> cached = bindingsCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        JsonNode node = get(path);
+        if (node == null || !node.isArray()) {
+            return null;
+        }
+        List<Binding> result = new ArrayList<>();
+        for (JsonNode binding : node) {
+            String source = binding.path("source").asText("");
+            if (source.isEmpty() || !"queue".equals(binding.path("destination_type").asText())) {
+                continue;
+            }
+            Map<String, Object> arguments = new LinkedHashMap<>();
+            binding.path("arguments").fields().forEachRemaining(field ->
+                arguments.put(field.getKey(), objectMapper.convertValue(field.getValue(), Object.class)));
+            result.add(new Binding(source, binding.path("destination").asText(),
+                binding.path("routing_key").asText(""), arguments));
+        }
+        List<Binding> bindings = Collections.unmodifiableList(result);
+        bindingsCache.put(cacheKey, bindings);
+        return bindings;
+    }
+
+    private JsonNode get(String path) {
+        var logger = org.slf4j.LoggerFactory.getLogger(RabbitTopology.class);
+        String credentials = Base64.getEncoder()
+            .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(managementUrl + path))
+            .timeout(Duration.ofSeconds(5))
+            .header("Authorization", "Basic " + credentials)
+            .GET()
+            .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                logger.debug("🔎 [TOPOLOGY] {} retornou HTTP {}", path, response.statusCode());
+                return null;
+            }
+            return objectMapper.readTree(response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            logger.debug("🔎 [TOPOLOGY] API de management indisponível ({}): {}", managementUrl, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    /**
+     * Binding de um exchange para uma fila.
+     */
+    public static final class Binding {
+        private final String source;
+        private final String destination;
+        private final String routingKey;
+        private final Map<String, Object> arguments;
+
+        Binding(String source, String destination, String routingKey, Map<String, Object> arguments) {
+            this.source = source;
+            this.destination = destination;
+            this.routingKey = routingKey;
+            this.arguments = arguments;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public String getDestination() {
+            return destination;
+        }
+
+        public String getRoutingKey() {
+            return routingKey;
+        }
+
+        /**
+         * Arguments do binding (x-match e headers, em exchanges headers); vazio nos demais.
+         */
+        public Map<String, Object> getArguments() {
+            return arguments;
+        }
+
+        @Override
+        public String toString() {
+            return source + " -> " + destination + " [" + routingKey + (arguments.isEmpty() ? "" : " " + arguments) + "]";
+        }
+    }
+}
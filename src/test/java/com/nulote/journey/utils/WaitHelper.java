@@ -0,0 +1,194 @@
+package com.nulote.journey.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Motor de esperas condicionais para os steps E2E.
+ * Substitui Thread.sleep fixos: cada espera termina assim que a condição real é satisfeita
+ * (status no serviço, fila drenada, evento capturado), com limite máximo obrigatório.
+ *
+ * Polling adaptativo: começa em 25ms e dobra até o intervalo máximo, para responder rápido
+ * quando o serviço já está pronto sem martelar o serviço quando ainda não está.
+ *
+ * Toda espera é registrada por descrição (quantidade, tempo total/máximo, timeouts) e o
+ * resumo é logado ao final da execução (Hooks.afterAll).
+ */
+public class WaitHelper {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitHelper.class);
+
+    private static final long INITIAL_POLL_MS = 25;
+    private static final long MAX_POLL_MS = 300;
+
+    private static final Map<String, WaitStats> STATS = new ConcurrentHashMap<>();
+
+    /**
+     * Consulta repetidamente até o resultado satisfazer a condição ou o prazo esgotar.
+     *
+     * @param description Descrição da espera (usada no log e nas estatísticas)
+     * @param timeout Limite máximo de espera
+     * @param probe Consulta (ex: GET no serviço); exceções contam como "ainda não"
+     * @param done Condição de término sobre o resultado da consulta
+     * @return Último resultado consultado (satisfazendo a condição ou não), ou null se nenhuma consulta teve sucesso
+     */
+    public static <T> T waitFor(String description, Duration timeout, Supplier<T> probe, Predicate<T> done) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long pollMs = INITIAL_POLL_MS;
+        T last = null;
+        while (true) {
+            try {
+                last = probe.get();
+                if (done.test(last)) {
+                    record(description, start, true);
+                    return last;
+                }
+            } catch (RuntimeException e) {
+                log.trace("⏱️ [WAIT] {}: consulta falhou ({}), tentando novamente", description, e.getMessage());
+            }
+
+            long remainingMs = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMs <= 0) {
+                record(description, start, false);
+                return last;
+            }
+            if (!sleep(Math.min(pollMs, remainingMs))) {
+                record(description, start, false);
+                return last;
+            }
+            pollMs = Math.min(pollMs * 2, MAX_POLL_MS);
+        }
+    }
+
+    /**
+     * Aguarda até a condição ser satisfeita ou o prazo esgotar.
+     *
+     * @return true se a condição foi satisfeita dentro do prazo
+     */
+    public static boolean waitUntil(String description, Duration timeout, BooleanSupplier condition) {
+        Boolean result = waitFor(description, timeout, condition::getAsBoolean, Boolean.TRUE::equals);
+        return Boolean.TRUE.equals(result);
+    }
+
+    /**
+     * Aguarda um future (ex: RabbitMQHelper.awaitEvent) registrando a duração.
+     * Futures de evento completam com null quando o prazo esgota.
+     *
+     * @return Valor do future ou null
+     */
+    public static <T> T await(String description, CompletableFuture<T> future) {
+        long start = System.nanoTime();
+        T value = future.join();
+        record(description, start, value != null);
+        return value;
+    }
+
+    /**
+     * Pausa explícita por tempo (ex: step "aguardo N segundos" do cenário), registrada nas estatísticas.
+     * Usar apenas quando o próprio tempo é a condição do cenário.
+     */
+    public static void pause(String description, Duration duration) {
+        long start = System.nanoTime();
+        sleep(duration.toMillis());
+        record(description, start, true);
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void record(String description, long startNanos, boolean satisfied) {
+        long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+        STATS.computeIfAbsent(description, k -> new WaitStats()).add(elapsedMs, satisfied);
+        if (satisfied) {
+            log.debug("⏱️ [WAIT] {} resolvida em {}ms", description, elapsedMs);
+        } else {
+            log.warn("⏱️ [WAIT] {} atingiu o limite após {}ms", description, elapsedMs);
+        }
+    }
+
+    /**
+     * Retorna as estatísticas das esperas por descrição.
+     */
+    public static Map<String, WaitStats> getStats() {
+        return new TreeMap<>(STATS);
+    }
+
+    /**
+     * Loga o resumo das esperas (ordenado por tempo total).
+     */
+    public static void logSummary() {
+        if (STATS.isEmpty()) {
+            return;
+        }
+        long totalMs = STATS.values().stream().mapToLong(WaitStats::getTotalMs).sum();
+        log.info("⏱️ [WAIT] Resumo das esperas: {} tipos, {}ms no total", STATS.size(), totalMs);
+        STATS.entrySet().stream()
+            .sorted((a, b) -> Long.compare(b.getValue().getTotalMs(), a.getValue().getTotalMs()))
+            .forEach(entry -> log.info("⏱️ [WAIT]   {} - {}", entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Estatísticas acumuladas de uma espera.
+     */
+    public static class WaitStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder totalMs = new LongAdder();
+        private final LongAccumulator maxMs = new LongAccumulator(Long::max, 0);
+
+        private void add(long elapsedMs, boolean satisfied) {
+            count.increment();
+            totalMs.add(elapsedMs);
+            maxMs.accumulate(elapsedMs);
+            if (!satisfied) {
+                timeouts.increment();
+            }
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTimeouts() {
+            return timeouts.sum();
+        }
+
+        public long getTotalMs() {
+            return totalMs.sum();
+        }
+
+        public long getMaxMs() {
+            return maxMs.get();
+        }
+
+        public long getAverageMs() {
+            long n = getCount();
+            return n == 0 ? 0 : getTotalMs() / n;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("esperas=%d, média=%dms, máx=%dms, total=%dms, limite atingido=%d",
+                getCount(), getAverageMs(), getMaxMs(), getTotalMs(), getTimeouts());
+        }
+    }
+}
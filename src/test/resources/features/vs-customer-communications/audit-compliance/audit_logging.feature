@@ -1,4 +1,4 @@
-@not_implemented @vs-customer-communications @integration @audit-compliance @high @messaging @event-driven @e2e
+@not_implemented @vs-customer-communications @uncorrelated_events @integration @audit-compliance @high @messaging @event-driven @e2e
 Feature: Audit Compliance Service - Integração (Quando Implementado)
   Como um testador de integração
   Eu quero validar o registro de logs de auditoria
@@ -1,4 +1,4 @@
-@implemented @vs-customer-communications @integration @delivery-tracker @critical @messaging @event-driven @e2e
+@implemented @vs-customer-communications @uncorrelated_events @integration @delivery-tracker @critical @messaging @event-driven @e2e
 Feature: Delivery Tracker Service - Integração com Transactional Messaging e Webhooks
   Como um testador de integração
   Eu quero validar o rastreamento de entrega de mensagens
@@ -1,4 +1,4 @@
-@implemented @vs-customer-communications @integration @edge-case @critical @messaging @e2e
+@implemented @vs-customer-communications @uncorrelated_events @integration @edge-case @critical @messaging @e2e
 Feature: Edge Cases - Integração VS-Customer-Communications
   Como um testador de integração
   Eu quero validar cenários extremos em integrações
@@ -1,4 +1,4 @@
-@implemented @vs-customer-communications @integration @vs-identity @critical @messaging @event-driven @e2e
+@implemented @vs-customer-communications @uncorrelated_events @integration @vs-identity @critical @messaging @event-driven @e2e
 Feature: Integração - Consumo de Eventos Cross-VS (VS-Identity → VS-Customer-Communications)
   Como um testador de integração
   Eu quero validar o consumo de eventos otp.sent pelo Transactional Messaging Service
@@ -0,0 +1,12 @@
+@scheduler_ordering
+Feature: Ordenação por duração - feature curta
+  Fixture do DurationOrderingFilterTest (fora de "features/" na raiz: não entra na suíte E2E)
+
+  Scenario: cenário de 100ms
+    Given um passo sem implementação
+
+  Scenario: cenário de 300ms
+    Given um passo sem implementação
+
+  Scenario: cenário sem histórico
+    Given um passo sem implementação
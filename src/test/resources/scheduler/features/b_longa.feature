@@ -0,0 +1,9 @@
+@scheduler_ordering
+Feature: Ordenação por duração - feature longa
+  Fixture do DurationOrderingFilterTest (fora de "features/" na raiz: não entra na suíte E2E)
+
+  Scenario: cenário de 900ms
+    Given um passo sem implementação
+
+  Scenario: cenário de 5000ms
+    Given um passo sem implementação